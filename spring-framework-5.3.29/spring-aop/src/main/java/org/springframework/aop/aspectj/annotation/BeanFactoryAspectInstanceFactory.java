@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.Serializable;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.OrderUtils;
 import org.springframework.lang.Nullable;
@@ -110,6 +111,13 @@ public class BeanFactoryAspectInstanceFactory implements MetadataAwareAspectInst
 			// Rely on singleton semantics provided by the factory -> no local lock.
 			return null;
 		}
+		else if (this.beanFactory instanceof DefaultSingletonBeanRegistry &&
+				((DefaultSingletonBeanRegistry) this.beanFactory).isPerBeanSingletonLocking()) {
+			// The factory's singleton lock does not cover singleton creation here ->
+			// no lock at all, since holding any lock while obtaining the bean could
+			// deadlock with singleton creation on another thread.
+			return null;
+		}
 		else if (this.beanFactory instanceof ConfigurableBeanFactory) {
 			// No singleton guarantees from the factory -> let's lock locally but
 			// reuse the factory's singleton lock, just in case a lazy dependency
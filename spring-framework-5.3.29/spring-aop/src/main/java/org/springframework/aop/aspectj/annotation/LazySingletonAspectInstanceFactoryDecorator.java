@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,7 +54,14 @@ public class LazySingletonAspectInstanceFactoryDecorator implements MetadataAwar
 			Object mutex = this.maaif.getAspectCreationMutex();
 			if (mutex == null) {
 				aspectInstance = this.maaif.getAspectInstance();
-				this.materialized = aspectInstance;
+				synchronized (this) {
+					// Keep the first instance in case of concurrent materialization
+					Object existingInstance = this.materialized;
+					if (existingInstance != null) {
+						return existingInstance;
+					}
+					this.materialized = aspectInstance;
+				}
 			}
 			else {
 				synchronized (mutex) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.aopalliance.aop.Advice;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.support.DefaultSingletonBeanRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -117,6 +118,20 @@ public abstract class AbstractBeanFactoryPointcutAdvisor extends AbstractPointcu
 			this.advice = advice;
 			return advice;
 		}
+		else if (this.beanFactory instanceof DefaultSingletonBeanRegistry &&
+				((DefaultSingletonBeanRegistry) this.beanFactory).isPerBeanSingletonLocking()) {
+			// The factory's singleton lock does not cover singleton creation here ->
+			// obtain the advice bean outside of it and keep the first instance obtained.
+			advice = this.beanFactory.getBean(this.adviceBeanName, Advice.class);
+			synchronized (this.adviceMonitor) {
+				Advice existingAdvice = this.advice;
+				if (existingAdvice != null) {
+					return existingAdvice;
+				}
+				this.advice = advice;
+				return advice;
+			}
+		}
 		else {
 			// No singleton guarantees from the factory -> let's lock locally but
 			// reuse the factory's singleton lock, just in case a lazy dependency
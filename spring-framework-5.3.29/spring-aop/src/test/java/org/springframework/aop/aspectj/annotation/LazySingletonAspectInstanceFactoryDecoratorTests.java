@@ -0,0 +1,75 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.aop.aspectj.annotation;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link LazySingletonAspectInstanceFactoryDecorator}.
+ */
+class LazySingletonAspectInstanceFactoryDecoratorTests {
+
+	@Test
+	void prototypeAspectWithPerBeanSingletonLocking() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setPerBeanSingletonLocking(true);
+		List<Boolean> mutexHeld = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(2);
+		RootBeanDefinition bd = new RootBeanDefinition(TestAspect.class, () -> {
+			mutexHeld.add(Thread.holdsLock(beanFactory.getSingletonMutex()));
+			latch.countDown();
+			try {
+				// Let both threads materialize an aspect instance concurrently
+				latch.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return new TestAspect();
+		});
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("aspect", bd);
+
+		BeanFactoryAspectInstanceFactory aif = new BeanFactoryAspectInstanceFactory(beanFactory, "aspect");
+		assertThat(aif.getAspectCreationMutex()).isNull();
+
+		LazySingletonAspectInstanceFactoryDecorator decorator = new LazySingletonAspectInstanceFactoryDecorator(aif);
+		CompletableFuture<Object> other = CompletableFuture.supplyAsync(decorator::getAspectInstance);
+		Object aspect = decorator.getAspectInstance();
+		assertThat(other.get(5, TimeUnit.SECONDS)).isSameAs(aspect);
+		assertThat(decorator.getAspectInstance()).isSameAs(aspect);
+		assertThat(mutexHeld).containsExactly(false, false);
+	}
+
+
+	@Aspect
+	static class TestAspect {
+	}
+
+}
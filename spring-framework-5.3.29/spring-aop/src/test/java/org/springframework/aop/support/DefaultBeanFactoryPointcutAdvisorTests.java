@@ -0,0 +1,71 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.aop.support;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.aop.Advice;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.aop.MethodBeforeAdvice;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link DefaultBeanFactoryPointcutAdvisor}.
+ */
+class DefaultBeanFactoryPointcutAdvisorTests {
+
+	@Test
+	void prototypeAdviceWithPerBeanSingletonLocking() throws Exception {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setPerBeanSingletonLocking(true);
+		List<Boolean> mutexHeld = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(2);
+		RootBeanDefinition bd = new RootBeanDefinition(MethodBeforeAdvice.class, () -> {
+			mutexHeld.add(Thread.holdsLock(beanFactory.getSingletonMutex()));
+			latch.countDown();
+			try {
+				// Let both threads obtain an advice instance concurrently
+				latch.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return (MethodBeforeAdvice) (method, args, target) -> {};
+		});
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		beanFactory.registerBeanDefinition("advice", bd);
+
+		DefaultBeanFactoryPointcutAdvisor advisor = new DefaultBeanFactoryPointcutAdvisor();
+		advisor.setAdviceBeanName("advice");
+		advisor.setBeanFactory(beanFactory);
+
+		CompletableFuture<Advice> other = CompletableFuture.supplyAsync(advisor::getAdvice);
+		Advice advice = advisor.getAdvice();
+		assertThat(other.get(5, TimeUnit.SECONDS)).isSameAs(advice);
+		assertThat(advisor.getAdvice()).isSameAs(advice);
+		assertThat(mutexHeld).containsExactly(false, false);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,9 @@
 
 package org.springframework.beans;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
@@ -85,6 +88,65 @@ public class AbstractPropertyAccessorBenchmark {
 		return state.target;
 	}
 
+	@State(Scope.Benchmark)
+	public static class NestedPathState {
+
+		@Param({"DirectFieldAccessor", "BeanWrapper"})
+		public String accessor;
+
+		@Param({"simple", "nested", "indexed", "nestedIndexed"})
+		public String path;
+
+		public String propertyPath;
+
+		public OrderBean target;
+
+		public AbstractPropertyAccessor propertyAccessor;
+
+		@Setup
+		public void setup() {
+			this.target = new OrderBean();
+			this.propertyAccessor = createAccessor(this.target);
+			switch (this.path) {
+				case "simple":
+					this.propertyPath = "name";
+					break;
+				case "nested":
+					this.propertyPath = "customer.address.city";
+					break;
+				case "indexed":
+					this.propertyPath = "items[3].name";
+					break;
+				case "nestedIndexed":
+					this.propertyPath = "customer.addresses[1].city";
+					break;
+			}
+		}
+
+		public AbstractPropertyAccessor createAccessor(Object target) {
+			return (this.accessor.equals("DirectFieldAccessor") ?
+					new DirectFieldAccessor(target) : new BeanWrapperImpl(target));
+		}
+	}
+
+	@Benchmark
+	public OrderBean setNestedPropertyValue(NestedPathState state) {
+		state.propertyAccessor.setPropertyValue(state.propertyPath, "value");
+		return state.target;
+	}
+
+	@Benchmark
+	public Object getNestedPropertyValue(NestedPathState state) {
+		return state.propertyAccessor.getPropertyValue(state.propertyPath);
+	}
+
+	@Benchmark
+	public OrderBean setNestedPropertyValueWithNewAccessor(NestedPathState state) {
+		// Data binding creates a new accessor for every target object
+		state.createAccessor(state.target).setPropertyValue(state.propertyPath, "value");
+		return state.target;
+	}
+
 	@SuppressWarnings("unused")
 	private static class PrimitiveArrayBean {
 
@@ -98,4 +160,96 @@ public class AbstractPropertyAccessorBenchmark {
 			this.array = array;
 		}
 	}
+
+	@SuppressWarnings("unused")
+	private static class OrderBean {
+
+		private String name;
+
+		private CustomerBean customer = new CustomerBean();
+
+		private List<ItemBean> items = new ArrayList<>();
+
+		OrderBean() {
+			for (int i = 0; i < 5; i++) {
+				this.items.add(new ItemBean());
+			}
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public CustomerBean getCustomer() {
+			return this.customer;
+		}
+
+		public void setCustomer(CustomerBean customer) {
+			this.customer = customer;
+		}
+
+		public List<ItemBean> getItems() {
+			return this.items;
+		}
+
+		public void setItems(List<ItemBean> items) {
+			this.items = items;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class CustomerBean {
+
+		private AddressBean address = new AddressBean();
+
+		private AddressBean[] addresses = {new AddressBean(), new AddressBean()};
+
+		public AddressBean getAddress() {
+			return this.address;
+		}
+
+		public void setAddress(AddressBean address) {
+			this.address = address;
+		}
+
+		public AddressBean[] getAddresses() {
+			return this.addresses;
+		}
+
+		public void setAddresses(AddressBean[] addresses) {
+			this.addresses = addresses;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class AddressBean {
+
+		private String city;
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class ItemBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.cglib.beans.BeanCopier;
+
+/**
+ * Benchmark for copying bean properties through {@link BeanUtils#copyProperties},
+ * {@link BeanPropertyCopier} and the CGLIB {@link BeanCopier}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanPropertyCopierBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Order source;
+
+		public List<Order> sources;
+
+		public BeanPropertyCopier<Order, OrderDto> copier;
+
+		public BeanCopier cglibCopier;
+
+		@Setup
+		public void setup() {
+			this.source = new Order(1L, "spring", 42, 3.5d, true, Arrays.asList("a", "b"));
+			this.sources = new ArrayList<>(100);
+			for (int i = 0; i < 100; i++) {
+				this.sources.add(new Order(i, "order" + i, i, i * 1.5d, i % 2 == 0, Arrays.asList("a", "b")));
+			}
+			this.copier = BeanPropertyCopier.forClasses(Order.class, OrderDto.class);
+			this.cglibCopier = BeanCopier.create(Order.class, OrderDto.class, false);
+		}
+	}
+
+	@Benchmark
+	public OrderDto beanUtils(BenchmarkState state) {
+		OrderDto target = new OrderDto();
+		BeanUtils.copyProperties(state.source, target);
+		return target;
+	}
+
+	@Benchmark
+	public OrderDto beanPropertyCopier(BenchmarkState state) {
+		OrderDto target = new OrderDto();
+		state.copier.copy(state.source, target);
+		return target;
+	}
+
+	@Benchmark
+	public OrderDto cglibBeanCopier(BenchmarkState state) {
+		OrderDto target = new OrderDto();
+		state.cglibCopier.copy(state.source, target, null);
+		return target;
+	}
+
+	@Benchmark
+	public List<OrderDto> beanUtilsBatch(BenchmarkState state) {
+		List<OrderDto> targets = new ArrayList<>(state.sources.size());
+		for (Order source : state.sources) {
+			OrderDto target = new OrderDto();
+			BeanUtils.copyProperties(source, target);
+			targets.add(target);
+		}
+		return targets;
+	}
+
+	@Benchmark
+	public List<OrderDto> beanPropertyCopierBatch(BenchmarkState state) {
+		return state.copier.copyAll(state.sources, OrderDto::new);
+	}
+
+	@Benchmark
+	public List<OrderDto> cglibBeanCopierBatch(BenchmarkState state) {
+		List<OrderDto> targets = new ArrayList<>(state.sources.size());
+		for (Order source : state.sources) {
+			OrderDto target = new OrderDto();
+			state.cglibCopier.copy(source, target, null);
+			targets.add(target);
+		}
+		return targets;
+	}
+
+
+	public static class Order {
+
+		private long id;
+
+		private String name;
+
+		private int quantity;
+
+		private double price;
+
+		private boolean express;
+
+		private List<String> tags;
+
+		public Order(long id, String name, int quantity, double price, boolean express, List<String> tags) {
+			this.id = id;
+			this.name = name;
+			this.quantity = quantity;
+			this.price = price;
+			this.express = express;
+			this.tags = tags;
+		}
+
+		public long getId() {
+			return this.id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+
+		public boolean isExpress() {
+			return this.express;
+		}
+
+		public List<String> getTags() {
+			return this.tags;
+		}
+	}
+
+
+	public static class OrderDto {
+
+		private long id;
+
+		private String name;
+
+		private int quantity;
+
+		private double price;
+
+		private boolean express;
+
+		private List<String> tags;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getQuantity() {
+			return this.quantity;
+		}
+
+		public void setQuantity(int quantity) {
+			this.quantity = quantity;
+		}
+
+		public double getPrice() {
+			return this.price;
+		}
+
+		public void setPrice(double price) {
+			this.price = price;
+		}
+
+		public boolean isExpress() {
+			return this.express;
+		}
+
+		public void setExpress(boolean express) {
+			this.express = express;
+		}
+
+		public List<String> getTags() {
+			return this.tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+}
@@ -18,16 +18,25 @@ package org.springframework.beans.factory;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.propertyeditors.CustomDateEditor;
 
@@ -37,6 +46,9 @@ import static org.springframework.core.testfixture.io.ResourceTestUtils.qualifie
  * Benchmark for creating prototype beans in a concurrent fashion.
  * This benchmark requires to customize the number of worker threads {@code -t <int>} on the
  * CLI when running this particular benchmark to leverage concurrency.
+ * Also compares sequential and parallel pre-instantiation of independent singletons,
+ * as well as concurrent creation of lazy-init singletons, with global and with
+ * per-bean singleton locking.
  *
  * @author Brian Clozel
  */
@@ -61,12 +73,88 @@ public class ConcurrentBeanFactoryBenchmark {
 
 	}
 
+	@State(Scope.Thread)
+	public static class PreInstantiationState {
+
+		@Param({"sequential", "parallel"})
+		public String mode;
+
+		@Param({"global", "perBean"})
+		public String locking;
+
+		@Param({"64"})
+		public int beanCount;
+
+		public DefaultListableBeanFactory factory;
+
+		@Setup(Level.Invocation)
+		public void setup() {
+			this.factory = new DefaultListableBeanFactory();
+			this.factory.setPerBeanSingletonLocking("perBean".equals(this.locking));
+			if ("parallel".equals(this.mode)) {
+				this.factory.setPreInstantiationExecutor(ForkJoinPool.commonPool());
+			}
+			for (int i = 0; i < this.beanCount; i++) {
+				// independent pairs of singletons, each pair forming its own group
+				this.factory.registerBeanDefinition("source" + i, new RootBeanDefinition(ExpensiveBean.class));
+				RootBeanDefinition bd = new RootBeanDefinition(ExpensiveBean.class);
+				bd.getPropertyValues().add("source", new RuntimeBeanReference("source" + i));
+				this.factory.registerBeanDefinition("target" + i, bd);
+			}
+		}
+
+	}
+
+	@State(Scope.Benchmark)
+	public static class LazySingletonState {
+
+		@Param({"global", "perBean"})
+		public String locking;
+
+		@Param({"100000"})
+		public int beanCount;
+
+		public DefaultListableBeanFactory factory;
+
+		public final AtomicInteger counter = new AtomicInteger();
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.factory = new DefaultListableBeanFactory();
+			this.factory.setPerBeanSingletonLocking("perBean".equals(this.locking));
+			for (int i = 0; i < this.beanCount; i++) {
+				RootBeanDefinition bd = new RootBeanDefinition(ExpensiveBean.class);
+				bd.setLazyInit(true);
+				this.factory.registerBeanDefinition("lazy" + i, bd);
+			}
+			this.counter.set(0);
+		}
+
+		public String nextBeanName() {
+			return "lazy" + (this.counter.getAndIncrement() % this.beanCount);
+		}
+	}
+
 	@Benchmark
 	public void concurrentBeanCreation(BenchmarkState state, Blackhole bh) {
 		bh.consume(state.factory.getBean("bean1"));
 		bh.consume(state.factory.getBean("bean2"));
 	}
 
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void preInstantiateSingletons(PreInstantiationState state, Blackhole bh) {
+		state.factory.preInstantiateSingletons();
+		bh.consume(state.factory.getSingletonCount());
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void concurrentLazySingletonCreation(LazySingletonState state, Blackhole bh) {
+		bh.consume(state.factory.getBean(state.nextBeanName()));
+	}
+
 
 	public static class ConcurrentBean {
 
@@ -80,4 +168,33 @@ public class ConcurrentBeanFactoryBenchmark {
 			this.date = date;
 		}
 	}
+
+
+	public static class ExpensiveBean {
+
+		private final long checksum;
+
+		private ExpensiveBean source;
+
+		public ExpensiveBean() {
+			// simulate initialization work such as parsing or cache warm-up
+			long checksum = 0;
+			for (int i = 0; i < 200_000; i++) {
+				checksum = 31 * checksum + Long.hashCode(checksum ^ i);
+			}
+			this.checksum = checksum;
+		}
+
+		public long getChecksum() {
+			return this.checksum;
+		}
+
+		public ExpensiveBean getSource() {
+			return this.source;
+		}
+
+		public void setSource(ExpensiveBean source) {
+			this.source = source;
+		}
+	}
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.testfixture.beans.TestBean;
+
+/**
+ * Benchmark for instantiating beans through the reflective and the compiled
+ * {@link InstantiationStrategy}, compared to plain constructor calls.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class InstantiationStrategyBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"reflective", "compiled"})
+		public String strategyType;
+
+		public InstantiationStrategy strategy;
+
+		public DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+		public RootBeanDefinition beanDefinition = new RootBeanDefinition(TestBean.class);
+
+		public Constructor<?> constructor;
+
+		@Setup
+		public void setup() throws Exception {
+			this.strategy = ("compiled".equals(this.strategyType) ?
+					new CompiledInstantiationStrategy() : new CglibSubclassingInstantiationStrategy());
+			this.constructor = TestBean.class.getConstructor(String.class, int.class);
+		}
+	}
+
+	@Benchmark
+	public Object defaultConstructor(BenchmarkState state) {
+		return state.strategy.instantiate(state.beanDefinition, "test", state.beanFactory);
+	}
+
+	@Benchmark
+	public Object constructorWithArguments(BenchmarkState state) {
+		return state.strategy.instantiate(state.beanDefinition, "test", state.beanFactory,
+				state.constructor, "juergen", 99);
+	}
+
+	@Benchmark
+	public Object plainConstructor() {
+		return new TestBean("juergen", 99);
+	}
+
+}
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -76,6 +77,14 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 */
 	private static final Log logger = LogFactory.getLog(AbstractNestablePropertyAccessor.class);
 
+	/**
+	 * Maximum number of parsed property paths to keep in the shared cache.
+	 */
+	private static final int PROPERTY_PATH_CACHE_LIMIT = 8192;
+
+	/** Cache of parsed property paths: property path -> PropertyPathHolder. */
+	private static final Map<String, PropertyPathHolder> propertyPathCache = new ConcurrentHashMap<>(256);
+
 	private int autoGrowCollectionLimit = Integer.MAX_VALUE;
 
 	@Nullable
@@ -234,16 +243,16 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 
 	@Override
 	public void setPropertyValue(String propertyName, @Nullable Object value) throws BeansException {
+		PropertyPathHolder path = getPropertyPath(propertyName);
 		AbstractNestablePropertyAccessor nestedPa;
 		try {
-			nestedPa = getPropertyAccessorForPropertyPath(propertyName);
+			nestedPa = getPropertyAccessorForPropertyPath(path);
 		}
 		catch (NotReadablePropertyException ex) {
 			throw new NotWritablePropertyException(getRootClass(), this.nestedPath + propertyName,
 					"Nested property in path '" + propertyName + "' does not exist", ex);
 		}
-		PropertyTokenHolder tokens = getPropertyNameTokens(getFinalPath(nestedPa, propertyName));
-		nestedPa.setPropertyValue(tokens, new PropertyValue(propertyName, value));
+		nestedPa.setPropertyValue(path.finalTokens, new PropertyValue(propertyName, value));
 	}
 
 	@Override
@@ -251,15 +260,16 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		PropertyTokenHolder tokens = (PropertyTokenHolder) pv.resolvedTokens;
 		if (tokens == null) {
 			String propertyName = pv.getName();
+			PropertyPathHolder path = getPropertyPath(propertyName);
 			AbstractNestablePropertyAccessor nestedPa;
 			try {
-				nestedPa = getPropertyAccessorForPropertyPath(propertyName);
+				nestedPa = getPropertyAccessorForPropertyPath(path);
 			}
 			catch (NotReadablePropertyException ex) {
 				throw new NotWritablePropertyException(getRootClass(), this.nestedPath + propertyName,
 						"Nested property in path '" + propertyName + "' does not exist", ex);
 			}
-			tokens = getPropertyNameTokens(getFinalPath(nestedPa, propertyName));
+			tokens = path.finalTokens;
 			if (nestedPa == this) {
 				pv.getOriginalPropertyValue().resolvedTokens = tokens;
 			}
@@ -519,9 +529,9 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	@Nullable
 	public TypeDescriptor getPropertyTypeDescriptor(String propertyName) throws BeansException {
 		try {
-			AbstractNestablePropertyAccessor nestedPa = getPropertyAccessorForPropertyPath(propertyName);
-			String finalPath = getFinalPath(nestedPa, propertyName);
-			PropertyTokenHolder tokens = getPropertyNameTokens(finalPath);
+			PropertyPathHolder path = getPropertyPath(propertyName);
+			AbstractNestablePropertyAccessor nestedPa = getPropertyAccessorForPropertyPath(path);
+			PropertyTokenHolder tokens = path.finalTokens;
 			PropertyHandler ph = nestedPa.getLocalPropertyHandler(tokens.actualName);
 			if (ph != null) {
 				if (tokens.keys != null) {
@@ -612,9 +622,9 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	@Override
 	@Nullable
 	public Object getPropertyValue(String propertyName) throws BeansException {
-		AbstractNestablePropertyAccessor nestedPa = getPropertyAccessorForPropertyPath(propertyName);
-		PropertyTokenHolder tokens = getPropertyNameTokens(getFinalPath(nestedPa, propertyName));
-		return nestedPa.getPropertyValue(tokens);
+		PropertyPathHolder path = getPropertyPath(propertyName);
+		AbstractNestablePropertyAccessor nestedPa = getPropertyAccessorForPropertyPath(path);
+		return nestedPa.getPropertyValue(path.finalTokens);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -639,7 +649,6 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 										"property path '" + propertyName + "': returned null");
 					}
 				}
-				StringBuilder indexedPropertyName = new StringBuilder(tokens.actualName);
 				// apply indexes and map keys
 				for (int i = 0; i < tokens.keys.length; i++) {
 					String key = tokens.keys[i];
@@ -650,13 +659,13 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 					}
 					else if (value.getClass().isArray()) {
 						int index = Integer.parseInt(key);
-						value = growArrayIfNecessary(value, index, indexedPropertyName.toString());
+						value = growArrayIfNecessary(value, index, tokens, i);
 						value = Array.get(value, index);
 					}
 					else if (value instanceof List) {
 						int index = Integer.parseInt(key);
 						List<Object> list = (List<Object>) value;
-						growCollectionIfNecessary(list, index, indexedPropertyName.toString(), ph, i + 1);
+						growCollectionIfNecessary(list, index, tokens, i, ph);
 						value = list.get(index);
 					}
 					else if (value instanceof Set) {
@@ -691,7 +700,6 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 								"Property referenced in indexed property path '" + propertyName +
 										"' is neither an array nor a List nor a Set nor a Map; returned value was [" + value + "]");
 					}
-					indexedPropertyName.append(PROPERTY_KEY_PREFIX).append(key).append(PROPERTY_KEY_SUFFIX);
 				}
 			}
 			return value;
@@ -726,8 +734,9 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	@Nullable
 	protected PropertyHandler getPropertyHandler(String propertyName) throws BeansException {
 		Assert.notNull(propertyName, "Property name must not be null");
-		AbstractNestablePropertyAccessor nestedPa = getPropertyAccessorForPropertyPath(propertyName);
-		return nestedPa.getLocalPropertyHandler(getFinalPath(nestedPa, propertyName));
+		PropertyPathHolder path = getPropertyPath(propertyName);
+		AbstractNestablePropertyAccessor nestedPa = getPropertyAccessorForPropertyPath(path);
+		return nestedPa.getLocalPropertyHandler(path.finalPath);
 	}
 
 	/**
@@ -754,12 +763,13 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	protected abstract NotWritablePropertyException createNotWritablePropertyException(String propertyName);
 
 
-	private Object growArrayIfNecessary(Object array, int index, String name) {
+	private Object growArrayIfNecessary(Object array, int index, PropertyTokenHolder tokens, int keyIndex) {
 		if (!isAutoGrowNestedPaths()) {
 			return array;
 		}
 		int length = Array.getLength(array);
 		if (index >= length && index < this.autoGrowCollectionLimit) {
+			String name = getIndexedPropertyName(tokens, keyIndex);
 			Class<?> componentType = array.getClass().getComponentType();
 			Object newArray = Array.newInstance(componentType, index + 1);
 			System.arraycopy(array, 0, newArray, 0, length);
@@ -776,16 +786,17 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		}
 	}
 
-	private void growCollectionIfNecessary(Collection<Object> collection, int index, String name,
-			PropertyHandler ph, int nestingLevel) {
+	private void growCollectionIfNecessary(Collection<Object> collection, int index,
+			PropertyTokenHolder tokens, int keyIndex, PropertyHandler ph) {
 
 		if (!isAutoGrowNestedPaths()) {
 			return;
 		}
 		int size = collection.size();
 		if (index >= size && index < this.autoGrowCollectionLimit) {
-			Class<?> elementType = ph.getResolvableType().getNested(nestingLevel).asCollection().resolveGeneric();
+			Class<?> elementType = ph.getResolvableType().getNested(keyIndex + 1).asCollection().resolveGeneric();
 			if (elementType != null) {
+				String name = getIndexedPropertyName(tokens, keyIndex);
 				for (int i = collection.size(); i < index + 1; i++) {
 					collection.add(newValue(elementType, null, name));
 				}
@@ -793,6 +804,19 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		}
 	}
 
+	/**
+	 * Build the name of the indexed property that the key at the given
+	 * position applies to, e.g. "list[0]" for the second key of "list[0][1]".
+	 */
+	private static String getIndexedPropertyName(PropertyTokenHolder tokens, int keyIndex) {
+		Assert.state(tokens.keys != null, "No token keys");
+		StringBuilder indexedPropertyName = new StringBuilder(tokens.actualName);
+		for (int i = 0; i < keyIndex; i++) {
+			indexedPropertyName.append(PROPERTY_KEY_PREFIX).append(tokens.keys[i]).append(PROPERTY_KEY_SUFFIX);
+		}
+		return indexedPropertyName.toString();
+	}
+
 	/**
 	 * Get the last component of the path. Also works if not nested.
 	 * @param pa property accessor to work on
@@ -812,17 +836,20 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 * @return a property accessor for the target bean
 	 */
 	protected AbstractNestablePropertyAccessor getPropertyAccessorForPropertyPath(String propertyPath) {
-		int pos = PropertyAccessorUtils.getFirstNestedPropertySeparatorIndex(propertyPath);
-		// Handle nested properties recursively.
-		if (pos > -1) {
-			String nestedProperty = propertyPath.substring(0, pos);
-			String nestedPath = propertyPath.substring(pos + 1);
-			AbstractNestablePropertyAccessor nestedPa = getNestedPropertyAccessor(nestedProperty);
-			return nestedPa.getPropertyAccessorForPropertyPath(nestedPath);
-		}
-		else {
-			return this;
+		return getPropertyAccessorForPropertyPath(getPropertyPath(propertyPath));
+	}
+
+	/**
+	 * Navigate along the nested properties of the given parsed property path.
+	 * @param path the parsed property path
+	 * @return a property accessor for the target bean
+	 */
+	private AbstractNestablePropertyAccessor getPropertyAccessorForPropertyPath(PropertyPathHolder path) {
+		AbstractNestablePropertyAccessor nestedPa = this;
+		for (PropertyTokenHolder tokens : path.nestedTokens) {
+			nestedPa = nestedPa.getNestedPropertyAccessor(tokens);
 		}
+		return nestedPa;
 	}
 
 	/**
@@ -830,15 +857,14 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 	 * Create a new one if not found in the cache.
 	 * <p>Note: Caching nested PropertyAccessors is necessary now,
 	 * to keep registered custom editors for nested properties.
-	 * @param nestedProperty property to create the PropertyAccessor for
+	 * @param tokens the tokens of the property to create the PropertyAccessor for
 	 * @return the PropertyAccessor instance, either cached or newly created
 	 */
-	private AbstractNestablePropertyAccessor getNestedPropertyAccessor(String nestedProperty) {
+	private AbstractNestablePropertyAccessor getNestedPropertyAccessor(PropertyTokenHolder tokens) {
 		if (this.nestedPropertyAccessors == null) {
 			this.nestedPropertyAccessors = new HashMap<>();
 		}
 		// Get value of bean property.
-		PropertyTokenHolder tokens = getPropertyNameTokens(nestedProperty);
 		String canonicalName = tokens.canonicalName;
 		Object value = getPropertyValue(tokens);
 		if (value == null || (value instanceof Optional && !((Optional<?>) value).isPresent())) {
@@ -924,12 +950,53 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		}
 	}
 
+	/**
+	 * Obtain the parsed representation of the given property path,
+	 * either from the shared cache or by parsing it.
+	 * @param propertyPath the property path, which may be nested
+	 * @return the parsed property path
+	 */
+	private static PropertyPathHolder getPropertyPath(String propertyPath) {
+		PropertyPathHolder path = propertyPathCache.get(propertyPath);
+		if (path == null) {
+			path = parsePropertyPath(propertyPath);
+			if (propertyPathCache.size() >= PROPERTY_PATH_CACHE_LIMIT) {
+				// Too many distinct paths coming in, e.g. large indexed collections:
+				// start over rather than letting the cache grow without bounds.
+				propertyPathCache.clear();
+			}
+			propertyPathCache.put(propertyPath, path);
+		}
+		return path;
+	}
+
+	/**
+	 * Parse the given property path into the tokens of its nested properties
+	 * and of its final property.
+	 * @param propertyPath the property path to parse
+	 * @return representation of the parsed property path
+	 */
+	private static PropertyPathHolder parsePropertyPath(String propertyPath) {
+		List<PropertyTokenHolder> nestedTokens = new ArrayList<>(2);
+		String remainingPath = propertyPath;
+		int pos = PropertyAccessorUtils.getFirstNestedPropertySeparatorIndex(remainingPath);
+		while (pos > -1) {
+			nestedTokens.add(getPropertyNameTokens(remainingPath.substring(0, pos)));
+			remainingPath = remainingPath.substring(pos + 1);
+			pos = PropertyAccessorUtils.getFirstNestedPropertySeparatorIndex(remainingPath);
+		}
+		String finalPath = (nestedTokens.isEmpty() ? propertyPath : propertyPath.substring(
+				PropertyAccessorUtils.getLastNestedPropertySeparatorIndex(propertyPath) + 1));
+		return new PropertyPathHolder(nestedTokens.toArray(new PropertyTokenHolder[0]),
+				finalPath, getPropertyNameTokens(finalPath));
+	}
+
 	/**
 	 * Parse the given property name into the corresponding property name tokens.
 	 * @param propertyName the property name to parse
 	 * @return representation of the parsed property tokens
 	 */
-	private PropertyTokenHolder getPropertyNameTokens(String propertyName) {
+	private static PropertyTokenHolder getPropertyNameTokens(String propertyName) {
 		String actualName = null;
 		List<String> keys = new ArrayList<>(2);
 		int searchIndex = 0;
@@ -962,7 +1029,7 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		return tokens;
 	}
 
-	private int getPropertyNameKeyEnd(String propertyName, int startIndex) {
+	private static int getPropertyNameKeyEnd(String propertyName, int startIndex) {
 		int unclosedPrefixes = 0;
 		int length = propertyName.length();
 		for (int i = startIndex; i < length; i++) {
@@ -1075,4 +1142,24 @@ public abstract class AbstractNestablePropertyAccessor extends AbstractPropertyA
 		public String[] keys;
 	}
 
+
+	/**
+	 * Holder class used to store the parsed tokens of a property path,
+	 * shared between all accessors. The tokens must not be modified.
+	 */
+	private static final class PropertyPathHolder {
+
+		final PropertyTokenHolder[] nestedTokens;
+
+		final String finalPath;
+
+		final PropertyTokenHolder finalTokens;
+
+		PropertyPathHolder(PropertyTokenHolder[] nestedTokens, String finalPath, PropertyTokenHolder finalTokens) {
+			this.nestedTokens = nestedTokens;
+			this.finalPath = finalPath;
+			this.finalTokens = finalTokens;
+		}
+	}
+
 }
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Copies bean property values from source objects of a given class to target
+ * objects of a given class, based on a copy plan that is computed once per
+ * pair of classes.
+ *
+ * <p>The copy plan pairs every writable property of the target class with the
+ * readable property of the same name in the source class, applying the same
+ * generics-aware assignability rules as {@link BeanUtils#copyProperties(Object, Object)}.
+ * Each such pair is compiled into a single {@link MethodHandle} which passes
+ * the value returned by the read method straight to the write method, without
+ * any further introspection, type checks or boxing of primitive values.
+ * Copy plans are cached per source and target class, so obtaining a copier
+ * through {@link #forClasses} is cheap.
+ *
+ * <pre class="code">
+ * BeanPropertyCopier&lt;Order, OrderDto&gt; copier = BeanPropertyCopier.forClasses(Order.class, OrderDto.class);
+ * OrderDto dto = new OrderDto();
+ * copier.copy(order, dto);
+ * List&lt;OrderDto&gt; dtos = copier.copyAll(orders, OrderDto::new);
+ * </pre>
+ *
+ * @since 5.3.30
+ * @param <S> the source type
+ * @param <T> the target type
+ * @see BeanUtils#copyProperties(Object, Object)
+ */
+public final class BeanPropertyCopier<S, T> {
+
+	private static final MethodType COPY_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final Map<Class<?>, Map<Class<?>, BeanPropertyCopier<?, ?>>> copierCache =
+			new ConcurrentReferenceHashMap<>(64);
+
+
+	private final Class<S> sourceClass;
+
+	private final Class<T> targetClass;
+
+	private final PropertyDescriptor[] readDescriptors;
+
+	private final PropertyDescriptor[] writeDescriptors;
+
+	/** Target-then-source copy handle per property, or {@code null} for reflective copying. */
+	private final MethodHandle[] copyHandles;
+
+
+	private BeanPropertyCopier(Class<S> sourceClass, Class<T> targetClass) {
+		this.sourceClass = sourceClass;
+		this.targetClass = targetClass;
+		List<PropertyDescriptor> readPds = new ArrayList<>();
+		List<PropertyDescriptor> writePds = new ArrayList<>();
+		for (PropertyDescriptor targetPd : BeanUtils.getPropertyDescriptors(targetClass)) {
+			Method writeMethod = targetPd.getWriteMethod();
+			if (writeMethod != null) {
+				PropertyDescriptor sourcePd = BeanUtils.getPropertyDescriptor(sourceClass, targetPd.getName());
+				if (sourcePd != null) {
+					Method readMethod = sourcePd.getReadMethod();
+					if (readMethod != null && isAssignable(writeMethod, readMethod)) {
+						readPds.add(sourcePd);
+						writePds.add(targetPd);
+					}
+				}
+			}
+		}
+		this.readDescriptors = readPds.toArray(PropertyDescriptorUtils.EMPTY_PROPERTY_DESCRIPTOR_ARRAY);
+		this.writeDescriptors = writePds.toArray(PropertyDescriptorUtils.EMPTY_PROPERTY_DESCRIPTOR_ARRAY);
+		this.copyHandles = new MethodHandle[this.writeDescriptors.length];
+		for (int i = 0; i < this.copyHandles.length; i++) {
+			this.copyHandles[i] = createCopyHandle(this.readDescriptors[i], this.writeDescriptors[i]);
+		}
+	}
+
+	private static boolean isAssignable(Method writeMethod, Method readMethod) {
+		ResolvableType sourceResolvableType = ResolvableType.forMethodReturnType(readMethod);
+		ResolvableType targetResolvableType = ResolvableType.forMethodParameter(writeMethod, 0);
+
+		// Ignore generic types in assignable check if either ResolvableType has unresolvable generics.
+		return (sourceResolvableType.hasUnresolvableGenerics() || targetResolvableType.hasUnresolvableGenerics() ?
+				ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType()) :
+				targetResolvableType.isAssignableFrom(sourceResolvableType));
+	}
+
+	/**
+	 * Create a {@code (Object target, Object source)void} handle which reads the
+	 * given property from the source and writes it to the target, keeping primitive
+	 * values unboxed where both methods declare the same primitive type.
+	 * @return the copy handle, or {@code null} if the property needs to be
+	 * copied reflectively
+	 */
+	@Nullable
+	private static MethodHandle createCopyHandle(PropertyDescriptor readPd, PropertyDescriptor writePd) {
+		Method readMethod = readPd.getReadMethod();
+		Method writeMethod = (writePd instanceof GenericTypeAwarePropertyDescriptor ?
+				((GenericTypeAwarePropertyDescriptor) writePd).getWriteMethodForActualAccess() : writePd.getWriteMethod());
+		try {
+			ReflectionUtils.makeAccessible(readMethod);
+			ReflectionUtils.makeAccessible(writeMethod);
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodHandle getter = lookup.unreflect(readMethod);
+			MethodHandle setter = lookup.unreflect(writeMethod).asFixedArity();
+			setter = setter.asType(setter.type().changeParameterType(1, getter.type().returnType()));
+			return MethodHandles.filterArguments(setter, 1, getter).asType(COPY_METHOD_TYPE);
+		}
+		catch (Throwable ex) {
+			LogFactory.getLog(BeanPropertyCopier.class).debug("Cannot create copy handle for property '" +
+					writePd.getName() + "' - using reflection instead", ex);
+			return null;
+		}
+	}
+
+
+	/**
+	 * Return the source class that this copier has been built for.
+	 */
+	public Class<S> getSourceClass() {
+		return this.sourceClass;
+	}
+
+	/**
+	 * Return the target class that this copier has been built for.
+	 */
+	public Class<T> getTargetClass() {
+		return this.targetClass;
+	}
+
+	/**
+	 * Return the names of the properties that this copier copies,
+	 * in the order of the target class's property descriptors.
+	 */
+	public String[] getPropertyNames() {
+		String[] propertyNames = new String[this.writeDescriptors.length];
+		for (int i = 0; i < this.writeDescriptors.length; i++) {
+			propertyNames[i] = this.writeDescriptors[i].getName();
+		}
+		return propertyNames;
+	}
+
+	/**
+	 * Copy the property values of the given source object into the given target object.
+	 * @param source the source object
+	 * @param target the target object
+	 * @throws BeansException if the copying failed
+	 */
+	public void copy(S source, T target) throws BeansException {
+		copy(source, target, null);
+	}
+
+	/**
+	 * Copy the property values of the given source object into the given target
+	 * object, ignoring the given properties.
+	 * @param source the source object
+	 * @param target the target object
+	 * @param ignoreProperties the names of the properties to ignore (may be {@code null})
+	 * @throws BeansException if the copying failed
+	 */
+	void copy(Object source, Object target, @Nullable Collection<String> ignoreProperties) throws BeansException {
+		Assert.notNull(source, "Source must not be null");
+		Assert.notNull(target, "Target must not be null");
+		PropertyDescriptor[] readPds = this.readDescriptors;
+		PropertyDescriptor[] writePds = this.writeDescriptors;
+		MethodHandle[] copyHandles = this.copyHandles;
+		for (int i = 0; i < writePds.length; i++) {
+			PropertyDescriptor writePd = writePds[i];
+			if (ignoreProperties == null || !ignoreProperties.contains(writePd.getName())) {
+				try {
+					MethodHandle copyHandle = copyHandles[i];
+					if (copyHandle != null) {
+						try {
+							copyHandle.invokeExact(target, source);
+						}
+						catch (Throwable ex) {
+							throw new InvocationTargetException(ex);
+						}
+					}
+					else {
+						Object value = CachedIntrospectionResults.invokeReadMethod(readPds[i], source);
+						CachedIntrospectionResults.invokeWriteMethod(writePd, target, value);
+					}
+				}
+				catch (Throwable ex) {
+					throw new FatalBeanException(
+							"Could not copy property '" + writePd.getName() + "' from source to target", ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copy the property values of each given source object into a new target object.
+	 * @param sources the source objects
+	 * @param targetSupplier the factory for target objects, e.g. a constructor reference
+	 * @return the target objects, in the order of the given source objects
+	 * @throws BeansException if the copying failed
+	 */
+	public List<T> copyAll(Collection<? extends S> sources, Supplier<? extends T> targetSupplier)
+			throws BeansException {
+
+		Assert.notNull(sources, "Sources must not be null");
+		Assert.notNull(targetSupplier, "Target supplier must not be null");
+		List<T> targets = new ArrayList<>(sources.size());
+		for (S source : sources) {
+			T target = targetSupplier.get();
+			copy(source, target, null);
+			targets.add(target);
+		}
+		return targets;
+	}
+
+
+	/**
+	 * Obtain a {@code BeanPropertyCopier} for the given source and target class,
+	 * computing its copy plan on first access.
+	 * @param sourceClass the class of the source objects (or a superclass or
+	 * interface declaring the properties to read)
+	 * @param targetClass the class of the target objects (or a superclass or
+	 * interface declaring the properties to write)
+	 * @return the corresponding (shared) copier
+	 * @throws BeansException if introspection of the given classes failed
+	 */
+	@SuppressWarnings("unchecked")
+	public static <S, T> BeanPropertyCopier<S, T> forClasses(Class<S> sourceClass, Class<T> targetClass)
+			throws BeansException {
+
+		Assert.notNull(sourceClass, "Source class must not be null");
+		Assert.notNull(targetClass, "Target class must not be null");
+		Map<Class<?>, BeanPropertyCopier<?, ?>> copiers =
+				copierCache.computeIfAbsent(sourceClass, key -> new ConcurrentReferenceHashMap<>(4));
+		BeanPropertyCopier<?, ?> copier = copiers.get(targetClass);
+		if (copier == null) {
+			copier = new BeanPropertyCopier<>(sourceClass, targetClass);
+			copiers.put(targetClass, copier);
+		}
+		return (BeanPropertyCopier<S, T>) copier;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,8 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.net.URL;
@@ -40,8 +42,10 @@ import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -235,6 +239,81 @@ public final class CachedIntrospectionResults {
 		return false;
 	}
 
+	/**
+	 * Invoke the read method of the given property on the given target object.
+	 * <p>Uses a pre-bound {@link MethodHandle} for the property where possible,
+	 * falling back to reflective invocation otherwise. Either way, an exception
+	 * thrown by the read method is wrapped in an {@link InvocationTargetException},
+	 * as with {@link Method#invoke}.
+	 * @param pd the property descriptor, as obtained from this class
+	 * @param target the target object to read the property from
+	 * @return the property value
+	 * @since 5.3.30
+	 * @see GenericTypeAwarePropertyDescriptor#getReadMethodHandle()
+	 */
+	@Nullable
+	static Object invokeReadMethod(PropertyDescriptor pd, Object target)
+			throws IllegalAccessException, InvocationTargetException {
+
+		Method readMethod = pd.getReadMethod();
+		Assert.state(readMethod != null, "No read method available");
+		if (pd instanceof GenericTypeAwarePropertyDescriptor && readMethod.getDeclaringClass().isInstance(target)) {
+			MethodHandle handle = ((GenericTypeAwarePropertyDescriptor) pd).getReadMethodHandle();
+			if (handle != null) {
+				try {
+					return (Object) handle.invokeExact(target);
+				}
+				catch (Throwable ex) {
+					throw new InvocationTargetException(ex);
+				}
+			}
+		}
+		ReflectionUtils.makeAccessible(readMethod);
+		return readMethod.invoke(target);
+	}
+
+	/**
+	 * Invoke the write method of the given property on the given target object.
+	 * <p>Uses a pre-bound {@link MethodHandle} for the property where possible,
+	 * falling back to reflective invocation otherwise, in particular for values
+	 * which require a widening conversion or which do not match the property type
+	 * at all. Either way, an exception thrown by the write method is wrapped in an
+	 * {@link InvocationTargetException}, as with {@link Method#invoke}.
+	 * @param pd the property descriptor, as obtained from this class
+	 * @param target the target object to write the property to
+	 * @param value the new property value
+	 * @since 5.3.30
+	 * @see GenericTypeAwarePropertyDescriptor#getWriteMethodHandle()
+	 */
+	static void invokeWriteMethod(PropertyDescriptor pd, Object target, @Nullable Object value)
+			throws IllegalAccessException, InvocationTargetException {
+
+		Method writeMethod;
+		if (pd instanceof GenericTypeAwarePropertyDescriptor) {
+			GenericTypeAwarePropertyDescriptor gpd = (GenericTypeAwarePropertyDescriptor) pd;
+			MethodHandle handle = gpd.getWriteMethodHandle();
+			writeMethod = gpd.getWriteMethodForActualAccess();
+			if (handle != null && writeMethod.getDeclaringClass().isInstance(target)) {
+				Class<?> parameterType = gpd.getWriteMethodParameterType();
+				if (value != null ? ClassUtils.isAssignableValue(parameterType, value) : !parameterType.isPrimitive()) {
+					try {
+						handle.invokeExact(target, value);
+						return;
+					}
+					catch (Throwable ex) {
+						throw new InvocationTargetException(ex);
+					}
+				}
+			}
+		}
+		else {
+			writeMethod = pd.getWriteMethod();
+			Assert.state(writeMethod != null, "No write method available");
+		}
+		ReflectionUtils.makeAccessible(writeMethod);
+		writeMethod.invoke(target, value);
+	}
+
 	/**
 	 * Retrieve a {@link BeanInfo} descriptor for the given target class.
 	 * @param beanClass the target class to introspect
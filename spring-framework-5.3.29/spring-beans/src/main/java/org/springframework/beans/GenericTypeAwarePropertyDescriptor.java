@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package org.springframework.beans;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.HashSet;
 import java.util.Set;
@@ -31,6 +34,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -43,6 +47,13 @@ import org.springframework.util.StringUtils;
  */
 final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 
+	private static final MethodType READ_METHOD_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType WRITE_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/** Marker for a method that cannot be invoked through a MethodHandle. */
+	private static final MethodHandle NO_METHOD_HANDLE = MethodHandles.constant(Object.class, null);
+
 	private final Class<?> beanClass;
 
 	@Nullable
@@ -63,6 +74,15 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 	@Nullable
 	private final Class<?> propertyEditorClass;
 
+	@Nullable
+	private volatile MethodHandle readMethodHandle;
+
+	@Nullable
+	private volatile MethodHandle writeMethodHandle;
+
+	@Nullable
+	private Class<?> writeMethodParameterType;
+
 
 	public GenericTypeAwarePropertyDescriptor(Class<?> beanClass, String propertyName,
 			@Nullable Method readMethod, @Nullable Method writeMethod,
@@ -145,6 +165,67 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		return this.writeMethod;
 	}
 
+	/**
+	 * Return a {@link MethodHandle} for the read method, adapted to an
+	 * {@code (Object)Object} signature and created on first access.
+	 * @return the MethodHandle, or {@code null} if the read method
+	 * needs to be invoked reflectively
+	 * @since 5.3.30
+	 */
+	@Nullable
+	public MethodHandle getReadMethodHandle() {
+		Assert.state(this.readMethod != null, "No read method available");
+		MethodHandle handle = this.readMethodHandle;
+		if (handle == null) {
+			handle = createMethodHandle(this.readMethod, READ_METHOD_TYPE);
+			this.readMethodHandle = handle;
+		}
+		return (handle != NO_METHOD_HANDLE ? handle : null);
+	}
+
+	/**
+	 * Return a {@link MethodHandle} for the write method, adapted to an
+	 * {@code (Object,Object)void} signature and created on first access.
+	 * @return the MethodHandle, or {@code null} if the write method
+	 * needs to be invoked reflectively
+	 * @since 5.3.30
+	 * @see #getWriteMethodForActualAccess()
+	 * @see #getWriteMethodParameterType()
+	 */
+	@Nullable
+	public MethodHandle getWriteMethodHandle() {
+		MethodHandle handle = this.writeMethodHandle;
+		if (handle == null) {
+			Method writeMethod = getWriteMethodForActualAccess();
+			this.writeMethodParameterType = writeMethod.getParameterTypes()[0];
+			handle = createMethodHandle(writeMethod, WRITE_METHOD_TYPE);
+			this.writeMethodHandle = handle;
+		}
+		return (handle != NO_METHOD_HANDLE ? handle : null);
+	}
+
+	/**
+	 * Return the declared parameter type of the write method,
+	 * available once {@link #getWriteMethodHandle()} has been called.
+	 * @since 5.3.30
+	 */
+	public Class<?> getWriteMethodParameterType() {
+		Assert.state(this.writeMethodParameterType != null, "No write method handle resolved");
+		return this.writeMethodParameterType;
+	}
+
+	private MethodHandle createMethodHandle(Method method, MethodType type) {
+		try {
+			ReflectionUtils.makeAccessible(method);
+			return MethodHandles.lookup().unreflect(method).asFixedArity().asType(type);
+		}
+		catch (Throwable ex) {
+			LogFactory.getLog(GenericTypeAwarePropertyDescriptor.class).debug(
+					"Cannot create MethodHandle for " + method + " - using reflection instead", ex);
+			return NO_METHOD_HANDLE;
+		}
+	}
+
 	public MethodParameter getWriteMethodParameter() {
 		Assert.state(this.writeMethodParameter != null, "No write method available");
 		return this.writeMethodParameter;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,6 +33,7 @@ import org.springframework.core.CollectionFactory;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.NumberUtils;
@@ -123,10 +124,11 @@ class TypeConverterDelegate {
 		// No custom editor but custom ConversionService specified?
 		ConversionService conversionService = this.propertyEditorRegistry.getConversionService();
 		if (editor == null && conversionService != null && newValue != null && typeDescriptor != null) {
-			TypeDescriptor sourceTypeDesc = TypeDescriptor.forObject(newValue);
-			if (conversionService.canConvert(sourceTypeDesc, typeDescriptor)) {
+			TypedConverter<Object, T> converter =
+					conversionService.getTypedConverter(TypeDescriptor.forObject(newValue), typeDescriptor);
+			if (converter != null) {
 				try {
-					return (T) conversionService.convert(newValue, sourceTypeDesc, typeDescriptor);
+					return converter.convert(newValue);
 				}
 				catch (ConversionFailedException ex) {
 					// fallback to default conversion logic below
@@ -238,9 +240,10 @@ class TypeConverterDelegate {
 				else if (conversionService != null && typeDescriptor != null) {
 					// ConversionService not tried before, probably custom editor found
 					// but editor couldn't produce the required type...
-					TypeDescriptor sourceTypeDesc = TypeDescriptor.forObject(newValue);
-					if (conversionService.canConvert(sourceTypeDesc, typeDescriptor)) {
-						return (T) conversionService.convert(newValue, sourceTypeDesc, typeDescriptor);
+					TypedConverter<Object, T> converter =
+							conversionService.getTypedConverter(TypeDescriptor.forObject(newValue), typeDescriptor);
+					if (converter != null) {
+						return converter.convert(newValue);
 					}
 				}
 
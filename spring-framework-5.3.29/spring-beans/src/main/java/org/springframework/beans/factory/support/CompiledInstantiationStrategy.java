@@ -0,0 +1,249 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.cglib.core.ReflectUtils;
+import org.springframework.core.KotlinDetector;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Object instantiation strategy which invokes bean constructors through
+ * generated instantiator classes instead of reflection.
+ *
+ * <p>For each constructor that is used for bean instantiation, a small class
+ * is generated with ASM and defined next to the bean class, calling the
+ * constructor directly with the given arguments. The generated instantiators
+ * are cached, making repeated instantiation of the same bean class (e.g. for
+ * prototype and request-scoped beans) about as cheap as a plain {@code new}.
+ * The cache is held per bean class and shared by all instances of this
+ * strategy: each instantiator is generated once, and released together
+ * with the bean class and its ClassLoader.
+ *
+ * <p>Falls back to regular reflective instantiation for private constructors,
+ * abstract classes, Kotlin classes, constructor parameter types that are not
+ * accessible from the bean class, as well as for argument values that do not
+ * match the constructor parameter types. Method Injection is supported through
+ * CGLIB subclassing, as in the superclass.
+ *
+ * @since 5.3.30
+ * @see AbstractAutowireCapableBeanFactory#setInstantiationStrategy
+ */
+public class CompiledInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	private static final String INSTANTIATOR_CLASS_SUFFIX = "$$SpringInstantiator$$";
+
+	private static final Function<Object[], Object> NO_INSTANTIATOR = args -> null;
+
+	private static final AtomicInteger instantiatorCounter = new AtomicInteger();
+
+	private static final Log logger = LogFactory.getLog(CompiledInstantiationStrategy.class);
+
+	private static final ClassValue<Map<Constructor<?>, Instantiator>> instantiatorCache =
+			new ClassValue<Map<Constructor<?>, Instantiator>>() {
+				@Override
+				protected Map<Constructor<?>, Instantiator> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>(4);
+				}
+			};
+
+
+	@Override
+	protected Object instantiateClass(Constructor<?> ctor, Object... args) throws BeanInstantiationException {
+		Instantiator instantiator = getInstantiator(ctor);
+		if (instantiator.function == NO_INSTANTIATOR || !instantiator.isApplicable(args)) {
+			return super.instantiateClass(ctor, args);
+		}
+		try {
+			return instantiator.function.apply(args);
+		}
+		catch (Throwable ex) {
+			throw new BeanInstantiationException(ctor, "Constructor threw exception", ex);
+		}
+	}
+
+	/**
+	 * Return the generated instantiator for the given constructor,
+	 * generating it on first access.
+	 * @param ctor the constructor to invoke
+	 * @return the instantiator (with {@link #NO_INSTANTIATOR} as function if
+	 * the given constructor needs to be invoked reflectively)
+	 */
+	private Instantiator getInstantiator(Constructor<?> ctor) {
+		return instantiatorCache.get(ctor.getDeclaringClass()).computeIfAbsent(ctor, key -> new Instantiator(
+				isCompilable(key) ? generateInstantiator(key) : NO_INSTANTIATOR, key.getParameterTypes()));
+	}
+
+	/**
+	 * Determine whether an instantiator can be generated for the given constructor.
+	 */
+	private boolean isCompilable(Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		ClassLoader classLoader = clazz.getClassLoader();
+		if (classLoader == null || clazz.getName().startsWith("java.") ||
+				Modifier.isPrivate(ctor.getModifiers()) || Modifier.isAbstract(clazz.getModifiers()) ||
+				clazz.isInterface() || KotlinDetector.isKotlinType(clazz)) {
+			return false;
+		}
+		for (Class<?> paramType : ctor.getParameterTypes()) {
+			if (!isAccessible(paramType, clazz)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isAccessible(Class<?> type, Class<?> beanClass) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive()) {
+			return true;
+		}
+		if (!ClassUtils.isVisible(type, beanClass.getClassLoader())) {
+			return false;
+		}
+		int modifiers = type.getModifiers();
+		return (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers) ||
+				(type.getClassLoader() == beanClass.getClassLoader() &&
+						ClassUtils.getPackageName(type).equals(ClassUtils.getPackageName(beanClass))));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Function<Object[], Object> generateInstantiator(Constructor<?> ctor) {
+		Class<?> clazz = ctor.getDeclaringClass();
+		String className = clazz.getName() + INSTANTIATOR_CLASS_SUFFIX + instantiatorCounter.incrementAndGet();
+		try {
+			byte[] bytes = generateInstantiatorClass(className, ctor);
+			Class<?> instantiatorClass = ReflectUtils.defineClass(
+					className, bytes, clazz.getClassLoader(), clazz.getProtectionDomain(), clazz);
+			return (Function<Object[], Object>) ReflectionUtils.accessibleConstructor(instantiatorClass).newInstance();
+		}
+		catch (Throwable ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to generate instantiator for " + ctor + " - using reflection instead", ex);
+			}
+			return NO_INSTANTIATOR;
+		}
+	}
+
+	/**
+	 * Generate a {@code Function<Object[], Object>} implementation which
+	 * invokes the given constructor with the elements of the argument array.
+	 */
+	private static byte[] generateInstantiatorClass(String className, Constructor<?> ctor) {
+		String internalName = className.replace('.', '/');
+		String beanInternalName = Type.getInternalName(ctor.getDeclaringClass());
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, internalName,
+				null, "java/lang/Object", new String[] {"java/util/function/Function"});
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 0);
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+		mv.visitInsn(Opcodes.RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", null, null);
+		mv.visitCode();
+		mv.visitTypeInsn(Opcodes.NEW, beanInternalName);
+		mv.visitInsn(Opcodes.DUP);
+		Class<?>[] paramTypes = ctor.getParameterTypes();
+		if (paramTypes.length > 0) {
+			mv.visitVarInsn(Opcodes.ALOAD, 1);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, "[Ljava/lang/Object;");
+			mv.visitVarInsn(Opcodes.ASTORE, 2);
+			for (int i = 0; i < paramTypes.length; i++) {
+				mv.visitVarInsn(Opcodes.ALOAD, 2);
+				mv.visitLdcInsn(i);
+				mv.visitInsn(Opcodes.AALOAD);
+				Class<?> paramType = paramTypes[i];
+				if (paramType.isPrimitive()) {
+					Class<?> wrapperType = ClassUtils.resolvePrimitiveIfNecessary(paramType);
+					String wrapperInternalName = Type.getInternalName(wrapperType);
+					mv.visitTypeInsn(Opcodes.CHECKCAST, wrapperInternalName);
+					mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapperInternalName, paramType.getName() + "Value",
+							"()" + Type.getDescriptor(paramType), false);
+				}
+				else if (paramType != Object.class) {
+					mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(paramType));
+				}
+			}
+		}
+		mv.visitMethodInsn(Opcodes.INVOKESPECIAL, beanInternalName, "<init>",
+				Type.getConstructorDescriptor(ctor), false);
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+
+	/**
+	 * Cached instantiator function for a specific constructor.
+	 */
+	private static final class Instantiator {
+
+		final Function<Object[], Object> function;
+
+		private final Class<?>[] parameterTypes;
+
+		Instantiator(Function<Object[], Object> function, Class<?>[] parameterTypes) {
+			this.function = function;
+			this.parameterTypes = parameterTypes;
+		}
+
+		/**
+		 * Determine whether the given arguments can be passed to the
+		 * constructor as-is: otherwise, reflective instantiation takes care of
+		 * default values for primitive parameters and of argument type errors.
+		 */
+		boolean isApplicable(Object[] args) {
+			Class<?>[] paramTypes = this.parameterTypes;
+			if (paramTypes.length != args.length) {
+				return false;
+			}
+			for (int i = 0; i < args.length; i++) {
+				Object arg = args[i];
+				if (arg == null ? paramTypes[i].isPrimitive() : !ClassUtils.isAssignableValue(paramTypes[i], arg)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
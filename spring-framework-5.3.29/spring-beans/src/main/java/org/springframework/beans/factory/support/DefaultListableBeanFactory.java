@@ -16,6 +16,7 @@
 
 package org.springframework.beans.factory.support;
 
+import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectInputStream;
@@ -24,28 +25,41 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
+import java.lang.reflect.WildcardType;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import javax.inject.Provider;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCurrentlyInCreationException;
@@ -68,8 +82,11 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.MergedAnnotation;
@@ -83,6 +100,7 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.CompositeIterator;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -135,11 +153,20 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	private static final String AUTOWIRED_ANNOTATION_NAME = "org.springframework.beans.factory.annotation.Autowired";
+
+	private static final String INJECT_ANNOTATION_NAME = "javax.inject.Inject";
+
+	private static final String RESOURCE_ANNOTATION_NAME = "javax.annotation.Resource";
+
 
 	/** Map from serialized id to factory instance. */
 	private static final Map<String, Reference<DefaultListableBeanFactory>> serializableFactories =
 			new ConcurrentHashMap<>(8);
 
+	/** Maximum number of bean changes to keep for incremental updates of by-type mappings. */
+	private static final int BY_TYPE_CHANGE_LIMIT = 256;
+
 	/** Optional id for this factory, for serialization purposes. */
 	@Nullable
 	private String serializationId;
@@ -166,11 +193,24 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map from bean name to merged BeanDefinitionHolder. */
 	private final Map<String, BeanDefinitionHolder> mergedBeanDefinitionHolders = new ConcurrentHashMap<>(256);
 
-	/** Map of singleton and non-singleton bean names, keyed by dependency type. */
-	private final Map<Class<?>, String[]> allBeanNamesByType = new ConcurrentHashMap<>(64);
+	/** Map of singleton and non-singleton bean names, keyed by dependency type (Class or ResolvableType). */
+	private final Map<Object, CachedBeanNames> allBeanNamesByType = new ConcurrentHashMap<>(64);
+
+	/** Map of singleton-only bean names, keyed by dependency type (Class or ResolvableType). */
+	private final Map<Object, CachedBeanNames> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
-	/** Map of singleton-only bean names, keyed by dependency type. */
-	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
+	/** Bean changes since the base version of the by-type mappings, for incremental updates. */
+	private final List<ByTypeChange> byTypeChanges = new ArrayList<>();
+
+	/** Current version of the by-type mappings, incremented with every bean change. */
+	private volatile long byTypeVersion;
+
+	/** Oldest version of the by-type mappings that can be updated incrementally. */
+	private long byTypeBaseVersion;
+
+	/** Names of beans referenced as factory bean, built on demand: possibly more but never fewer. */
+	@Nullable
+	private volatile Set<String> factoryBeanReferences;
 
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
@@ -185,6 +225,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen;
 
+	/** Optional Executor for pre-instantiating independent singletons in parallel. */
+	@Nullable
+	private Executor preInstantiationExecutor;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -316,6 +360,43 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.autowireCandidateResolver;
 	}
 
+	/**
+	 * Specify an {@link Executor} for pre-instantiating non-lazy singletons in
+	 * parallel, e.g. a {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Singletons are grouped according to their dependencies as far as these
+	 * can be determined upfront: "depends-on" declarations, factory beans, bean
+	 * references in constructor arguments and property values, autowiring by name
+	 * or by type, as well as {@code @Autowired}/{@code @Inject}/{@code @Resource}
+	 * fields, methods and constructors. Each group of interrelated singletons is
+	 * instantiated in registration order on a single thread, with independent
+	 * groups being processed concurrently. Dependencies that are only discovered
+	 * at creation time (e.g. through programmatic lookups) are resolved on demand
+	 * by the thread that needs them, as usual.
+	 * <p>Default is none, instantiating all singletons on the calling thread.
+	 * {@link SmartInitializingSingleton} callbacks are always invoked on the
+	 * calling thread, once all singletons have been instantiated.
+	 * <p>Note that this setting requires
+	 * {@linkplain #setPerBeanSingletonLocking per-bean singleton locking}: without
+	 * it, singleton creation is serialized through the singleton mutex anyway, so
+	 * the Executor is ignored (with a warning) and all singletons are instantiated
+	 * on the calling thread.
+	 * @since 5.3.30
+	 * @see #preInstantiateSingletons()
+	 * @see #setPerBeanSingletonLocking
+	 */
+	public void setPreInstantiationExecutor(@Nullable Executor preInstantiationExecutor) {
+		this.preInstantiationExecutor = preInstantiationExecutor;
+	}
+
+	/**
+	 * Return the Executor for pre-instantiating singletons in parallel, if any.
+	 * @since 5.3.30
+	 */
+	@Nullable
+	public Executor getPreInstantiationExecutor() {
+		return this.preInstantiationExecutor;
+	}
+
 
 	@Override
 	public void copyConfigurationFrom(ConfigurableBeanFactory otherFactory) {
@@ -325,6 +406,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
+			this.preInstantiationExecutor = otherListableFactory.preInstantiationExecutor;
+			setPerBeanSingletonLocking(otherListableFactory.isPerBeanSingletonLocking());
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
 			// Make resolvable dependencies (e.g. ResourceLoader) available here as well
@@ -526,9 +609,13 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (resolved != null && !type.hasGenerics()) {
 			return getBeanNamesForType(resolved, includeNonSingletons, allowEagerInit);
 		}
-		else {
-			return doGetBeanNamesForType(type, includeNonSingletons, allowEagerInit);
+		if (isConfigurationFrozen() && allowEagerInit) {
+			ResolvableType cacheKey = getByTypeCacheKey(type);
+			if (cacheKey != null) {
+				return getCachedBeanNamesForType(cacheKey, cacheKey, includeNonSingletons);
+			}
 		}
+		return doGetBeanNamesForType(type, includeNonSingletons, allowEagerInit);
 	}
 
 	@Override
@@ -541,17 +628,168 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (!isConfigurationFrozen() || type == null || !allowEagerInit) {
 			return doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, allowEagerInit);
 		}
-		Map<Class<?>, String[]> cache =
+		if (!ClassUtils.isCacheSafe(type, getBeanClassLoader())) {
+			return doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, true);
+		}
+		Map<Object, CachedBeanNames> cache =
+				(includeNonSingletons ? this.allBeanNamesByType : this.singletonBeanNamesByType);
+		CachedBeanNames cached = cache.get(type);
+		if (cached != null && cached.version == this.byTypeVersion) {
+			return cached.beanNames;
+		}
+		return getCachedBeanNamesForType(type, ResolvableType.forRawClass(type), includeNonSingletons);
+	}
+
+	/**
+	 * Determine a by-type cache key for the given generic type: a normalized
+	 * {@code ResolvableType} with equality based on its resolved classes.
+	 * @param type the generic type to match
+	 * @return the cache key, or {@code null} if the given type is not eligible for
+	 * caching (e.g. because of wildcards, unresolvable or non-cache-safe generics)
+	 */
+	@Nullable
+	private ResolvableType getByTypeCacheKey(ResolvableType type) {
+		Class<?> resolved = type.resolve();
+		if (resolved == null || resolved.isArray() || !ClassUtils.isCacheSafe(resolved, getBeanClassLoader())) {
+			return null;
+		}
+		if (!type.hasGenerics()) {
+			return ResolvableType.forClass(resolved);
+		}
+		ResolvableType[] generics = type.getGenerics();
+		ResolvableType[] keyGenerics = new ResolvableType[generics.length];
+		for (int i = 0; i < generics.length; i++) {
+			if (generics[i].getType() instanceof WildcardType) {
+				return null;
+			}
+			keyGenerics[i] = getByTypeCacheKey(generics[i]);
+			if (keyGenerics[i] == null) {
+				return null;
+			}
+		}
+		return ResolvableType.forClassWithGenerics(resolved, keyGenerics);
+	}
+
+	/**
+	 * Obtain the bean names for the given type from the by-type cache, updating
+	 * a cached mapping with the bean changes since it has been computed, or
+	 * computing and caching a fresh mapping if no incremental update is possible.
+	 * @param cacheKey the cache key (a cache-safe Class or normalized ResolvableType)
+	 * @param type the type to match
+	 * @param includeNonSingletons whether to include prototype or scoped beans too
+	 * @return the names of beans matching the given type
+	 */
+	private String[] getCachedBeanNamesForType(Object cacheKey, ResolvableType type, boolean includeNonSingletons) {
+		Map<Object, CachedBeanNames> cache =
 				(includeNonSingletons ? this.allBeanNamesByType : this.singletonBeanNamesByType);
-		String[] resolvedBeanNames = cache.get(type);
-		if (resolvedBeanNames != null) {
-			return resolvedBeanNames;
+		CachedBeanNames cached = cache.get(cacheKey);
+		if (cached != null && cached.version == this.byTypeVersion) {
+			return cached.beanNames;
+		}
+		List<ByTypeChange> changes = null;
+		long version;
+		synchronized (this.byTypeChanges) {
+			version = this.byTypeVersion;
+			if (cached != null && cached.version >= this.byTypeBaseVersion) {
+				changes = new ArrayList<>();
+				for (ByTypeChange change : this.byTypeChanges) {
+					if (change.version > cached.version) {
+						changes.add(change);
+					}
+				}
+			}
+		}
+		String[] beanNames = null;
+		if (changes != null) {
+			beanNames = cached.beanNames;
+			for (ByTypeChange change : changes) {
+				beanNames = applyByTypeChange(beanNames, change, type, includeNonSingletons);
+				if (beanNames == null) {
+					break;
+				}
+			}
+		}
+		if (beanNames == null) {
+			beanNames = doGetBeanNamesForType(type, includeNonSingletons, true);
+		}
+		cache.put(cacheKey, new CachedBeanNames(beanNames, version));
+		return beanNames;
+	}
+
+	/**
+	 * Apply the given bean change to the given bean names for a specific type,
+	 * re-evaluating the type match for the changed bean only.
+	 * @param beanNames the previously determined bean names for the type
+	 * @param change the bean change to apply
+	 * @param type the type to match
+	 * @param includeNonSingletons whether to include prototype or scoped beans too
+	 * @return the updated bean names, or {@code null} if the position of
+	 * the changed bean cannot be determined (requiring a full recomputation)
+	 */
+	@Nullable
+	private String[] applyByTypeChange(
+			String[] beanNames, ByTypeChange change, ResolvableType type, boolean includeNonSingletons) {
+
+		String beanName = change.beanName;
+		String match = null;
+		try {
+			if (this.beanDefinitionMap.containsKey(beanName)) {
+				if (!isAlias(beanName)) {
+					match = matchBeanDefinition(beanName, type, includeNonSingletons, true);
+				}
+			}
+			else if (this.manualSingletonNames.contains(beanName)) {
+				match = matchManualSingleton(beanName, type, includeNonSingletons);
+			}
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			// Bean definition got removed in the meantime -> no match.
+		}
+
+		int index = -1;
+		String factoryBeanName = FACTORY_BEAN_PREFIX + beanName;
+		for (int i = 0; i < beanNames.length; i++) {
+			if (beanNames[i].equals(beanName) || beanNames[i].equals(factoryBeanName)) {
+				index = i;
+				break;
+			}
+		}
+		if (index != -1 && (match == null || !change.newBeanDefinition)) {
+			if (beanNames[index].equals(match)) {
+				return beanNames;
+			}
+			List<String> result = new ArrayList<>(Arrays.asList(beanNames));
+			if (match != null) {
+				result.set(index, match);
+			}
+			else {
+				result.remove(index);
+			}
+			return StringUtils.toStringArray(result);
+		}
+		if (match == null) {
+			return beanNames;
 		}
-		resolvedBeanNames = doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, true);
-		if (ClassUtils.isCacheSafe(type, getBeanClassLoader())) {
-			cache.put(type, resolvedBeanNames);
+
+		List<String> result = new ArrayList<>(Arrays.asList(beanNames));
+		if (index != -1) {
+			result.remove(index);
+		}
+		int position = result.size();
+		if (this.beanDefinitionMap.containsKey(beanName)) {
+			if (!change.newBeanDefinition) {
+				// Position among the existing bean definitions unknown...
+				return null;
+			}
+			// A new bean definition goes after all other bean definitions,
+			// in front of any manually registered singletons.
+			while (position > 0 &&
+					!this.beanDefinitionMap.containsKey(BeanFactoryUtils.transformedBeanName(result.get(position - 1)))) {
+				position--;
+			}
 		}
-		return resolvedBeanNames;
+		result.add(position, match);
+		return StringUtils.toStringArray(result);
 	}
 
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
@@ -562,37 +800,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			// Only consider bean as eligible if the bean name is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
 				try {
-					RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
-					// Only check bean definition if it is complete.
-					if (!mbd.isAbstract() && (allowEagerInit ||
-							(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
-									!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
-						boolean isFactoryBean = isFactoryBean(beanName, mbd);
-						BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
-						boolean matchFound = false;
-						boolean allowFactoryBeanInit = (allowEagerInit || containsSingleton(beanName));
-						boolean isNonLazyDecorated = (dbd != null && !mbd.isLazyInit());
-						if (!isFactoryBean) {
-							if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
-								matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
-							}
-						}
-						else {
-							if (includeNonSingletons || isNonLazyDecorated ||
-									(allowFactoryBeanInit && isSingleton(beanName, mbd, dbd))) {
-								matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
-							}
-							if (!matchFound) {
-								// In case of FactoryBean, try to match FactoryBean instance itself next.
-								beanName = FACTORY_BEAN_PREFIX + beanName;
-								if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
-									matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
-								}
-							}
-						}
-						if (matchFound) {
-							result.add(beanName);
-						}
+					String match = matchBeanDefinition(beanName, type, includeNonSingletons, allowEagerInit);
+					if (match != null) {
+						result.add(match);
 					}
 				}
 				catch (CannotLoadBeanClassException | BeanDefinitionStoreException ex) {
@@ -616,19 +826,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// Check manually registered singletons too.
 		for (String beanName : this.manualSingletonNames) {
 			try {
-				// In case of FactoryBean, match object created by FactoryBean.
-				if (isFactoryBean(beanName)) {
-					if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
-						result.add(beanName);
-						// Match found for this bean: do not match FactoryBean itself anymore.
-						continue;
-					}
-					// In case of FactoryBean, try to match FactoryBean itself next.
-					beanName = FACTORY_BEAN_PREFIX + beanName;
-				}
-				// Match raw bean instance (might be raw FactoryBean).
-				if (isTypeMatch(beanName, type)) {
-					result.add(beanName);
+				String match = matchManualSingleton(beanName, type, includeNonSingletons);
+				if (match != null) {
+					result.add(match);
 				}
 			}
 			catch (NoSuchBeanDefinitionException ex) {
@@ -641,6 +841,70 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Check whether the given bean definition matches the given type.
+	 * @return the matching bean name (the FactoryBean name in case of a matching
+	 * FactoryBean instance itself), or {@code null} if no match
+	 */
+	@Nullable
+	private String matchBeanDefinition(
+			String beanName, ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
+
+		RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+		// Only check bean definition if it is complete.
+		if (!mbd.isAbstract() && (allowEagerInit ||
+				(mbd.hasBeanClass() || !mbd.isLazyInit() || isAllowEagerClassLoading()) &&
+						!requiresEagerInitForType(mbd.getFactoryBeanName()))) {
+			boolean isFactoryBean = isFactoryBean(beanName, mbd);
+			BeanDefinitionHolder dbd = mbd.getDecoratedDefinition();
+			boolean matchFound = false;
+			boolean allowFactoryBeanInit = (allowEagerInit || containsSingleton(beanName));
+			boolean isNonLazyDecorated = (dbd != null && !mbd.isLazyInit());
+			if (!isFactoryBean) {
+				if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
+					matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
+				}
+			}
+			else {
+				if (includeNonSingletons || isNonLazyDecorated ||
+						(allowFactoryBeanInit && isSingleton(beanName, mbd, dbd))) {
+					matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
+				}
+				if (!matchFound) {
+					// In case of FactoryBean, try to match FactoryBean instance itself next.
+					beanName = FACTORY_BEAN_PREFIX + beanName;
+					if (includeNonSingletons || isSingleton(beanName, mbd, dbd)) {
+						matchFound = isTypeMatch(beanName, type, allowFactoryBeanInit);
+					}
+				}
+			}
+			if (matchFound) {
+				return beanName;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Check whether the given manually registered singleton matches the given type.
+	 * @return the matching bean name (the FactoryBean name in case of a matching
+	 * FactoryBean instance itself), or {@code null} if no match
+	 */
+	@Nullable
+	private String matchManualSingleton(String beanName, ResolvableType type, boolean includeNonSingletons) {
+		// In case of FactoryBean, match object created by FactoryBean.
+		if (isFactoryBean(beanName)) {
+			if ((includeNonSingletons || isSingleton(beanName)) && isTypeMatch(beanName, type)) {
+				// Match found for this bean: do not match FactoryBean itself anymore.
+				return beanName;
+			}
+			// In case of FactoryBean, try to match FactoryBean itself next.
+			beanName = FACTORY_BEAN_PREFIX + beanName;
+		}
+		// Match raw bean instance (might be raw FactoryBean).
+		return (isTypeMatch(beanName, type) ? beanName : null);
+	}
+
 	private boolean isSingleton(String beanName, RootBeanDefinition mbd, @Nullable BeanDefinitionHolder dbd) {
 		return (dbd != null ? mbd.isSingleton() : isSingleton(beanName));
 	}
@@ -894,6 +1158,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		this.mergedBeanDefinitionHolders.clear();
+		this.factoryBeanReferences = null;
 		clearByTypeCache();
 	}
 
@@ -901,6 +1166,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void freezeConfiguration() {
 		this.configurationFrozen = true;
 		this.frozenBeanDefinitionNames = StringUtils.toStringArray(this.beanDefinitionNames);
+		this.factoryBeanReferences = null;
 	}
 
 	@Override
@@ -931,35 +1197,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 		// Trigger initialization of all non-lazy singleton beans...
 		//遍历所有的bean名称
-		for (String beanName : beanNames) {
-			//拿到对应的beanDefinition
-			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
-			//bean如果不是抽象类，是单例，同时又不是懒加载的类的话，就需要初始化单例对象了
-			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
-				//判断是否是工厂bean
-				if (isFactoryBean(beanName)) {
-					Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
-					if (bean instanceof FactoryBean) {
-						FactoryBean<?> factory = (FactoryBean<?>) bean;
-						boolean isEagerInit;
-						if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
-							isEagerInit = AccessController.doPrivileged(
-									(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
-									getAccessControlContext());
-						}
-						else {
-							isEagerInit = (factory instanceof SmartFactoryBean &&
-									((SmartFactoryBean<?>) factory).isEagerInit());
-						}
-						if (isEagerInit) {
-							getBean(beanName);
-						}
-					}
-				}
-				else {
-					//不是工厂bean就直接调用getBean进行初始化
-					getBean(beanName);
-				}
+		Executor executor = this.preInstantiationExecutor;
+		if (executor != null && !isPerBeanSingletonLocking()) {
+			logger.warn("Ignoring pre-instantiation Executor since per-bean singleton locking is not active: " +
+					"singletons are going to be pre-instantiated sequentially");
+			executor = null;
+		}
+		if (executor != null) {
+			preInstantiateSingletonsInParallel(beanNames, executor);
+		}
+		else {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
 			}
 		}
 
@@ -985,6 +1234,333 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Trigger initialization of the given bean if it is a non-lazy singleton.
+	 */
+	private void preInstantiateSingleton(String beanName) {
+		//拿到对应的beanDefinition
+		RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+		//bean如果不是抽象类，是单例，同时又不是懒加载的类的话，就需要初始化单例对象了
+		if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+			//判断是否是工厂bean
+			if (isFactoryBean(beanName)) {
+				Object bean = getBean(FACTORY_BEAN_PREFIX + beanName);
+				if (bean instanceof FactoryBean) {
+					FactoryBean<?> factory = (FactoryBean<?>) bean;
+					boolean isEagerInit;
+					if (System.getSecurityManager() != null && factory instanceof SmartFactoryBean) {
+						isEagerInit = AccessController.doPrivileged(
+								(PrivilegedAction<Boolean>) ((SmartFactoryBean<?>) factory)::isEagerInit,
+								getAccessControlContext());
+					}
+					else {
+						isEagerInit = (factory instanceof SmartFactoryBean &&
+								((SmartFactoryBean<?>) factory).isEagerInit());
+					}
+					if (isEagerInit) {
+						getBean(beanName);
+					}
+				}
+			}
+			else {
+				//不是工厂bean就直接调用getBean进行初始化
+				getBean(beanName);
+			}
+		}
+	}
+
+	/**
+	 * Pre-instantiate the given singletons on the given Executor, processing
+	 * each group of interrelated singletons on a single thread.
+	 * @see #setPreInstantiationExecutor
+	 */
+	private void preInstantiateSingletonsInParallel(List<String> beanNames, Executor executor) {
+		Collection<List<String>> groups = groupInterrelatedSingletons(beanNames);
+		if (groups.size() <= 1) {
+			for (String beanName : beanNames) {
+				preInstantiateSingleton(beanName);
+			}
+			return;
+		}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Pre-instantiating " + groups.size() + " groups of singletons in parallel");
+		}
+		List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+		for (List<String> group : groups) {
+			futures.add(CompletableFuture.runAsync(() -> group.forEach(this::preInstantiateSingleton), executor));
+		}
+		List<Throwable> failures = new ArrayList<>();
+		for (CompletableFuture<Void> future : futures) {
+			try {
+				future.join();
+			}
+			catch (CompletionException | CancellationException ex) {
+				failures.add(ex.getCause() != null ? ex.getCause() : ex);
+			}
+		}
+		if (failures.isEmpty()) {
+			return;
+		}
+		Throwable failure = failures.get(0);
+		if (!(failure instanceof RuntimeException) && !(failure instanceof Error)) {
+			failure = new FatalBeanException("Failed to pre-instantiate singletons", failure);
+		}
+		for (int i = 1; i < failures.size(); i++) {
+			failure.addSuppressed(failures.get(i));
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		throw (RuntimeException) failure;
+	}
+
+	/**
+	 * Group the given bean names according to their statically known dependencies:
+	 * "depends-on" declarations, factory beans, bean references in constructor
+	 * arguments and property values (including inner beans and managed collections)
+	 * as well as autowiring and annotation-driven injection points.
+	 * @param beanNames the bean names to group, in registration order
+	 * @return the groups of interrelated non-lazy singleton bean names,
+	 * each in registration order
+	 */
+	private Collection<List<String>> groupInterrelatedSingletons(List<String> beanNames) {
+		Map<String, String> parents = new HashMap<>(beanNames.size() * 2);
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			Consumer<String> union = dependency -> unionGroups(parents, beanName, transformedBeanName(dependency));
+			String[] dependsOn = bd.getDependsOn();
+			if (dependsOn != null) {
+				for (String dependency : dependsOn) {
+					union.accept(dependency);
+				}
+			}
+			if (bd.getFactoryBeanName() != null) {
+				union.accept(bd.getFactoryBeanName());
+			}
+			collectBeanReferences(bd, union);
+			collectAutowiringCandidates(beanName, bd, union);
+		}
+		Map<String, List<String>> groups = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			RootBeanDefinition bd = getMergedLocalBeanDefinition(beanName);
+			if (!bd.isAbstract() && bd.isSingleton() && !bd.isLazyInit()) {
+				groups.computeIfAbsent(findGroup(parents, beanName), key -> new ArrayList<>()).add(beanName);
+			}
+		}
+		return groups.values();
+	}
+
+	private void collectBeanReferences(@Nullable Object value, Consumer<String> consumer) {
+		if (value instanceof RuntimeBeanReference) {
+			consumer.accept(((RuntimeBeanReference) value).getBeanName());
+		}
+		else if (value instanceof BeanDefinitionHolder) {
+			collectBeanReferences(((BeanDefinitionHolder) value).getBeanDefinition(), consumer);
+		}
+		else if (value instanceof BeanDefinition) {
+			BeanDefinition bd = (BeanDefinition) value;
+			if (bd.getFactoryBeanName() != null) {
+				consumer.accept(bd.getFactoryBeanName());
+			}
+			if (bd.hasConstructorArgumentValues()) {
+				ConstructorArgumentValues args = bd.getConstructorArgumentValues();
+				for (ConstructorArgumentValues.ValueHolder holder : args.getIndexedArgumentValues().values()) {
+					collectBeanReferences(holder.getValue(), consumer);
+				}
+				for (ConstructorArgumentValues.ValueHolder holder : args.getGenericArgumentValues()) {
+					collectBeanReferences(holder.getValue(), consumer);
+				}
+			}
+			if (bd.hasPropertyValues()) {
+				for (PropertyValue pv : bd.getPropertyValues().getPropertyValueList()) {
+					collectBeanReferences(pv.getValue(), consumer);
+				}
+			}
+		}
+		else if (value instanceof Collection) {
+			for (Object element : (Collection<?>) value) {
+				collectBeanReferences(element, consumer);
+			}
+		}
+		else if (value instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				collectBeanReferences(entry.getKey(), consumer);
+				collectBeanReferences(entry.getValue(), consumer);
+			}
+		}
+	}
+
+	/**
+	 * Collect the names of the beans that may get injected into the given bean
+	 * through autowiring: by name or by type, through constructor or factory method
+	 * arguments, or through {@code @Autowired}, {@code @Inject} or {@code @Resource}
+	 * fields and methods. Inner beans are only covered by their explicit references.
+	 */
+	private void collectAutowiringCandidates(String beanName, RootBeanDefinition bd, Consumer<String> consumer) {
+		Class<?> beanClass;
+		Class<?> factoryClass;
+		try {
+			beanClass = resolveBeanClass(bd, beanName);
+			factoryClass = beanClass;
+			String factoryBeanName = bd.getFactoryBeanName();
+			if (factoryBeanName != null) {
+				factoryClass = (containsBeanDefinition(factoryBeanName) ?
+						resolveBeanClass(getMergedLocalBeanDefinition(factoryBeanName), factoryBeanName) : null);
+			}
+		}
+		catch (CannotLoadBeanClassException ex) {
+			// To be reported by the regular creation attempt
+			return;
+		}
+
+		// Constructor or factory method arguments
+		Class<?> instanceClass = null;
+		String factoryMethodName = bd.getFactoryMethodName();
+		if (factoryMethodName != null) {
+			if (factoryClass != null) {
+				for (Method method : ReflectionUtils.getUniqueDeclaredMethods(factoryClass)) {
+					if (method.getName().equals(factoryMethodName)) {
+						collectParameterCandidates(method, consumer);
+						instanceClass = (instanceClass == null || instanceClass == method.getReturnType() ?
+								method.getReturnType() : Object.class);
+					}
+				}
+			}
+		}
+		else if (beanClass != null) {
+			Constructor<?>[] ctors = beanClass.getDeclaredConstructors();
+			boolean autowireConstructor = (bd.getResolvedAutowireMode() == AUTOWIRE_CONSTRUCTOR);
+			for (Constructor<?> ctor : ctors) {
+				if (autowireConstructor || ctors.length == 1 || isInjectionPoint(ctor)) {
+					collectParameterCandidates(ctor, consumer);
+				}
+			}
+			instanceClass = beanClass;
+		}
+		if (instanceClass == null || instanceClass == Object.class) {
+			return;
+		}
+
+		// Annotated fields and methods
+		ReflectionUtils.doWithFields(instanceClass, field -> {
+			if (isInjectionPoint(field)) {
+				collectInjectionCandidates(field, field.getName(), ResolvableType.forField(field), consumer);
+			}
+		});
+		ReflectionUtils.doWithMethods(instanceClass, method -> {
+			if (isInjectionPoint(method)) {
+				if (method.getParameterCount() == 1) {
+					String propertyName = (method.getName().startsWith("set") && method.getName().length() > 3 ?
+							StringUtils.uncapitalize(method.getName().substring(3)) : method.getName());
+					collectInjectionCandidates(method, propertyName, ResolvableType.forMethodParameter(method, 0), consumer);
+				}
+				else {
+					collectParameterCandidates(method, consumer);
+				}
+			}
+		});
+
+		// Autowiring of bean properties by name or by type
+		int autowireMode = bd.getResolvedAutowireMode();
+		if (autowireMode == AUTOWIRE_BY_NAME || autowireMode == AUTOWIRE_BY_TYPE) {
+			for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(instanceClass)) {
+				Method writeMethod = pd.getWriteMethod();
+				if (writeMethod == null) {
+					continue;
+				}
+				if (autowireMode == AUTOWIRE_BY_NAME) {
+					if (containsBeanDefinition(pd.getName())) {
+						consumer.accept(pd.getName());
+					}
+				}
+				else {
+					collectTypeCandidates(ResolvableType.forMethodParameter(writeMethod, 0), consumer);
+				}
+			}
+		}
+	}
+
+	private static boolean isInjectionPoint(AnnotatedElement element) {
+		MergedAnnotations annotations = MergedAnnotations.from(element);
+		return (annotations.isPresent(AUTOWIRED_ANNOTATION_NAME) || annotations.isPresent(INJECT_ANNOTATION_NAME) ||
+				annotations.isPresent(RESOURCE_ANNOTATION_NAME));
+	}
+
+	private void collectParameterCandidates(Executable executable, Consumer<String> consumer) {
+		for (int i = 0; i < executable.getParameterCount(); i++) {
+			collectTypeCandidates(ResolvableType.forMethodParameter(MethodParameter.forExecutable(executable, i)), consumer);
+		}
+	}
+
+	private void collectInjectionCandidates(
+			AnnotatedElement element, String defaultName, ResolvableType type, Consumer<String> consumer) {
+
+		MergedAnnotation<Annotation> resource = MergedAnnotations.from(element).get(RESOURCE_ANNOTATION_NAME);
+		if (resource.isPresent()) {
+			String name = resource.getString("name");
+			if (!StringUtils.hasLength(name)) {
+				name = defaultName;
+			}
+			if (containsBeanDefinition(name)) {
+				consumer.accept(name);
+				return;
+			}
+		}
+		collectTypeCandidates(type, consumer);
+	}
+
+	/**
+	 * Collect the names of the beans matching the given dependency type,
+	 * also considering the element type of collections, maps, arrays, Optional
+	 * and lazy lookup handles such as {@link ObjectProvider}.
+	 */
+	private void collectTypeCandidates(ResolvableType type, Consumer<String> consumer) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null) {
+			return;
+		}
+		if (rawType == Optional.class || ObjectFactory.class.isAssignableFrom(rawType) ||
+				rawType == javaxInjectProviderClass) {
+			type = type.getGeneric();
+		}
+		else if (rawType.isArray()) {
+			type = type.getComponentType();
+		}
+		else if (Collection.class.isAssignableFrom(rawType)) {
+			type = type.asCollection().getGeneric();
+		}
+		else if (Map.class.isAssignableFrom(rawType)) {
+			type = type.asMap().getGeneric(1);
+		}
+		Class<?> dependencyType = type.resolve();
+		if (dependencyType == null || dependencyType.isPrimitive()) {
+			return;
+		}
+		for (String candidate : getBeanNamesForType(dependencyType, true, false)) {
+			consumer.accept(candidate);
+		}
+	}
+
+	private static void unionGroups(Map<String, String> parents, String beanName, String otherBeanName) {
+		String group = findGroup(parents, beanName);
+		String otherGroup = findGroup(parents, otherBeanName);
+		if (!group.equals(otherGroup)) {
+			parents.put(otherGroup, group);
+		}
+	}
+
+	private static String findGroup(Map<String, String> parents, String beanName) {
+		String group = beanName;
+		String parent;
+		while ((parent = parents.get(group)) != null) {
+			group = parent;
+		}
+		if (!group.equals(beanName)) {
+			parents.put(beanName, group);
+		}
+		return group;
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of BeanDefinitionRegistry interface
@@ -1069,14 +1645,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			}
 			this.frozenBeanDefinitionNames = null;
 		}
+		addFactoryBeanReference(beanDefinition);
 
 		// 如果是覆盖操作，或者singletonObjects单例对象中已经创建了这个bean
 		if (existingDefinition != null || containsSingleton(beanName)) {
 			// 重置beanName对应的缓存
 			resetBeanDefinition(beanName);
 		}
-		else if (isConfigurationFrozen()) {
-			clearByTypeCache();
+		if (existingDefinition == null && isConfigurationFrozen()) {
+			updateByTypeCache(beanName, true);
 		}
 	}
 
@@ -1170,7 +1747,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
 		updateManualSingletonNames(set -> set.add(beanName), set -> !this.beanDefinitionMap.containsKey(beanName));
-		clearByTypeCache();
+		updateByTypeCache(beanName, false);
 	}
 
 	@Override
@@ -1184,7 +1761,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void destroySingleton(String beanName) {
 		super.destroySingleton(beanName);
 		removeManualSingletonName(beanName);
-		clearByTypeCache();
+		updateByTypeCache(beanName, false);
 	}
 
 	private void removeManualSingletonName(String beanName) {
@@ -1216,12 +1793,84 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Record a change of the given bean for its by-type mappings: cached mappings
+	 * re-evaluate the given bean on their next access instead of being recomputed
+	 * for all beans. Falls back to {@link #clearByTypeCache()} if the given bean
+	 * serves as factory bean for other beans, whose types may depend on it.
+	 * @param beanName the name of the bean that got registered, replaced or removed
+	 * @param newBeanDefinition whether the bean has been registered as a new bean
+	 * definition, i.e. appended to the list of bean definition names
+	 */
+	private void updateByTypeCache(String beanName, boolean newBeanDefinition) {
+		if (!isConfigurationFrozen() || (this.allBeanNamesByType.isEmpty() && this.singletonBeanNamesByType.isEmpty()) ||
+				isFactoryBeanReference(beanName)) {
+			clearByTypeCache();
+			return;
+		}
+		synchronized (this.byTypeChanges) {
+			if (this.byTypeChanges.size() >= BY_TYPE_CHANGE_LIMIT) {
+				clearByTypeCache();
+				return;
+			}
+			long version = this.byTypeVersion + 1;
+			this.byTypeChanges.add(new ByTypeChange(beanName, newBeanDefinition, version));
+			this.byTypeVersion = version;
+		}
+	}
+
+	/**
+	 * Check whether the given bean is referenced as factory bean by any bean definition.
+	 * <p>The referenced names are collected once and then only added to, so that
+	 * a removed reference may still count until the metadata cache is cleared.
+	 */
+	private boolean isFactoryBeanReference(String beanName) {
+		Set<String> references = this.factoryBeanReferences;
+		if (references == null) {
+			synchronized (this.beanDefinitionMap) {
+				references = this.factoryBeanReferences;
+				if (references == null) {
+					references = ConcurrentHashMap.newKeySet();
+					for (BeanDefinition bd : this.beanDefinitionMap.values()) {
+						String factoryBeanName = bd.getFactoryBeanName();
+						if (factoryBeanName != null) {
+							references.add(factoryBeanName);
+						}
+					}
+					this.factoryBeanReferences = references;
+				}
+			}
+		}
+		return references.contains(beanName);
+	}
+
+	/**
+	 * Record the factory bean reference of the given bean definition, if any.
+	 */
+	private void addFactoryBeanReference(BeanDefinition bd) {
+		String factoryBeanName = bd.getFactoryBeanName();
+		if (factoryBeanName != null) {
+			synchronized (this.beanDefinitionMap) {
+				Set<String> references = this.factoryBeanReferences;
+				if (references != null) {
+					references.add(factoryBeanName);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Remove any assumptions about by-type mappings.
 	 */
 	private void clearByTypeCache() {
-		this.allBeanNamesByType.clear();
-		this.singletonBeanNamesByType.clear();
+		synchronized (this.byTypeChanges) {
+			this.allBeanNamesByType.clear();
+			this.singletonBeanNamesByType.clear();
+			this.byTypeChanges.clear();
+			long version = this.byTypeVersion + 1;
+			this.byTypeBaseVersion = version;
+			this.byTypeVersion = version;
+		}
 	}
 
 
@@ -1940,6 +2589,42 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	}
 
 
+	/**
+	 * Bean names for a specific type, along with the version of the by-type
+	 * mappings that they have been determined for.
+	 */
+	private static final class CachedBeanNames {
+
+		final String[] beanNames;
+
+		final long version;
+
+		CachedBeanNames(String[] beanNames, long version) {
+			this.beanNames = beanNames;
+			this.version = version;
+		}
+	}
+
+
+	/**
+	 * A bean registration change, to be applied to cached by-type mappings.
+	 */
+	private static final class ByTypeChange {
+
+		final String beanName;
+
+		final boolean newBeanDefinition;
+
+		final long version;
+
+		ByTypeChange(String beanName, boolean newBeanDefinition, long version) {
+			this.beanName = beanName;
+			this.newBeanDefinition = newBeanDefinition;
+			this.version = version;
+		}
+	}
+
+
 	/**
 	 * A dependency descriptor marker for nested elements.
 	 */
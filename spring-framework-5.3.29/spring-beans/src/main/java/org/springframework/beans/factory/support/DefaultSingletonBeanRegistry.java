@@ -25,6 +25,8 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.BeanCreationNotAllowedException;
@@ -32,6 +34,7 @@ import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.config.SingletonBeanRegistry;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.SimpleAliasRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -61,6 +64,12 @@ import org.springframework.util.StringUtils;
  * (which inherit from it). Can alternatively also be used as a nested
  * helper to delegate to.
  *
+ * <p>By default, singleton creation is serialized through a registry-wide
+ * {@linkplain #getSingletonMutex() singleton mutex}. With
+ * {@linkplain #setPerBeanSingletonLocking per-bean singleton locking}, creation
+ * of different singletons may proceed concurrently, with each singleton being
+ * guarded by a lock of its own.
+ *
  * @author Juergen Hoeller
  * @since 2.0
  * @see #registerSingleton
@@ -112,8 +121,20 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
 
 	/** Collection of suppressed Exceptions, available for associating related causes. */
-	@Nullable
-	private Set<Exception> suppressedExceptions;
+	private final ThreadLocal<Set<Exception>> suppressedExceptions =
+			new NamedThreadLocal<>("Suppressed exceptions during singleton creation");
+
+	/** Whether to lock singleton creation per bean rather than through the singleton mutex. */
+	private volatile boolean perBeanSingletonLocking = false;
+
+	/** Singleton creation locks currently in use: bean name to lock, in case of per-bean singleton locking. */
+	private final Map<String, SingletonLock> singletonLocks = new ConcurrentHashMap<>(64);
+
+	/** Threads waiting for a singleton creation lock: thread to lock, for deadlock detection. */
+	private final Map<Thread, SingletonLock> singletonLockWaiters = new HashMap<>();
+
+	/** Mutex exposed to collaborators in case of per-bean singleton locking. */
+	private final Object perBeanSingletonMutex = new Object();
 
 	/** Flag that indicates whether we're currently within destroySingletons.
 	 *  表示当前是否处于destroySingletons方法的执行流程中
@@ -133,6 +154,36 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	private final Map<String, Set<String>> dependenciesForBeanMap = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Set whether to lock the creation of each singleton individually rather than
+	 * serializing all singleton creation through the registry-wide singleton mutex.
+	 * <p>Default is "false". Switch this flag to "true" in order to allow for
+	 * concurrent creation of independent singletons, e.g. lazy-init singletons
+	 * requested from several threads or singletons that are pre-instantiated in
+	 * parallel. Circular references are still detected through the set of
+	 * singletons currently in creation; a circular reference between singletons
+	 * that are being created by different threads is resolved through an early
+	 * singleton reference (if available), just like within a single thread.
+	 * <p>Note that collaborators which synchronize on the
+	 * {@linkplain #getSingletonMutex() singleton mutex} do not exclude singleton
+	 * creation in this mode anymore, and should not obtain beans while holding
+	 * the mutex. This flag needs to be set before any singletons are created.
+	 * @since 5.3.30
+	 * @see #getSingleton(String, ObjectFactory)
+	 */
+	public void setPerBeanSingletonLocking(boolean perBeanSingletonLocking) {
+		this.perBeanSingletonLocking = perBeanSingletonLocking;
+	}
+
+	/**
+	 * Return whether the creation of each singleton is locked individually.
+	 * @since 5.3.30
+	 */
+	public boolean isPerBeanSingletonLocking() {
+		return this.perBeanSingletonLocking;
+	}
+
+
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		Assert.notNull(beanName, "Bean name must not be null");
@@ -210,6 +261,18 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 		Object singletonObject = this.singletonObjects.get(beanName);
 		// 如果单例对象不存在，并且单例对象还正在创建中时
 		if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
+			if (this.perBeanSingletonLocking) {
+				// Only expose an early reference to the thread that creates the singleton:
+				// other threads are going to wait for the fully initialized singleton.
+				SingletonLock lock = this.singletonLocks.get(beanName);
+				if (lock != null && lock.isHeldByCurrentThread()) {
+					singletonObject = this.earlySingletonObjects.get(beanName);
+					if (singletonObject == null && allowEarlyReference) {
+						singletonObject = getEarlySingletonReference(beanName);
+					}
+				}
+				return singletonObject;
+			}
 			// 从存储早期单例对象map中获取单例对象，early对象是仅仅反射创建出来了，但是很多参数没有赋值的对象
 			singletonObject = this.earlySingletonObjects.get(beanName);
 			// 如果从存储早期单例对象map中没有拿到对象，并且允许早期引用的话
@@ -255,63 +318,239 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
-		synchronized (this.singletonObjects) {
-			// 从单例一级缓存中获取bean的实例对象
+		if (this.perBeanSingletonLocking) {
 			Object singletonObject = this.singletonObjects.get(beanName);
-			if (singletonObject == null) {
-				// 判断当前的单例bean是否正在销毁（正在调用destroySingletons方法），如是则不允许创建单例bean
-				if (this.singletonsCurrentlyInDestruction) {
-					throw new BeanCreationNotAllowedException(beanName,
-							"Singleton bean creation not allowed while singletons of this factory are in destruction " +
-							"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
-				}
-				if (logger.isDebugEnabled()) {
-					logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			SingletonLock lock = acquireSingletonLock(beanName);
+			if (lock == null) {
+				// Circular reference between singletons in creation on different threads:
+				// resolve it like a circular reference within a single thread.
+				singletonObject = getEarlySingletonReference(beanName);
+				if (singletonObject == null) {
+					throw new BeanCurrentlyInCreationException(beanName, "Requested bean is currently in creation " +
+							"on another thread which in turn waits for a bean in creation on the current thread: " +
+							"Is there an unresolvable circular reference?");
 				}
+				return singletonObject;
+			}
+			try {
+				return createSingletonIfNecessary(beanName, singletonFactory);
+			}
+			finally {
+				releaseSingletonLock(beanName, lock);
+			}
+		}
+		synchronized (this.singletonObjects) {
+			return createSingletonIfNecessary(beanName, singletonFactory);
+		}
+	}
 
-				// 前置操作：标记单例bean正在创建中
-				beforeSingletonCreation(beanName);
-				boolean newSingleton = false;
-				boolean recordSuppressedExceptions = (this.suppressedExceptions == null);
-				if (recordSuppressedExceptions) {
-					this.suppressedExceptions = new LinkedHashSet<>();
-				}
-				try {
-					// 调用传入的singletonFactory方法来创建bean实例
-					singletonObject = singletonFactory.getObject();
-					// 标记单例bean创建成功
-					newSingleton = true;
-				}
-				catch (IllegalStateException ex) {
-					// Has the singleton object implicitly appeared in the meantime ->
-					// if yes, proceed with it since the exception indicates that state.
+	/**
+	 * Create and register the singleton unless registered already,
+	 * within the singleton creation lock for the given bean.
+	 */
+	private Object createSingletonIfNecessary(String beanName, ObjectFactory<?> singletonFactory) {
+		// 从单例一级缓存中获取bean的实例对象
+		Object singletonObject = this.singletonObjects.get(beanName);
+		if (singletonObject == null) {
+			// 判断当前的单例bean是否正在销毁（正在调用destroySingletons方法），如是则不允许创建单例bean
+			if (this.singletonsCurrentlyInDestruction) {
+				throw new BeanCreationNotAllowedException(beanName,
+						"Singleton bean creation not allowed while singletons of this factory are in destruction " +
+						"(Do not request a bean from a BeanFactory in a destroy method implementation!)");
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Creating shared instance of singleton bean '" + beanName + "'");
+			}
 
-					// 如果发生了IllegalStateException异常，则从单例一级缓存中再次获取bean实例对象
-					singletonObject = this.singletonObjects.get(beanName);
-					// 如果不存在则抛出异常
-					if (singletonObject == null) {
-						throw ex;
-					}
-				}
-				catch (BeanCreationException ex) {
-					if (recordSuppressedExceptions) {
-						for (Exception suppressedException : this.suppressedExceptions) {
-							ex.addRelatedCause(suppressedException);
-						}
-					}
+			// 前置操作：标记单例bean正在创建中
+			beforeSingletonCreation(beanName);
+			boolean newSingleton = false;
+			boolean recordSuppressedExceptions = (this.suppressedExceptions.get() == null);
+			if (recordSuppressedExceptions) {
+				this.suppressedExceptions.set(new LinkedHashSet<>());
+			}
+			try {
+				// 调用传入的singletonFactory方法来创建bean实例
+				singletonObject = singletonFactory.getObject();
+				// 标记单例bean创建成功
+				newSingleton = true;
+			}
+			catch (IllegalStateException ex) {
+				// Has the singleton object implicitly appeared in the meantime ->
+				// if yes, proceed with it since the exception indicates that state.
+
+				// 如果发生了IllegalStateException异常，则从单例一级缓存中再次获取bean实例对象
+				singletonObject = this.singletonObjects.get(beanName);
+				// 如果不存在则抛出异常
+				if (singletonObject == null) {
 					throw ex;
 				}
-				finally {
-					if (recordSuppressedExceptions) {
-						this.suppressedExceptions = null;
+			}
+			catch (BeanCreationException ex) {
+				if (recordSuppressedExceptions) {
+					for (Exception suppressedException : this.suppressedExceptions.get()) {
+						ex.addRelatedCause(suppressedException);
 					}
-					// 后置操作：将创建中的状态移除，表示单例bean已经创建完成了
-					afterSingletonCreation(beanName);
 				}
-				// 如果单例创建成功，则将单例bean添加到一级缓存中
-				if (newSingleton) {
-					addSingleton(beanName, singletonObject);
+				throw ex;
+			}
+			finally {
+				if (recordSuppressedExceptions) {
+					this.suppressedExceptions.remove();
+				}
+				// 后置操作：将创建中的状态移除，表示单例bean已经创建完成了
+				afterSingletonCreation(beanName);
+			}
+			// 如果单例创建成功，则将单例bean添加到一级缓存中
+			if (newSingleton) {
+				addSingleton(beanName, singletonObject);
+			}
+		}
+		return singletonObject;
+	}
+
+	/**
+	 * Execute the given action within the singleton creation lock for the given bean:
+	 * the {@linkplain #getSingletonMutex() singleton mutex} by default, or the lock
+	 * for the specific bean in case of {@linkplain #setPerBeanSingletonLocking
+	 * per-bean singleton locking}. For the latter, a
+	 * {@link BeanCurrentlyInCreationException} is thrown if waiting for the lock
+	 * would lead to a deadlock with another thread.
+	 * @param beanName the name of the bean
+	 * @param action the action to execute
+	 * @return the result of the action
+	 * @throws BeanCurrentlyInCreationException in case of a deadlock between
+	 * singletons in creation on different threads
+	 * @since 5.3.30
+	 */
+	protected <T> T doWithSingletonLock(String beanName, Supplier<T> action) {
+		if (this.perBeanSingletonLocking) {
+			SingletonLock lock = acquireSingletonLock(beanName);
+			if (lock == null) {
+				throw new BeanCurrentlyInCreationException(beanName, "Requested bean is locked by another thread " +
+						"which in turn waits for a bean in creation on the current thread: " +
+						"Is there an unresolvable circular reference?");
+			}
+			try {
+				return action.get();
+			}
+			finally {
+				releaseSingletonLock(beanName, lock);
+			}
+		}
+		synchronized (this.singletonObjects) {
+			return action.get();
+		}
+	}
+
+	/**
+	 * Acquire the current singleton creation lock for the given bean.
+	 * <p>Locks are registered on demand and removed once released by their
+	 * outermost holder; a thread that acquired a lock which got removed
+	 * in the meantime retries with the currently registered lock.
+	 * @param beanName the name of the bean
+	 * @return the acquired lock, or {@code null} if waiting for it would lead
+	 * to a deadlock
+	 */
+	@Nullable
+	private SingletonLock acquireSingletonLock(String beanName) {
+		while (true) {
+			SingletonLock lock = this.singletonLocks.computeIfAbsent(beanName, name -> new SingletonLock());
+			if (!lockSingleton(lock)) {
+				return null;
+			}
+			if (!lock.released) {
+				return lock;
+			}
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Release the given singleton creation lock, removing it from the
+	 * registered locks if the current thread is its outermost holder.
+	 * @param beanName the name of the bean
+	 * @param lock the lock to release
+	 */
+	private void releaseSingletonLock(String beanName, SingletonLock lock) {
+		if (lock.getHoldCount() == 1) {
+			lock.released = true;
+			this.singletonLocks.remove(beanName, lock);
+		}
+		lock.unlock();
+	}
+
+	/**
+	 * Acquire the given singleton creation lock, unless the lock is held by a thread
+	 * which (transitively) waits for a singleton creation lock held by the current thread.
+	 * @param lock the lock to acquire
+	 * @return {@code true} if the lock has been acquired, {@code false} if waiting
+	 * for it would lead to a deadlock
+	 */
+	private boolean lockSingleton(SingletonLock lock) {
+		if (lock.tryLock()) {
+			return true;
+		}
+		Thread currentThread = Thread.currentThread();
+		synchronized (this.singletonLockWaiters) {
+			Set<Thread> visited = new HashSet<>();
+			Thread owner = lock.getOwnerThread();
+			while (owner != null && visited.add(owner)) {
+				if (owner == currentThread) {
+					return false;
 				}
+				SingletonLock awaitedLock = this.singletonLockWaiters.get(owner);
+				owner = (awaitedLock != null ? awaitedLock.getOwnerThread() : null);
+			}
+			this.singletonLockWaiters.put(currentThread, lock);
+		}
+		try {
+			lock.lock();
+		}
+		finally {
+			synchronized (this.singletonLockWaiters) {
+				this.singletonLockWaiters.remove(currentThread);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Obtain an early reference to the specified singleton in case of per-bean
+	 * singleton locking, invoking its singleton factory outside of the mutex.
+	 * @param beanName the name of the bean
+	 * @return the early singleton reference, or {@code null} if none available
+	 */
+	@Nullable
+	private Object getEarlySingletonReference(String beanName) {
+		ObjectFactory<?> singletonFactory;
+		synchronized (this.singletonObjects) {
+			Object singletonObject = this.singletonObjects.get(beanName);
+			if (singletonObject == null) {
+				singletonObject = this.earlySingletonObjects.get(beanName);
+			}
+			if (singletonObject != null) {
+				return singletonObject;
+			}
+			singletonFactory = this.singletonFactories.get(beanName);
+			if (singletonFactory == null) {
+				return null;
+			}
+		}
+		Object singletonObject = singletonFactory.getObject();
+		synchronized (this.singletonObjects) {
+			Object existingObject = this.singletonObjects.get(beanName);
+			if (existingObject == null) {
+				existingObject = this.earlySingletonObjects.get(beanName);
+			}
+			if (existingObject != null) {
+				return existingObject;
+			}
+			if (this.singletonFactories.remove(beanName) != null) {
+				this.earlySingletonObjects.put(beanName, singletonObject);
 			}
 			return singletonObject;
 		}
@@ -327,10 +566,9 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * @see BeanCreationException#getRelatedCauses()
 	 */
 	protected void onSuppressedException(Exception ex) {
-		synchronized (this.singletonObjects) {
-			if (this.suppressedExceptions != null && this.suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
-				this.suppressedExceptions.add(ex);
-			}
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null && suppressedExceptions.size() < SUPPRESSED_EXCEPTIONS_LIMIT) {
+			suppressedExceptions.add(ex);
 		}
 	}
 
@@ -726,10 +964,31 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 * any sort of extended singleton creation phase. In particular, subclasses
 	 * should <i>not</i> have their own mutexes involved in singleton creation,
 	 * to avoid the potential for deadlocks in lazy-init situations.
+	 * <p>In case of {@linkplain #setPerBeanSingletonLocking per-bean singleton
+	 * locking}, the returned mutex does not exclude singleton creation: it only
+	 * serves as a shared monitor for short-lived state changes, and no beans
+	 * should be obtained while holding it.
 	 */
 	@Override
 	public final Object getSingletonMutex() {
-		return this.singletonObjects;
+		return (this.perBeanSingletonLocking ? this.perBeanSingletonMutex : this.singletonObjects);
+	}
+
+
+	/**
+	 * Reentrant lock for the creation of a specific singleton,
+	 * exposing its owner for deadlock detection.
+	 */
+	@SuppressWarnings("serial")
+	private static class SingletonLock extends ReentrantLock {
+
+		/** Whether this lock has been removed from the registered locks (guarded by the lock itself). */
+		boolean released;
+
+		@Nullable
+		Thread getOwnerThread() {
+			return getOwner();
+		}
 	}
 
 }
@@ -97,7 +97,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		// 如果FactoryBean是单例，并且singletonObjects一级缓存中存在当前的bean
 		if (factory.isSingleton() && containsSingleton(beanName)) {
 			// 加锁
-			synchronized (getSingletonMutex()) {
+			return doWithSingletonLock(beanName, () -> {
 				// 从factoryBean的对象缓存中获取实例对象
 				Object object = this.factoryBeanObjectCache.get(beanName);
 				// 初次访问必定为null
@@ -140,7 +140,7 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 					}
 				}
 				return object;
-			}
+			});
 		}
 		else {
 			Object object = doGetObjectFromFactoryBean(factory, beanName);
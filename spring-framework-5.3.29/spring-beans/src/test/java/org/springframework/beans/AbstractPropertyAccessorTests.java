@@ -348,6 +348,26 @@ abstract class AbstractPropertyAccessorTests {
 		assertThat(target.address.country.name).isEqualTo("UK");
 	}
 
+	@Test
+	void setNestedIndexedPropertyWithSamePathOnDifferentTargets() {
+		IndexedTestBean target = new IndexedTestBean();
+		IndexedTestBean target2 = new IndexedTestBean();
+		AbstractPropertyAccessor accessor = createAccessor(target);
+		AbstractPropertyAccessor accessor2 = createAccessor(target2);
+
+		accessor.setPropertyValue("array[1].spouse", new TestBean("spouse1", 0));
+		accessor.setPropertyValue("array[1].spouse.name", "spouse");
+		accessor2.setPropertyValue("array[1].spouse", new TestBean("spouse2", 0));
+		accessor2.setPropertyValue("array[1].spouse.name", "otherSpouse");
+		accessor2.setPropertyValue("map[key.3].name", "name");
+		assertThat(target.getArray()[1].getSpouse().getName()).isEqualTo("spouse");
+		assertThat(target2.getArray()[1].getSpouse().getName()).isEqualTo("otherSpouse");
+		assertThat(accessor.getPropertyValue("array[1].spouse.name")).isEqualTo("spouse");
+		assertThat(accessor2.getPropertyValue("array[1].spouse.name")).isEqualTo("otherSpouse");
+		assertThat(accessor2.getPropertyValue("map[key.3].name")).isEqualTo("name");
+		assertThat(accessor2.getPropertyType("map[key.3].name")).isEqualTo(String.class);
+	}
+
 	@Test
 	void testErrorMessageOfNestedProperty() {
 		ITestBean target = new TestBean();
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link BeanPropertyCopier}.
+ */
+class BeanPropertyCopierTests {
+
+	@Test
+	void forClassesReturnsSharedCopier() {
+		BeanPropertyCopier<TestBean, TestBean> copier = BeanPropertyCopier.forClasses(TestBean.class, TestBean.class);
+		assertThat(BeanPropertyCopier.forClasses(TestBean.class, TestBean.class)).isSameAs(copier);
+		assertThat(BeanPropertyCopier.forClasses(TestBean.class, ITestBean.class)).isNotSameAs(copier);
+		assertThat(copier.getSourceClass()).isEqualTo(TestBean.class);
+		assertThat(copier.getTargetClass()).isEqualTo(TestBean.class);
+	}
+
+	@Test
+	void copy() throws Exception {
+		TestBean source = new TestBean("rod", 32);
+		source.setTouchy("touchy");
+		TestBean target = new TestBean();
+		BeanPropertyCopier.forClasses(TestBean.class, TestBean.class).copy(source, target);
+		assertThat(target.getName()).isEqualTo("rod");
+		assertThat(target.getAge()).isEqualTo(32);
+		assertThat(target.getTouchy()).isEqualTo("touchy");
+	}
+
+	@Test
+	void copyOnlyMatchingProperties() {
+		BeanPropertyCopier<IntegerHolder, NumberHolder> copier =
+				BeanPropertyCopier.forClasses(IntegerHolder.class, NumberHolder.class);
+		assertThat(copier.getPropertyNames()).containsExactly("number");
+
+		IntegerHolder source = new IntegerHolder();
+		source.setNumber(42);
+		source.setList(new ArrayList<>(Arrays.asList(1, 2)));
+		NumberHolder target = new NumberHolder();
+		copier.copy(source, target);
+		assertThat(target.getNumber()).isEqualTo(42);
+		assertThat(target.getList()).isEmpty();
+
+		assertThat(BeanPropertyCopier.forClasses(NumberHolder.class, IntegerHolder.class).getPropertyNames()).isEmpty();
+	}
+
+	@Test
+	void copyAll() {
+		IntegerHolder source1 = new IntegerHolder();
+		source1.setNumber(1);
+		IntegerHolder source2 = new IntegerHolder();
+		source2.setNumber(2);
+		List<NumberHolder> targets = BeanPropertyCopier.forClasses(IntegerHolder.class, NumberHolder.class)
+				.copyAll(Arrays.asList(source1, source2), NumberHolder::new);
+		assertThat(targets).hasSize(2);
+		assertThat(targets.get(0).getNumber()).isEqualTo(1);
+		assertThat(targets.get(1).getNumber()).isEqualTo(2);
+		assertThat(targets.get(0)).isNotSameAs(targets.get(1));
+	}
+
+	@Test
+	void copyWithFailingAccessor() {
+		TestBean source = new TestBean();
+		source.setAge(42);
+		TestBean target = new FailingTestBean();
+		assertThatExceptionOfType(FatalBeanException.class).isThrownBy(() ->
+				BeanPropertyCopier.forClasses(TestBean.class, TestBean.class).copy(source, target))
+			.withMessageContaining("'age'");
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class IntegerHolder {
+
+		private Integer number;
+
+		private List<Integer> list;
+
+		public Integer getNumber() {
+			return this.number;
+		}
+
+		public void setNumber(Integer number) {
+			this.number = number;
+		}
+
+		public List<Integer> getList() {
+			return this.list;
+		}
+
+		public void setList(List<Integer> list) {
+			this.list = list;
+		}
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class NumberHolder {
+
+		private Number number;
+
+		private List<Number> list = new ArrayList<>();
+
+		public Number getNumber() {
+			return this.number;
+		}
+
+		public void setNumber(Number number) {
+			this.number = number;
+		}
+
+		public List<Number> getList() {
+			return this.list;
+		}
+
+		public void setList(List<Number> list) {
+			this.list = list;
+		}
+	}
+
+
+	private static class FailingTestBean extends TestBean {
+
+		@Override
+		public void setAge(int age) {
+			throw new IllegalStateException("Expected");
+		}
+	}
+
+}
@@ -18,6 +18,7 @@ package org.springframework.beans;
 
 import java.beans.BeanInfo;
 import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 
 import org.junit.jupiter.api.Test;
@@ -26,6 +27,8 @@ import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.OverridingClassLoader;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 
 /**
  * @author Juergen Hoeller
@@ -90,4 +93,68 @@ public class CachedIntrospectionResultsTests {
 		assertThat(pd.getWriteMethod()).isEqualTo(C.class.getMethod("setFoo", String.class));
 	}
 
+	@Test
+	public void invokeReadAndWriteMethods() throws Exception {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(TestBean.class);
+		PropertyDescriptor namePd = results.getPropertyDescriptor("name");
+		PropertyDescriptor agePd = results.getPropertyDescriptor("age");
+		TestBean tb = new TestBean();
+
+		CachedIntrospectionResults.invokeWriteMethod(namePd, tb, "juergen");
+		CachedIntrospectionResults.invokeWriteMethod(agePd, tb, 42);
+		assertThat(CachedIntrospectionResults.invokeReadMethod(namePd, tb)).isEqualTo("juergen");
+		assertThat(CachedIntrospectionResults.invokeReadMethod(agePd, tb)).isEqualTo(42);
+
+		// Widening conversion only supported by reflective invocation
+		CachedIntrospectionResults.invokeWriteMethod(agePd, tb, (short) 43);
+		assertThat(tb.getAge()).isEqualTo(43);
+		CachedIntrospectionResults.invokeWriteMethod(namePd, tb, null);
+		assertThat(tb.getName()).isNull();
+	}
+
+	@Test
+	public void invokeWriteMethodWithInvalidValue() {
+		PropertyDescriptor pd = CachedIntrospectionResults.forClass(TestBean.class).getPropertyDescriptor("age");
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				CachedIntrospectionResults.invokeWriteMethod(pd, new TestBean(), "42"));
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				CachedIntrospectionResults.invokeWriteMethod(pd, new TestBean(), null));
+	}
+
+	@Test
+	public void invokeMethodsOnNonPublicClassWithException() throws Exception {
+		CachedIntrospectionResults results = CachedIntrospectionResults.forClass(FailingBean.class);
+		PropertyDescriptor pd = results.getPropertyDescriptor("value");
+		FailingBean bean = new FailingBean();
+
+		CachedIntrospectionResults.invokeWriteMethod(pd, bean, "value");
+		assertThat(CachedIntrospectionResults.invokeReadMethod(pd, bean)).isEqualTo("value");
+		assertThatExceptionOfType(InvocationTargetException.class).isThrownBy(() ->
+				CachedIntrospectionResults.invokeWriteMethod(pd, bean, "fail"))
+			.withCauseInstanceOf(IllegalStateException.class);
+		assertThatExceptionOfType(InvocationTargetException.class).isThrownBy(() ->
+				CachedIntrospectionResults.invokeReadMethod(pd, bean))
+			.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+
+	private static class FailingBean {
+
+		private String value;
+
+		public String getValue() {
+			if ("fail".equals(this.value)) {
+				throw new IllegalStateException("Expected");
+			}
+			return this.value;
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+			if ("fail".equals(value)) {
+				throw new IllegalStateException("Expected");
+			}
+		}
+	}
+
 }
@@ -26,6 +26,7 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -36,6 +37,8 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -50,6 +53,7 @@ import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.PropertyValue;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.beans.factory.config.AutowiredPropertyMarker;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -1361,6 +1365,138 @@ class DefaultListableBeanFactoryTests {
 			.withMessageContaining("'tb1'");
 	}
 
+	@Test
+	void preInstantiateSingletonsWithExecutor() {
+		AtomicInteger submittedTasks = new AtomicInteger();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationExecutor(task -> {
+			submittedTasks.incrementAndGet();
+			new Thread(task).start();
+		});
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("tb1"));
+		lbf.registerBeanDefinition("tb2", bd2);
+		RootBeanDefinition bd3 = new RootBeanDefinition(TestBean.class);
+		bd3.setDependsOn("tb4");
+		lbf.registerBeanDefinition("tb3", bd3);
+		lbf.registerBeanDefinition("tb4", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("tb5", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition lazy = new RootBeanDefinition(TestBean.class);
+		lazy.setLazyInit(true);
+		lbf.registerBeanDefinition("lazy", lazy);
+		lbf.preInstantiateSingletons();
+
+		assertThat(submittedTasks.get()).isEqualTo(3);
+		assertThat(lbf.containsSingleton("tb1")).isTrue();
+		assertThat(lbf.containsSingleton("tb2")).isTrue();
+		assertThat(lbf.containsSingleton("tb3")).isTrue();
+		assertThat(lbf.containsSingleton("tb4")).isTrue();
+		assertThat(lbf.containsSingleton("tb5")).isTrue();
+		assertThat(lbf.containsSingleton("lazy")).isFalse();
+		assertThat(lbf.getBean("tb2", TestBean.class).getSpouse()).isSameAs(lbf.getBean("tb1"));
+	}
+
+	@Test
+	void preInstantiateSingletonsWithExecutorAndFailure() {
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationExecutor(ForkJoinPool.commonPool());
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.setInitMethodName("bogus");
+		lbf.registerBeanDefinition("tb2", bd2);
+		assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+				lbf::preInstantiateSingletons)
+			.withMessageContaining("'tb2'");
+	}
+
+	@Test
+	void preInstantiateSingletonsWithExecutorAndMultipleFailures() {
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationExecutor(ForkJoinPool.commonPool());
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.setInitMethodName("bogus");
+		lbf.registerBeanDefinition("tb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.setInitMethodName("bogus");
+		lbf.registerBeanDefinition("tb2", bd2);
+		assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+				lbf::preInstantiateSingletons)
+			.withMessageContaining("'tb1'")
+			.satisfies(ex -> assertThat(ex.getSuppressed()).singleElement()
+					.asString().contains("'tb2'"));
+	}
+
+	@Test
+	void preInstantiateSingletonsWithExecutorGroupsAutowiredDependencies() {
+		AtomicInteger submittedTasks = new AtomicInteger();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationExecutor(task -> {
+			submittedTasks.incrementAndGet();
+			new Thread(task).start();
+		});
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("fieldRecipient", new RootBeanDefinition(AutowiredFieldTestBeanRecipient.class));
+		lbf.registerBeanDefinition("ctorRecipient",
+				new RootBeanDefinition(TestBeanRecipient.class, RootBeanDefinition.AUTOWIRE_CONSTRUCTOR, false));
+		lbf.registerBeanDefinition("ntb", new RootBeanDefinition(NestedTestBean.class));
+		lbf.preInstantiateSingletons();
+
+		assertThat(submittedTasks.get()).isEqualTo(2);
+		assertThat(lbf.getBean("ctorRecipient", TestBeanRecipient.class).testBean).isSameAs(lbf.getBean("tb"));
+	}
+
+	@Test
+	void preInstantiateSingletonsWithExecutorGroupsFactoryBeanDependencies() {
+		AtomicInteger submittedTasks = new AtomicInteger();
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationExecutor(task -> {
+			submittedTasks.incrementAndGet();
+			new Thread(task).start();
+		});
+		lbf.registerBeanDefinition("factory", new RootBeanDefinition(DummyFactory.class));
+		lbf.registerBeanDefinition("factoryRecipient",
+				new RootBeanDefinition(FactoryBeanRecipient.class, RootBeanDefinition.AUTOWIRE_CONSTRUCTOR, false));
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		lbf.preInstantiateSingletons();
+
+		assertThat(submittedTasks.get()).isEqualTo(2);
+		assertThat(lbf.getBean("factoryRecipient", FactoryBeanRecipient.class).factory)
+				.isSameAs(lbf.getBean("&factory"));
+	}
+
+	@Test
+	void preInstantiateSingletonsWithExecutorButWithoutPerBeanLocking() {
+		AtomicInteger submittedTasks = new AtomicInteger();
+		lbf.setPreInstantiationExecutor(task -> {
+			submittedTasks.incrementAndGet();
+			new Thread(task).start();
+		});
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(TestBean.class));
+		lbf.preInstantiateSingletons();
+
+		assertThat(submittedTasks.get()).isEqualTo(0);
+		assertThat(lbf.containsSingleton("tb1")).isTrue();
+		assertThat(lbf.containsSingleton("tb2")).isTrue();
+	}
+
+	@Test
+	void dependsOnCycleWithExecutor() {
+		lbf.setPerBeanSingletonLocking(true);
+		lbf.setPreInstantiationExecutor(ForkJoinPool.commonPool());
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.setDependsOn("tb2");
+		lbf.registerBeanDefinition("tb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.setDependsOn("tb1");
+		lbf.registerBeanDefinition("tb2", bd2);
+		lbf.registerBeanDefinition("tb3", new RootBeanDefinition(TestBean.class));
+		assertThatExceptionOfType(BeanCreationException.class).isThrownBy(
+				lbf::preInstantiateSingletons)
+			.withMessageContaining("Circular");
+	}
+
 	@Test
 	void getBeanByTypeWithNoneFound() {
 		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory();
@@ -1391,6 +1527,82 @@ class DefaultListableBeanFactoryTests {
 		assertThat(bean.getBeanName()).isEqualTo("bd1");
 	}
 
+	@Test
+	void getBeanNamesForTypeWithLateRegistrationAgainstFrozen() {
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.registerSingleton("manual", new TestBean());
+		lbf.freezeConfiguration();
+		assertBeanNamesForType(ITestBean.class, true, true, "bd1", "manual");
+		assertBeanNamesForType(TestBean.class, true, true, "bd1", "manual");
+
+		lbf.registerBeanDefinition("bd2", new RootBeanDefinition(DerivedTestBean.class));
+		RootBeanDefinition prototype = new RootBeanDefinition(TestBean.class);
+		prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("prototype", prototype);
+		assertBeanNamesForType(ITestBean.class, true, true, "bd1", "bd2", "prototype", "manual");
+		assertBeanNamesForType(ITestBean.class, false, true, "bd1", "bd2", "manual");
+		assertBeanNamesForType(DerivedTestBean.class, true, true, "bd2");
+
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(NestedTestBean.class));
+		assertBeanNamesForType(ITestBean.class, true, true, "bd2", "prototype", "manual");
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		assertBeanNamesForType(ITestBean.class, true, true, "bd1", "bd2", "prototype", "manual");
+
+		lbf.removeBeanDefinition("bd2");
+		lbf.registerSingleton("manual2", new DerivedTestBean());
+		assertBeanNamesForType(ITestBean.class, true, true, "bd1", "prototype", "manual", "manual2");
+		assertBeanNamesForType(DerivedTestBean.class, true, true, "manual2");
+
+		lbf.registerBeanDefinition("manual", new RootBeanDefinition(TestBean.class));
+		assertBeanNamesForType(ITestBean.class, true, true, "bd1", "prototype", "manual", "manual2");
+		lbf.destroySingleton("manual2");
+		assertBeanNamesForType(ITestBean.class, true, true, "bd1", "prototype", "manual");
+		assertBeanNamesForType(DerivedTestBean.class, true, true);
+	}
+
+	@Test
+	void getBeanNamesForTypeWithLateFactoryBeanReferenceAgainstFrozen() {
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.freezeConfiguration();
+		assertBeanNamesForType(TestBean.class, true, true, "bd1");
+		lbf.destroySingleton("bd1");
+
+		RootBeanDefinition rbd = new RootBeanDefinition();
+		rbd.setFactoryBeanName("factory");
+		rbd.setFactoryMethodName("createTestBeanNonStatic");
+		lbf.registerBeanDefinition("x1", rbd);
+		assertBeanNamesForType(TestBean.class, true, true, "bd1");
+
+		lbf.registerSingleton("factory", new TestBeanFactory());
+		assertBeanNamesForType(TestBean.class, true, true, "bd1", "x1");
+	}
+
+	@Test
+	void getBeanNamesForGenericTypeAgainstFrozen() {
+		RootBeanDefinition strings = new RootBeanDefinition(ArrayList.class);
+		strings.setTargetType(ResolvableType.forClassWithGenerics(List.class, String.class));
+		lbf.registerBeanDefinition("strings", strings);
+		RootBeanDefinition integers = new RootBeanDefinition(ArrayList.class);
+		integers.setTargetType(ResolvableType.forClassWithGenerics(List.class, Integer.class));
+		lbf.registerBeanDefinition("integers", integers);
+		lbf.freezeConfiguration();
+
+		String[] beanNames = lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, String.class));
+		assertThat(beanNames).containsExactly("strings");
+		assertThat(lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, String.class)))
+				.isSameAs(beanNames);
+
+		RootBeanDefinition moreStrings = new RootBeanDefinition(ArrayList.class);
+		moreStrings.setTargetType(ResolvableType.forClassWithGenerics(List.class, String.class));
+		lbf.registerBeanDefinition("moreStrings", moreStrings);
+		assertThat(lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, String.class)))
+				.containsExactly("strings", "moreStrings");
+		assertThat(lbf.getBeanNamesForType(ResolvableType.forClassWithGenerics(List.class, Integer.class)))
+				.containsExactly("integers");
+		assertThat(lbf.getBeanProvider(ResolvableType.forClassWithGenerics(List.class, String.class))
+				.orderedStream().count()).isEqualTo(2);
+	}
+
 	@Test
 	void getBeanByTypeDefinedInParent() {
 		DefaultListableBeanFactory parent = new DefaultListableBeanFactory();
@@ -3111,6 +3323,17 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	private static class FactoryBeanRecipient {
+
+		public DummyFactory factory;
+
+		@SuppressWarnings("unused")
+		public FactoryBeanRecipient(DummyFactory factory) {
+			this.factory = factory;
+		}
+	}
+
+
 	private static class TestBeanRecipient {
 
 		public TestBean testBean;
@@ -3122,6 +3345,13 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	private static class AutowiredFieldTestBeanRecipient {
+
+		@Autowired
+		public TestBean testBean;
+	}
+
+
 	enum NonPublicEnum {
 
 		VALUE_1, VALUE_2;
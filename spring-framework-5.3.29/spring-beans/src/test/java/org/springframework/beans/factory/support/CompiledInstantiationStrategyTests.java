@@ -0,0 +1,231 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link CompiledInstantiationStrategy}.
+ */
+class CompiledInstantiationStrategyTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final CompiledInstantiationStrategy strategy = new CompiledInstantiationStrategy();
+
+
+	@Test
+	void instantiateWithDefaultConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(CallerRecordingBean.class);
+		CallerRecordingBean bean = (CallerRecordingBean) this.strategy.instantiate(bd, "bean", this.beanFactory);
+		assertThat(bean.caller).contains("$$SpringInstantiator$$");
+		assertThat(bean.name).isNull();
+
+		CallerRecordingBean bean2 = (CallerRecordingBean) this.strategy.instantiate(bd, "bean", this.beanFactory);
+		assertThat(bean2).isNotSameAs(bean);
+		assertThat(bean2.caller).isEqualTo(bean.caller);
+	}
+
+	@Test
+	void instantiateWithSharedInstantiator() {
+		RootBeanDefinition bd = new RootBeanDefinition(SharedInstantiatorBean.class);
+		SharedInstantiatorBean bean = (SharedInstantiatorBean) this.strategy.instantiate(bd, "bean", this.beanFactory);
+		SharedInstantiatorBean bean2 = (SharedInstantiatorBean) new CompiledInstantiationStrategy().instantiate(
+				bd, "bean", new DefaultListableBeanFactory());
+		assertThat(bean.caller).contains("$$SpringInstantiator$$");
+		assertThat(bean2.caller).isEqualTo(bean.caller);
+	}
+
+	@Test
+	void instantiateConcurrently() throws Exception {
+		RootBeanDefinition bd = new RootBeanDefinition(ConcurrentInstantiationBean.class);
+		int threadCount = 8;
+		CountDownLatch latch = new CountDownLatch(threadCount);
+		Set<String> callers = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			Future<?>[] futures = new Future<?>[threadCount];
+			for (int i = 0; i < threadCount; i++) {
+				futures[i] = executor.submit(() -> {
+					latch.countDown();
+					latch.await();
+					CompiledInstantiationStrategy strategy = new CompiledInstantiationStrategy();
+					callers.add(((ConcurrentInstantiationBean) strategy.instantiate(bd, "bean", this.beanFactory)).caller);
+					return null;
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(callers).singleElement().asString().contains("$$SpringInstantiator$$");
+	}
+
+	@Test
+	void instantiateWithConstructorArguments() throws Exception {
+		Constructor<?> ctor = CallerRecordingBean.class.getDeclaredConstructor(String.class, int.class, long[].class);
+		RootBeanDefinition bd = new RootBeanDefinition(CallerRecordingBean.class);
+		CallerRecordingBean bean = (CallerRecordingBean) this.strategy.instantiate(
+				bd, "bean", this.beanFactory, ctor, "juergen", 42, new long[] {1L});
+		assertThat(bean.caller).contains("$$SpringInstantiator$$");
+		assertThat(bean.name).isEqualTo("juergen");
+		assertThat(bean.age).isEqualTo(42);
+		assertThat(bean.values).containsExactly(1L);
+	}
+
+	@Test
+	void instantiateWithNullForPrimitiveArgument() throws Exception {
+		Constructor<?> ctor = CallerRecordingBean.class.getDeclaredConstructor(String.class, int.class, long[].class);
+		RootBeanDefinition bd = new RootBeanDefinition(CallerRecordingBean.class);
+		CallerRecordingBean bean = (CallerRecordingBean) this.strategy.instantiate(
+				bd, "bean", this.beanFactory, ctor, "juergen", null, null);
+		assertThat(bean.caller).doesNotContain("$$SpringInstantiator$$");
+		assertThat(bean.name).isEqualTo("juergen");
+		assertThat(bean.age).isZero();
+	}
+
+	@Test
+	void instantiateWithMismatchedArgument() throws Exception {
+		Constructor<?> ctor = CallerRecordingBean.class.getDeclaredConstructor(String.class, int.class, long[].class);
+		RootBeanDefinition bd = new RootBeanDefinition(CallerRecordingBean.class);
+		assertThatExceptionOfType(BeanInstantiationException.class).isThrownBy(() ->
+				this.strategy.instantiate(bd, "bean", this.beanFactory, ctor, "juergen", "42", null))
+			.withMessageContaining("Illegal arguments for constructor");
+	}
+
+	@Test
+	void instantiateWithPrivateConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(PrivateConstructorBean.class);
+		assertThat(this.strategy.instantiate(bd, "bean", this.beanFactory)).isInstanceOf(PrivateConstructorBean.class);
+	}
+
+	@Test
+	void instantiateWithFailingConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(FailingBean.class);
+		assertThatExceptionOfType(BeanInstantiationException.class).isThrownBy(() ->
+				this.strategy.instantiate(bd, "bean", this.beanFactory))
+			.withMessageContaining("Constructor threw exception")
+			.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void prototypeCreationWithBeanFactory() {
+		this.beanFactory.setInstantiationStrategy(this.strategy);
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("99");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		TestBean tb = this.beanFactory.getBean("test", TestBean.class);
+		assertThat(tb.getName()).isEqualTo("juergen");
+		assertThat(tb.getAge()).isEqualTo(99);
+		assertThat(this.beanFactory.getBean("test")).isNotSameAs(tb);
+	}
+
+	@Test
+	void lookupMethodInjectionWithBeanFactory() {
+		this.beanFactory.setInstantiationStrategy(this.strategy);
+		RootBeanDefinition bd = new RootBeanDefinition(LookupBean.class);
+		bd.getMethodOverrides().addOverride(new LookupOverride("getTestBean", "testBean"));
+		this.beanFactory.registerBeanDefinition("lookup", bd);
+		this.beanFactory.registerBeanDefinition("testBean", new RootBeanDefinition(TestBean.class));
+
+		LookupBean bean = this.beanFactory.getBean(LookupBean.class);
+		assertThat(bean.getTestBean()).isSameAs(this.beanFactory.getBean("testBean"));
+	}
+
+
+	private static String callerClassName() {
+		// [0] callerClassName(), [1] CallerRecordingBean.<init>, [2] the instantiating code
+		return new Throwable().getStackTrace()[2].getClassName();
+	}
+
+
+	static class CallerRecordingBean {
+
+		final String caller = callerClassName();
+
+		String name;
+
+		int age;
+
+		long[] values;
+
+		CallerRecordingBean() {
+		}
+
+		CallerRecordingBean(String name, int age, long[] values) {
+			this.name = name;
+			this.age = age;
+			this.values = values;
+		}
+	}
+
+
+	static class SharedInstantiatorBean {
+
+		final String caller = callerClassName();
+	}
+
+
+	static class ConcurrentInstantiationBean {
+
+		final String caller = callerClassName();
+	}
+
+
+	static class PrivateConstructorBean {
+
+		private PrivateConstructorBean() {
+		}
+	}
+
+
+	static class FailingBean {
+
+		FailingBean() {
+			throw new IllegalStateException("Expected");
+		}
+	}
+
+
+	public abstract static class LookupBean {
+
+		public abstract TestBean getTestBean();
+	}
+
+}
@@ -16,8 +16,21 @@
 
 package org.springframework.beans.factory.support;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
 import org.springframework.beans.testfixture.beans.DerivedTestBean;
 import org.springframework.beans.testfixture.beans.TestBean;
 
@@ -69,6 +82,128 @@ class DefaultSingletonBeanRegistryTests {
 		assertThat(beanRegistry.getSingletonNames()).isEmpty();
 	}
 
+	@Test
+	void singletonsWithPerBeanLocking() throws Exception {
+		beanRegistry.setPerBeanSingletonLocking(true);
+		TestBean early = new TestBean();
+		CountDownLatch inCreation = new CountDownLatch(1);
+		CountDownLatch proceed = new CountDownLatch(1);
+		AtomicInteger creations = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> first = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				beanRegistry.addSingletonFactory("tb", () -> early);
+				assertThat(beanRegistry.getSingleton("tb")).isSameAs(early);
+				creations.incrementAndGet();
+				inCreation.countDown();
+				try {
+					proceed.await(10, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					throw new IllegalStateException(ex);
+				}
+				return early;
+			}));
+			assertThat(inCreation.await(10, TimeUnit.SECONDS)).isTrue();
+			Future<Object> second = executor.submit(() -> beanRegistry.getSingleton("tb", () -> {
+				creations.incrementAndGet();
+				return new TestBean();
+			}));
+
+			// Other singletons may be created while "tb" is in creation
+			TestBean tb2 = (TestBean) beanRegistry.getSingleton("tb2", TestBean::new);
+			assertThat(beanRegistry.getSingleton("tb2")).isSameAs(tb2);
+			// Early reference only exposed to the creating thread
+			assertThat(beanRegistry.getSingleton("tb")).isNull();
+			assertThat(beanRegistry.getSingletonMutex()).isNotNull();
+
+			proceed.countDown();
+			assertThat(first.get(10, TimeUnit.SECONDS)).isSameAs(early);
+			assertThat(second.get(10, TimeUnit.SECONDS)).isSameAs(early);
+			assertThat(creations.get()).isEqualTo(1);
+			assertThat(beanRegistry.getSingleton("tb")).isSameAs(early);
+			assertThat(beanRegistry.getSingletonNames()).containsExactlyInAnyOrder("tb", "tb2");
+			assertThat((Map<?, ?>) new DirectFieldAccessor(beanRegistry).getPropertyValue("singletonLocks")).isEmpty();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void singletonLockDeadlockWithPerBeanLocking() throws Exception {
+		beanRegistry.setPerBeanSingletonLocking(true);
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> a = executor.submit(() -> lockWithNestedLock("a", "b", barrier));
+			Future<Object> b = executor.submit(() -> lockWithNestedLock("b", "a", barrier));
+			int failures = 0;
+			for (Future<Object> future : Arrays.asList(a, b)) {
+				try {
+					assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("done");
+				}
+				catch (ExecutionException ex) {
+					assertThat(ex.getCause()).isInstanceOf(BeanCurrentlyInCreationException.class);
+					failures++;
+				}
+			}
+			assertThat(failures).isEqualTo(1);
+			assertThat((Map<?, ?>) new DirectFieldAccessor(beanRegistry).getPropertyValue("singletonLocks")).isEmpty();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Object lockWithNestedLock(String beanName, String nestedBeanName, CyclicBarrier barrier) {
+		return beanRegistry.doWithSingletonLock(beanName, () -> {
+			try {
+				barrier.await(10, TimeUnit.SECONDS);
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+			return beanRegistry.doWithSingletonLock(nestedBeanName, () -> "done");
+		});
+	}
+
+	@Test
+	void circularReferenceAcrossThreadsWithPerBeanLocking() throws Exception {
+		beanRegistry.setPerBeanSingletonLocking(true);
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<Object> a = executor.submit(() -> createWithReference("a", "b", barrier));
+			Future<Object> b = executor.submit(() -> createWithReference("b", "a", barrier));
+			TestBean beanA = (TestBean) a.get(10, TimeUnit.SECONDS);
+			TestBean beanB = (TestBean) b.get(10, TimeUnit.SECONDS);
+			assertThat(beanA.getSpouse()).isSameAs(beanB);
+			assertThat(beanB.getSpouse()).isSameAs(beanA);
+			assertThat(beanRegistry.getSingleton("a")).isSameAs(beanA);
+			assertThat(beanRegistry.getSingleton("b")).isSameAs(beanB);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Object createWithReference(String beanName, String referencedBeanName, CyclicBarrier barrier) {
+		return beanRegistry.getSingleton(beanName, () -> {
+			TestBean tb = new TestBean(beanName);
+			beanRegistry.addSingletonFactory(beanName, () -> tb);
+			try {
+				barrier.await(10, TimeUnit.SECONDS);
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+			tb.setSpouse((TestBean) beanRegistry.getSingleton(referencedBeanName,
+					() -> new TestBean(referencedBeanName)));
+			return tb;
+		});
+	}
+
 	@Test
 	void dependentRegistration() {
 		beanRegistry.registerDependentBean("a", "b");
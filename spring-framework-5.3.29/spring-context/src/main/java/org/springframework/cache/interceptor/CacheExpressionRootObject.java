@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,11 +24,14 @@ import org.springframework.cache.Cache;
 /**
  * Class describing the root object used during the expression evaluation.
  *
+ * <p>Declared as public in order for compiled expressions to be able
+ * to access its properties.
+ *
  * @author Costin Leau
  * @author Sam Brannen
  * @since 3.1
  */
-class CacheExpressionRootObject {
+public class CacheExpressionRootObject {
 
 	private final Collection<? extends Cache> caches;
 
@@ -19,7 +19,9 @@ package org.springframework.context.annotation;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -36,6 +38,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.context.index.CandidateComponentsSnapshot;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -60,6 +63,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * A component provider that provides candidate components from a base package. Can
@@ -70,6 +74,10 @@ import org.springframework.util.ClassUtils;
  * supported: if any other include filter is specified, the index is ignored and
  * classpath scanning is used instead.
  *
+ * <p>If a {@link CandidateComponentsSnapshot} is configured, the results of a
+ * classpath scan are persisted and reused on subsequent startups for as long as
+ * the scanned class resources remain unchanged.
+ *
  * <p>This implementation is based on Spring's
  * {@link org.springframework.core.type.classreading.MetadataReader MetadataReader}
  * facility, backed by an ASM {@link org.springframework.asm.ClassReader ClassReader}.
@@ -84,6 +92,7 @@ import org.springframework.util.ClassUtils;
  * @see org.springframework.core.type.AnnotationMetadata
  * @see ScannedGenericBeanDefinition
  * @see CandidateComponentsIndex
+ * @see CandidateComponentsSnapshot
  */
 public class ClassPathScanningCandidateComponentProvider implements EnvironmentCapable, ResourceLoaderAware {
 
@@ -113,6 +122,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Nullable
 	private CandidateComponentsIndex componentsIndex;
 
+	@Nullable
+	private CandidateComponentsSnapshot componentsSnapshot = CandidateComponentsSnapshot.fromSpringProperties();
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -306,6 +318,19 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return this.metadataReaderFactory;
 	}
 
+	/**
+	 * Set the {@link CandidateComponentsSnapshot} to persist classpath scanning
+	 * results in, or {@code null} to always perform a full classpath scan.
+	 * <p>Default is a snapshot for the directory specified through the
+	 * {@value CandidateComponentsSnapshot#SNAPSHOT_LOCATION_PROPERTY_NAME}
+	 * property, if any. A snapshot is not consulted if the
+	 * {@link CandidateComponentsIndex index} is used.
+	 * @since 5.3.30
+	 */
+	public void setComponentsSnapshot(@Nullable CandidateComponentsSnapshot componentsSnapshot) {
+		this.componentsSnapshot = componentsSnapshot;
+	}
+
 
 	/**
 	 * Scan the class path for candidate components.
@@ -375,7 +400,6 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	}
 
 	private Set<BeanDefinition> addCandidateComponentsFromIndex(CandidateComponentsIndex index, String basePackage) {
-		Set<BeanDefinition> candidates = new LinkedHashSet<>();
 		try {
 			Set<String> types = new HashSet<>();
 			for (TypeFilter filter : this.includeFilters) {
@@ -385,34 +409,39 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 				}
 				types.addAll(index.getCandidateTypes(basePackage, stereotype));
 			}
-			boolean traceEnabled = logger.isTraceEnabled();
-			boolean debugEnabled = logger.isDebugEnabled();
-			for (String type : types) {
-				MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(type);
-				if (isCandidateComponent(metadataReader)) {
-					ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
-					sbd.setSource(metadataReader.getResource());
-					if (isCandidateComponent(sbd)) {
-						if (debugEnabled) {
-							logger.debug("Using candidate component class from index: " + type);
-						}
-						candidates.add(sbd);
-					}
-					else {
-						if (debugEnabled) {
-							logger.debug("Ignored because not a concrete top-level class: " + type);
-						}
+			return addCandidateComponents(types, "index");
+		}
+		catch (IOException ex) {
+			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+		}
+	}
+
+	private Set<BeanDefinition> addCandidateComponents(Collection<String> types, String origin) throws IOException {
+		Set<BeanDefinition> candidates = new LinkedHashSet<>();
+		boolean traceEnabled = logger.isTraceEnabled();
+		boolean debugEnabled = logger.isDebugEnabled();
+		for (String type : types) {
+			MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(type);
+			if (isCandidateComponent(metadataReader)) {
+				ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
+				sbd.setSource(metadataReader.getResource());
+				if (isCandidateComponent(sbd)) {
+					if (debugEnabled) {
+						logger.debug("Using candidate component class from " + origin + ": " + type);
 					}
+					candidates.add(sbd);
 				}
 				else {
-					if (traceEnabled) {
-						logger.trace("Ignored because matching an exclude filter: " + type);
+					if (debugEnabled) {
+						logger.debug("Ignored because not a concrete top-level class: " + type);
 					}
 				}
 			}
-		}
-		catch (IOException ex) {
-			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
+			else {
+				if (traceEnabled) {
+					logger.trace("Ignored because matching an exclude filter: " + type);
+				}
+			}
 		}
 		return candidates;
 	}
@@ -428,6 +457,25 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 			// 通过资源解析器从此路径中拿到对应的资源，也就是这个包路径下所有的class类
 			Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
+
+			// 存在扫描快照且类资源未发生变化时，只需解析快照中记录的候选类
+			CandidateComponentsSnapshot snapshot = this.componentsSnapshot;
+			String scanKey = (snapshot != null ? getScanKey(packageSearchPath) : null);
+			String fingerprint = null;
+			Set<String> snapshotTypes = null;
+			RecordingMetadataReaderFactory dependencyRecorder = null;
+			boolean defaultCandidateCheck = false;
+			if (snapshot != null && scanKey != null) {
+				fingerprint = CandidateComponentsSnapshot.fingerprint(resources);
+				Set<String> types = snapshot.getCandidateTypes(scanKey, fingerprint, getResourcePatternResolver());
+				if (types != null) {
+					return addCandidateComponents(types, "scan snapshot");
+				}
+				snapshotTypes = new LinkedHashSet<>();
+				dependencyRecorder = new RecordingMetadataReaderFactory(getMetadataReaderFactory());
+				defaultCandidateCheck = isDefaultCandidateCheck();
+			}
+
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
 
@@ -439,8 +487,23 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 				try {
 					// 获取当前资源的元数据读取器
 					MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+					boolean candidate;
+					if (snapshotTypes != null && dependencyRecorder != null) {
+						dependencyRecorder.recordAnnotationTypes(metadataReader.getAnnotationMetadata());
+						boolean included = matchesIncludeFilter(metadataReader, dependencyRecorder);
+						if (included) {
+							snapshotTypes.add(metadataReader.getClassMetadata().getClassName());
+						}
+						// Reuse the include filter result unless the check is customized
+						candidate = (defaultCandidateCheck ?
+								included && !matchesExcludeFilter(metadataReader) && isConditionMatch(metadataReader) :
+								isCandidateComponent(metadataReader));
+					}
+					else {
+						candidate = isCandidateComponent(metadataReader);
+					}
 					// 判断当前的资源是否符合候选的规则
-					if (isCandidateComponent(metadataReader)) {
+					if (candidate) {
 						// 将元数据读取器包装到一个新建的 ScannedGenericBeanDefinition 中
 						ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
 						// 将资源设置到 BeanDefinition 中
@@ -476,6 +539,12 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 							"Failed to read candidate component class: " + resource, ex);
 				}
 			}
+
+			if (snapshot != null && scanKey != null && fingerprint != null &&
+					snapshotTypes != null && dependencyRecorder != null) {
+				snapshot.store(scanKey, fingerprint, snapshotTypes,
+						dependencyRecorder.getRecordedTypes(), getResourcePatternResolver());
+			}
 		}
 		catch (IOException ex) {
 			throw new BeanDefinitionStoreException("I/O failure during classpath scanning", ex);
@@ -484,6 +553,70 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	}
 
 
+	/**
+	 * Build the key for a snapshot of the given scan, covering everything that
+	 * determines the recorded candidate types apart from the class resources.
+	 * <p>Only plain {@link AnnotationTypeFilter} and {@link AssignableTypeFilter}
+	 * instances are supported, since subclasses may apply further criteria.
+	 * @return the key, or {@code null} if an include filter cannot be identified
+	 * in a stable manner, in which case no snapshot is used
+	 */
+	@Nullable
+	private String getScanKey(String packageSearchPath) {
+		StringBuilder key = new StringBuilder(getClass().getName()).append(':').append(packageSearchPath);
+		for (TypeFilter filter : this.includeFilters) {
+			if (filter.getClass() == AnnotationTypeFilter.class) {
+				AnnotationTypeFilter annotationFilter = (AnnotationTypeFilter) filter;
+				key.append(";annotation=").append(annotationFilter.getAnnotationType().getName())
+						.append(",meta=").append(annotationFilter.isConsiderMetaAnnotations())
+						.append(",interfaces=").append(annotationFilter.isConsiderInterfaces());
+			}
+			else if (filter.getClass() == AssignableTypeFilter.class) {
+				key.append(";assignable=").append(((AssignableTypeFilter) filter).getTargetType().getName());
+			}
+			else {
+				return null;
+			}
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Determine whether {@link #isCandidateComponent(MetadataReader)} is the
+	 * default implementation, i.e. not overridden by a subclass.
+	 */
+	private boolean isDefaultCandidateCheck() {
+		Method method = ReflectionUtils.findMethod(getClass(), "isCandidateComponent", MetadataReader.class);
+		return (method != null && method.getDeclaringClass() == ClassPathScanningCandidateComponentProvider.class);
+	}
+
+	/**
+	 * Determine whether the given class matches at least one exclude filter.
+	 */
+	private boolean matchesExcludeFilter(MetadataReader metadataReader) throws IOException {
+		for (TypeFilter tf : this.excludeFilters) {
+			if (tf.match(metadataReader, getMetadataReaderFactory())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether the given class matches at least one include filter,
+	 * independent of exclude filters and {@code @Conditional} evaluation.
+	 */
+	private boolean matchesIncludeFilter(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
+			throws IOException {
+
+		for (TypeFilter tf : this.includeFilters) {
+			if (tf.match(metadataReader, metadataReaderFactory)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Resolve the specified base package into a pattern specification for
 	 * the package search path.
@@ -564,4 +697,54 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		}
 	}
 
+
+	/**
+	 * {@link MetadataReaderFactory} decorator that records the types which include
+	 * filters look at while traversing type hierarchies, plus the annotation types
+	 * declared on scanned classes, as dependencies of a scan snapshot.
+	 */
+	private static class RecordingMetadataReaderFactory implements MetadataReaderFactory {
+
+		private final MetadataReaderFactory delegate;
+
+		private final Set<String> recordedTypes = new LinkedHashSet<>();
+
+		RecordingMetadataReaderFactory(MetadataReaderFactory delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public MetadataReader getMetadataReader(String className) throws IOException {
+			record(className);
+			return this.delegate.getMetadataReader(className);
+		}
+
+		@Override
+		public MetadataReader getMetadataReader(Resource resource) throws IOException {
+			MetadataReader metadataReader = this.delegate.getMetadataReader(resource);
+			record(metadataReader.getClassMetadata().getClassName());
+			return metadataReader;
+		}
+
+		void recordAnnotationTypes(AnnotationMetadata metadata) {
+			for (String annotationType : metadata.getAnnotationTypes()) {
+				record(annotationType);
+				for (String metaAnnotationType : metadata.getMetaAnnotationTypes(annotationType)) {
+					record(metaAnnotationType);
+				}
+			}
+		}
+
+		private void record(String typeName) {
+			// Standard Java types cannot change without a JVM restart
+			if (!typeName.startsWith("java.")) {
+				this.recordedTypes.add(typeName);
+			}
+		}
+
+		Set<String> getRecordedTypes() {
+			return this.recordedTypes;
+		}
+	}
+
 }
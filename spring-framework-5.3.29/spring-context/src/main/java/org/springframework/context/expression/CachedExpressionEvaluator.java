@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,10 +50,12 @@ public abstract class CachedExpressionEvaluator {
 	}
 
 	/**
-	 * Create a new instance with a default {@link SpelExpressionParser}.
+	 * Create a new instance with a default {@link SpelExpressionParser},
+	 * compiling expressions in the mode configured through the
+	 * {@value StandardBeanExpressionResolver#COMPILER_MODE_PROPERTY_NAME} property.
 	 */
 	protected CachedExpressionEvaluator() {
-		this(new SpelExpressionParser());
+		this(new SpelExpressionParser(StandardBeanExpressionResolver.createParserConfiguration(null)));
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,11 +23,13 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanExpressionException;
 import org.springframework.beans.factory.config.BeanExpressionContext;
 import org.springframework.beans.factory.config.BeanExpressionResolver;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -46,6 +48,11 @@ import org.springframework.util.StringUtils;
  * predefined variables with their common bean name, including standard context
  * beans such as "environment", "systemProperties" and "systemEnvironment".
  *
+ * <p>The compiler mode for these expressions, along with the expressions of
+ * other framework facilities such as cache annotations and event listener
+ * conditions, can be set through the {@value #COMPILER_MODE_PROPERTY_NAME}
+ * property.
+ *
  * @author Juergen Hoeller
  * @since 3.0
  * @see BeanExpressionContext#getBeanFactory()
@@ -61,6 +68,20 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	/** Default expression suffix: "}". */
 	public static final String DEFAULT_EXPRESSION_SUFFIX = "}";
 
+	/**
+	 * System property to configure the compiler mode for SpEL expressions
+	 * evaluated by the framework: {@value}, e.g. "mixed".
+	 * <p>If not set, the general compiler mode for SpEL expression parsers applies,
+	 * as configured through the
+	 * {@value SpelParserConfiguration#SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME}
+	 * property, with expressions not being compiled by default.
+	 * <p>Note that in {@link SpelCompilerMode#MIXED} mode, an expression whose
+	 * compiled form throws an exception is evaluated again in interpreted form,
+	 * so method invocations with side effects in such an expression may run twice.
+	 * @since 5.3.30
+	 */
+	public static final String COMPILER_MODE_PROPERTY_NAME = "spring.context.expression.compiler.mode";
+
 
 	private String expressionPrefix = DEFAULT_EXPRESSION_PREFIX;
 
@@ -92,7 +113,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * Create a new {@code StandardBeanExpressionResolver} with default settings.
 	 */
 	public StandardBeanExpressionResolver() {
-		this.expressionParser = new SpelExpressionParser();
+		this(null);
 	}
 
 	/**
@@ -101,7 +122,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * @param beanClassLoader the factory's bean class loader
 	 */
 	public StandardBeanExpressionResolver(@Nullable ClassLoader beanClassLoader) {
-		this.expressionParser = new SpelExpressionParser(new SpelParserConfiguration(null, beanClassLoader));
+		this.expressionParser = new SpelExpressionParser(createParserConfiguration(beanClassLoader));
 	}
 
 
@@ -178,4 +199,17 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	protected void customizeEvaluationContext(StandardEvaluationContext evalContext) {
 	}
 
+
+	/**
+	 * Create a {@link SpelParserConfiguration} for framework expressions,
+	 * applying the {@link #COMPILER_MODE_PROPERTY_NAME configured compiler mode}.
+	 * @param compilerClassLoader the ClassLoader to use as the basis for
+	 * expression compilation, or {@code null} for the default
+	 */
+	static SpelParserConfiguration createParserConfiguration(@Nullable ClassLoader compilerClassLoader) {
+		String mode = SpringProperties.getProperty(COMPILER_MODE_PROPERTY_NAME);
+		SpelCompilerMode compilerMode = (mode != null ? SpelCompilerMode.valueOf(mode.toUpperCase()) : null);
+		return new SpelParserConfiguration(compilerMode, compilerClassLoader);
+	}
+
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Persistent on-disk snapshot of classpath scanning results, keyed by a
+ * fingerprint of the scanned class resources.
+ *
+ * <p>In contrast to the build-time {@link CandidateComponentsIndex}, a snapshot
+ * is written at runtime after a regular classpath scan: the candidate types
+ * found for a given scan are stored together with a fingerprint of all class
+ * resources that were considered. On the next startup, the class resources are
+ * still resolved but, as long as their fingerprint matches, only the recorded
+ * candidate types need to be parsed instead of every class in the base package.
+ * A fingerprint mismatch, an unreadable or an incompatible snapshot simply leads
+ * to a regular scan which then refreshes the snapshot.
+ *
+ * <p>The fingerprint covers the URL and last-modified timestamp of every class
+ * resource, so adding, removing or recompiling a class invalidates the snapshot.
+ * Since include filters may also look at types outside of the scanned package
+ * (e.g. a custom stereotype annotation or an inherited superclass), the snapshot
+ * additionally records such dependency types and verifies their class resources
+ * in the same manner before the recorded candidate types are returned.
+ * Exclude filters and {@code @Conditional} evaluation are not part of the
+ * snapshot: they are re-applied to the recorded candidate types on every startup.
+ *
+ * @since 5.3.30
+ * @see #SNAPSHOT_LOCATION_PROPERTY_NAME
+ * @see org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider
+ */
+public class CandidateComponentsSnapshot {
+
+	/**
+	 * System property that specifies a directory in which classpath scanning
+	 * results are persisted, e.g. {@code -Dspring.scan.snapshot.location=/tmp/scan}.
+	 * <p>No snapshot is used unless this property is set.
+	 */
+	public static final String SNAPSHOT_LOCATION_PROPERTY_NAME = "spring.scan.snapshot.location";
+
+	private static final String SNAPSHOT_FILE_SUFFIX = ".scan";
+
+	private static final int SNAPSHOT_MAGIC = 0x53434E53;
+
+	private static final int SNAPSHOT_VERSION = 2;
+
+	private static final byte[] SEPARATOR = new byte[] {0};
+
+
+	private static final Log logger = LogFactory.getLog(CandidateComponentsSnapshot.class);
+
+	private final File directory;
+
+
+	/**
+	 * Create a new {@code CandidateComponentsSnapshot} for the given directory.
+	 * @param directory the directory to read snapshot files from and write them to
+	 * (created on demand)
+	 */
+	public CandidateComponentsSnapshot(File directory) {
+		Assert.notNull(directory, "Directory must not be null");
+		this.directory = directory;
+	}
+
+
+	/**
+	 * Return the directory that holds the snapshot files.
+	 */
+	public File getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * Return the candidate types recorded for the given scan, provided that the
+	 * recorded fingerprint matches the given one and none of the recorded
+	 * dependency types has changed since.
+	 * @param scanKey the key identifying the scan (base package and filters)
+	 * @param fingerprint the fingerprint of the currently present class resources
+	 * @param resourceLoader the ResourceLoader to resolve dependency types with
+	 * @return the recorded candidate types, or {@code null} if no matching snapshot
+	 * is available
+	 * @see #fingerprint(Resource[])
+	 */
+	@Nullable
+	public Set<String> getCandidateTypes(String scanKey, String fingerprint, ResourceLoader resourceLoader) {
+		File file = getSnapshotFile(scanKey);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION ||
+					!scanKey.equals(in.readUTF())) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring incompatible scan snapshot " + file);
+				}
+				return null;
+			}
+			if (!fingerprint.equals(in.readUTF())) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring outdated scan snapshot " + file);
+				}
+				return null;
+			}
+			Set<String> types = readTypes(in);
+			Set<String> dependencyTypes = readTypes(in);
+			if (!in.readUTF().equals(fingerprint(dependencyTypes, resourceLoader))) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring scan snapshot " + file + " with outdated dependency types");
+				}
+				return null;
+			}
+			return types;
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to read scan snapshot " + file, ex);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Record the given candidate types for the given scan, replacing any
+	 * previously recorded snapshot. Failures are logged but otherwise ignored.
+	 * @param scanKey the key identifying the scan (base package and filters)
+	 * @param fingerprint the fingerprint of the scanned class resources
+	 * @param candidateTypes the names of the candidate types found
+	 * @param dependencyTypes the names of further types that the include filters
+	 * looked at, typically outside of the scanned package
+	 * @param resourceLoader the ResourceLoader to resolve dependency types with
+	 */
+	public void store(String scanKey, String fingerprint, Collection<String> candidateTypes,
+			Collection<String> dependencyTypes, ResourceLoader resourceLoader) {
+
+		File file = getSnapshotFile(scanKey);
+		try {
+			String dependencyFingerprint = fingerprint(dependencyTypes, resourceLoader);
+			Files.createDirectories(this.directory.toPath());
+			Path tempFile = Files.createTempFile(this.directory.toPath(), file.getName(), ".tmp");
+			try (OutputStream os = Files.newOutputStream(tempFile);
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+				out.writeInt(SNAPSHOT_MAGIC);
+				out.writeInt(SNAPSHOT_VERSION);
+				out.writeUTF(scanKey);
+				out.writeUTF(fingerprint);
+				writeTypes(out, candidateTypes);
+				writeTypes(out, dependencyTypes);
+				out.writeUTF(dependencyFingerprint);
+			}
+			Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Stored " + candidateTypes.size() + " candidate types in scan snapshot " + file);
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to write scan snapshot " + file, ex);
+			}
+		}
+	}
+
+	private static Set<String> readTypes(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		Set<String> types = new LinkedHashSet<>(count);
+		for (int i = 0; i < count; i++) {
+			types.add(in.readUTF());
+		}
+		return types;
+	}
+
+	private static void writeTypes(DataOutputStream out, Collection<String> types) throws IOException {
+		out.writeInt(types.size());
+		for (String type : types) {
+			out.writeUTF(type);
+		}
+	}
+
+	private File getSnapshotFile(String scanKey) {
+		return new File(this.directory, DigestUtils.md5DigestAsHex(
+				scanKey.getBytes(StandardCharsets.UTF_8)) + SNAPSHOT_FILE_SUFFIX);
+	}
+
+
+	/**
+	 * Compute a fingerprint for the given class resources, based on their
+	 * URL and last-modified timestamp.
+	 * @param resources the class resources considered by a scan
+	 * @return the fingerprint as a hex String
+	 * @throws IOException if the resources cannot be inspected
+	 */
+	public static String fingerprint(Resource[] resources) throws IOException {
+		MessageDigest digest = createDigest();
+		for (Resource resource : resources) {
+			updateDigest(digest, resource);
+		}
+		return toHexString(digest);
+	}
+
+	/**
+	 * Compute a fingerprint for the class resources of the given types, based
+	 * on their URL and last-modified timestamp.
+	 * @param typeNames the names of the types to consider
+	 * @param resourceLoader the ResourceLoader to resolve the class resources with
+	 * @return the fingerprint as a hex String
+	 * @throws IOException if the resources cannot be inspected
+	 */
+	public static String fingerprint(Collection<String> typeNames, ResourceLoader resourceLoader) throws IOException {
+		MessageDigest digest = createDigest();
+		for (String typeName : typeNames) {
+			Resource resource = resourceLoader.getResource(ResourceLoader.CLASSPATH_URL_PREFIX +
+					ClassUtils.convertClassNameToResourcePath(typeName) + ClassUtils.CLASS_FILE_SUFFIX);
+			if (resource.exists()) {
+				updateDigest(digest, resource);
+			}
+			else {
+				digest.update(typeName.getBytes(StandardCharsets.UTF_8));
+				digest.update(SEPARATOR);
+			}
+		}
+		return toHexString(digest);
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 digest not available", ex);
+		}
+	}
+
+	private static void updateDigest(MessageDigest digest, Resource resource) throws IOException {
+		digest.update(resource.getURL().toString().getBytes(StandardCharsets.UTF_8));
+		digest.update(SEPARATOR);
+		digest.update(Long.toString(resource.lastModified()).getBytes(StandardCharsets.UTF_8));
+		digest.update(SEPARATOR);
+	}
+
+	private static String toHexString(MessageDigest digest) {
+		StringBuilder result = new StringBuilder(64);
+		for (byte b : digest.digest()) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Create a {@code CandidateComponentsSnapshot} for the directory specified
+	 * through the {@value #SNAPSHOT_LOCATION_PROPERTY_NAME} property, if any.
+	 * @return the snapshot to use, or {@code null} if none is configured
+	 */
+	@Nullable
+	public static CandidateComponentsSnapshot fromSpringProperties() {
+		String location = SpringProperties.getProperty(SNAPSHOT_LOCATION_PROPERTY_NAME);
+		return (StringUtils.hasText(location) ? new CandidateComponentsSnapshot(new File(location.trim())) : null);
+	}
+
+}
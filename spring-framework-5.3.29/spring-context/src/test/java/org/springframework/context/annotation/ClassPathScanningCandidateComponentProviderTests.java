@@ -16,8 +16,11 @@
 
 package org.springframework.context.annotation;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -40,13 +43,18 @@ import example.scannable.StubFooDao;
 import example.scannable.sub.BarComponent;
 import org.aspectj.lang.annotation.Aspect;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.index.CandidateComponentsSnapshot;
 import org.springframework.context.testfixture.index.CandidateComponentsTestClassLoader;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.RegexPatternTypeFilter;
@@ -133,6 +141,90 @@ class ClassPathScanningCandidateComponentProviderTests {
 		assertThat(candidates.size()).isEqualTo(0);
 	}
 
+	@Test
+	void defaultsWithSnapshot(@TempDir File snapshotDir) {
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(snapshotDir);
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setComponentsSnapshot(snapshot);
+		ReadTrackingMetadataReaderFactory readerFactory = new ReadTrackingMetadataReaderFactory();
+		provider.setMetadataReaderFactory(readerFactory);
+		testDefault(provider);
+		assertThat(snapshotDir.listFiles()).hasSize(1);
+		assertThat(readerFactory.readTypes).contains(FooDao.class.getName(), ScopedProxyTestBean.class.getName());
+
+		ClassPathScanningCandidateComponentProvider reusingProvider = new ClassPathScanningCandidateComponentProvider(true);
+		reusingProvider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		reusingProvider.setComponentsSnapshot(snapshot);
+		ReadTrackingMetadataReaderFactory reusingReaderFactory = new ReadTrackingMetadataReaderFactory();
+		reusingProvider.setMetadataReaderFactory(reusingReaderFactory);
+		testDefault(reusingProvider);
+		assertThat(reusingReaderFactory.readTypes).isNotEmpty()
+				.doesNotContain(FooDao.class.getName(), ScopedProxyTestBean.class.getName());
+	}
+
+	@Test
+	void annotationFilterFlagsArePartOfSnapshotKey(@TempDir File snapshotDir) {
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(snapshotDir);
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setComponentsSnapshot(snapshot);
+		provider.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+		assertThat(provider.findCandidateComponents(TEST_BASE_PACKAGE)).hasSize(7);
+
+		ClassPathScanningCandidateComponentProvider directProvider = new ClassPathScanningCandidateComponentProvider(false);
+		directProvider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		directProvider.setComponentsSnapshot(snapshot);
+		directProvider.addIncludeFilter(new AnnotationTypeFilter(Component.class, false));
+		Set<BeanDefinition> candidates = directProvider.findCandidateComponents(TEST_BASE_PACKAGE);
+		assertThat(containsBeanClass(candidates, FooServiceImpl.class)).isFalse();
+		assertThat(containsBeanClass(candidates, NamedComponent.class)).isTrue();
+		assertThat(snapshotDir.listFiles()).hasSize(2);
+	}
+
+	@Test
+	void excludeFilterWithSnapshot(@TempDir File snapshotDir) {
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(snapshotDir);
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setComponentsSnapshot(snapshot);
+		testDefault(provider);
+
+		ClassPathScanningCandidateComponentProvider excludingProvider = new ClassPathScanningCandidateComponentProvider(true);
+		excludingProvider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		excludingProvider.setComponentsSnapshot(snapshot);
+		excludingProvider.addExcludeFilter(new RegexPatternTypeFilter(Pattern.compile(TEST_BASE_PACKAGE + ".*Named.*")));
+		testExclude(excludingProvider);
+	}
+
+	@Test
+	void includeFiltersEvaluatedOnceWithSnapshot(@TempDir File snapshotDir) {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.addIncludeFilter(new AssignableTypeFilter(FooDao.class));
+		ReadTrackingMetadataReaderFactory readerFactory = new ReadTrackingMetadataReaderFactory();
+		provider.setMetadataReaderFactory(readerFactory);
+		Set<BeanDefinition> candidates = provider.findCandidateComponents(TEST_BASE_PACKAGE);
+
+		ClassPathScanningCandidateComponentProvider snapshotProvider = new ClassPathScanningCandidateComponentProvider(false);
+		snapshotProvider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		snapshotProvider.setComponentsSnapshot(new CandidateComponentsSnapshot(snapshotDir));
+		snapshotProvider.addIncludeFilter(new AssignableTypeFilter(FooDao.class));
+		ReadTrackingMetadataReaderFactory snapshotReaderFactory = new ReadTrackingMetadataReaderFactory();
+		snapshotProvider.setMetadataReaderFactory(snapshotReaderFactory);
+		assertThat(snapshotProvider.findCandidateComponents(TEST_BASE_PACKAGE)).hasSameSizeAs(candidates);
+		assertThat(readerFactory.typeLookups).isGreaterThan(0);
+		assertThat(snapshotReaderFactory.typeLookups).isEqualTo(readerFactory.typeLookups);
+	}
+
 	@Test
 	void bogusPackageWithIndex() {
 		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
@@ -559,4 +651,30 @@ class ClassPathScanningCandidateComponentProviderTests {
 	@interface DevProfile {
 	}
 
+
+	private static class ReadTrackingMetadataReaderFactory extends SimpleMetadataReaderFactory {
+
+		final Set<String> readTypes = new HashSet<>();
+
+		int typeLookups;
+
+		ReadTrackingMetadataReaderFactory() {
+			super(CandidateComponentsTestClassLoader.disableIndex(
+					ClassPathScanningCandidateComponentProviderTests.class.getClassLoader()));
+		}
+
+		@Override
+		public MetadataReader getMetadataReader(String className) throws IOException {
+			this.typeLookups++;
+			return super.getMetadataReader(className);
+		}
+
+		@Override
+		public MetadataReader getMetadataReader(Resource resource) throws IOException {
+			MetadataReader metadataReader = super.getMetadataReader(resource);
+			this.readTypes.add(metadataReader.getClassMetadata().getClassName());
+			return metadataReader;
+		}
+	}
+
 }
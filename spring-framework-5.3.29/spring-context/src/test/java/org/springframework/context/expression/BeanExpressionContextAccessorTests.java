@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.config.BeanExpressionContext;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelCompiler;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for compilation of {@link BeanExpressionContextAccessor}.
+ */
+public class BeanExpressionContextAccessorTests {
+
+	@Test
+	public void beanExpressionContextAccessorCompilable() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("tb", new TestBean("juergen", 42));
+		BeanExpressionContext root = new BeanExpressionContext(beanFactory, null);
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.addPropertyAccessor(new BeanExpressionContextAccessor());
+		SpelExpressionParser parser = new SpelExpressionParser();
+
+		Expression expression = parser.parseExpression("tb");
+		assertThat(expression.getValue(context, root)).isSameAs(beanFactory.getBean("tb"));
+		assertThat(SpelCompiler.compile(expression)).isTrue();
+		assertThat(expression.getValue(context, root)).isSameAs(beanFactory.getBean("tb"));
+
+		expression = parser.parseExpression("tb.name.toUpperCase()");
+		assertThat(expression.getValue(context, root)).isEqualTo("JUERGEN");
+		assertThat(SpelCompiler.compile(expression)).isTrue();
+		assertThat(expression.getValue(context, root)).isEqualTo("JUERGEN");
+	}
+
+}
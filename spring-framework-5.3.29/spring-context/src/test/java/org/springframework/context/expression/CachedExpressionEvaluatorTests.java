@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,19 @@
 
 package org.springframework.context.expression;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.EventExpressionRootObject;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -67,6 +73,40 @@ public class CachedExpressionEvaluatorTests {
 		assertThat(expressionEvaluator.testCache.size()).as("Cached expression should be based on type").isEqualTo(2);
 	}
 
+	@Test
+	public void compileExpressionInMixedMode() {
+		SpringProperties.setProperty(StandardBeanExpressionResolver.COMPILER_MODE_PROPERTY_NAME, "mixed");
+		try {
+			assertThat(evaluateEventCondition(new CachedExpressionEvaluator() {})).as("Expression should be compiled").isNotNull();
+		}
+		finally {
+			SpringProperties.setProperty(StandardBeanExpressionResolver.COMPILER_MODE_PROPERTY_NAME, null);
+		}
+	}
+
+	@Test
+	public void expressionNotCompiledByDefault() {
+		assertThat(evaluateEventCondition(new CachedExpressionEvaluator() {})).as("Expression should not be compiled").isNull();
+	}
+
+	private Object evaluateEventCondition(CachedExpressionEvaluator evaluator) {
+		Method method = ReflectionUtils.findMethod(String.class, "concat", String.class);
+		Map<CachedExpressionEvaluator.ExpressionKey, Expression> cache = new ConcurrentHashMap<>();
+		Expression expression = evaluator.getExpression(
+				cache, new AnnotatedElementKey(method, String.class), "event.payload == 'foo' and #p0 == 'bar'");
+
+		for (int i = 0; i <= 100; i++) {
+			Object[] args = new Object[] {"bar"};
+			EventExpressionRootObject root = new EventExpressionRootObject(new PayloadApplicationEvent<>(this, "foo"), args);
+			MethodBasedEvaluationContext context =
+					new MethodBasedEvaluationContext(root, method, args, new DefaultParameterNameDiscoverer());
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+		Field field = ReflectionUtils.findField(SpelExpression.class, "compiledAst");
+		ReflectionUtils.makeAccessible(field);
+		return ReflectionUtils.getField(field, expression);
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
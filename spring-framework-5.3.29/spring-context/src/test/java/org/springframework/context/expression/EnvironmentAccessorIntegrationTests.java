@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,7 +22,12 @@ import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.context.support.AbstractApplicationContext;
 import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.testfixture.env.MockPropertySource;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelCompiler;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.beans.factory.support.BeanDefinitionBuilder.genericBeanDefinition;
@@ -52,4 +57,17 @@ public class EnvironmentAccessorIntegrationTests {
 		ctx.close();
 	}
 
+	@Test
+	public void compiledAccess() {
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources().addFirst(new MockPropertySource().withProperty("myName", "myBean"));
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.addPropertyAccessor(new EnvironmentAccessor());
+
+		Expression expression = new SpelExpressionParser().parseExpression("myName.toUpperCase()");
+		assertThat(expression.getValue(context, environment)).isEqualTo("MYBEAN");
+		assertThat(SpelCompiler.compile(expression)).isTrue();
+		assertThat(expression.getValue(context, environment)).isEqualTo("MYBEAN");
+	}
+
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CandidateComponentsSnapshot}.
+ */
+class CandidateComponentsSnapshotTests {
+
+	@TempDir
+	File tempDir;
+
+	private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+
+	@Test
+	void getCandidateTypesWithoutSnapshot() {
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(new File(this.tempDir, "snapshot"));
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint", this.resourceLoader)).isNull();
+	}
+
+	@Test
+	void storeAndGetCandidateTypes() {
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(new File(this.tempDir, "snapshot"));
+		snapshot.store("key", "fingerprint", Arrays.asList("com.example.Two", "com.example.One"),
+				Collections.emptyList(), this.resourceLoader);
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint", this.resourceLoader)).containsExactly("com.example.Two", "com.example.One");
+		assertThat(snapshot.getCandidateTypes("key", "other", this.resourceLoader)).isNull();
+		assertThat(snapshot.getCandidateTypes("other", "fingerprint", this.resourceLoader)).isNull();
+	}
+
+	@Test
+	void storeReplacesPreviousSnapshot() {
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(this.tempDir);
+		snapshot.store("key", "fingerprint", Arrays.asList("com.example.One"), Collections.emptyList(), this.resourceLoader);
+		snapshot.store("key", "fingerprint2", Arrays.asList("com.example.Two"), Collections.emptyList(), this.resourceLoader);
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint", this.resourceLoader)).isNull();
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint2", this.resourceLoader)).containsExactly("com.example.Two");
+		assertThat(this.tempDir.listFiles()).hasSize(1);
+	}
+
+	@Test
+	void getCandidateTypesWithCorruptSnapshot() throws Exception {
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(this.tempDir);
+		snapshot.store("key", "fingerprint", Arrays.asList("com.example.One"), Collections.emptyList(), this.resourceLoader);
+		File[] files = this.tempDir.listFiles();
+		assertThat(files).hasSize(1);
+		Files.write(files[0].toPath(), "corrupt".getBytes(StandardCharsets.UTF_8));
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint", this.resourceLoader)).isNull();
+	}
+
+	@Test
+	void fingerprintChangesWithResources() throws Exception {
+		File one = new File(this.tempDir, "One.class");
+		File two = new File(this.tempDir, "Two.class");
+		Files.write(one.toPath(), new byte[] {1});
+		Files.write(two.toPath(), new byte[] {2});
+		Resource[] resources = new Resource[] {new FileSystemResource(one), new FileSystemResource(two)};
+
+		String fingerprint = CandidateComponentsSnapshot.fingerprint(resources);
+		assertThat(CandidateComponentsSnapshot.fingerprint(resources)).isEqualTo(fingerprint);
+		assertThat(CandidateComponentsSnapshot.fingerprint(new Resource[] {resources[0]})).isNotEqualTo(fingerprint);
+
+		assertThat(two.setLastModified(two.lastModified() - 10_000)).isTrue();
+		assertThat(CandidateComponentsSnapshot.fingerprint(resources)).isNotEqualTo(fingerprint);
+	}
+
+	@Test
+	void getCandidateTypesWithChangedDependencyType() throws Exception {
+		File classesDir = new File(this.tempDir, "classes");
+		File dependency = new File(classesDir, "com/example/Stereotype.class");
+		assertThat(dependency.getParentFile().mkdirs()).isTrue();
+		Files.write(dependency.toPath(), new byte[] {1});
+		ResourceLoader classesLoader = new DefaultResourceLoader(
+				new URLClassLoader(new URL[] {classesDir.toURI().toURL()}, null));
+
+		CandidateComponentsSnapshot snapshot = new CandidateComponentsSnapshot(new File(this.tempDir, "snapshot"));
+		snapshot.store("key", "fingerprint", Arrays.asList("com.example.One"),
+				Arrays.asList("com.example.Stereotype"), classesLoader);
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint", classesLoader)).containsExactly("com.example.One");
+
+		assertThat(dependency.setLastModified(dependency.lastModified() - 10_000)).isTrue();
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint", classesLoader)).isNull();
+
+		assertThat(dependency.delete()).isTrue();
+		assertThat(snapshot.getCandidateTypes("key", "fingerprint", classesLoader)).isNull();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.core.codec;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -53,6 +54,11 @@ public class StringDecoderBenchmark {
 		blackhole.consume(state.parseLines().blockLast());
 	}
 
+	@Benchmark
+	public void parseLongLines(LongLinesState state, Blackhole blackhole) {
+		blackhole.consume(state.parseLines().blockLast());
+	}
+
 
 	@State(Scope.Benchmark)
 	@SuppressWarnings({"NotNullFieldNotInitialized", "ConstantConditions"})
@@ -103,7 +109,73 @@ public class StringDecoderBenchmark {
 		}
 
 		public Flux<String> parseLines() {
-			Flux<DataBuffer> input = Flux.fromIterable(this.chunks).doOnNext(DataBufferUtils::retain);
+			// Decoding consumes the buffers: read from fresh views on each invocation
+			Flux<DataBuffer> input = Flux.fromIterable(this.chunks).map(chunk -> chunk.slice(0, chunk.writePosition()));
+			return this.decoder.decode(input, ELEMENT_TYPE, this.mimeType, Collections.emptyMap());
+		}
+	}
+
+
+	/**
+	 * Line-delimited content such as NDJSON, with lines long enough for the
+	 * cost of scanning for delimiters to outweigh the per-line overhead.
+	 */
+	@State(Scope.Benchmark)
+	@SuppressWarnings({"NotNullFieldNotInitialized", "ConstantConditions"})
+	public static class LongLinesState {
+
+		private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+		private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(String.class);
+
+
+		@Param({"80", "1024"})
+		int lineLength;
+
+		@Param({"default", "newline"})
+		String delimiters;
+
+		@Param("1048576")
+		int totalSize;
+
+		@Param("8192")
+		int chunkSize;
+
+		List<DataBuffer> chunks;
+
+		StringDecoder decoder;
+
+		MimeType mimeType = new MimeType("text", "plain", CHARSET);
+
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.decoder = StringDecoder.textPlainOnly(
+					(this.delimiters.equals("newline") ? Collections.singletonList("\n") : Arrays.asList("\r\n", "\n")),
+					false);
+
+			StringBuilder content = new StringBuilder(this.totalSize + this.lineLength);
+			while (content.length() < this.totalSize) {
+				for (int i = 0; i < this.lineLength - 1; i++) {
+					content.append((char) ('a' + (content.length() % 26)));
+				}
+				content.append('\n');
+			}
+			byte[] bytes = content.toString().getBytes(CHARSET);
+
+			DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+			this.chunks = new ArrayList<>();
+			for (int offset = 0; offset < bytes.length; offset += this.chunkSize) {
+				int length = Math.min(this.chunkSize, bytes.length - offset);
+				DataBuffer buffer = bufferFactory.allocateBuffer(length);
+				buffer.write(bytes, offset, length);
+				this.chunks.add(buffer);
+			}
+		}
+
+		public Flux<String> parseLines() {
+			// Decoding consumes the buffers: read from fresh views on each invocation
+			Flux<DataBuffer> input = Flux.fromIterable(this.chunks).map(chunk -> chunk.slice(0, chunk.writePosition()));
 			return this.decoder.decode(input, ELEMENT_TYPE, this.mimeType, Collections.emptyMap());
 		}
 	}
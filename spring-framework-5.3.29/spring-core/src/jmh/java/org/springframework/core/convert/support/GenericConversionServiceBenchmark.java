@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,6 @@
 package org.springframework.core.convert.support;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -34,6 +33,7 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.infra.Blackhole;
 
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.util.CollectionUtils;
 
 /**
@@ -50,6 +50,11 @@ public class GenericConversionServiceBenchmark {
 		bh.consume(state.conversionService.convert(state.source, sourceTypeDesc, state.targetTypeDesc));
 	}
 
+	@Benchmark
+	public void convertListOfStringToListOfIntegerWithTypedConverter(ListBenchmarkState state, Blackhole bh) {
+		bh.consume(state.typedConverter.convert(state.source));
+	}
+
 	@Benchmark
 	public void convertListOfStringToListOfIntegerBaseline(ListBenchmarkState state, Blackhole bh) {
 		List<Integer> target = new ArrayList<>(state.source.size());
@@ -67,8 +72,9 @@ public class GenericConversionServiceBenchmark {
 		@Setup(Level.Trial)
 		public void setup() throws Exception {
 			this.source = IntStream.rangeClosed(1, collectionSize).mapToObj(String::valueOf).collect(Collectors.toList());
-			List<Integer> target = new ArrayList<>();
-			this.targetTypeDesc = TypeDescriptor.forObject(target);
+			this.targetTypeDesc = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class));
+			this.typedConverter = this.conversionService.getTypedConverter(
+					TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class)), this.targetTypeDesc);
 		}
 	}
 
@@ -78,6 +84,11 @@ public class GenericConversionServiceBenchmark {
 		bh.consume(state.conversionService.convert(state.source, sourceTypeDesc, state.targetTypeDesc));
 	}
 
+	@Benchmark
+	public void convertMapOfStringToListOfIntegerWithTypedConverter(MapBenchmarkState state, Blackhole bh) {
+		bh.consume(state.typedConverter.convert(state.source));
+	}
+
 	@Benchmark
 	public void convertMapOfStringToListOfIntegerBaseline(MapBenchmarkState state, Blackhole bh) {
 		Map<String, Integer> target = CollectionUtils.newHashMap(state.source.size());
@@ -93,11 +104,12 @@ public class GenericConversionServiceBenchmark {
 
 		@Setup(Level.Trial)
 		public void setup() throws Exception {
-			this.source = CollectionUtils.newHashMap(this.collectionSize);
-			Map<String, Integer> target = new HashMap<>();
-			this.targetTypeDesc = TypeDescriptor.forObject(target);
 			this.source = IntStream.rangeClosed(1, collectionSize).mapToObj(String::valueOf)
 					.collect(Collectors.toMap(String::valueOf, String::valueOf));
+			this.targetTypeDesc = TypeDescriptor.map(Map.class,
+					TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Integer.class));
+			this.typedConverter = this.conversionService.getTypedConverter(TypeDescriptor.map(Map.class,
+					TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(String.class)), this.targetTypeDesc);
 		}
 	}
 
@@ -105,12 +117,14 @@ public class GenericConversionServiceBenchmark {
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
 
-		GenericConversionService conversionService = new GenericConversionService();
+		GenericConversionService conversionService = new DefaultConversionService();
 
 		@Param({"10"})
 		int collectionSize;
 
 		TypeDescriptor targetTypeDesc;
+
+		TypedConverter<Object, Object> typedConverter;
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.core.convert;
 
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.lang.Nullable;
 
 /**
@@ -91,4 +92,46 @@ public interface ConversionService {
 	@Nullable
 	Object convert(@Nullable Object source, @Nullable TypeDescriptor sourceType, TypeDescriptor targetType);
 
+	/**
+	 * Return a converter for the given source and target types, for repeated
+	 * conversions of objects of {@code sourceType} to {@code targetType}.
+	 * <p>The returned converter is equivalent to calling
+	 * {@link #convert(Object, TypeDescriptor, TypeDescriptor)} with the given
+	 * types but may resolve the underlying converter, including converters for
+	 * collection elements and map entries, up front. It reflects the converters
+	 * registered at the time of this call.
+	 * <p>The default implementation checks {@link #canConvert(TypeDescriptor, TypeDescriptor)}
+	 * and returns a converter delegating to {@link #convert(Object, TypeDescriptor, TypeDescriptor)}.
+	 * @param sourceType context about the source type to convert from (required)
+	 * @param targetType context about the target type to convert to (required)
+	 * @return the converter, or {@code null} if no conversion can be performed
+	 * between the given types
+	 * @throws IllegalArgumentException if either type is {@code null}
+	 * @since 5.3.30
+	 */
+	@Nullable
+	default <S, T> TypedConverter<S, T> getTypedConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		if (!canConvert(sourceType, targetType)) {
+			return null;
+		}
+		return new TypedConverter<S, T>() {
+			@Override
+			public TypeDescriptor getSourceType() {
+				return sourceType;
+			}
+
+			@Override
+			public TypeDescriptor getTargetType() {
+				return targetType;
+			}
+
+			@Override
+			@Nullable
+			@SuppressWarnings("unchecked")
+			public T convert(@Nullable S source) {
+				return (T) ConversionService.this.convert(source, sourceType, targetType);
+			}
+		};
+	}
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.converter;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.lang.Nullable;
+
+/**
+ * A converter for one specific source and target {@link TypeDescriptor} pair,
+ * as resolved by {@link org.springframework.core.convert.ConversionService#getTypedConverter}.
+ *
+ * <p>Callers which repeatedly convert between the same pair of types may hold
+ * on to such a converter, avoiding the converter lookup that each call to
+ * {@link org.springframework.core.convert.ConversionService#convert(Object, TypeDescriptor, TypeDescriptor)}
+ * implies. Implementations are expected to be thread-safe.
+ *
+ * @since 5.3.30
+ * @param <S> the source type
+ * @param <T> the target type
+ * @see org.springframework.core.convert.ConversionService#getTypedConverter
+ */
+public interface TypedConverter<S, T> {
+
+	/**
+	 * Return the type descriptor of the source objects that this converter accepts.
+	 */
+	TypeDescriptor getSourceType();
+
+	/**
+	 * Return the type descriptor of the target objects that this converter produces.
+	 */
+	TypeDescriptor getTargetType();
+
+	/**
+	 * Convert the given source object, which must be an instance of the
+	 * {@link #getSourceType() source type}, to the {@link #getTargetType() target type}.
+	 * @param source the source object to convert (may be {@code null})
+	 * @return the converted object
+	 * @throws org.springframework.core.convert.ConversionException if a conversion exception occurred
+	 * @throws IllegalArgumentException if the source object is not an instance of the source type
+	 */
+	@Nullable
+	T convert(@Nullable S source);
+
+}
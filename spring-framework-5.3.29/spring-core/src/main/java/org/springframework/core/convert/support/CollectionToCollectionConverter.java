@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.springframework.core.CollectionFactory;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.lang.Nullable;
 
 /**
@@ -62,6 +63,28 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
 	@Override
 	@Nullable
 	public Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+		return convert(source, sourceType, targetType, null);
+	}
+
+	/**
+	 * Resolve a converter for the elements of the given collection types up front.
+	 * @see #convert(Object, TypeDescriptor, TypeDescriptor, TypedConverter)
+	 */
+	@Nullable
+	TypedConverter<Object, Object> resolveElementConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		return ConversionUtils.resolveElementConverter(
+				sourceType.getElementTypeDescriptor(), targetType.getElementTypeDescriptor(), this.conversionService);
+	}
+
+	/**
+	 * Convert the given source collection, using the given pre-resolved element
+	 * converter for all applicable elements.
+	 * @see #resolveElementConverter(TypeDescriptor, TypeDescriptor)
+	 */
+	@Nullable
+	Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType,
+			@Nullable TypedConverter<Object, Object> elementConverter) {
+
 		if (source == null) {
 			return null;
 		}
@@ -86,8 +109,10 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
 		}
 		else {
 			for (Object sourceElement : sourceCollection) {
-				Object targetElement = this.conversionService.convert(sourceElement,
-						sourceType.elementTypeDescriptor(sourceElement), elementDesc);
+				Object targetElement = (elementConverter != null &&
+						ConversionUtils.canUseElementConverter(elementConverter, sourceElement) ?
+						elementConverter.convert(sourceElement) :
+						this.conversionService.convert(sourceElement, sourceType.elementTypeDescriptor(sourceElement), elementDesc));
 				target.add(targetElement);
 				if (sourceElement != targetElement) {
 					copyRequired = true;
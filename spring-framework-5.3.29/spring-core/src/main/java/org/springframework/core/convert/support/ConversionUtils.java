@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -71,6 +72,34 @@ abstract class ConversionUtils {
 		return false;
 	}
 
+	/**
+	 * Resolve a converter for the given element types up front, if possible.
+	 * <p>Only applies to source element types which are declared without generics:
+	 * the resulting converter is then valid for all elements of exactly that class
+	 * (as well as for {@code null} elements), see {@link #canUseElementConverter}.
+	 * @return the element converter, or {@code null} if elements need to be
+	 * converted one by one through the {@link ConversionService}
+	 */
+	@Nullable
+	public static TypedConverter<Object, Object> resolveElementConverter(@Nullable TypeDescriptor sourceElementType,
+			@Nullable TypeDescriptor targetElementType, ConversionService conversionService) {
+
+		if (sourceElementType == null || targetElementType == null ||
+				sourceElementType.getResolvableType().hasGenerics()) {
+			return null;
+		}
+		return conversionService.getTypedConverter(sourceElementType, targetElementType);
+	}
+
+	/**
+	 * Determine whether the given pre-resolved element converter applies to the
+	 * given element, i.e. whether the element's narrowed type descriptor would
+	 * match the element converter's source type.
+	 */
+	public static boolean canUseElementConverter(TypedConverter<?, ?> elementConverter, @Nullable Object element) {
+		return (element == null || element.getClass() == elementConverter.getSourceType().getType());
+	}
+
 	public static Class<?> getEnumType(Class<?> targetType) {
 		Class<?> enumType = targetType;
 		while (enumType != null && !enumType.isEnum()) {
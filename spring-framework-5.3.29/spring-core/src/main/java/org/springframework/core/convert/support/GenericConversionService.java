@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,6 +43,7 @@ import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.core.convert.converter.ConverterRegistry;
 import org.springframework.core.convert.converter.GenericConverter;
 import org.springframework.core.convert.converter.GenericConverter.ConvertiblePair;
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -195,6 +196,54 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return handleConverterNotFound(source, sourceType, targetType);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation resolves the underlying converter once, through
+	 * {@link #getConverter(TypeDescriptor, TypeDescriptor)}. For collection and map
+	 * conversions, converters for elements, keys and values whose source type is
+	 * declared without generics are resolved up front as well.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <S, T> TypedConverter<S, T> getTypedConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		Assert.notNull(sourceType, "Source type to convert from cannot be null");
+		Assert.notNull(targetType, "Target type to convert to cannot be null");
+		GenericConverter converter = getConverter(sourceType, targetType);
+		if (converter == null) {
+			return null;
+		}
+		if (converter instanceof CollectionToCollectionConverter) {
+			CollectionToCollectionConverter collectionConverter = (CollectionToCollectionConverter) converter;
+			TypedConverter<Object, Object> elementConverter =
+					collectionConverter.resolveElementConverter(sourceType, targetType);
+			if (elementConverter != null) {
+				return (TypedConverter<S, T>) new ResolvedConverter(converter, sourceType, targetType) {
+					@Override
+					@Nullable
+					protected Object doConvert(@Nullable Object source) {
+						return collectionConverter.convert(source, this.sourceType, this.targetType, elementConverter);
+					}
+				};
+			}
+		}
+		else if (converter instanceof MapToMapConverter) {
+			MapToMapConverter mapConverter = (MapToMapConverter) converter;
+			TypedConverter<Object, Object> keyConverter = mapConverter.resolveKeyConverter(sourceType, targetType);
+			TypedConverter<Object, Object> valueConverter = mapConverter.resolveValueConverter(sourceType, targetType);
+			if (keyConverter != null || valueConverter != null) {
+				return (TypedConverter<S, T>) new ResolvedConverter(converter, sourceType, targetType) {
+					@Override
+					@Nullable
+					protected Object doConvert(@Nullable Object source) {
+						return mapConverter.convert(source, this.sourceType, this.targetType, keyConverter, valueConverter);
+					}
+				};
+			}
+		}
+		return (TypedConverter<S, T>) new ResolvedConverter(converter, sourceType, targetType);
+	}
+
 	/**
 	 * Convenience operation for converting a source object to the specified targetType,
 	 * where the target type is a descriptor that provides additional conversion context.
@@ -675,6 +724,67 @@ public class GenericConversionService implements ConfigurableConversionService {
 	}
 
 
+	/**
+	 * {@link TypedConverter} for a pre-resolved {@link GenericConverter},
+	 * applying the same checks and result handling as
+	 * {@link #convert(Object, TypeDescriptor, TypeDescriptor)}.
+	 */
+	private class ResolvedConverter implements TypedConverter<Object, Object> {
+
+		private final GenericConverter converter;
+
+		protected final TypeDescriptor sourceType;
+
+		protected final TypeDescriptor targetType;
+
+		public ResolvedConverter(GenericConverter converter, TypeDescriptor sourceType, TypeDescriptor targetType) {
+			this.converter = converter;
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+		}
+
+		@Override
+		public TypeDescriptor getSourceType() {
+			return this.sourceType;
+		}
+
+		@Override
+		public TypeDescriptor getTargetType() {
+			return this.targetType;
+		}
+
+		@Override
+		@Nullable
+		public Object convert(@Nullable Object source) {
+			if (source != null && !this.sourceType.getObjectType().isInstance(source)) {
+				throw new IllegalArgumentException("Source to convert from must be an instance of [" +
+						this.sourceType + "]; instead it was a [" + source.getClass().getName() + "]");
+			}
+			Object result;
+			try {
+				result = doConvert(source);
+			}
+			catch (ConversionFailedException ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new ConversionFailedException(this.sourceType, this.targetType, source, ex);
+			}
+			return handleResult(this.sourceType, this.targetType, result);
+		}
+
+		@Nullable
+		protected Object doConvert(@Nullable Object source) {
+			return this.converter.convert(source, this.sourceType, this.targetType);
+		}
+
+		@Override
+		public String toString() {
+			return (this.sourceType + " -> " + this.targetType + " : " + this.converter);
+		}
+	}
+
+
 	/**
 	 * Internal converter that performs no operation.
 	 */
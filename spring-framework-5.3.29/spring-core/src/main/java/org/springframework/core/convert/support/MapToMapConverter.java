@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.springframework.core.CollectionFactory;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.lang.Nullable;
 
 /**
@@ -63,6 +64,40 @@ final class MapToMapConverter implements ConditionalGenericConverter {
 	@Override
 	@Nullable
 	public Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+		return convert(source, sourceType, targetType, null, null);
+	}
+
+	/**
+	 * Resolve a converter for the keys of the given map types up front.
+	 * @see #convert(Object, TypeDescriptor, TypeDescriptor, TypedConverter, TypedConverter)
+	 */
+	@Nullable
+	TypedConverter<Object, Object> resolveKeyConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		return ConversionUtils.resolveElementConverter(
+				sourceType.getMapKeyTypeDescriptor(), targetType.getMapKeyTypeDescriptor(), this.conversionService);
+	}
+
+	/**
+	 * Resolve a converter for the values of the given map types up front.
+	 * @see #convert(Object, TypeDescriptor, TypeDescriptor, TypedConverter, TypedConverter)
+	 */
+	@Nullable
+	TypedConverter<Object, Object> resolveValueConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		return ConversionUtils.resolveElementConverter(
+				sourceType.getMapValueTypeDescriptor(), targetType.getMapValueTypeDescriptor(), this.conversionService);
+	}
+
+	/**
+	 * Convert the given source map, using the given pre-resolved key and value
+	 * converters for all applicable keys and values.
+	 * @see #resolveKeyConverter(TypeDescriptor, TypeDescriptor)
+	 * @see #resolveValueConverter(TypeDescriptor, TypeDescriptor)
+	 */
+	@Nullable
+	Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType,
+			@Nullable TypedConverter<Object, Object> keyConverter,
+			@Nullable TypedConverter<Object, Object> valueConverter) {
+
 		if (source == null) {
 			return null;
 		}
@@ -81,8 +116,12 @@ final class MapToMapConverter implements ConditionalGenericConverter {
 		for (Map.Entry<Object, Object> entry : sourceMap.entrySet()) {
 			Object sourceKey = entry.getKey();
 			Object sourceValue = entry.getValue();
-			Object targetKey = convertKey(sourceKey, sourceType, keyDesc);
-			Object targetValue = convertValue(sourceValue, sourceType, valueDesc);
+			Object targetKey = (keyConverter != null &&
+					ConversionUtils.canUseElementConverter(keyConverter, sourceKey) ?
+					keyConverter.convert(sourceKey) : convertKey(sourceKey, sourceType, keyDesc));
+			Object targetValue = (valueConverter != null &&
+					ConversionUtils.canUseElementConverter(valueConverter, sourceValue) ?
+					valueConverter.convert(sourceValue) : convertValue(sourceValue, sourceType, valueDesc));
 			targetEntries.add(new MapEntry(targetKey, targetValue));
 			if (sourceKey != targetKey || sourceValue != targetValue) {
 				copyRequired = true;
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.function.IntPredicate;
+
+/**
+ * Base class for {@link PooledDefaultDataBuffer} and its slices, rejecting
+ * access to the buffer contents once the underlying memory has been released.
+ *
+ * @since 5.3.30
+ */
+abstract class AbstractPooledDefaultDataBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+	AbstractPooledDefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
+		super(dataBufferFactory, byteBuffer);
+	}
+
+	/**
+	 * Assert that the memory of this buffer has not been released yet.
+	 */
+	final void checkAccessible() {
+		if (!isAllocated()) {
+			throw new IllegalStateException("DataBuffer has been released: " + this);
+		}
+	}
+
+	@Override
+	public ByteBuffer getNativeBuffer() {
+		checkAccessible();
+		return super.getNativeBuffer();
+	}
+
+	@Override
+	public int indexOf(IntPredicate predicate, int fromIndex) {
+		checkAccessible();
+		return super.indexOf(predicate, fromIndex);
+	}
+
+	@Override
+	public int lastIndexOf(IntPredicate predicate, int fromIndex) {
+		checkAccessible();
+		return super.lastIndexOf(predicate, fromIndex);
+	}
+
+	@Override
+	public byte getByte(int index) {
+		checkAccessible();
+		return super.getByte(index);
+	}
+
+	@Override
+	public byte read() {
+		checkAccessible();
+		return super.read();
+	}
+
+	@Override
+	public DefaultDataBuffer read(byte[] destination, int offset, int length) {
+		checkAccessible();
+		return super.read(destination, offset, length);
+	}
+
+	@Override
+	public DefaultDataBuffer write(byte b) {
+		checkAccessible();
+		return super.write(b);
+	}
+
+	@Override
+	public DefaultDataBuffer write(byte[] source, int offset, int length) {
+		checkAccessible();
+		return super.write(source, offset, length);
+	}
+
+	@Override
+	public DefaultDataBuffer write(DataBuffer... buffers) {
+		checkAccessible();
+		return super.write(buffers);
+	}
+
+	@Override
+	public DefaultDataBuffer write(ByteBuffer... buffers) {
+		checkAccessible();
+		return super.write(buffers);
+	}
+
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		checkAccessible();
+		return super.asByteBuffer(index, length);
+	}
+
+	@Override
+	public String toString(int index, int length, Charset charset) {
+		checkAccessible();
+		return super.toString(index, length, charset);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,16 +21,22 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -46,6 +52,7 @@ import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
 import reactor.core.publisher.SynchronousSink;
 import reactor.util.context.Context;
 
@@ -66,6 +73,8 @@ public abstract class DataBufferUtils {
 
 	private static final Consumer<DataBuffer> RELEASE_CONSUMER = DataBufferUtils::release;
 
+	private static final int MAX_MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
 
 	//---------------------------------------------------------------------
 	// Reading
@@ -185,6 +194,57 @@ public abstract class DataBufferUtils {
 				bufferFactory, bufferSize);
 	}
 
+	/**
+	 * Read the given file {@code Path} into a {@code Flux} of memory-mapped
+	 * {@code DataBuffer}s.
+	 * @param path the path to read bytes from
+	 * @param bufferFactory the factory to wrap mapped byte buffers with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @return a Flux of data buffers backed by a mapping of the given file
+	 * @since 5.3.30
+	 * @see #readMapped(Path, long, DataBufferFactory, int)
+	 */
+	public static Flux<DataBuffer> readMapped(Path path, DataBufferFactory bufferFactory, int bufferSize) {
+		return readMapped(path, 0, bufferFactory, bufferSize);
+	}
+
+	/**
+	 * Read the given file {@code Path} into a {@code Flux} of memory-mapped
+	 * {@code DataBuffer}s, starting at the given position.
+	 * <p>The file is mapped in regions of up to 64 MB through
+	 * {@link FileChannel#map}, and each region is sliced into buffers of the
+	 * given size which are {@linkplain DataBufferFactory#wrap(ByteBuffer) wrapped}
+	 * by the given factory. As a consequence, file content is not copied into
+	 * intermediate buffers, and no read system calls are necessary beyond the
+	 * mapping of each region. The returned buffers are read-only, and remain
+	 * valid after the file has been closed.
+	 * <p>Note that the contents of a mapped file may change if the file is
+	 * modified concurrently, and that accessing a buffer after the file has
+	 * been truncated may fail with an unspecified exception. This method
+	 * should therefore only be used for files that do not change while being
+	 * read, e.g. static resources or completed uploads.
+	 * @param path the path to read bytes from
+	 * @param position the position to start reading from
+	 * @param bufferFactory the factory to wrap mapped byte buffers with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @return a Flux of data buffers backed by a mapping of the given file
+	 * @since 5.3.30
+	 */
+	public static Flux<DataBuffer> readMapped(
+			Path path, long position, DataBufferFactory bufferFactory, int bufferSize) {
+
+		Assert.notNull(path, "Path must not be null");
+		Assert.notNull(bufferFactory, "BufferFactory must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(bufferSize > 0, "'bufferSize' must be > 0");
+
+		return Flux.using(() -> FileChannel.open(path, StandardOpenOption.READ),
+				channel -> Flux.generate(new MappedFileChannelGenerator(channel, position, bufferFactory, bufferSize)),
+				DataBufferUtils::closeChannel);
+
+		// No doOnDiscard as operators used do not cache
+	}
+
 	/**
 	 * Read the given {@code Resource} into a {@code Flux} of {@code DataBuffer}s.
 	 * <p>If the resource is a file, it is read into an
@@ -288,6 +348,47 @@ public abstract class DataBufferUtils {
 		});
 	}
 
+	/**
+	 * Write the given stream of {@link DataBuffer DataBuffers} to the given
+	 * {@code GatheringByteChannel}, such as a {@link FileChannel}, writing up
+	 * to {@code maxBuffers} data buffers at once through
+	 * {@link GatheringByteChannel#write(ByteBuffer[])}.
+	 * Does <strong>not</strong> close the channel when the flux is terminated,
+	 * and does <strong>not</strong> {@linkplain #release(DataBuffer) release}
+	 * the data buffers in the source. If releasing is required, then subscribe
+	 * to the returned {@code Flux} with a {@link #releaseConsumer()}.
+	 * <p>Data buffers are requested from the source {@code maxBuffers} at a time,
+	 * and written once all of them have been received, or once the source
+	 * completes. Compared to {@link #write(Publisher, WritableByteChannel)},
+	 * this saves a system call per data buffer, at the expense of holding on to
+	 * up to {@code maxBuffers} data buffers before writing them. Data buffers
+	 * that have been received but not written when the returned {@code Flux}
+	 * is cancelled are discarded, see {@link Flux#doOnDiscard}.
+	 * <p>Note that the writing process does not start until the returned
+	 * {@code Flux} is subscribed to.
+	 * @param source the stream of data buffers to be written
+	 * @param channel the channel to write to
+	 * @param maxBuffers the maximum number of data buffers to write at once
+	 * @return a Flux containing the same buffers as in {@code source}, that
+	 * starts the writing process when subscribed to, and that publishes any
+	 * writing errors and the completion signal
+	 * @since 5.3.30
+	 */
+	public static Flux<DataBuffer> write(
+			Publisher<? extends DataBuffer> source, GatheringByteChannel channel, int maxBuffers) {
+
+		Assert.notNull(source, "'source' must not be null");
+		Assert.notNull(channel, "'channel' must not be null");
+		Assert.isTrue(maxBuffers > 0, "'maxBuffers' must be > 0");
+
+		Flux<DataBuffer> flux = Flux.from(source);
+		return Flux.create(sink -> {
+			GatheringByteChannelSubscriber subscriber = new GatheringByteChannelSubscriber(sink, channel, maxBuffers);
+			sink.onDispose(subscriber);
+			flux.subscribe(subscriber);
+		});
+	}
+
 	/**
 	 * Write the given stream of {@link DataBuffer DataBuffers} to the given
 	 * {@code AsynchronousFileChannel}. Does <strong>not</strong> close the
@@ -612,11 +713,12 @@ public abstract class DataBufferUtils {
 		Assert.isTrue(delimiter.length > 0, "Delimiter must not be empty");
 		switch (delimiter.length) {
 			case 1:
-				return (delimiter[0] == 10 ? SingleByteMatcher.NEWLINE_MATCHER : new SingleByteMatcher(delimiter));
+				return new SingleByteMatcher(delimiter);
 			case 2:
 				return new TwoByteMatcher(delimiter);
 			default:
-				return new KnuthMorrisPrattMatcher(delimiter);
+				return (delimiter.length >= BoyerMooreHorspoolMatcher.MIN_DELIMITER_LENGTH ?
+						new BoyerMooreHorspoolMatcher(delimiter) : new KnuthMorrisPrattMatcher(delimiter));
 		}
 	}
 
@@ -658,10 +760,13 @@ public abstract class DataBufferUtils {
 
 		private final NestedMatcher[] matchers;
 
+		private final ByteScanner firstByteScanner;
+
 		byte[] longestDelimiter = NO_DELIMITER;
 
 		CompositeMatcher(byte[][] delimiters) {
 			this.matchers = initMatchers(delimiters);
+			this.firstByteScanner = initFirstByteScanner(delimiters);
 		}
 
 		private static NestedMatcher[] initMatchers(byte[][] delimiters) {
@@ -672,11 +777,32 @@ public abstract class DataBufferUtils {
 			return matchers;
 		}
 
+		private static ByteScanner initFirstByteScanner(byte[][] delimiters) {
+			Set<Byte> firstBytes = new HashSet<>();
+			for (byte[] delimiter : delimiters) {
+				firstBytes.add(delimiter[0]);
+			}
+			byte[] bytes = new byte[firstBytes.size()];
+			int i = 0;
+			for (Byte b : firstBytes) {
+				bytes[i++] = b;
+			}
+			return new ByteScanner(bytes);
+		}
+
 		@Override
 		public int match(DataBuffer dataBuffer) {
 			this.longestDelimiter = NO_DELIMITER;
 
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
+			int end = dataBuffer.writePosition();
+			for (int pos = dataBuffer.readPosition(); pos < end; pos++) {
+				if (!isMatching()) {
+					// Skip ahead to the next byte that may start a delimiter
+					pos = this.firstByteScanner.indexOf(dataBuffer, pos, end);
+					if (pos == -1) {
+						return -1;
+					}
+				}
 				byte b = dataBuffer.getByte(pos);
 
 				for (NestedMatcher matcher : this.matchers) {
@@ -705,6 +831,15 @@ public abstract class DataBufferUtils {
 				matcher.reset();
 			}
 		}
+
+		private boolean isMatching() {
+			for (NestedMatcher matcher : this.matchers) {
+				if (matcher.isMatching()) {
+					return true;
+				}
+			}
+			return false;
+		}
 	}
 
 
@@ -720,6 +855,14 @@ public abstract class DataBufferUtils {
 		 */
 		boolean match(byte b);
 
+		/**
+		 * Return whether a delimiter has been partially matched,
+		 * i.e. whether the next byte may complete or continue it.
+		 */
+		default boolean isMatching() {
+			return false;
+		}
+
 	}
 
 
@@ -728,24 +871,19 @@ public abstract class DataBufferUtils {
 	 */
 	private static class SingleByteMatcher implements NestedMatcher {
 
-		static SingleByteMatcher NEWLINE_MATCHER = new SingleByteMatcher(new byte[] {10});
-
 		private final byte[] delimiter;
 
+		private final ByteScanner scanner;
+
 		SingleByteMatcher(byte[] delimiter) {
 			Assert.isTrue(delimiter.length == 1, "Expected a 1 byte delimiter");
 			this.delimiter = delimiter;
+			this.scanner = new ByteScanner(delimiter);
 		}
 
 		@Override
 		public int match(DataBuffer dataBuffer) {
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
-				byte b = dataBuffer.getByte(pos);
-				if (match(b)) {
-					return pos;
-				}
-			}
-			return -1;
+			return this.scanner.indexOf(dataBuffer, dataBuffer.readPosition(), dataBuffer.writePosition());
 		}
 
 		@Override
@@ -771,11 +909,14 @@ public abstract class DataBufferUtils {
 
 		private final byte[] delimiter;
 
+		private final ByteScanner firstByteScanner;
+
 		private int matches = 0;
 
 
 		protected AbstractNestedMatcher(byte[] delimiter) {
 			this.delimiter = delimiter;
+			this.firstByteScanner = new ByteScanner(delimiter[0]);
 		}
 
 		protected void setMatches(int index) {
@@ -788,7 +929,15 @@ public abstract class DataBufferUtils {
 
 		@Override
 		public int match(DataBuffer dataBuffer) {
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
+			int end = dataBuffer.writePosition();
+			for (int pos = dataBuffer.readPosition(); pos < end; pos++) {
+				if (this.matches == 0) {
+					// Skip ahead to the next byte that may start the delimiter
+					pos = this.firstByteScanner.indexOf(dataBuffer, pos, end);
+					if (pos == -1) {
+						return -1;
+					}
+				}
 				byte b = dataBuffer.getByte(pos);
 				if (match(b)) {
 					reset();
@@ -807,6 +956,11 @@ public abstract class DataBufferUtils {
 			return false;
 		}
 
+		@Override
+		public boolean isMatching() {
+			return (this.matches > 0);
+		}
+
 		@Override
 		public byte[] delimiter() {
 			return this.delimiter;
@@ -871,6 +1025,186 @@ public abstract class DataBufferUtils {
 	}
 
 
+	/**
+	 * Implementation of {@link Matcher} that uses the Boyer-Moore-Horspool algorithm
+	 * for longer delimiters: after a mismatch, the search skips ahead by up to the
+	 * length of the delimiter, depending on the last byte compared, so that most
+	 * bytes of a buffer are never looked at. Delimiters spanning buffers are
+	 * matched byte by byte, using the table of {@link KnuthMorrisPrattMatcher}.
+	 * @see <a href="https://en.wikipedia.org/wiki/Boyer%E2%80%93Moore%E2%80%93Horspool_algorithm">Boyer-Moore-Horspool algorithm</a>
+	 */
+	private static class BoyerMooreHorspoolMatcher extends KnuthMorrisPrattMatcher {
+
+		static final int MIN_DELIMITER_LENGTH = 8;
+
+		private final int[] shifts = new int[256];
+
+		public BoyerMooreHorspoolMatcher(byte[] delimiter) {
+			super(delimiter);
+			int last = delimiter.length - 1;
+			Arrays.fill(this.shifts, delimiter.length);
+			for (int i = 0; i < last; i++) {
+				this.shifts[delimiter[i] & 0xFF] = last - i;
+			}
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			byte[] delimiter = delimiter();
+			int last = delimiter.length - 1;
+			int start = dataBuffer.readPosition();
+			int end = dataBuffer.writePosition();
+
+			// Continue a partial match that started in a previous buffer
+			int pos = start;
+			while (pos < end && getMatches() > pos - start) {
+				if (match(dataBuffer.getByte(pos))) {
+					reset();
+					return pos;
+				}
+				pos++;
+			}
+			if (pos == end) {
+				return -1;
+			}
+			int from = pos - getMatches();
+			reset();
+
+			for (int i = from + last; i < end; ) {
+				byte b = dataBuffer.getByte(i);
+				if (b == delimiter[last] && regionMatches(dataBuffer, i - last, delimiter, last)) {
+					return i;
+				}
+				i += this.shifts[b & 0xFF];
+			}
+
+			// Keep track of the longest delimiter prefix at the end of the buffer
+			for (int i = Math.max(from, end - last); i < end; i++) {
+				match(dataBuffer.getByte(i));
+			}
+			return -1;
+		}
+
+		private static boolean regionMatches(DataBuffer dataBuffer, int index, byte[] delimiter, int length) {
+			for (int i = 0; i < length; i++) {
+				if (dataBuffer.getByte(index + i) != delimiter[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+
+	/**
+	 * Scanner for the first occurrence of any of a few given bytes.
+	 * <p>Longer ranges are scanned a word at a time: eight bytes at once are read
+	 * as a {@code long} from a {@link ByteBuffer} view of the data buffer, and
+	 * tested for the given bytes with a few arithmetic operations each, instead
+	 * of comparing one byte after the other.
+	 * <p>The view is obtained once per data buffer and kept for subsequent scans
+	 * of the same buffer, since a view may be a copy of the data, e.g. for a
+	 * composite Netty buffer. A scanner is therefore stateful, like the matcher
+	 * that uses it.
+	 */
+	private static final class ByteScanner {
+
+		private static final int MIN_WORD_SCAN_LENGTH = 2 * Long.BYTES;
+
+		private static final long LOW_BITS = 0x0101010101010101L;
+
+		private static final long HIGH_BITS = 0x8080808080808080L;
+
+		private final byte[] bytes;
+
+		private final long[] patterns;
+
+		@Nullable
+		private DataBuffer viewBuffer;
+
+		@Nullable
+		private ByteBuffer view;
+
+		private int viewStart;
+
+		private int viewEnd;
+
+		ByteScanner(byte... bytes) {
+			this.bytes = bytes;
+			this.patterns = new long[bytes.length];
+			for (int i = 0; i < bytes.length; i++) {
+				this.patterns[i] = (bytes[i] & 0xFFL) * LOW_BITS;
+			}
+		}
+
+		/**
+		 * Return the index of the first occurrence of any of the bytes
+		 * between the given indexes, or {@code -1} if none found.
+		 * @param dataBuffer the buffer to scan
+		 * @param fromIndex the index to start from (inclusive)
+		 * @param toIndex the index to end at (exclusive)
+		 */
+		int indexOf(DataBuffer dataBuffer, int fromIndex, int toIndex) {
+			int pos = fromIndex;
+			int length = toIndex - fromIndex;
+			if (length >= MIN_WORD_SCAN_LENGTH) {
+				ByteBuffer byteBuffer = obtainView(dataBuffer, fromIndex, toIndex);
+				int offset = byteBuffer.position() + fromIndex - this.viewStart;
+				int wordCount = length / Long.BYTES;
+				for (int i = 0; i < wordCount; i++) {
+					int index = findInWord(byteBuffer.getLong(offset + i * Long.BYTES));
+					if (index != -1) {
+						return fromIndex + i * Long.BYTES + index;
+					}
+				}
+				pos += wordCount * Long.BYTES;
+			}
+			for (; pos < toIndex; pos++) {
+				byte b = dataBuffer.getByte(pos);
+				for (byte candidate : this.bytes) {
+					if (b == candidate) {
+						return pos;
+					}
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Return a little-endian view of the data buffer that covers the given
+		 * indexes, reusing the view from a previous scan of the same buffer.
+		 */
+		private ByteBuffer obtainView(DataBuffer dataBuffer, int fromIndex, int toIndex) {
+			ByteBuffer view = this.view;
+			if (view == null || this.viewBuffer != dataBuffer || fromIndex < this.viewStart || toIndex > this.viewEnd) {
+				view = dataBuffer.asByteBuffer(fromIndex, toIndex - fromIndex).order(ByteOrder.LITTLE_ENDIAN);
+				this.viewBuffer = dataBuffer;
+				this.view = view;
+				this.viewStart = fromIndex;
+				this.viewEnd = toIndex;
+			}
+			return view;
+		}
+
+		/**
+		 * Find the first of the bytes within the given little-endian word.
+		 * <p>XOR-ing the word with a pattern turns each occurrence of a byte into
+		 * a zero byte, and the lowest zero byte is flagged by its high bit in
+		 * {@code (x - 0x01..01) & ~x & 0x80..80}. Only bytes above the first zero
+		 * byte may be flagged incorrectly due to borrowing, so the lowest flag
+		 * gives the first occurrence for each pattern.
+		 */
+		private int findInWord(long word) {
+			long flags = 0;
+			for (long pattern : this.patterns) {
+				long x = word ^ pattern;
+				flags |= (x - LOW_BITS) & ~x & HIGH_BITS;
+			}
+			return (flags != 0 ? Long.numberOfTrailingZeros(flags) >>> 3 : -1);
+		}
+	}
+
+
 	private static class ReadableByteChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
 
 		private final ReadableByteChannel channel;
@@ -915,6 +1249,61 @@ public abstract class DataBufferUtils {
 	}
 
 
+	private static class MappedFileChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
+
+		private final FileChannel channel;
+
+		private final DataBufferFactory dataBufferFactory;
+
+		private final int bufferSize;
+
+		private final int regionSize;
+
+		private long position;
+
+		@Nullable
+		private ByteBuffer region;
+
+		public MappedFileChannelGenerator(
+				FileChannel channel, long position, DataBufferFactory dataBufferFactory, int bufferSize) {
+
+			this.channel = channel;
+			this.position = position;
+			this.dataBufferFactory = dataBufferFactory;
+			this.bufferSize = bufferSize;
+			// Map whole buffers only, so that no data buffer spans two regions
+			this.regionSize = Math.max(MAX_MAPPED_REGION_SIZE / bufferSize, 1) * bufferSize;
+		}
+
+		@Override
+		public void accept(SynchronousSink<DataBuffer> sink) {
+			try {
+				ByteBuffer region = this.region;
+				if (region == null || !region.hasRemaining()) {
+					long remaining = this.channel.size() - this.position;
+					if (remaining <= 0) {
+						this.region = null;
+						sink.complete();
+						return;
+					}
+					region = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position,
+							Math.min(remaining, this.regionSize));
+					this.position += region.remaining();
+					this.region = region;
+				}
+				ByteBuffer slice = region.slice();
+				int length = Math.min(this.bufferSize, slice.remaining());
+				slice.limit(length);
+				region.position(region.position() + length);
+				sink.next(this.dataBufferFactory.wrap(slice));
+			}
+			catch (IOException ex) {
+				sink.error(ex);
+			}
+		}
+	}
+
+
 	private static class ReadCompletionHandler implements CompletionHandler<Integer, DataBuffer> {
 
 		private final AsynchronousFileChannel channel;
@@ -1068,6 +1457,110 @@ public abstract class DataBufferUtils {
 	}
 
 
+	private static class GatheringByteChannelSubscriber extends BaseSubscriber<DataBuffer> {
+
+		private final FluxSink<DataBuffer> sink;
+
+		private final GatheringByteChannel channel;
+
+		private final int maxBuffers;
+
+		private final List<DataBuffer> dataBuffers;
+
+		public GatheringByteChannelSubscriber(FluxSink<DataBuffer> sink, GatheringByteChannel channel, int maxBuffers) {
+			this.sink = sink;
+			this.channel = channel;
+			this.maxBuffers = maxBuffers;
+			this.dataBuffers = new ArrayList<>(maxBuffers);
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			request(this.maxBuffers);
+		}
+
+		@Override
+		protected void hookOnNext(DataBuffer dataBuffer) {
+			boolean write;
+			synchronized (this.dataBuffers) {
+				this.dataBuffers.add(dataBuffer);
+				write = (this.dataBuffers.size() == this.maxBuffers);
+			}
+			if (write && writeDataBuffers()) {
+				request(this.maxBuffers);
+			}
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			if (writeDataBuffers()) {
+				this.sink.error(throwable);
+			}
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			if (writeDataBuffers()) {
+				this.sink.complete();
+			}
+		}
+
+		@Override
+		protected void hookOnCancel() {
+			synchronized (this.dataBuffers) {
+				Operators.onDiscardMultiple(this.dataBuffers, currentContext());
+				this.dataBuffers.clear();
+			}
+		}
+
+		/**
+		 * Write all pending data buffers with a single gathering write,
+		 * and pass them on to the sink.
+		 * @return {@code true} if writing succeeded, {@code false} if the
+		 * sink has been terminated with an {@link IOException}
+		 */
+		private boolean writeDataBuffers() {
+			DataBuffer[] dataBuffers;
+			synchronized (this.dataBuffers) {
+				dataBuffers = this.dataBuffers.toArray(new DataBuffer[0]);
+				this.dataBuffers.clear();
+			}
+			if (dataBuffers.length == 0) {
+				return true;
+			}
+			ByteBuffer[] byteBuffers = new ByteBuffer[dataBuffers.length];
+			long remaining = 0;
+			for (int i = 0; i < dataBuffers.length; i++) {
+				byteBuffers[i] = dataBuffers[i].asByteBuffer();
+				remaining += byteBuffers[i].remaining();
+			}
+			IOException failure = null;
+			try {
+				while (remaining > 0) {
+					remaining -= this.channel.write(byteBuffers);
+				}
+			}
+			catch (IOException ex) {
+				failure = ex;
+			}
+			for (DataBuffer dataBuffer : dataBuffers) {
+				this.sink.next(dataBuffer);
+			}
+			if (failure != null) {
+				this.sink.error(failure);
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		public Context currentContext() {
+			return Context.of(this.sink.contextView());
+		}
+
+	}
+
+
 	private static class WriteCompletionHandler extends BaseSubscriber<DataBuffer>
 			implements CompletionHandler<Integer, ByteBuffer> {
 
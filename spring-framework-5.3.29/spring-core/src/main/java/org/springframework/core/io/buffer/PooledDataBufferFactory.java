@@ -0,0 +1,414 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link DefaultDataBufferFactory} that recycles the {@link ByteBuffer}
+ * memory of released buffers, for runtimes which do not come with a pooling
+ * allocator of their own (i.e. Servlet containers, as opposed to Netty).
+ *
+ * <p>Buffers allocated by this factory implement {@link PooledDataBuffer} and
+ * are reference counted: once {@linkplain PooledDataBuffer#release() released}
+ * for the last time, their memory is returned to the pool and must no longer be
+ * accessed. Requested capacities are rounded up to power-of-two size classes,
+ * starting at 256 bytes and ending at a {@linkplain #getMaxPooledCapacity()
+ * maximum pooled capacity}; larger buffers are allocated on demand and left to
+ * the garbage collector after release. Released memory first goes to a small
+ * cache bound to the releasing thread, and from there to a bounded cache shared
+ * by all threads. Thread caches hold fewer buffers the larger the size class,
+ * limiting the memory that each thread can keep to itself: by default 4 KB per
+ * size class, and none for buffers above 4 KB.
+ *
+ * <p>The {@linkplain #getPoolHitCount() hit} and {@linkplain #getPoolMissCount()
+ * miss} counts, as well as the number of {@linkplain #getActiveBufferCount()
+ * active buffers}, indicate how effective pooling is for a given workload.
+ * {@linkplain #setLeakDetection Leak detection} can be switched on in order to
+ * find buffers which are garbage-collected without having been released.
+ *
+ * @since 5.3.30
+ * @see DataBufferUtils#release(DataBuffer)
+ */
+public class PooledDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers: 64 KB.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The default number of buffers of the smallest size class cached for each
+	 * thread, halved for each larger size class.
+	 */
+	public static final int DEFAULT_THREAD_CACHE_SIZE = 16;
+
+	/**
+	 * The default number of buffers per size class cached for all threads.
+	 */
+	public static final int DEFAULT_SHARED_CACHE_SIZE = 128;
+
+	private static final int MIN_SIZE_CLASS_SHIFT = 8;
+
+	private static final int MIN_POOLED_CAPACITY = 1 << MIN_SIZE_CLASS_SHIFT;
+
+	private static final Log logger = LogFactory.getLog(PooledDataBufferFactory.class);
+
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	@Nullable
+	private final Queue<ByteBuffer>[] sharedCaches;
+
+	private final ThreadLocal<ThreadCache> threadCaches;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong activeCount = new AtomicLong();
+
+	private final AtomicLong leakCount = new AtomicLong();
+
+	private volatile boolean leakDetection;
+
+	private final ReferenceQueue<PooledDefaultDataBuffer> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with default settings.
+	 */
+	public PooledDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory}, indicating whether direct
+	 * buffers should be pooled, and what the capacity is to be used for
+	 * {@link #allocateBuffer()}.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param defaultInitialCapacity the capacity for {@link #allocateBuffer()}
+	 */
+	public PooledDataBufferFactory(boolean preferDirect, int defaultInitialCapacity) {
+		this(preferDirect, defaultInitialCapacity,
+				DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_THREAD_CACHE_SIZE, DEFAULT_SHARED_CACHE_SIZE);
+	}
+
+	/**
+	 * Create a new {@code PooledDataBufferFactory} with the given pool settings.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param defaultInitialCapacity the capacity for {@link #allocateBuffer()}
+	 * @param maxPooledCapacity the capacity of the largest size class, which must
+	 * be a power of two of at least 256; buffers requested with a larger capacity
+	 * are not pooled
+	 * @param threadCacheSize the maximum number of buffers of the smallest size
+	 * class to cache for each thread, halved for each larger size class (may be 0)
+	 * @param sharedCacheSize the maximum number of buffers per size class to
+	 * cache for all threads (may be 0)
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public PooledDataBufferFactory(boolean preferDirect, int defaultInitialCapacity,
+			int maxPooledCapacity, int threadCacheSize, int sharedCacheSize) {
+
+		super(preferDirect, defaultInitialCapacity);
+		Assert.isTrue(maxPooledCapacity >= MIN_POOLED_CAPACITY && Integer.bitCount(maxPooledCapacity) == 1,
+				"'maxPooledCapacity' must be a power of two of at least " + MIN_POOLED_CAPACITY);
+		Assert.isTrue(threadCacheSize >= 0, "'threadCacheSize' must not be negative");
+		Assert.isTrue(sharedCacheSize >= 0, "'sharedCacheSize' must not be negative");
+		this.preferDirect = preferDirect;
+		this.maxPooledCapacity = maxPooledCapacity;
+		int sizeClasses = sizeClass(maxPooledCapacity) + 1;
+		this.threadCaches = ThreadLocal.withInitial(() -> new ThreadCache(sizeClasses, threadCacheSize));
+		if (sharedCacheSize > 0) {
+			this.sharedCaches = new Queue[sizeClasses];
+			for (int i = 0; i < sizeClasses; i++) {
+				this.sharedCaches[i] = new ArrayBlockingQueue<>(sharedCacheSize);
+			}
+		}
+		else {
+			this.sharedCaches = null;
+		}
+	}
+
+
+	/**
+	 * Return the capacity of the largest size class; buffers requested with
+	 * a larger capacity are not pooled.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+	/**
+	 * Enable or disable leak detection.
+	 * <p>When enabled, each allocated buffer is tracked along with the stack trace
+	 * of its allocation and the last {@linkplain PooledDataBuffer#touch(Object) hint}
+	 * associated with it, and buffers which are garbage-collected without having
+	 * been released are logged at warn level. This is meant for diagnostics,
+	 * as recording allocation stack traces is expensive.
+	 * <p>Default is "false".
+	 * @see #getLeakCount()
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	/**
+	 * Return whether leak detection is enabled.
+	 */
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+	/**
+	 * Return the number of pooled allocations served from a cache.
+	 */
+	public long getPoolHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Return the number of pooled allocations which required new memory,
+	 * not counting buffers beyond the {@linkplain #getMaxPooledCapacity()
+	 * maximum pooled capacity}.
+	 */
+	public long getPoolMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Return the number of buffers allocated but not released yet, not counting
+	 * buffers that leak detection found to be garbage-collected.
+	 */
+	public long getActiveBufferCount() {
+		return this.activeCount.get();
+	}
+
+	/**
+	 * Return the number of buffers found to be garbage-collected without having
+	 * been released, checking for new leaks first.
+	 * <p>Always 0 unless {@linkplain #setLeakDetection leak detection} is enabled.
+	 */
+	public long getLeakCount() {
+		reportLeaks();
+		return this.leakCount.get();
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' must not be negative");
+		return new PooledDefaultDataBuffer(this, acquire(initialCapacity, this.preferDirect), initialCapacity);
+	}
+
+	/**
+	 * Obtain memory for a buffer of the given capacity, either from a cache or
+	 * newly allocated.
+	 * @return a cleared buffer with at least the given capacity
+	 */
+	ByteBuffer acquire(int capacity, boolean direct) {
+		int sizeClass = (direct == this.preferDirect ? sizeClass(capacity) : -1);
+		if (sizeClass < 0) {
+			return allocate(capacity, direct);
+		}
+		ByteBuffer byteBuffer = this.threadCaches.get().poll(sizeClass);
+		if (byteBuffer == null && this.sharedCaches != null) {
+			byteBuffer = this.sharedCaches[sizeClass].poll();
+		}
+		if (byteBuffer != null) {
+			this.hitCount.incrementAndGet();
+			return byteBuffer;
+		}
+		this.missCount.incrementAndGet();
+		return allocate(MIN_POOLED_CAPACITY << sizeClass, direct);
+	}
+
+	/**
+	 * Return memory obtained from {@link #acquire} to the pool, if it fits a size class.
+	 */
+	void recycle(ByteBuffer byteBuffer) {
+		int capacity = byteBuffer.capacity();
+		int sizeClass = sizeClass(capacity);
+		if (sizeClass < 0 || capacity != MIN_POOLED_CAPACITY << sizeClass ||
+				byteBuffer.isDirect() != this.preferDirect) {
+			return;
+		}
+		byteBuffer.clear();
+		if (!this.threadCaches.get().offer(sizeClass, byteBuffer) && this.sharedCaches != null) {
+			this.sharedCaches[sizeClass].offer(byteBuffer);
+		}
+	}
+
+	/**
+	 * Register a newly allocated buffer, tracking it if leak detection is enabled.
+	 * @return the leak tracker for the buffer, or {@code null} if not tracked
+	 */
+	@Nullable
+	LeakTracker register(PooledDefaultDataBuffer dataBuffer) {
+		this.activeCount.incrementAndGet();
+		if (!this.leakDetection) {
+			return null;
+		}
+		reportLeaks();
+		LeakTracker tracker = new LeakTracker(dataBuffer, this.leakQueue);
+		this.leakTrackers.add(tracker);
+		return tracker;
+	}
+
+	/**
+	 * Deregister a buffer on its final release, returning its memory to the pool.
+	 */
+	void deallocate(ByteBuffer byteBuffer, @Nullable LeakTracker tracker) {
+		if (tracker != null) {
+			this.leakTrackers.remove(tracker);
+			tracker.clear();
+		}
+		this.activeCount.decrementAndGet();
+		recycle(byteBuffer);
+	}
+
+	private void reportLeaks() {
+		Reference<? extends PooledDefaultDataBuffer> reference;
+		while ((reference = this.leakQueue.poll()) != null) {
+			LeakTracker tracker = (LeakTracker) reference;
+			if (this.leakTrackers.remove(tracker)) {
+				this.leakCount.incrementAndGet();
+				this.activeCount.decrementAndGet();
+				if (logger.isWarnEnabled()) {
+					Object hint = tracker.hint;
+					logger.warn("DataBuffer was garbage-collected without having been released" +
+							(hint != null ? " (last hint: " + hint + ")" : ""), tracker.allocationSite);
+				}
+			}
+		}
+	}
+
+	private int sizeClass(int capacity) {
+		if (capacity > this.maxPooledCapacity) {
+			return -1;
+		}
+		if (capacity <= MIN_POOLED_CAPACITY) {
+			return 0;
+		}
+		return Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS_SHIFT;
+	}
+
+	private static ByteBuffer allocate(int capacity, boolean direct) {
+		return (direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+
+	@Override
+	public String toString() {
+		return "PooledDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	/**
+	 * Per-thread stacks of cached buffers, one per size class, with the number
+	 * of buffers halved for each size class so that each stack holds the same
+	 * amount of memory at most.
+	 */
+	private static final class ThreadCache {
+
+		private final ByteBuffer[][] buffers;
+
+		private final int[] counts;
+
+		ThreadCache(int sizeClasses, int size) {
+			this.buffers = new ByteBuffer[sizeClasses][];
+			for (int i = 0; i < sizeClasses; i++) {
+				this.buffers[i] = new ByteBuffer[size >> i];
+			}
+			this.counts = new int[sizeClasses];
+		}
+
+		@Nullable
+		ByteBuffer poll(int sizeClass) {
+			int count = this.counts[sizeClass];
+			if (count == 0) {
+				return null;
+			}
+			ByteBuffer[] buffers = this.buffers[sizeClass];
+			ByteBuffer byteBuffer = buffers[--count];
+			buffers[count] = null;
+			this.counts[sizeClass] = count;
+			return byteBuffer;
+		}
+
+		boolean offer(int sizeClass, ByteBuffer byteBuffer) {
+			int count = this.counts[sizeClass];
+			ByteBuffer[] buffers = this.buffers[sizeClass];
+			if (count == buffers.length) {
+				return false;
+			}
+			buffers[count] = byteBuffer;
+			this.counts[sizeClass] = count + 1;
+			return true;
+		}
+	}
+
+
+	/**
+	 * Phantom reference to a buffer which is cleared on release, and therefore
+	 * only enqueued for buffers that are garbage-collected while still allocated.
+	 */
+	static final class LeakTracker extends PhantomReference<PooledDefaultDataBuffer> {
+
+		final Throwable allocationSite;
+
+		@Nullable
+		volatile Object hint;
+
+		LeakTracker(PooledDefaultDataBuffer dataBuffer, ReferenceQueue<PooledDefaultDataBuffer> queue) {
+			super(dataBuffer, queue);
+			this.allocationSite = new Throwable("DataBuffer allocation site");
+		}
+	}
+
+}
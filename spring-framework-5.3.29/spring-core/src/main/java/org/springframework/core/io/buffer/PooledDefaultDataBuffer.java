@@ -0,0 +1,241 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Reference-counted {@link DefaultDataBuffer} allocated by a
+ * {@link PooledDataBufferFactory}, returning its memory to the pool
+ * once released for the last time.
+ *
+ * <p>Memory that has been exposed through a {@linkplain #slice slice}, a
+ * {@linkplain #asByteBuffer(int, int) ByteBuffer view} or the
+ * {@linkplain #getNativeBuffer() native buffer} is not returned to the pool
+ * on a {@linkplain #capacity(int) capacity change}, since such views may still
+ * be in use at that point; it is left to the garbage collector instead.
+ * Accessing the contents of a buffer, or of any of its slices, after its final
+ * release results in an {@link IllegalStateException}.
+ *
+ * @since 5.3.30
+ */
+final class PooledDefaultDataBuffer extends AbstractPooledDefaultDataBuffer {
+
+	private final PooledDataBufferFactory dataBufferFactory;
+
+	private ByteBuffer pooledBuffer;
+
+	private boolean pooledBufferExposed;
+
+	private final AtomicInteger refCount = new AtomicInteger(1);
+
+	@Nullable
+	private final PooledDataBufferFactory.LeakTracker leakTracker;
+
+
+	PooledDefaultDataBuffer(PooledDataBufferFactory dataBufferFactory, ByteBuffer pooledBuffer, int capacity) {
+		super(dataBufferFactory, limit(pooledBuffer, capacity));
+		this.dataBufferFactory = dataBufferFactory;
+		this.pooledBuffer = pooledBuffer;
+		this.leakTracker = dataBufferFactory.register(this);
+	}
+
+	private static ByteBuffer limit(ByteBuffer byteBuffer, int limit) {
+		// Explicit access via Buffer base type for compatibility
+		// with covariant return type on JDK 9's ByteBuffer...
+		Buffer buffer = byteBuffer;
+		buffer.limit(limit);
+		return byteBuffer;
+	}
+
+
+	@Override
+	public boolean isAllocated() {
+		return (this.refCount.get() > 0);
+	}
+
+	@Override
+	public PooledDataBuffer retain() {
+		int refCount;
+		do {
+			refCount = this.refCount.get();
+			if (refCount <= 0) {
+				throw new IllegalStateException("Cannot retain DataBuffer which has been released: " + this);
+			}
+		}
+		while (!this.refCount.compareAndSet(refCount, refCount + 1));
+		return this;
+	}
+
+	@Override
+	public PooledDataBuffer touch(Object hint) {
+		PooledDataBufferFactory.LeakTracker leakTracker = this.leakTracker;
+		if (leakTracker != null) {
+			leakTracker.hint = hint;
+		}
+		return this;
+	}
+
+	@Override
+	public boolean release() {
+		int refCount;
+		do {
+			refCount = this.refCount.get();
+			if (refCount <= 0) {
+				throw new IllegalStateException("DataBuffer has already been released: " + this);
+			}
+		}
+		while (!this.refCount.compareAndSet(refCount, refCount - 1));
+		if (refCount == 1) {
+			this.dataBufferFactory.deallocate(this.pooledBuffer, this.leakTracker);
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public DefaultDataBuffer capacity(int newCapacity) {
+		checkAccessible();
+		ByteBuffer oldPooledBuffer = this.pooledBuffer;
+		boolean oldPooledBufferExposed = this.pooledBufferExposed;
+		super.capacity(newCapacity);
+		if (this.pooledBuffer != oldPooledBuffer && !oldPooledBufferExposed) {
+			this.dataBufferFactory.recycle(oldPooledBuffer);
+		}
+		return this;
+	}
+
+	@Override
+	ByteBuffer allocate(int capacity, boolean direct) {
+		ByteBuffer pooledBuffer = this.dataBufferFactory.acquire(capacity, direct);
+		this.pooledBuffer = pooledBuffer;
+		this.pooledBufferExposed = false;
+		return limit(pooledBuffer, capacity).slice();
+	}
+
+	@Override
+	public ByteBuffer getNativeBuffer() {
+		this.pooledBufferExposed = true;
+		return super.getNativeBuffer();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The returned slice shares the reference count of this buffer,
+	 * so releasing the slice releases this buffer.
+	 */
+	@Override
+	public DefaultDataBuffer slice(int index, int length) {
+		return new PooledSlice(this, asByteBuffer(index, length));
+	}
+
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		this.pooledBufferExposed = true;
+		return super.asByteBuffer(index, length);
+	}
+
+	@Override
+	public DataBuffer write(CharSequence charSequence, Charset charset) {
+		// The ByteBuffer views used for encoding do not escape this method
+		ByteBuffer pooledBuffer = this.pooledBuffer;
+		boolean pooledBufferExposed = this.pooledBufferExposed;
+		super.write(charSequence, charset);
+		this.pooledBufferExposed = (this.pooledBuffer == pooledBuffer && pooledBufferExposed);
+		return this;
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		InputStream inputStream = asInputStream();
+		if (!releaseOnClose) {
+			return inputStream;
+		}
+		return new FilterInputStream(inputStream) {
+			private boolean closed;
+			@Override
+			public void close() throws IOException {
+				if (!this.closed) {
+					this.closed = true;
+					release();
+				}
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PooledDefaultDataBuffer (r: %d, w: %d, c: %d)",
+				readPosition(), writePosition(), capacity());
+	}
+
+
+	/**
+	 * Slice sharing the memory and the reference count of its parent buffer.
+	 */
+	private static final class PooledSlice extends AbstractPooledDefaultDataBuffer {
+
+		private final PooledDefaultDataBuffer parent;
+
+		PooledSlice(PooledDefaultDataBuffer parent, ByteBuffer slice) {
+			super(parent.factory(), slice);
+			this.parent = parent;
+			writePosition(slice.remaining());
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.parent.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.parent.retain();
+			return this;
+		}
+
+		@Override
+		public PooledDataBuffer touch(Object hint) {
+			this.parent.touch(hint);
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.parent.release();
+		}
+
+		@Override
+		public DefaultDataBuffer capacity(int newCapacity) {
+			throw new UnsupportedOperationException("Changing the capacity of a sliced buffer is not supported");
+		}
+
+		@Override
+		public DefaultDataBuffer slice(int index, int length) {
+			return new PooledSlice(this.parent, asByteBuffer(index, length));
+		}
+	}
+
+}
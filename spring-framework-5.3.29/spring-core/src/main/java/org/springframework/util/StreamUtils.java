@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import org.springframework.lang.Nullable;
 
@@ -51,6 +52,11 @@ public abstract class StreamUtils {
 	 */
 	public static final int BUFFER_SIZE = 4096;
 
+	/**
+	 * The maximum initial array size for {@link #copyToByteArray(InputStream, long)}.
+	 */
+	private static final int MAX_PRESIZED_LENGTH = 16 * BUFFER_SIZE;
+
 	private static final byte[] EMPTY_CONTENT = new byte[0];
 
 
@@ -71,6 +77,53 @@ public abstract class StreamUtils {
 		return out.toByteArray();
 	}
 
+	/**
+	 * Copy the contents of the given InputStream into a new byte array,
+	 * reading straight into an array sized for the expected length if known,
+	 * e.g. from a {@code Content-Length} header, instead of going through
+	 * an intermediate buffer.
+	 * <p>The expected length is not trusted for the initial allocation: the
+	 * array starts out at no more than 64 KB and grows up to the expected
+	 * length as content actually arrives.
+	 * <p>Leaves the stream open when done.
+	 * @param in the stream to copy from (may be {@code null} or empty)
+	 * @param expectedLength the expected number of bytes, or -1 if unknown
+	 * @return the new byte array that has been copied to (possibly empty)
+	 * @throws IOException in case of I/O errors
+	 * @since 5.3.30
+	 */
+	public static byte[] copyToByteArray(@Nullable InputStream in, long expectedLength) throws IOException {
+		if (in == null) {
+			return new byte[0];
+		}
+		if (expectedLength < 0 || expectedLength > Integer.MAX_VALUE - 8) {
+			return copyToByteArray(in);
+		}
+
+		byte[] bytes = new byte[(int) Math.min(expectedLength, MAX_PRESIZED_LENGTH)];
+		int offset = 0;
+		while (offset < expectedLength) {
+			if (offset == bytes.length) {
+				bytes = Arrays.copyOf(bytes, (int) Math.min(bytes.length * 2L, expectedLength));
+			}
+			int bytesRead = in.read(bytes, offset, bytes.length - offset);
+			if (bytesRead == -1) {
+				return Arrays.copyOf(bytes, offset);
+			}
+			offset += bytesRead;
+		}
+		int next = in.read();
+		if (next == -1) {
+			return bytes;
+		}
+		// More content than expected...
+		ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length + BUFFER_SIZE);
+		out.write(bytes);
+		out.write(next);
+		copy(in, out);
+		return out.toByteArray();
+	}
+
 	/**
 	 * Copy the contents of the given InputStream into a String.
 	 * <p>Leaves the stream open when done.
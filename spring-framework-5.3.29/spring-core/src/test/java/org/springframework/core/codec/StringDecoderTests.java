@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -151,6 +151,26 @@ class StringDecoderTests extends AbstractDecoderTests<StringDecoder> {
 				.verify());
 	}
 
+	@Test
+	void decodeLongLinesAcrossBuffers() {
+		String line1 = "abcdefghijklmnopqrstuvwxyz0123456789";
+		String line2 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+		Flux<DataBuffer> input = Flux.just(
+				stringBuffer(line1 + "\r"),
+				stringBuffer("\n" + line2 + "\n" + line1.substring(0, 20)),
+				stringBuffer(line1.substring(20) + "\r\n\r\n" + line2)
+		);
+
+		testDecode(input, String.class, step -> step
+				.expectNext(line1)
+				.expectNext(line2)
+				.expectNext(line1)
+				.expectNext("")
+				.expectNext(line2)
+				.expectComplete()
+				.verify());
+	}
+
 	@Test
 	void maxInMemoryLimit() {
 		Flux<DataBuffer> input = Flux.just(
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -40,6 +40,7 @@ import org.springframework.core.convert.converter.ConditionalConverter;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.convert.converter.TypedConverter;
 import org.springframework.core.io.DescriptiveResource;
 import org.springframework.core.io.Resource;
 import org.springframework.lang.Nullable;
@@ -51,6 +52,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.entry;
 
 /**
  * Unit tests for {@link GenericConversionService}.
@@ -130,6 +132,69 @@ class GenericConversionServiceTests {
 				conversionService.convert("3", null, TypeDescriptor.valueOf(int.class)));
 	}
 
+	@Test
+	void typedConverter() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		TypedConverter<String, Integer> converter = conversionService.getTypedConverter(
+				TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Integer.class));
+		assertThat(converter).isNotNull();
+		assertThat(converter.getSourceType()).isEqualTo(TypeDescriptor.valueOf(String.class));
+		assertThat(converter.getTargetType()).isEqualTo(TypeDescriptor.valueOf(Integer.class));
+		assertThat(converter.convert("3")).isEqualTo(3);
+		assertThat(converter.convert(null)).isNull();
+		assertThatExceptionOfType(ConversionFailedException.class).isThrownBy(() -> converter.convert("x"));
+	}
+
+	@Test
+	void typedConverterNotFound() {
+		assertThat(conversionService.<String, Integer>getTypedConverter(
+				TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Integer.class))).isNull();
+	}
+
+	@Test
+	void typedConverterWithWrongSourceType() {
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		TypedConverter<Object, Integer> converter = conversionService.getTypedConverter(
+				TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Integer.class));
+		assertThatIllegalArgumentException().isThrownBy(() -> converter.convert(3L));
+	}
+
+	@Test
+	void typedConverterWithNullSourcePrimitiveTarget() {
+		TypedConverter<Boolean, Boolean> converter = conversionService.getTypedConverter(
+				TypeDescriptor.valueOf(Boolean.class), TypeDescriptor.valueOf(boolean.class));
+		assertThat(converter.convert(false)).isEqualTo(Boolean.FALSE);
+		assertThatExceptionOfType(ConversionFailedException.class).isThrownBy(() -> converter.convert(null));
+	}
+
+	@Test
+	void typedConverterForCollection() {
+		conversionService.addConverter(new CollectionToCollectionConverter(conversionService));
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		TypedConverter<List<String>, List<Integer>> converter = conversionService.getTypedConverter(
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class)),
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class)));
+		assertThat(converter.convert(Arrays.asList("1", null, "3"))).containsExactly(1, null, 3);
+
+		TypedConverter<List<Object>, List<Integer>> objectConverter = conversionService.getTypedConverter(
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Object.class)),
+				TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class)));
+		assertThat(objectConverter.convert(Arrays.asList("1", 2))).containsExactly(1, 2);
+	}
+
+	@Test
+	void typedConverterForMap() {
+		conversionService.addConverter(new MapToMapConverter(conversionService));
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		TypedConverter<Map<String, String>, Map<String, Integer>> converter = conversionService.getTypedConverter(
+				TypeDescriptor.map(Map.class, TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(String.class)),
+				TypeDescriptor.map(Map.class, TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Integer.class)));
+		Map<String, String> source = new LinkedHashMap<>();
+		source.put("a", "1");
+		source.put("b", "2");
+		assertThat(converter.convert(source)).containsExactly(entry("a", 1), entry("b", 2));
+	}
+
 	@Test
 	void convertAssignableSource() {
 		assertThat(conversionService.convert(false, boolean.class)).isEqualTo(Boolean.FALSE);
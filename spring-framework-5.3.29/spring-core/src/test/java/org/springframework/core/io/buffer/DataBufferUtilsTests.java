@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.CompletionHandler;
 import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.WritableByteChannel;
@@ -32,6 +33,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
@@ -232,6 +235,39 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		verifyReadData(flux);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void readMapped(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource.getFile().toPath(), super.bufferFactory, 3);
+
+		verifyReadData(flux);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedPosition(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource.getFile().toPath(), 7, super.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("azq"))
+				.consumeNextWith(stringConsumer("ux"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedPositionBeyondEnd(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource.getFile().toPath(), 12, super.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void readResource(DataBufferFactory bufferFactory) throws Exception {
 		super.bufferFactory = bufferFactory;
@@ -406,6 +442,104 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		flux.subscribe(DataBufferUtils::release);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void writeGatheringByteChannel(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		DataBuffer qux = stringBuffer("qux");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz, qux);
+
+		FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+
+		Flux<DataBuffer> writeResult = DataBufferUtils.write(flux, channel, 3);
+		verifyWrittenData(writeResult);
+		channel.close();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void writeGatheringByteChannelErrorInFlux(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		Flux<DataBuffer> flux = Flux.just(foo, bar).concatWith(Flux.error(new RuntimeException()));
+
+		FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+
+		Flux<DataBuffer> writeResult = DataBufferUtils.write(flux, channel, 16);
+		StepVerifier.create(writeResult)
+				.consumeNextWith(stringConsumer("foo"))
+				.consumeNextWith(stringConsumer("bar"))
+				.expectError(RuntimeException.class)
+				.verify(Duration.ofSeconds(5));
+
+		String result = String.join("", Files.readAllLines(tempFile));
+
+		assertThat(result).isEqualTo("foobar");
+		channel.close();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void writeGatheringByteChannelErrorInWrite(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz);
+
+		GatheringByteChannel channel = mock(GatheringByteChannel.class);
+		given(channel.write(any(ByteBuffer[].class)))
+				.willAnswer(invocation -> {
+					ByteBuffer[] buffers = invocation.getArgument(0);
+					long written = 0;
+					for (ByteBuffer buffer : buffers) {
+						written += buffer.remaining();
+						buffer.position(buffer.limit());
+					}
+					return written;
+				})
+				.willThrow(new IOException());
+
+		Flux<DataBuffer> writeResult = DataBufferUtils.write(flux, channel, 2);
+		StepVerifier.create(writeResult)
+				.consumeNextWith(stringConsumer("foo"))
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("baz"))
+				.expectError(IOException.class)
+				.verify(Duration.ofSeconds(3));
+
+		channel.close();
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void writeGatheringByteChannelCancel(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("foo");
+		DataBuffer bar = stringBuffer("bar");
+		DataBuffer baz = stringBuffer("baz");
+		Flux<DataBuffer> flux = Flux.just(foo, bar, baz);
+
+		FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+
+		Flux<DataBuffer> writeResult = DataBufferUtils.write(flux, channel, 2);
+		StepVerifier.create(writeResult, 1)
+				.consumeNextWith(stringConsumer("foo"))
+				.thenCancel()
+				.verify(Duration.ofSeconds(5));
+
+		String result = String.join("", Files.readAllLines(tempFile));
+
+		assertThat(result).isEqualTo("foobar");
+		channel.close();
+
+		flux.subscribe(DataBufferUtils::release);
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void writeAsynchronousFileChannel(DataBufferFactory bufferFactory) throws Exception {
 		super.bufferFactory = bufferFactory;
@@ -581,6 +715,26 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 						});
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedAndWriteGatheringByteChannel(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Path source = Paths.get(
+				DataBufferUtilsTests.class.getResource("DataBufferUtilsTests.txt").toURI());
+		Flux<DataBuffer> sourceFlux = DataBufferUtils.readMapped(source, super.bufferFactory, 5);
+
+		Path destination = Files.createTempFile("DataBufferUtilsTests", null);
+		FileChannel channel = FileChannel.open(destination, StandardOpenOption.WRITE);
+
+		StepVerifier.create(DataBufferUtils.write(sourceFlux, channel, 2).doOnNext(DataBufferUtils::release))
+				.expectNextCount(3)
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+		channel.close();
+
+		assertThat(Files.readAllBytes(destination)).isEqualTo(Files.readAllBytes(source));
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void readAndWriteAsynchronousFileChannel(DataBufferFactory bufferFactory) throws Exception {
 		super.bufferFactory = bufferFactory;
@@ -942,6 +1096,129 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		release(foo);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void matcherWithLongBuffers(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		// Delimiters at every offset within and across 8-byte words
+		for (int offset = 0; offset < 40; offset++) {
+			String prefix = repeat('x', offset);
+			String suffix = repeat('y', 40 - offset);
+
+			assertMatch(prefix + "\n" + suffix, offset, "\n".getBytes(StandardCharsets.UTF_8));
+			assertMatch(prefix + "--" + suffix, offset + 1, "--".getBytes(StandardCharsets.UTF_8));
+			assertMatch(prefix + "-|-" + suffix, offset + 2, "-|-".getBytes(StandardCharsets.UTF_8));
+			assertMatch(prefix + "\r\n" + suffix, offset + 1,
+					"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8));
+			assertMatch(prefix + "\n" + suffix, offset,
+					"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8));
+			assertMatch(prefix + suffix, -1,
+					"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherWithDelimiterAcrossLongBuffers(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer first = stringBuffer(repeat('x', 30) + "\r");
+		DataBuffer second = stringBuffer("\n" + repeat('y', 30) + "\n");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(
+				"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8));
+		assertThat(matcher.match(first)).isEqualTo(-1);
+		assertThat(matcher.match(second)).isEqualTo(0);
+		assertThat(matcher.delimiter()).isEqualTo("\r\n".getBytes(StandardCharsets.UTF_8));
+		second.readPosition(1);
+		assertThat(matcher.match(second)).isEqualTo(31);
+		assertThat(matcher.delimiter()).isEqualTo("\n".getBytes(StandardCharsets.UTF_8));
+
+		release(first, second);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherWithLongDelimiterAcrossBuffers(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		String delimiter = "\r\n--boundary";
+		String content = "xx--boundary\r\n--bou\r\n\r\n--boundar\r\n--boundary\r\n--boundaryyy";
+		int firstEnd = content.indexOf(delimiter) + delimiter.length() - 1;
+		int secondEnd = content.indexOf(delimiter, firstEnd + 1) + delimiter.length() - 1;
+
+		// Split at every position, carrying partial matches over to the second buffer
+		for (int split = 0; split <= content.length(); split++) {
+			DataBuffer first = stringBuffer(content.substring(0, split));
+			DataBuffer second = stringBuffer(content.substring(split));
+			DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delimiter.getBytes(StandardCharsets.UTF_8));
+
+			List<Integer> matches = new ArrayList<>();
+			int endIndex;
+			while ((endIndex = matcher.match(first)) != -1) {
+				matches.add(endIndex);
+				first.readPosition(endIndex + 1);
+			}
+			while ((endIndex = matcher.match(second)) != -1) {
+				matches.add(split + endIndex);
+				second.readPosition(endIndex + 1);
+			}
+			assertThat(matches).as("Split at " + split).containsExactly(firstEnd, secondEnd);
+
+			release(first, second);
+		}
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherObtainsViewOncePerBuffer(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		String line = repeat('x', 30) + "\r\n";
+		String content = repeat(line, 20);
+
+		byte[][][] delimiterSets = {
+				{"\n".getBytes(StandardCharsets.UTF_8)},
+				{"\r\n".getBytes(StandardCharsets.UTF_8)},
+				{"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8)}
+		};
+		for (byte[][] delimiters : delimiterSets) {
+			ViewCountingDataBuffer buffer = new ViewCountingDataBuffer(stringBuffer(content));
+			DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delimiters);
+
+			int count = 0;
+			int endIndex;
+			while ((endIndex = matcher.match(buffer)) != -1) {
+				assertThat(endIndex).isEqualTo((count + 1) * line.length() - 1);
+				buffer.readPosition(endIndex + 1);
+				count++;
+			}
+			assertThat(count).isEqualTo(20);
+			assertThat(buffer.viewCount).isEqualTo(1);
+
+			release(buffer.dataBuffer());
+		}
+	}
+
+	private void assertMatch(String content, int expected, byte[]... delimiters) {
+		DataBuffer buffer = stringBuffer("abc" + content);
+		buffer.readPosition(3);
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(delimiters);
+		assertThat(matcher.match(buffer)).as(content).isEqualTo(expected == -1 ? -1 : expected + 3);
+		release(buffer);
+	}
+
+	private static String repeat(char c, int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+		return new String(chars);
+	}
+
+	private static String repeat(String s, int count) {
+		StringBuilder builder = new StringBuilder(s.length() * count);
+		for (int i = 0; i < count; i++) {
+			builder.append(s);
+		}
+		return builder.toString();
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void propagateContextByteChannel(DataBufferFactory bufferFactory) throws IOException {
 		Path path = Paths.get(this.resource.getURI());
@@ -1019,4 +1296,20 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		}
 	}
 
+
+	private static class ViewCountingDataBuffer extends DataBufferWrapper {
+
+		int viewCount;
+
+		ViewCountingDataBuffer(DataBuffer delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public ByteBuffer asByteBuffer(int index, int length) {
+			this.viewCount++;
+			return super.asByteBuffer(index, length);
+		}
+	}
+
 }
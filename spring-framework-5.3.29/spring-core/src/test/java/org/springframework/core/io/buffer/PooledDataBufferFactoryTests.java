@@ -0,0 +1,235 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PooledDataBufferFactory}.
+ */
+class PooledDataBufferFactoryTests {
+
+	private final PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory();
+
+
+	@Test
+	void allocateRecyclesReleasedMemory() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(700);
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.capacity()).isEqualTo(700);
+		assertThat(this.bufferFactory.getPoolMissCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(1);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+
+		// Same size class: 513 to 1024 bytes
+		DataBuffer other = this.bufferFactory.allocateBuffer(1024);
+		assertThat(other.capacity()).isEqualTo(1024);
+		assertThat(other.readableByteCount()).isEqualTo(0);
+		assertThat(this.bufferFactory.getPoolHitCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getPoolMissCount()).isEqualTo(1);
+
+		// Different size class
+		DataBuffer another = this.bufferFactory.allocateBuffer(100);
+		assertThat(this.bufferFactory.getPoolHitCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getPoolMissCount()).isEqualTo(2);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(2);
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(another);
+	}
+
+	@Test
+	void allocateBeyondMaxPooledCapacity() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(PooledDataBufferFactory.DEFAULT_MAX_POOLED_CAPACITY + 1);
+		DataBufferUtils.release(buffer);
+		buffer = this.bufferFactory.allocateBuffer(PooledDataBufferFactory.DEFAULT_MAX_POOLED_CAPACITY + 1);
+		DataBufferUtils.release(buffer);
+		assertThat(this.bufferFactory.getPoolHitCount()).isEqualTo(0);
+		assertThat(this.bufferFactory.getPoolMissCount()).isEqualTo(0);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void releasedOnOtherThread() throws Exception {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 256, 1024, 0, 4);
+		DataBuffer buffer = bufferFactory.allocateBuffer(256);
+		Thread thread = new Thread(() -> DataBufferUtils.release(buffer));
+		thread.start();
+		thread.join();
+
+		AtomicReference<DataBuffer> other = new AtomicReference<>();
+		thread = new Thread(() -> other.set(bufferFactory.allocateBuffer(256)));
+		thread.start();
+		thread.join();
+		assertThat(bufferFactory.getPoolHitCount()).isEqualTo(1);
+		DataBufferUtils.release(other.get());
+	}
+
+	@Test
+	void noCaching() {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 256, 1024, 0, 0);
+		DataBufferUtils.release(bufferFactory.allocateBuffer(256));
+		DataBufferUtils.release(bufferFactory.allocateBuffer(256));
+		assertThat(bufferFactory.getPoolHitCount()).isEqualTo(0);
+		assertThat(bufferFactory.getPoolMissCount()).isEqualTo(2);
+	}
+
+	@Test
+	void threadCacheBoundedPerSizeClass() {
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory(false, 256, 4096, 4, 0);
+		DataBuffer small1 = bufferFactory.allocateBuffer(256);
+		DataBuffer small2 = bufferFactory.allocateBuffer(256);
+		DataBuffer large1 = bufferFactory.allocateBuffer(4096);
+		DataBuffer large2 = bufferFactory.allocateBuffer(4096);
+		DataBufferUtils.release(small1);
+		DataBufferUtils.release(small2);
+		DataBufferUtils.release(large1);
+		DataBufferUtils.release(large2);
+		assertThat(bufferFactory.getPoolMissCount()).isEqualTo(4);
+
+		// Four buffers of 256 bytes, but no buffer of 4 KB per thread
+		DataBufferUtils.release(bufferFactory.allocateBuffer(256));
+		DataBufferUtils.release(bufferFactory.allocateBuffer(4096));
+		assertThat(bufferFactory.getPoolHitCount()).isEqualTo(1);
+		assertThat(bufferFactory.getPoolMissCount()).isEqualTo(5);
+	}
+
+	@Test
+	void capacityChangeRecyclesMemory() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		buffer.ensureCapacity(1000);
+		assertThat(buffer.capacity()).isGreaterThanOrEqualTo(1003);
+		assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("foo");
+		assertThat(this.bufferFactory.getPoolMissCount()).isEqualTo(2);
+
+		// Memory of the original 256 byte size class is back in the pool
+		DataBuffer other = this.bufferFactory.allocateBuffer(10);
+		assertThat(this.bufferFactory.getPoolHitCount()).isEqualTo(1);
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(buffer);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void capacityChangeKeepsExposedMemory() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.slice(3, 3);
+		buffer.ensureCapacity(1000);
+
+		// Memory still referenced by the slice is not handed out again
+		DataBuffer other = this.bufferFactory.allocateBuffer(10);
+		other.write("baz", StandardCharsets.UTF_8);
+		assertThat(this.bufferFactory.getPoolHitCount()).isEqualTo(0);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("bar");
+		DataBufferUtils.release(other);
+		DataBufferUtils.release(buffer);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void accessAfterRelease() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.slice(3, 3);
+		DataBufferUtils.release(buffer);
+
+		assertThatIllegalStateException().isThrownBy(buffer::read);
+		assertThatIllegalStateException().isThrownBy(() -> buffer.write((byte) 'a'));
+		assertThatIllegalStateException().isThrownBy(() -> buffer.toString(StandardCharsets.UTF_8));
+		assertThatIllegalStateException().isThrownBy(buffer::asByteBuffer);
+		assertThatIllegalStateException().isThrownBy(() -> buffer.slice(0, 1));
+		assertThatIllegalStateException().isThrownBy(() -> buffer.ensureCapacity(1000));
+		assertThatIllegalStateException().isThrownBy(() -> slice.getByte(0));
+		assertThatIllegalStateException().isThrownBy(((PooledDataBuffer) buffer)::release);
+	}
+
+	@Test
+	void retainedSlice() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+		DataBuffer slice = buffer.retainedSlice(3, 3);
+		assertThat(slice).isInstanceOf(PooledDataBuffer.class);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("bar");
+
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(((PooledDataBuffer) slice).isAllocated()).isTrue();
+		assertThat(DataBufferUtils.release(slice)).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void inputStreamReleaseOnClose() throws Exception {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(10);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		InputStream inputStream = buffer.asInputStream(true);
+		assertThat(inputStream.read()).isEqualTo('f');
+		inputStream.close();
+		inputStream.close();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+	}
+
+	@Test
+	void join() {
+		DataBuffer buffer1 = this.bufferFactory.allocateBuffer(3).write("foo", StandardCharsets.UTF_8);
+		DataBuffer buffer2 = this.bufferFactory.allocateBuffer(3).write("bar", StandardCharsets.UTF_8);
+		DataBuffer result = this.bufferFactory.join(Arrays.asList(buffer1, buffer2));
+		assertThat(result.toString(StandardCharsets.UTF_8)).isEqualTo("foobar");
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(1);
+		DataBufferUtils.release(result);
+	}
+
+	@Test
+	void leakDetection() throws Exception {
+		this.bufferFactory.setLeakDetection(true);
+		DataBuffer released = this.bufferFactory.allocateBuffer(10);
+		DataBufferUtils.release(released);
+		allocateAndForget(this.bufferFactory);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(1);
+
+		for (int i = 0; i < 50 && this.bufferFactory.getLeakCount() == 0; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		assertThat(this.bufferFactory.getLeakCount()).isEqualTo(1);
+		assertThat(this.bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
+	private static void allocateAndForget(PooledDataBufferFactory bufferFactory) {
+		DataBuffer buffer = bufferFactory.allocateBuffer(10);
+		DataBufferUtils.touch(buffer, "leaked");
+	}
+
+	@Test
+	void invalidMaxPooledCapacity() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PooledDataBufferFactory(false, 256, 1000, 16, 16));
+		assertThatIllegalArgumentException().isThrownBy(() -> new PooledDataBufferFactory(false, 256, 128, 16, 16));
+	}
+
+}
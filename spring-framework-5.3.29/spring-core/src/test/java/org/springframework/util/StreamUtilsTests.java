@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,6 +60,24 @@ class StreamUtilsTests {
 		assertThat(actual).isEqualTo(bytes);
 	}
 
+	@Test
+	void copyToByteArrayWithExpectedLength() throws Exception {
+		assertThat(StreamUtils.copyToByteArray(new ByteArrayInputStream(bytes), bytes.length)).isEqualTo(bytes);
+		assertThat(StreamUtils.copyToByteArray(new ByteArrayInputStream(bytes), -1)).isEqualTo(bytes);
+		assertThat(StreamUtils.copyToByteArray(new ByteArrayInputStream(bytes), bytes.length + 10)).isEqualTo(bytes);
+		assertThat(StreamUtils.copyToByteArray(new ByteArrayInputStream(bytes), bytes.length - 10)).isEqualTo(bytes);
+		assertThat(StreamUtils.copyToByteArray(null, bytes.length)).isEmpty();
+	}
+
+	@Test
+	void copyToByteArrayWithLargeExpectedLength() throws Exception {
+		byte[] content = new byte[100_000];
+		new Random().nextBytes(content);
+		assertThat(StreamUtils.copyToByteArray(new ByteArrayInputStream(content), content.length)).isEqualTo(content);
+		assertThat(StreamUtils.copyToByteArray(new ByteArrayInputStream(content), Integer.MAX_VALUE - 8)).isEqualTo(content);
+		assertThat(StreamUtils.copyToByteArray(new ByteArrayInputStream(bytes), Integer.MAX_VALUE - 8)).isEqualTo(bytes);
+	}
+
 	@Test
 	void copyToString() throws Exception {
 		Charset charset = Charset.defaultCharset();
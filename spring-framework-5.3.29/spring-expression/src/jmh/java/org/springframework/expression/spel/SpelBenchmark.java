@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,23 +16,35 @@
 
 package org.springframework.expression.spel;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.common.TemplateParserContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.spel.testresources.Inventor;
+import org.springframework.expression.spel.testresources.Person;
 
 /**
  * Benchmarks for parsing and executing SpEL expressions.
+ *
+ * <p>Run with {@code -prof gc} for allocation figures: {@code gc.alloc.rate.norm}
+ * is the number of bytes allocated per evaluation, e.g. for the interpreted
+ * {@code cachingPropertyAccess} and {@code cachingComparison} benchmarks.
+ *
  * @author Brian Clozel
  */
 @BenchmarkMode(Mode.Throughput)
@@ -66,9 +78,12 @@ public class SpelBenchmark {
 
 		public Expression methodExpression;
 
+		public Expression comparisonExpression;
+
 		public CachingBenchmarkData() {
 			this.propertyExpression = this.parser.parseExpression("placeOfBirth.city");
 			this.methodExpression = this.parser.parseExpression("getPlaceOfBirth().getCity()");
+			this.comparisonExpression = this.parser.parseExpression("placeOfBirth.city == 'SmilJan' and !wonNobelPrize");
 		}
 	}
 
@@ -82,6 +97,11 @@ public class SpelBenchmark {
 		return data.methodExpression.getValue(data.eContext);
 	}
 
+	@Benchmark
+	public Object cachingComparison(CachingBenchmarkData data) {
+		return data.comparisonExpression.getValue(data.eContext, Boolean.class);
+	}
+
 	@State(Scope.Benchmark)
 	public static class ValueBenchmarkData {
 
@@ -103,4 +123,131 @@ public class SpelBenchmark {
 		return data.expression.getValue(data.context);
 	}
 
+	/**
+	 * Expressions as evaluated by the framework, with an evaluation context per
+	 * evaluation: cache keys such as {@code @Cacheable(key = "#p0.name")}, event
+	 * listener conditions and {@code @Value("#{...}")} templates.
+	 */
+	@State(Scope.Benchmark)
+	public static class FrameworkBenchmarkData {
+
+		@Param({"OFF", "MIXED"})
+		public SpelCompilerMode compilerMode;
+
+		public Object rootObject;
+
+		public Expression cacheKeyExpression;
+
+		public Expression conditionExpression;
+
+		public Expression valueExpression;
+
+		@Setup
+		public void setup() {
+			this.rootObject = TestScenarioCreator.getTestEvaluationContext().getRootObject().getValue();
+			SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(this.compilerMode, null));
+			this.cacheKeyExpression = parser.parseExpression("#p0.name");
+			this.conditionExpression = parser.parseExpression("#p0.placeOfBirth.city == 'SmilJan' and !wonNobelPrize");
+			this.valueExpression = parser.parseExpression("#{placeOfBirth.city}", new TemplateParserContext());
+		}
+
+		public EvaluationContext createContext() {
+			StandardEvaluationContext context = new StandardEvaluationContext(this.rootObject);
+			context.setVariable("p0", this.rootObject);
+			return context;
+		}
+	}
+
+	@Benchmark
+	public Object cacheKey(FrameworkBenchmarkData data) {
+		return data.cacheKeyExpression.getValue(data.createContext());
+	}
+
+	@Benchmark
+	public Object eventCondition(FrameworkBenchmarkData data) {
+		return data.conditionExpression.getValue(data.createContext(), Boolean.class);
+	}
+
+	@Benchmark
+	public Object valueTemplate(FrameworkBenchmarkData data) {
+		return data.valueExpression.getValue(data.createContext(), String.class);
+	}
+
+
+	/**
+	 * Selection and projection over a list, as in rule-engine-style expressions.
+	 */
+	@State(Scope.Benchmark)
+	public static class CollectionBenchmarkData {
+
+		@Param({"OFF", "MIXED"})
+		public SpelCompilerMode compilerMode;
+
+		public List<String> list = new ArrayList<>();
+
+		public EvaluationContext context = new StandardEvaluationContext();
+
+		public Expression selectionExpression;
+
+		public Expression projectionExpression;
+
+		@Setup
+		public void setup() {
+			for (int i = 0; i < 100; i++) {
+				this.list.add(String.valueOf(i));
+			}
+			SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(this.compilerMode, null));
+			this.selectionExpression = parser.parseExpression("?[startsWith('1') and length() > 1]");
+			this.projectionExpression = parser.parseExpression("![length() > 1 ? {value:#this} : null]");
+		}
+	}
+
+	@Benchmark
+	public Object selection(CollectionBenchmarkData data) {
+		return data.selectionExpression.getValue(data.context, data.list);
+	}
+
+	@Benchmark
+	public Object projection(CollectionBenchmarkData data) {
+		return data.projectionExpression.getValue(data.context, data.list);
+	}
+
+
+	/**
+	 * Property and method access on elements of different types,
+	 * with an evaluation context per evaluation.
+	 */
+	@State(Scope.Benchmark)
+	public static class HeterogeneousBenchmarkData {
+
+		@Param({"OFF", "MIXED"})
+		public SpelCompilerMode compilerMode;
+
+		public List<Object> list = new ArrayList<>();
+
+		public Expression propertyExpression;
+
+		public Expression methodExpression;
+
+		@Setup
+		public void setup() {
+			for (int i = 0; i < 100; i++) {
+				this.list.add(i % 2 == 0 ? new Person("Person " + i) : new Inventor("Inventor " + i, null, null));
+			}
+			SpelExpressionParser parser = new SpelExpressionParser(new SpelParserConfiguration(this.compilerMode, null));
+			this.propertyExpression = parser.parseExpression("![name]");
+			this.methodExpression = parser.parseExpression("![getName().substring(1)]");
+		}
+	}
+
+	@Benchmark
+	public Object heterogeneousPropertyAccess(HeterogeneousBenchmarkData data) {
+		return data.propertyExpression.getValue(new StandardEvaluationContext(), data.list);
+	}
+
+	@Benchmark
+	public Object heterogeneousMethodAccess(HeterogeneousBenchmarkData data) {
+		return data.methodExpression.getValue(new StandardEvaluationContext(), data.list);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,6 +43,9 @@ public class TypedValue {
 	@Nullable
 	private TypeDescriptor typeDescriptor;
 
+	@Nullable
+	private TypeDescriptor declaredTypeDescriptor;
+
 
 	/**
 	 * Create a {@link TypedValue} for a simple object. The {@link TypeDescriptor}
@@ -74,7 +77,8 @@ public class TypedValue {
 	@Nullable
 	public TypeDescriptor getTypeDescriptor() {
 		if (this.typeDescriptor == null && this.value != null) {
-			this.typeDescriptor = TypeDescriptor.forObject(this.value);
+			this.typeDescriptor = (this.declaredTypeDescriptor != null ?
+					this.declaredTypeDescriptor.narrow(this.value) : TypeDescriptor.forObject(this.value));
 		}
 		return this.typeDescriptor;
 	}
@@ -91,7 +95,8 @@ public class TypedValue {
 		TypedValue otherTv = (TypedValue) other;
 		// Avoid TypeDescriptor initialization if not necessary
 		return (ObjectUtils.nullSafeEquals(this.value, otherTv.value) &&
-				((this.typeDescriptor == null && otherTv.typeDescriptor == null) ||
+				((this.typeDescriptor == null && this.declaredTypeDescriptor == null &&
+						otherTv.typeDescriptor == null && otherTv.declaredTypeDescriptor == null) ||
 						ObjectUtils.nullSafeEquals(getTypeDescriptor(), otherTv.getTypeDescriptor())));
 	}
 
@@ -105,4 +110,24 @@ public class TypedValue {
 		return "TypedValue: '" + this.value + "' of [" + getTypeDescriptor() + "]";
 	}
 
+
+	/**
+	 * Create a {@link TypedValue} for a value of the given declared type, e.g. the
+	 * type of a property or the return type of a method. The {@link TypeDescriptor}
+	 * is narrowed to the type of the actual value when/if requested, which is
+	 * equivalent to {@code new TypedValue(value, declaredType.narrow(value))}.
+	 * @param value the object value
+	 * @param declaredType a type descriptor for the declared type of the value
+	 * @since 5.3.30
+	 * @see TypeDescriptor#narrow(Object)
+	 */
+	public static TypedValue forDeclaredType(@Nullable Object value, TypeDescriptor declaredType) {
+		if (value == null) {
+			return new TypedValue(null, declaredType);
+		}
+		TypedValue typedValue = new TypedValue(value);
+		typedValue.declaredTypeDescriptor = declaredType;
+		return typedValue;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,12 +22,14 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.asm.ClassWriter;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Manages the class being generated by the compilation process.
@@ -41,6 +43,12 @@ import org.springframework.util.CollectionUtils;
  */
 public class CodeFlow implements Opcodes {
 
+	/**
+	 * Cache of descriptors for reference types, as determined on every
+	 * interpreted evaluation of most AST nodes.
+	 */
+	private static final Map<Class<?>, String> descriptorCache = new ConcurrentReferenceHashMap<>(256);
+
 	/**
 	 * Name of the class being generated. Typically used when generating code
 	 * that accesses freshly generated fields on the generated type.
@@ -85,9 +93,17 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
 	 */
-	private int nextFreeVariableId = 1;
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * The variables holding the target for nested expression evaluation, e.g.
+	 * the current element in a collection selection or projection. If empty,
+	 * the target passed to the compiled expression method is used.
+	 */
+	private final Deque<Integer> targetVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +121,34 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context), or the current element within
+	 * a {@linkplain #enterTargetScope target scope})
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer targetVariable = this.targetVariables.peek();
+		mv.visitVarInsn(ALOAD, (targetVariable != null ? targetVariable : 1));
+	}
+
+	/**
+	 * Enter a new target scope, in which {@link #loadTarget} loads the given variable
+	 * instead of the target passed to the compiled expression. For example, when the
+	 * selection criteria of a collection selection are evaluated, the current element
+	 * is the target for each evaluation.
+	 * @param variableId the variable holding the target
+	 * @since 5.3.30
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterTargetScope(int variableId) {
+		this.targetVariables.push(variableId);
+	}
+
+	/**
+	 * Exit a target scope, returning to the target of the previous (outer) scope.
+	 * @since 5.3.30
+	 */
+	public void exitTargetScope() {
+		this.targetVariables.pop();
 	}
 
 	/**
@@ -827,17 +866,20 @@ public class CodeFlow implements Opcodes {
 			}
 		}
 		else {
-			if (name.charAt(0) != '[') {
-				return "L" + type.getName().replace('.', '/');
-			}
-			else {
-				if (name.endsWith(";")) {
-					return name.substring(0, name.length() - 1).replace('.', '/');
+			String descriptor = descriptorCache.get(type);
+			if (descriptor == null) {
+				if (name.charAt(0) != '[') {
+					descriptor = "L" + name.replace('.', '/');
+				}
+				else if (name.endsWith(";")) {
+					descriptor = name.substring(0, name.length() - 1).replace('.', '/');
 				}
 				else {
-					return name;  // array has primitive component type
+					descriptor = name;  // array has primitive component type
 				}
+				descriptorCache.put(type, descriptor);
 			}
+			return descriptor;
 		}
 		return "";
 	}
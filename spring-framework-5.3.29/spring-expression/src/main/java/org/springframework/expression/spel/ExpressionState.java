@@ -22,7 +22,6 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.function.Supplier;
 
 import org.springframework.core.convert.TypeDescriptor;
@@ -62,6 +61,11 @@ public class ExpressionState {
 
 	private final SpelParserConfiguration configuration;
 
+	// The active context object, if any has been pushed: kept outside of the
+	// contextObjects stack, which is only needed for nested context objects
+	@Nullable
+	private TypedValue activeContextObject;
+
 	@Nullable
 	private Deque<TypedValue> contextObjects;
 
@@ -104,29 +108,25 @@ public class ExpressionState {
 	 * The active context object is what unqualified references to properties/etc are resolved against.
 	 */
 	public TypedValue getActiveContextObject() {
-		if (CollectionUtils.isEmpty(this.contextObjects)) {
-			return this.rootObject;
-		}
-		return this.contextObjects.element();
+		return (this.activeContextObject != null ? this.activeContextObject : this.rootObject);
 	}
 
 	public void pushActiveContextObject(TypedValue obj) {
-		if (this.contextObjects == null) {
-			this.contextObjects = new ArrayDeque<>();
+		Assert.notNull(obj, "Context object must not be null");
+		if (this.activeContextObject != null) {
+			if (this.contextObjects == null) {
+				this.contextObjects = new ArrayDeque<>();
+			}
+			this.contextObjects.push(this.activeContextObject);
 		}
-		this.contextObjects.push(obj);
+		this.activeContextObject = obj;
 	}
 
 	public void popActiveContextObject() {
-		if (this.contextObjects == null) {
-			this.contextObjects = new ArrayDeque<>();
-		}
-		try {
-			this.contextObjects.pop();
-		}
-		catch (NoSuchElementException ex) {
+		if (this.activeContextObject == null) {
 			throw new IllegalStateException("Cannot pop active context object: stack is empty");
 		}
+		this.activeContextObject = (CollectionUtils.isEmpty(this.contextObjects) ? null : this.contextObjects.pop());
 	}
 
 	public TypedValue getRootContextObject() {
@@ -288,31 +288,38 @@ public class ExpressionState {
 	 */
 	private static class VariableScope {
 
-		private final Map<String, Object> vars = new HashMap<>();
+		// Only initialized once a variable is defined, as most scopes (e.g. for each
+		// element of a selection) define no variable or a single 'index' variable
+		@Nullable
+		private Map<String, Object> vars;
 
 		public VariableScope() {
 		}
 
 		public VariableScope(@Nullable Map<String, Object> arguments) {
-			if (arguments != null) {
-				this.vars.putAll(arguments);
+			if (!CollectionUtils.isEmpty(arguments)) {
+				this.vars = new HashMap<>(arguments);
 			}
 		}
 
 		public VariableScope(String name, Object value) {
-			this.vars.put(name,value);
+			this.vars = Collections.singletonMap(name, value);
 		}
 
+		@Nullable
 		public Object lookupVariable(String name) {
-			return this.vars.get(name);
+			return (this.vars != null ? this.vars.get(name) : null);
 		}
 
 		public void setVariable(String name, Object value) {
-			this.vars.put(name,value);
+			if (!(this.vars instanceof HashMap)) {
+				this.vars = (this.vars != null ? new HashMap<>(this.vars) : new HashMap<>());
+			}
+			this.vars.put(name, value);
 		}
 
 		public boolean definesVariable(String name) {
-			return this.vars.containsKey(name);
+			return (this.vars != null && this.vars.containsKey(name));
 		}
 	}
 
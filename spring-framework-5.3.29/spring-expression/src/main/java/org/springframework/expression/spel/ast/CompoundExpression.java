@@ -89,8 +89,28 @@ public class CompoundExpression extends SpelNodeImpl {
 	 */
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
-		ValueRef ref = getValueRef(state);
-		TypedValue result = ref.getValue();
+		// Same as getValueRef(state).getValue() but without a ValueRef for the last piece
+		SpelNodeImpl nextNode = this.children[0];
+		TypedValue result;
+		try {
+			result = nextNode.getValueInternal(state);
+			int cc = getChildCount();
+			for (int i = 1; i < cc; i++) {
+				try {
+					state.pushActiveContextObject(result);
+					nextNode = this.children[i];
+					result = nextNode.getValueInternal(state);
+				}
+				finally {
+					state.popActiveContextObject();
+				}
+			}
+		}
+		catch (SpelEvaluationException ex) {
+			// Correct the position for the error before re-throwing
+			ex.setPosition(nextNode.getStartPosition());
+			throw ex;
+		}
 		this.exitTypeDescriptor = this.children[this.children.length - 1].exitTypeDescriptor;
 		return result;
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -116,7 +116,9 @@ public class Elvis extends SpelNodeImpl {
 			String conditionDescriptor = this.children[0].exitTypeDescriptor;
 			String ifNullValueDescriptor = this.children[1].exitTypeDescriptor;
 			if (ObjectUtils.nullSafeEquals(conditionDescriptor, ifNullValueDescriptor)) {
-				this.exitTypeDescriptor = conditionDescriptor;
+				// The condition is boxed for the null check, so the result is boxed as well
+				this.exitTypeDescriptor = (CodeFlow.isPrimitive(conditionDescriptor) ?
+						CodeFlow.toBoxedDescriptor(conditionDescriptor) : conditionDescriptor);
 			}
 			else {
 				// Use the easiest to compute common supertype
@@ -92,6 +92,9 @@ public class Indexer extends SpelNodeImpl {
 	@Nullable
 	private IndexedType indexedType;
 
+	// Whether the map key has been converted to the key type of the map
+	private boolean mapKeyConverted;
+
 
 	public Indexer(int startPos, int endPos, SpelNodeImpl expr) {
 		super(startPos, endPos, expr);
@@ -160,6 +163,7 @@ public class Indexer extends SpelNodeImpl {
 				key = state.convertValue(key, targetDescriptor.getMapKeyTypeDescriptor());
 			}
 			this.indexedType = IndexedType.MAP;
+			this.mapKeyConverted = (key != index);
 			return new MapIndexingValueRef(state.getTypeConverter(), (Map<?, ?>) target, key, targetDescriptor);
 		}
 
@@ -207,7 +211,9 @@ public class Indexer extends SpelNodeImpl {
 			return this.children[0].isCompilable();
 		}
 		else if (this.indexedType == IndexedType.MAP) {
-			return (this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable());
+			// A converted key would need to be converted in compiled code as well
+			return (!this.mapKeyConverted &&
+					(this.children[0] instanceof PropertyOrFieldReference || this.children[0].isCompilable()));
 		}
 		else if (this.indexedType == IndexedType.OBJECT) {
 			// If the string name is changing the accessor is clearly going to change (so no compilation possible)
@@ -287,9 +293,13 @@ public class Indexer extends SpelNodeImpl {
 				mv.visitLdcInsn(mapKeyName);
 			}
 			else {
+				// The key is evaluated against the root object, as in the interpreted version
+				cf.enterTargetScope(1);
 				cf.enterCompilationScope();
 				this.children[0].generateCode(mv, cf);
+				CodeFlow.insertBoxIfNecessary(mv, cf.lastDescriptor());
 				cf.exitCompilationScope();
+				cf.exitTargetScope();
 			}
 			mv.visitMethodInsn(
 					INVOKEINTERFACE, "java/util/Map", "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
@@ -21,6 +21,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.StringJoiner;
@@ -54,6 +55,10 @@ import org.springframework.util.ObjectUtils;
  */
 public class MethodReference extends SpelNodeImpl {
 
+	private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
+	private static final int MAX_CACHED_EXECUTORS = 4;
+
 	private final String name;
 
 	private final boolean nullSafe;
@@ -64,6 +69,8 @@ public class MethodReference extends SpelNodeImpl {
 	@Nullable
 	private volatile CachedMethodExecutor cachedExecutor;
 
+	private volatile CachedMethodExecutor[] cachedExecutors = new CachedMethodExecutor[0];
+
 
 	public MethodReference(boolean nullSafe, String methodName, int startPos, int endPos, SpelNodeImpl... arguments) {
 		super(startPos, endPos, arguments);
@@ -127,14 +134,17 @@ public class MethodReference extends SpelNodeImpl {
 
 				// At this point we know it wasn't a user problem so worth a retry if a
 				// better candidate can be found.
+				removeCachedExecutor(this.cachedExecutor);
 				this.cachedExecutor = null;
 			}
 		}
 
 		// either there was no accessor or it no longer existed
 		executorToUse = findAccessorForMethod(argumentTypes, value, evaluationContext);
-		this.cachedExecutor = new CachedMethodExecutor(
+		CachedMethodExecutor cachedExecutor = new CachedMethodExecutor(
 				executorToUse, (value instanceof Class ? (Class<?>) value : null), targetType, argumentTypes);
+		this.cachedExecutor = cachedExecutor;
+		addCachedExecutor(cachedExecutor);
 		try {
 			return executorToUse.execute(evaluationContext, value, arguments);
 		}
@@ -156,6 +166,9 @@ public class MethodReference extends SpelNodeImpl {
 	}
 
 	private Object[] getArguments(ExpressionState state) {
+		if (getChildCount() == 0) {
+			return EMPTY_ARGUMENTS;
+		}
 		Object[] arguments = new Object[getChildCount()];
 		for (int i = 0; i < arguments.length; i++) {
 			// Make the root object the active context again for evaluating the parameter expressions
@@ -171,6 +184,9 @@ public class MethodReference extends SpelNodeImpl {
 	}
 
 	private List<TypeDescriptor> getArgumentTypes(Object... arguments) {
+		if (arguments.length == 0) {
+			return Collections.emptyList();
+		}
 		List<TypeDescriptor> descriptors = new ArrayList<>(arguments.length);
 		for (Object argument : arguments) {
 			descriptors.add(TypeDescriptor.forObject(argument));
@@ -192,10 +208,34 @@ public class MethodReference extends SpelNodeImpl {
 		if (executorToCheck != null && executorToCheck.isSuitable(value, target, argumentTypes)) {
 			return executorToCheck.get();
 		}
+		// Target or argument types changed - check the executors resolved for other types before
+		for (CachedMethodExecutor candidate : this.cachedExecutors) {
+			if (candidate != executorToCheck && candidate.isSuitable(value, target, argumentTypes)) {
+				this.cachedExecutor = candidate;
+				return candidate.get();
+			}
+		}
 		this.cachedExecutor = null;
 		return null;
 	}
 
+	private synchronized void addCachedExecutor(CachedMethodExecutor cachedExecutor) {
+		CachedMethodExecutor[] cachedExecutors = this.cachedExecutors;
+		int length = Math.min(cachedExecutors.length, MAX_CACHED_EXECUTORS - 1);
+		CachedMethodExecutor[] newExecutors = new CachedMethodExecutor[length + 1];
+		// Most recently resolved first, dropping the least recently resolved one if necessary
+		newExecutors[0] = cachedExecutor;
+		System.arraycopy(cachedExecutors, 0, newExecutors, 1, length);
+		this.cachedExecutors = newExecutors;
+	}
+
+	private synchronized void removeCachedExecutor(@Nullable CachedMethodExecutor cachedExecutor) {
+		List<CachedMethodExecutor> cachedExecutors = new ArrayList<>(Arrays.asList(this.cachedExecutors));
+		if (cachedExecutors.remove(cachedExecutor)) {
+			this.cachedExecutors = cachedExecutors.toArray(new CachedMethodExecutor[0]);
+		}
+	}
+
 	private MethodExecutor findAccessorForMethod(List<TypeDescriptor> argumentTypes, Object targetObject,
 			EvaluationContext evaluationContext) throws SpelEvaluationException {
 
@@ -18,6 +18,7 @@ package org.springframework.expression.spel.ast;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,8 @@ import org.springframework.util.ReflectionUtils;
  */
 public class PropertyOrFieldReference extends SpelNodeImpl {
 
+	private static final int MAX_CACHED_READ_ACCESSORS = 4;
+
 	private final boolean nullSafe;
 
 	private final String name;
@@ -65,6 +68,8 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	@Nullable
 	private volatile PropertyAccessor cachedWriteAccessor;
 
+	private volatile CachedReadAccessor[] cachedReadAccessors = new CachedReadAccessor[0];
+
 
 	public PropertyOrFieldReference(boolean nullSafe, String propertyOrFieldName, int startPos, int endPos) {
 		super(startPos, endPos);
@@ -181,7 +186,7 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 
 		PropertyAccessor accessorToUse = this.cachedReadAccessor;
-		if (accessorToUse != null) {
+		if (accessorToUse != null && !(accessorToUse instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor)) {
 			if (evalContext.getPropertyAccessors().contains(accessorToUse)) {
 				try {
 					return accessorToUse.read(evalContext, contextObject.getValue(), name);
@@ -193,6 +198,12 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 			}
 			this.cachedReadAccessor = null;
 		}
+		else if (contextObject.getValue() != null) {
+			TypedValue result = readCachedProperty(contextObject.getValue(), evalContext, name);
+			if (result != null) {
+				return result;
+			}
+		}
 
 		List<PropertyAccessor> accessorsToTry =
 				getPropertyAccessorsToTry(contextObject.getValue(), evalContext.getPropertyAccessors());
@@ -200,11 +211,19 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		// get the accessor and use it. If they are not cacheable but report they can read the property
 		// then ask them to read it
 		try {
-			for (PropertyAccessor accessor : accessorsToTry) {
+			for (int i = 0; i < accessorsToTry.size(); i++) {
+				PropertyAccessor accessor = accessorsToTry.get(i);
 				if (accessor.canRead(evalContext, contextObject.getValue(), name)) {
 					if (accessor instanceof ReflectivePropertyAccessor) {
 						accessor = ((ReflectivePropertyAccessor) accessor).createOptimalAccessor(
 								evalContext, contextObject.getValue(), name);
+						// Only cache per target class if no other accessor had a say in the first place
+						if (i == 0 && contextObject.getValue() != null &&
+								accessor instanceof ReflectivePropertyAccessor.OptimalPropertyAccessor) {
+							addCachedReadAccessor(new CachedReadAccessor(contextObject.getValue(),
+									(ReflectivePropertyAccessor.OptimalPropertyAccessor) accessor,
+									evalContext.getPropertyAccessors()));
+						}
 					}
 					this.cachedReadAccessor = accessor;
 					return accessor.read(evalContext, contextObject.getValue(), name);
@@ -224,6 +243,51 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 		}
 	}
 
+	/**
+	 * Read the named property through an optimal accessor previously resolved
+	 * for the class of the given target and the same set of property accessors.
+	 * @return the value of the property, or {@code null} if no such accessor
+	 * has been cached or if it failed to read the property
+	 */
+	@Nullable
+	private TypedValue readCachedProperty(Object target, EvaluationContext evalContext, String name) {
+		List<PropertyAccessor> propertyAccessors = evalContext.getPropertyAccessors();
+		for (CachedReadAccessor cachedAccessor : this.cachedReadAccessors) {
+			if (cachedAccessor.matches(target, propertyAccessors)) {
+				try {
+					TypedValue result = cachedAccessor.accessor.read(evalContext, target, name);
+					if (this.cachedReadAccessor != cachedAccessor.accessor) {
+						this.cachedReadAccessor = cachedAccessor.accessor;
+					}
+					return result;
+				}
+				catch (Exception ex) {
+					// Gone stale - let's drop it and try to get a new one before giving up...
+					removeCachedReadAccessor(cachedAccessor);
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+
+	private synchronized void addCachedReadAccessor(CachedReadAccessor cachedAccessor) {
+		CachedReadAccessor[] cachedAccessors = this.cachedReadAccessors;
+		int length = Math.min(cachedAccessors.length, MAX_CACHED_READ_ACCESSORS - 1);
+		CachedReadAccessor[] newAccessors = new CachedReadAccessor[length + 1];
+		// Most recently resolved first, dropping the least recently resolved one if necessary
+		newAccessors[0] = cachedAccessor;
+		System.arraycopy(cachedAccessors, 0, newAccessors, 1, length);
+		this.cachedReadAccessors = newAccessors;
+	}
+
+	private synchronized void removeCachedReadAccessor(CachedReadAccessor cachedAccessor) {
+		List<CachedReadAccessor> cachedAccessors = new ArrayList<>(Arrays.asList(this.cachedReadAccessors));
+		if (cachedAccessors.remove(cachedAccessor)) {
+			this.cachedReadAccessors = cachedAccessors.toArray(new CachedReadAccessor[0]);
+		}
+	}
+
 	private void writeProperty(
 			TypedValue contextObject, EvaluationContext evalContext, String name, @Nullable Object newValue)
 			throws EvaluationException {
@@ -387,6 +451,51 @@ public class PropertyOrFieldReference extends SpelNodeImpl {
 	}
 
 
+	/**
+	 * An optimal accessor resolved for a specific target class, along with the
+	 * types of the property accessors it has been resolved against: as long as
+	 * the evaluation context provides the same kinds of accessors, resolution
+	 * for a target of the same class leads to the same accessor again.
+	 */
+	private static final class CachedReadAccessor {
+
+		private final Class<?> targetClass;
+
+		private final boolean staticAccess;
+
+		private final ReflectivePropertyAccessor.OptimalPropertyAccessor accessor;
+
+		private final Class<?>[] propertyAccessorTypes;
+
+		CachedReadAccessor(Object target, ReflectivePropertyAccessor.OptimalPropertyAccessor accessor,
+				List<PropertyAccessor> propertyAccessors) {
+
+			this.staticAccess = (target instanceof Class);
+			this.targetClass = (this.staticAccess ? (Class<?>) target : target.getClass());
+			this.accessor = accessor;
+			this.propertyAccessorTypes = new Class<?>[propertyAccessors.size()];
+			for (int i = 0; i < this.propertyAccessorTypes.length; i++) {
+				this.propertyAccessorTypes[i] = propertyAccessors.get(i).getClass();
+			}
+		}
+
+		boolean matches(Object target, List<PropertyAccessor> propertyAccessors) {
+			if (this.staticAccess ? target != this.targetClass : target.getClass() != this.targetClass) {
+				return false;
+			}
+			if (propertyAccessors.size() != this.propertyAccessorTypes.length) {
+				return false;
+			}
+			for (int i = 0; i < this.propertyAccessorTypes.length; i++) {
+				if (propertyAccessors.get(i).getClass() != this.propertyAccessorTypes[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+
 	private static class AccessorLValue implements ValueRef {
 
 		private final PropertyOrFieldReference ref;
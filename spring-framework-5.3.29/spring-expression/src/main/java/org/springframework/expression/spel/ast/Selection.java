@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,18 +17,23 @@
 package org.springframework.expression.spel.ast;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
@@ -64,10 +69,21 @@ public class Selection extends SpelNodeImpl {
 	 */
 	public static final int LAST = 2;
 
+	private enum OperandType {MAP, ITERABLE, ARRAY}
+
+
 	private final int variant;
 
 	private final boolean nullSafe;
 
+	// The type of operand encountered during interpretation, if compilable
+	@Nullable
+	private OperandType operandType;
+
+	// The element type of an array operand, if compilable
+	@Nullable
+	private Class<?> arrayElementType;
+
 
 	public Selection(boolean nullSafe, int variant, int startPos, int endPos, SpelNodeImpl expression) {
 		super(startPos, endPos, expression);
@@ -88,6 +104,8 @@ public class Selection extends SpelNodeImpl {
 		SpelNodeImpl selectionCriteria = this.children[0];
 
 		if (operand instanceof Map) {
+			this.operandType = OperandType.MAP;
+			this.exitTypeDescriptor = "Ljava/util/Map";
 			Map<?, ?> mapdata = (Map<?, ?>) operand;
 			// TODO don't lose generic info for the new map
 			Map<Object, Object> result = new HashMap<>();
@@ -135,6 +153,17 @@ public class Selection extends SpelNodeImpl {
 		}
 
 		if (operand instanceof Iterable || ObjectUtils.isArray(operand)) {
+			if (operand instanceof Iterable) {
+				this.operandType = OperandType.ITERABLE;
+				this.exitTypeDescriptor = (this.variant == ALL ? "Ljava/util/List" : "Ljava/lang/Object");
+			}
+			else {
+				// Arrays of primitives are boxed element by element, not compilable
+				boolean primitiveArray = operand.getClass().getComponentType().isPrimitive();
+				this.operandType = (primitiveArray ? null : OperandType.ARRAY);
+				this.arrayElementType = null;
+				this.exitTypeDescriptor = (this.variant == ALL || primitiveArray ? null : "Ljava/lang/Object");
+			}
 			Iterable<?> data = (operand instanceof Iterable ?
 					(Iterable<?>) operand : Arrays.asList(ObjectUtils.toObjectArray(operand)));
 
@@ -186,6 +215,10 @@ public class Selection extends SpelNodeImpl {
 				}
 			}
 			Assert.state(elementType != null, "Unresolvable element type");
+			if (this.operandType == OperandType.ARRAY && Modifier.isPublic(elementType.getModifiers())) {
+				this.arrayElementType = elementType;
+				this.exitTypeDescriptor = CodeFlow.toDescriptor(Array.newInstance(elementType, 0).getClass());
+			}
 
 			Object resultArray = Array.newInstance(elementType, result.size());
 			System.arraycopy(result.toArray(), 0, resultArray, 0, result.size());
@@ -203,6 +236,146 @@ public class Selection extends SpelNodeImpl {
 				operand.getClass().getName());
 	}
 
+	/**
+	 * A selection is compilable if the operand is a map, an {@code Iterable} or an
+	 * array of objects, and the selection criteria are compilable and evaluate to a
+	 * boolean.
+	 */
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl selectionCriteria = this.children[0];
+		String criteriaDescriptor = selectionCriteria.exitTypeDescriptor;
+		return (this.operandType != null && this.exitTypeDescriptor != null && selectionCriteria.isCompilable() &&
+				("Z".equals(criteriaDescriptor) || "Ljava/lang/Boolean".equals(criteriaDescriptor)));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		if (cf.lastDescriptor() == null) {
+			cf.loadTarget(mv);
+		}
+		Label skipIfNull = null;
+		if (this.nullSafe) {
+			mv.visitInsn(DUP);
+			skipIfNull = new Label();
+			Label continueLabel = new Label();
+			mv.visitJumpInsn(IFNONNULL, continueLabel);
+			CodeFlow.insertCheckCast(mv, this.exitTypeDescriptor);
+			mv.visitJumpInsn(GOTO, skipIfNull);
+			mv.visitLabel(continueLabel);
+		}
+
+		// Iterate over the map entries or the elements, keeping the matching ones
+		int iteratorVariable = cf.nextFreeVariableId();
+		int elementVariable = cf.nextFreeVariableId();
+		int resultVariable = cf.nextFreeVariableId();
+		if (this.operandType == OperandType.MAP) {
+			mv.visitTypeInsn(CHECKCAST, "java/util/Map");
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "entrySet", "()Ljava/util/Set;", true);
+		}
+		else if (this.operandType == OperandType.ARRAY) {
+			mv.visitTypeInsn(CHECKCAST, "[Ljava/lang/Object;");
+			mv.visitMethodInsn(INVOKESTATIC, "java/util/Arrays", "asList", "([Ljava/lang/Object;)Ljava/util/List;", false);
+		}
+		else {
+			mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+		}
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/lang/Iterable", "iterator", "()Ljava/util/Iterator;", true);
+		mv.visitVarInsn(ASTORE, iteratorVariable);
+		if (this.variant == ALL) {
+			String resultType = (this.operandType == OperandType.MAP ? "java/util/HashMap" : "java/util/ArrayList");
+			mv.visitTypeInsn(NEW, resultType);
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, resultType, "<init>", "()V", false);
+		}
+		else {
+			mv.visitInsn(ACONST_NULL);
+		}
+		mv.visitVarInsn(ASTORE, resultVariable);
+
+		Label loop = new Label();
+		Label endOfLoop = new Label();
+		mv.visitLabel(loop);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+		mv.visitJumpInsn(IFEQ, endOfLoop);
+		mv.visitVarInsn(ALOAD, iteratorVariable);
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ASTORE, elementVariable);
+		cf.enterTargetScope(elementVariable);
+		cf.enterCompilationScope();
+		this.children[0].generateCode(mv, cf);
+		cf.unboxBooleanIfNecessary(mv);
+		cf.exitCompilationScope();
+		cf.exitTargetScope();
+		mv.visitJumpInsn(IFEQ, loop);
+		if (this.variant == ALL) {
+			mv.visitVarInsn(ALOAD, resultVariable);
+			if (this.operandType == OperandType.MAP) {
+				generateEntryCode(mv, elementVariable);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+						"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			}
+			else {
+				mv.visitVarInsn(ALOAD, elementVariable);
+				mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(Ljava/lang/Object;)Z", true);
+			}
+			mv.visitInsn(POP);
+		}
+		else {
+			mv.visitVarInsn(ALOAD, elementVariable);
+			mv.visitVarInsn(ASTORE, resultVariable);
+			if (this.variant == FIRST) {
+				mv.visitJumpInsn(GOTO, endOfLoop);
+			}
+		}
+		mv.visitJumpInsn(GOTO, loop);
+		mv.visitLabel(endOfLoop);
+
+		mv.visitVarInsn(ALOAD, resultVariable);
+		if (this.operandType == OperandType.MAP && this.variant != ALL) {
+			// Turn the first or last matching entry, if any, into a map
+			Label noMatch = new Label();
+			mv.visitInsn(DUP);
+			mv.visitJumpInsn(IFNULL, noMatch);
+			mv.visitInsn(POP);
+			mv.visitTypeInsn(NEW, "java/util/HashMap");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKESPECIAL, "java/util/HashMap", "<init>", "()V", false);
+			mv.visitInsn(DUP);
+			generateEntryCode(mv, resultVariable);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put",
+					"(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;", true);
+			mv.visitInsn(POP);
+			mv.visitLabel(noMatch);
+		}
+		else if (this.operandType == OperandType.ARRAY && this.variant == ALL) {
+			// Copy the matching elements into an array of the original element type
+			Class<?> elementType = this.arrayElementType;
+			Assert.state(elementType != null, "No array element type");
+			mv.visitInsn(DUP);
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "size", "()I", true);
+			mv.visitTypeInsn(ANEWARRAY, elementType.getName().replace('.', '/'));
+			mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "toArray",
+					"([Ljava/lang/Object;)[Ljava/lang/Object;", true);
+		}
+		CodeFlow.insertCheckCast(mv, this.exitTypeDescriptor);
+
+		if (skipIfNull != null) {
+			mv.visitLabel(skipIfNull);
+		}
+		cf.pushDescriptor(this.exitTypeDescriptor);
+	}
+
+	private static void generateEntryCode(MethodVisitor mv, int entryVariable) {
+		mv.visitVarInsn(ALOAD, entryVariable);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getKey", "()Ljava/lang/Object;", true);
+		mv.visitVarInsn(ALOAD, entryVariable);
+		mv.visitTypeInsn(CHECKCAST, "java/util/Map$Entry");
+		mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map$Entry", "getValue", "()Ljava/lang/Object;", true);
+	}
+
 	@Override
 	public String toStringAST() {
 		return prefix() + getChild(0).toStringAST() + "]";
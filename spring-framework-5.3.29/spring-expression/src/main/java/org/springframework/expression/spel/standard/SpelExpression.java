@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -55,6 +55,9 @@ public class SpelExpression implements Expression {
 	// Number of times to try compiling an expression before giving up
 	private static final int FAILED_ATTEMPTS_THRESHOLD = 100;
 
+	// Number of times the compiled form of an expression may fail before giving up
+	private static final int COMPILED_FAILURES_THRESHOLD = 10;
+
 
 	private final String expression;
 
@@ -78,6 +81,10 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private final AtomicInteger failedAttempts = new AtomicInteger();
 
+	// The number of times the compiled form failed, e.g. due to a change of the types
+	// involved - enables us to give up recompiling an expression for every such change.
+	private final AtomicInteger compiledFailures = new AtomicInteger();
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -128,8 +135,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -164,8 +170,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -192,8 +197,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -228,8 +232,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -259,8 +262,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -295,8 +297,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -324,8 +325,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -362,8 +362,7 @@ public class SpelExpression implements Expression {
 			catch (Throwable ex) {
 				// If running in mixed mode, revert to interpreted
 				if (this.configuration.getCompilerMode() == SpelCompilerMode.MIXED) {
-					this.compiledAst = null;
-					this.interpretedCount.set(0);
+					revertAfterCompiledFailure();
 				}
 				else {
 					// Running in SpelCompilerMode.immediate mode - propagate exception to caller
@@ -513,7 +512,8 @@ public class SpelExpression implements Expression {
 			// Previously compiled
 			return true;
 		}
-		if (this.failedAttempts.get() > FAILED_ATTEMPTS_THRESHOLD) {
+		if (this.failedAttempts.get() > FAILED_ATTEMPTS_THRESHOLD ||
+				this.compiledFailures.get() > COMPILED_FAILURES_THRESHOLD) {
 			// Don't try again
 			return false;
 		}
@@ -564,6 +564,19 @@ public class SpelExpression implements Expression {
 		this.compiledAst = null;
 		this.interpretedCount.set(0);
 		this.failedAttempts.set(0);
+		this.compiledFailures.set(0);
+	}
+
+	/**
+	 * Revert to being interpreted after the compiled form failed in mixed mode,
+	 * typically since the types involved changed. The expression will be compiled
+	 * again based on the new types once it reached the threshold again, unless
+	 * its compiled form failed more than 10 times.
+	 */
+	private void revertAfterCompiledFailure() {
+		this.compiledAst = null;
+		this.interpretedCount.set(0);
+		this.compiledFailures.incrementAndGet();
 	}
 
 	/**
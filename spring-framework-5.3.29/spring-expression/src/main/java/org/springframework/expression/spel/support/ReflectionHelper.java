@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -252,6 +252,29 @@ public abstract class ReflectionHelper {
 		return convertArguments(converter, arguments, method, varargsPosition);
 	}
 
+	/**
+	 * Takes an input set of argument values and converts them to the given parameter types,
+	 * as previously determined for a non-varargs Method or Constructor. The arguments are
+	 * converted 'in-place' in the input array.
+	 * @param converter the type converter to use for attempting conversions
+	 * @param arguments the actual arguments that need conversion
+	 * @param parameterTypes the descriptors of the parameter types
+	 * @return {@code true} if some kind of conversion occurred on an argument
+	 * @throws EvaluationException if a problem occurs during conversion
+	 * @since 5.3.30
+	 */
+	static boolean convertArguments(TypeConverter converter, Object[] arguments, TypeDescriptor[] parameterTypes)
+			throws EvaluationException {
+
+		boolean conversionOccurred = false;
+		for (int i = 0; i < arguments.length; i++) {
+			Object argument = arguments[i];
+			arguments[i] = converter.convertValue(argument, TypeDescriptor.forObject(argument), parameterTypes[i]);
+			conversionOccurred |= (argument != arguments[i]);
+		}
+		return conversionOccurred;
+	}
+
 	/**
 	 * Takes an input set of argument values and converts them to the types specified as the
 	 * required parameter types. The arguments are converted 'in-place' in the input array.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 
@@ -32,6 +36,10 @@ import org.springframework.util.ReflectionUtils;
 /**
  * {@link MethodExecutor} that works via reflection.
  *
+ * <p>As of 5.3.30, an executor which is invoked repeatedly binds a
+ * {@link MethodHandle} for the method, used for all invocations with
+ * arguments matching the parameter types as-is.
+ *
  * @author Andy Clement
  * @author Juergen Hoeller
  * @since 3.0
@@ -42,6 +50,8 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private final Method methodToInvoke;
 
+	private final Class<?>[] parameterTypes;
+
 	@Nullable
 	private final Integer varargsPosition;
 
@@ -52,6 +62,17 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 
 	private boolean argumentConversionOccurred = false;
 
+	@Nullable
+	private volatile TypeDescriptor[] parameterTypeDescriptors;
+
+	@Nullable
+	private volatile TypeDescriptor returnTypeDescriptor;
+
+	private volatile int invocationCount;
+
+	@Nullable
+	private volatile MethodHandle methodHandle;
+
 
 	/**
 	 * Create a new executor for the given method.
@@ -70,6 +91,7 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 	public ReflectiveMethodExecutor(Method method, @Nullable Class<?> targetClass) {
 		this.originalMethod = method;
 		this.methodToInvoke = ClassUtils.getInterfaceMethodIfPossible(method, targetClass);
+		this.parameterTypes = this.methodToInvoke.getParameterTypes();
 		if (method.isVarArgs()) {
 			this.varargsPosition = method.getParameterCount() - 1;
 		}
@@ -129,19 +151,116 @@ public class ReflectiveMethodExecutor implements MethodExecutor {
 	@Override
 	public TypedValue execute(EvaluationContext context, Object target, Object... arguments) throws AccessException {
 		try {
-			this.argumentConversionOccurred = ReflectionHelper.convertArguments(
-					context.getTypeConverter(), arguments, this.originalMethod, this.varargsPosition);
+			if (this.varargsPosition == null) {
+				this.argumentConversionOccurred = ReflectionHelper.convertArguments(
+						context.getTypeConverter(), arguments, getParameterTypeDescriptors());
+			}
+			else {
+				this.argumentConversionOccurred = ReflectionHelper.convertArguments(
+						context.getTypeConverter(), arguments, this.originalMethod, this.varargsPosition);
+			}
 			if (this.originalMethod.isVarArgs()) {
 				arguments = ReflectionHelper.setupArgumentsForVarargsInvocation(
 						this.originalMethod.getParameterTypes(), arguments);
 			}
-			ReflectionUtils.makeAccessible(this.methodToInvoke);
-			Object value = this.methodToInvoke.invoke(target, arguments);
-			return new TypedValue(value, new TypeDescriptor(new MethodParameter(this.originalMethod, -1)).narrow(value));
+			Object value;
+			MethodHandle methodHandle = getMethodHandle();
+			if (methodHandle != null && isInvocableThroughHandle(target, arguments)) {
+				try {
+					value = (Object) methodHandle.invokeExact(target, arguments);
+				}
+				catch (Throwable ex) {
+					// Same as for a reflective invocation: a user exception was thrown inside the method
+					throw new InvocationTargetException(ex);
+				}
+			}
+			else {
+				ReflectionUtils.makeAccessible(this.methodToInvoke);
+				value = this.methodToInvoke.invoke(target, arguments);
+			}
+			return TypedValue.forDeclaredType(value, getReturnTypeDescriptor());
 		}
 		catch (Exception ex) {
 			throw new AccessException("Problem invoking method: " + this.methodToInvoke, ex);
 		}
 	}
 
+	private TypeDescriptor[] getParameterTypeDescriptors() {
+		TypeDescriptor[] parameterTypeDescriptors = this.parameterTypeDescriptors;
+		if (parameterTypeDescriptors == null) {
+			parameterTypeDescriptors = new TypeDescriptor[this.originalMethod.getParameterCount()];
+			for (int i = 0; i < parameterTypeDescriptors.length; i++) {
+				parameterTypeDescriptors[i] = new TypeDescriptor(new MethodParameter(this.originalMethod, i));
+			}
+			this.parameterTypeDescriptors = parameterTypeDescriptors;
+		}
+		return parameterTypeDescriptors;
+	}
+
+	private TypeDescriptor getReturnTypeDescriptor() {
+		TypeDescriptor returnTypeDescriptor = this.returnTypeDescriptor;
+		if (returnTypeDescriptor == null) {
+			returnTypeDescriptor = new TypeDescriptor(new MethodParameter(this.originalMethod, -1));
+			this.returnTypeDescriptor = returnTypeDescriptor;
+		}
+		return returnTypeDescriptor;
+	}
+
+	/**
+	 * Return a handle of type {@code (Object,Object[])Object} for the method,
+	 * bound on the second invocation of this executor, so that executors
+	 * resolved for a single invocation do not pay for it.
+	 */
+	@Nullable
+	private MethodHandle getMethodHandle() {
+		MethodHandle methodHandle = this.methodHandle;
+		if (methodHandle == null && this.invocationCount < 2) {
+			int invocationCount = this.invocationCount + 1;
+			if (invocationCount == 2) {
+				methodHandle = createMethodHandle(this.methodToInvoke);
+				this.methodHandle = methodHandle;
+			}
+			this.invocationCount = invocationCount;
+		}
+		return methodHandle;
+	}
+
+	/**
+	 * Check whether the given target and arguments can be passed to the method
+	 * handle as-is, otherwise leaving it up to reflection to convert them or
+	 * to report a mismatch.
+	 */
+	private boolean isInvocableThroughHandle(@Nullable Object target, Object[] arguments) {
+		if (!Modifier.isStatic(this.methodToInvoke.getModifiers()) &&
+				!this.methodToInvoke.getDeclaringClass().isInstance(target)) {
+			return false;
+		}
+		if (arguments.length != this.parameterTypes.length) {
+			return false;
+		}
+		for (int i = 0; i < arguments.length; i++) {
+			if (!ClassUtils.isAssignableValue(this.parameterTypes[i], arguments[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Nullable
+	private static MethodHandle createMethodHandle(Method method) {
+		try {
+			ReflectionUtils.makeAccessible(method);
+			MethodHandle methodHandle = MethodHandles.lookup().unreflect(method).asFixedArity();
+			if (Modifier.isStatic(method.getModifiers())) {
+				methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+			}
+			return methodHandle.asSpreader(Object[].class, method.getParameterCount())
+					.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+		}
+		catch (Exception ex) {
+			// Not accessible through a MethodHandle: keep using reflection
+			return null;
+		}
+	}
+
 }
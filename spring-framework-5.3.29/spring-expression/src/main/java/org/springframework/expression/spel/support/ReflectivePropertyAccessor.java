@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,12 @@
 
 package org.springframework.expression.spel.support;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -192,7 +196,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				try {
 					ReflectionUtils.makeAccessible(method);
 					Object value = method.invoke(target);
-					return new TypedValue(value, invoker.typeDescriptor.narrow(value));
+					return TypedValue.forDeclaredType(value, invoker.typeDescriptor);
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access property '" + name + "' through getter method", ex);
@@ -214,7 +218,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				try {
 					ReflectionUtils.makeAccessible(field);
 					Object value = field.get(target);
-					return new TypedValue(value, invoker.typeDescriptor.narrow(value));
+					return TypedValue.forDeclaredType(value, invoker.typeDescriptor);
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access field '" + name + "'", ex);
@@ -650,6 +654,8 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 	 * may be invoked to access different properties on different classes. This optimal
 	 * accessor exists because looking up the appropriate reflective object by class/name
 	 * on each read is not cheap.
+	 * <p>As of 5.3.30, the member is read through a {@link MethodHandle} bound on
+	 * creation, falling back to reflection if the member is not accessible that way.
 	 */
 	public static class OptimalPropertyAccessor implements CompilablePropertyAccessor {
 
@@ -660,9 +666,42 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		private final TypeDescriptor typeDescriptor;
 
+		@Nullable
+		private final MethodHandle readHandle;
+
 		OptimalPropertyAccessor(InvokerPair target) {
 			this.member = target.member;
 			this.typeDescriptor = target.typeDescriptor;
+			this.readHandle = createReadHandle(target.member);
+		}
+
+		/**
+		 * Create a handle of type {@code (Object)Object} for reading the given member,
+		 * ignoring the target for a static member.
+		 */
+		@Nullable
+		private static MethodHandle createReadHandle(Member member) {
+			try {
+				MethodHandle handle;
+				if (member instanceof Method) {
+					Method method = (Method) member;
+					ReflectionUtils.makeAccessible(method);
+					handle = MethodHandles.lookup().unreflect(method);
+				}
+				else {
+					Field field = (Field) member;
+					ReflectionUtils.makeAccessible(field);
+					handle = MethodHandles.lookup().unreflectGetter(field);
+				}
+				if (Modifier.isStatic(member.getModifiers())) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				return handle.asType(MethodType.methodType(Object.class, Object.class));
+			}
+			catch (Exception ex) {
+				// Not accessible through a MethodHandle: use reflection, failing on read if necessary
+				return null;
+			}
 		}
 
 		@Override
@@ -697,12 +736,27 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 
 		@Override
 		public TypedValue read(EvaluationContext context, @Nullable Object target, String name) throws AccessException {
+			MethodHandle readHandle = this.readHandle;
+			if (readHandle != null && (Modifier.isStatic(this.member.getModifiers()) ||
+					this.member.getDeclaringClass().isInstance(target))) {
+				Object value;
+				try {
+					value = (Object) readHandle.invokeExact(target);
+				}
+				catch (Throwable ex) {
+					throw new AccessException((this.member instanceof Method ?
+							"Unable to access property '" + name + "' through getter method" :
+							"Unable to access field '" + name + "'"), new InvocationTargetException(ex));
+				}
+				return TypedValue.forDeclaredType(value, this.typeDescriptor);
+			}
+
 			if (this.member instanceof Method) {
 				Method method = (Method) this.member;
 				try {
 					ReflectionUtils.makeAccessible(method);
 					Object value = method.invoke(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
+					return TypedValue.forDeclaredType(value, this.typeDescriptor);
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access property '" + name + "' through getter method", ex);
@@ -713,7 +767,7 @@ public class ReflectivePropertyAccessor implements PropertyAccessor {
 				try {
 					ReflectionUtils.makeAccessible(field);
 					Object value = field.get(target);
-					return new TypedValue(value, this.typeDescriptor.narrow(value));
+					return TypedValue.forDeclaredType(value, this.typeDescriptor);
 				}
 				catch (Exception ex) {
 					throw new AccessException("Unable to access field '" + name + "'", ex);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 /**
  * Test for caching in {@link MethodReference} (SPR-10657).
@@ -58,6 +59,31 @@ public class CachedMethodExecutorTests {
 		assertMethodExecution(expression, new RootObject(), "int: 42");
 	}
 
+	@Test
+	public void testCachedExecutionForAlternatingTargets() {
+		Expression expression = this.parser.parseExpression("#var.echo('42')");
+
+		for (int i = 0; i < 3; i++) {
+			assertMethodExecution(expression, new RootObject(), "String: 42");
+			assertMethodExecution(expression, new BaseObject(), "String: 42");
+			assertMethodExecution(expression, new OtherObject(), "Other: 42");
+		}
+	}
+
+	@Test
+	public void testCachedExecutionWithException() {
+		Expression expression = this.parser.parseExpression("#var.echo(#arg)");
+
+		this.context.setVariable("arg", "42");
+		for (int i = 0; i < 3; i++) {
+			assertMethodExecution(expression, new OtherObject(), "Other: 42");
+		}
+		this.context.setVariable("arg", "fail");
+		assertThatIllegalStateException()
+				.isThrownBy(() -> expression.getValue(this.context))
+				.withMessage("Failed");
+	}
+
 	private void assertMethodExecution(Expression expression, Object var, String expected) {
 		this.context.setVariable("var", var);
 		assertThat(expression.getValue(this.context)).isEqualTo(expected);
@@ -78,4 +104,14 @@ public class CachedMethodExecutorTests {
 		}
 	}
 
+	public static class OtherObject {
+
+		public String echo(Object value) {
+			if ("fail".equals(value)) {
+				throw new IllegalStateException("Failed");
+			}
+			return "Other: " + value;
+		}
+	}
+
 }
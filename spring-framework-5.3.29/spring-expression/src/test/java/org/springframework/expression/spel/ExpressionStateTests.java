@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -180,6 +180,38 @@ public class ExpressionStateTests extends AbstractExpressionTests {
 		assertThat(state.lookupLocalVariable("goo")).isNull();
 	}
 
+	@Test
+	public void testNestedActiveContextObjects() {
+		ExpressionState state = getState();
+		for (int i = 0; i < 3; i++) {
+			state.pushActiveContextObject(new TypedValue(i));
+		}
+		for (int i = 2; i >= 0; i--) {
+			assertThat(state.getActiveContextObject().getValue()).isEqualTo(i);
+			state.popActiveContextObject();
+		}
+		assertThat(state.getActiveContextObject()).isSameAs(state.getRootContextObject());
+		assertThatIllegalStateException().isThrownBy(
+				state::popActiveContextObject);
+	}
+
+	@Test
+	public void testLocalVariableInSingleVariableScope() {
+		ExpressionState state = getState();
+		state.enterScope("index", 1);
+		state.setLocalVariable("foo", 2);
+		assertThat(state.lookupLocalVariable("index")).isEqualTo(1);
+		assertThat(state.lookupLocalVariable("foo")).isEqualTo(2);
+
+		state.enterScope();
+		assertThat(state.lookupLocalVariable("index")).isEqualTo(1);
+		state.exitScope();
+
+		state.exitScope();
+		assertThat(state.lookupLocalVariable("index")).isNull();
+		assertThat(state.lookupLocalVariable("foo")).isNull();
+	}
+
 	@Test
 	public void testRootObjectConstructor() {
 		EvaluationContext ctx = getContext();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -279,6 +279,57 @@ public class PropertyAccessTests extends AbstractExpressionTests {
 			.extracting(SpelEvaluationException::getMessageCode).isEqualTo(SpelMessage.ARRAY_INDEX_OUT_OF_BOUNDS);
 	}
 
+	@Test
+	void propertyAccessWithAlternatingTargetTypes() {
+		Expression expression = parser.parseExpression("name");
+		for (int i = 0; i < 3; i++) {
+			assertThat(expression.getValue(new StandardEvaluationContext(new Person("Ollie")))).isEqualTo("Ollie");
+			assertThat(expression.getValue(new StandardEvaluationContext(new Inventor("Jens", null, "German")))).isEqualTo("Jens");
+			assertThat(expression.getValue(new StandardEvaluationContext(String.class))).isEqualTo("java.lang.String");
+			assertThat(expression.getValue(new StandardEvaluationContext(Integer.class))).isEqualTo("java.lang.Integer");
+		}
+	}
+
+	@Test
+	void propertyAccessWithAccessorAddedAfterCaching() {
+		Expression expression = parser.parseExpression("name");
+		assertThat(expression.getValue(new StandardEvaluationContext(new Person("Ollie")))).isEqualTo("Ollie");
+		assertThat(expression.getValue(new StandardEvaluationContext(new Person("Ollie")))).isEqualTo("Ollie");
+
+		StandardEvaluationContext context = new StandardEvaluationContext(new Person("Ollie"));
+		context.addPropertyAccessor(new ConfigurablePropertyAccessor(Collections.singletonMap("name", "Jens")));
+		assertThat(expression.getValue(context)).isEqualTo("Jens");
+		assertThat(expression.getValue(new StandardEvaluationContext(new Person("Ollie")))).isEqualTo("Ollie");
+	}
+
+	@Test
+	void propertyAccessWithExceptionFromCachedGetter() {
+		Expression expression = parser.parseExpression("name");
+		assertThat(expression.getValue(new FailingPerson(false))).isEqualTo("Ollie");
+		assertThat(expression.getValue(new FailingPerson(false))).isEqualTo("Ollie");
+		assertThatExceptionOfType(SpelEvaluationException.class)
+			.isThrownBy(() -> expression.getValue(new FailingPerson(true)))
+			.extracting(SpelEvaluationException::getMessageCode).isEqualTo(SpelMessage.EXCEPTION_DURING_PROPERTY_READ);
+		assertThat(expression.getValue(new FailingPerson(false))).isEqualTo("Ollie");
+	}
+
+
+	public static class FailingPerson {
+
+		private final boolean fail;
+
+		FailingPerson(boolean fail) {
+			this.fail = fail;
+		}
+
+		public String getName() {
+			if (this.fail) {
+				throw new IllegalStateException("No name");
+			}
+			return "Ollie";
+		}
+	}
+
 
 	// This can resolve the property 'flibbles' on any String (very useful...)
 	private static class StringyPropertyAccessor implements PropertyAccessor {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,9 +20,11 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -107,7 +109,10 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * ConstructorReference
 	 * FunctionReference
 	 * InlineList
+	 * InlineMap
 	 * OpModulus
+	 * Projection
+	 * Selection
 	 *
 	 * Not yet compiled (some may never need to be):
 	 * Assign
@@ -118,9 +123,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 	 * OpMatches
 	 * OpPower
 	 * OpInc
-	 * Projection
 	 * QualifiedId
-	 * Selection
 	 */
 
 
@@ -870,6 +873,182 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(expression.getValue(context)).isNull();
 	}
 
+	@SuppressWarnings("rawtypes")
+	@Test
+	void inlineMap() {
+		expression = parser.parseExpression("{a:1,'b':'x',c:{1,2},d:{e:true}}");
+		Map m = (Map) expression.getValue();
+		assertThat(m.toString()).isEqualTo("{a=1, b=x, c=[1, 2], d={e=true}}");
+		assertCanCompile(expression);
+		Map constant = (Map) expression.getValue();
+		assertThat(constant.toString()).isEqualTo("{a=1, b=x, c=[1, 2], d={e=true}}");
+		assertThat(expression.getValue()).isSameAs(constant);
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> constant.put("f", 2));
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> ((Map) constant.get("d")).clear());
+
+		expression = parser.parseExpression("{a:1,b:2}['b']");
+		assertThat(expression.getValue()).isEqualTo(2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(2);
+
+		expression = parser.parseExpression("{name:#root,length:length(),list:{1,2},map:{x:1}}");
+		m = (Map) expression.getValue("abc");
+		assertThat(m.toString()).isEqualTo("{name=abc, length=3, list=[1, 2], map={x=1}}");
+		assertCanCompile(expression);
+		m = (Map) expression.getValue("abcd");
+		assertThat(m.toString()).isEqualTo("{name=abcd, length=4, list=[1, 2], map={x=1}}");
+		assertThat(expression.getValue("abcd")).isNotSameAs(m);
+
+		expression = parser.parseExpression("{length():#root}");
+		assertCantCompile(expression);
+		m = (Map) expression.getValue("abc");
+		assertThat(m.toString()).isEqualTo("{3=abc}");
+		assertCanCompile(expression);
+		m = (Map) expression.getValue("ab");
+		assertThat(m.toString()).isEqualTo("{2=ab}");
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	void selection() {
+		List<String> list = Arrays.asList("a", "bb", "ccc");
+
+		expression = parser.parseExpression("?[length() > 1]");
+		assertCantCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo(Arrays.asList("bb", "ccc"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo(Arrays.asList("bb", "ccc"));
+		assertThat(expression.getValue(Collections.emptyList())).isEqualTo(Collections.emptyList());
+
+		expression = parser.parseExpression("^[length() > 1]");
+		assertThat(expression.getValue(list)).isEqualTo("bb");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo("bb");
+		assertThat(expression.getValue(Collections.singletonList("a"))).isNull();
+
+		expression = parser.parseExpression("$[length() > 1]");
+		assertThat(expression.getValue(list)).isEqualTo("ccc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo("ccc");
+		assertThat(expression.getValue(Collections.singletonList("a"))).isNull();
+
+		expression = parser.parseExpression("?[#this.startsWith('b') or #this == #root[0]].size()");
+		assertThat(expression.getValue(list)).isEqualTo(2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo(2);
+
+		String[] array = new String[] {"a", "bb", "ccc"};
+		expression = parser.parseExpression("?[length() < 3]");
+		assertThat(expression.getValue(array)).isEqualTo(new String[] {"a", "bb"});
+		assertCanCompile(expression);
+		assertThat(expression.getValue(array)).isEqualTo(new String[] {"a", "bb"});
+
+		expression = parser.parseExpression("?[#this > 1]");
+		assertThat(expression.getValue(new int[] {1, 2, 3})).isEqualTo(new Integer[] {2, 3});
+		assertCantCompile(expression);
+
+		Map<String, Integer> map = new LinkedHashMap<>();
+		map.put("a", 1);
+		map.put("b", 2);
+		map.put("c", 3);
+		expression = parser.parseExpression("?[value > 1]");
+		assertThat((Map) expression.getValue(map)).containsOnlyKeys("b", "c");
+		assertCanCompile(expression);
+		assertThat((Map) expression.getValue(map)).containsOnlyKeys("b", "c");
+
+		expression = parser.parseExpression("^[value > 1]");
+		assertThat(expression.getValue(map)).isEqualTo(Collections.singletonMap("b", 2));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(Collections.singletonMap("b", 2));
+		assertThat(expression.getValue(Collections.singletonMap("a", 1))).isNull();
+
+		expression = parser.parseExpression("$[value > 1]");
+		assertThat(expression.getValue(map)).isEqualTo(Collections.singletonMap("c", 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(Collections.singletonMap("c", 3));
+		assertThat(expression.getValue(Collections.singletonMap("a", 1))).isNull();
+
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("list", list);
+		expression = parser.parseExpression("#list?.?[length() > 2]");
+		assertThat(expression.getValue(ctx)).isEqualTo(Collections.singletonList("ccc"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ctx)).isEqualTo(Collections.singletonList("ccc"));
+		ctx.setVariable("list", null);
+		assertThat(expression.getValue(ctx)).isNull();
+	}
+
+	@SuppressWarnings("rawtypes")
+	@Test
+	void projection() {
+		List<String> list = Arrays.asList("a", "bb", "ccc");
+
+		expression = parser.parseExpression("![length()]");
+		assertCantCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo(Arrays.asList(1, 2, 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo(Arrays.asList(1, 2, 3));
+		assertThat(expression.getValue(Collections.emptyList())).isEqualTo(Collections.emptyList());
+
+		expression = parser.parseExpression("?[length() > 1].![#this + '!']");
+		assertThat(expression.getValue(list)).isEqualTo(Arrays.asList("bb!", "ccc!"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(list)).isEqualTo(Arrays.asList("bb!", "ccc!"));
+
+		expression = parser.parseExpression("![{name:#this,size:#root.size()}]");
+		assertThat(expression.getValue(list).toString()).isEqualTo("[{name=a, size=3}, {name=bb, size=3}, {name=ccc, size=3}]");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(list).toString()).isEqualTo("[{name=a, size=3}, {name=bb, size=3}, {name=ccc, size=3}]");
+
+		Map<String, Integer> map = new LinkedHashMap<>();
+		map.put("a", 1);
+		map.put("b", 2);
+		expression = parser.parseExpression("![key + value.toString()]");
+		assertThat(expression.getValue(map)).isEqualTo(Arrays.asList("a1", "b2"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(map)).isEqualTo(Arrays.asList("a1", "b2"));
+
+		expression = parser.parseExpression("![length()]");
+		assertThat(expression.getValue(new String[] {"a", "bb"})).isEqualTo(new Integer[] {1, 2});
+		assertCantCompile(expression);
+
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		expression = parser.parseExpression("#list?.![length()]");
+		ctx.setVariable("list", list);
+		assertThat(expression.getValue(ctx)).isEqualTo(Arrays.asList(1, 2, 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ctx)).isEqualTo(Arrays.asList(1, 2, 3));
+		ctx.setVariable("list", null);
+		assertThat(expression.getValue(ctx)).isNull();
+	}
+
+	@Test
+	void indexIntoMapWithComputedKey() {
+		Map<Integer, String> map = new HashMap<>();
+		map.put(1, "one");
+		map.put(2, "two");
+		StandardEvaluationContext ctx = new StandardEvaluationContext();
+		ctx.setVariable("map", map);
+		ctx.setVariable("key", 2);
+
+		expression = parser.parseExpression("#map[1]");
+		assertThat(expression.getValue(ctx)).isEqualTo("one");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ctx)).isEqualTo("one");
+
+		expression = parser.parseExpression("#map[#key]");
+		assertThat(expression.getValue(ctx)).isEqualTo("two");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ctx)).isEqualTo("two");
+
+		// Key evaluated against the root object, also within a selection
+		expression = parser.parseExpression("?[#map[size()] != null]");
+		assertThat(expression.getValue(ctx, Arrays.asList("a", "bbb"))).isEqualTo(Arrays.asList("a", "bbb"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(ctx, Arrays.asList("a", "bbb"))).isEqualTo(Arrays.asList("a", "bbb"));
+		assertThat(expression.getValue(ctx, Arrays.asList("a", "bb", "ccc"))).isEqualTo(Collections.emptyList());
+	}
+
 	@Test
 	public void elvis() throws Exception {
 		Expression expression = parser.parseExpression("'a'?:'b'");
@@ -894,6 +1073,24 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertCanCompile(expression);
 	}
 
+	@Test
+	void elvisWithPrimitives() {
+		expression = parser.parseExpression("3?:4");
+		assertThat(expression.getValue()).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(3);
+
+		expression = parser.parseExpression("length()?:0");
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+
+		expression = parser.parseExpression("#root?:0");
+		assertThat(expression.getValue(7)).isEqualTo(7);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(7)).isEqualTo(7);
+	}
+
 	@Test
 	public void variableReference_root() throws Exception {
 		String s = "hello";
@@ -912,6 +1109,25 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(i).isEqualTo(42);
 	}
 
+	@Test
+	void variableReference_this() {
+		expression = parser.parseExpression("#this");
+		assertCantCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo("hello");
+		assertCanCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo("hello");
+
+		expression = parser.parseExpression("#this.length() + length()");
+		assertThat(expression.getValue("hello")).isEqualTo(10);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo(10);
+
+		expression = parser.parseExpression("length().#this");
+		assertThat(expression.getValue("hello")).isEqualTo(5);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("hello")).isEqualTo(5);
+	}
+
 	public static String concat(String a, String b) {
 		return a+b;
 	}
@@ -1030,7 +1246,7 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 
 		expression = parser.parseExpression("#negate(#ints.?[#this<2][0])");
 		assertThat(expression.getValue(context, Integer.class).toString()).isEqualTo("-1");
-		// Selection isn't compilable.
+		// Selection on a primitive array isn't compilable.
 		assertThat(((SpelNodeImpl)((SpelExpression) expression).getAST()).isCompilable()).isFalse();
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -91,6 +91,45 @@ class SpelCompilerTests {
 		});
 	}
 
+	@Test
+	void changingVariableTypeRevertsToInterpretedInMixedMode() {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.MIXED, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		SpelExpression expression = (SpelExpression) parser.parseExpression("#bean.value");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+
+		Object[] beans = new Object[] {new Bean1(), new Bean2()};
+		context.setVariable("bean", beans[0]);
+		IntStream.rangeClosed(0, 100).forEach(count ->
+				assertThat(expression.getValue(context)).asString().startsWith("1"));
+		SpelCompilationCoverageTests.assertIsCompiled(expression);
+
+		// Compiled form fails for every change of type, to be recompiled after each
+		for (int i = 1; i <= 11; i++) {
+			context.setVariable("bean", beans[i % 2]);
+			IntStream.rangeClosed(0, 100).forEach(count ->
+					assertThat(expression.getValue(context)).asString().startsWith("1"));
+		}
+		// ... until the compiled form failed too many times
+		assertThat(expression.compileExpression()).isFalse();
+
+		expression.revertToInterpreted();
+		assertThat(expression.compileExpression()).isTrue();
+		assertThat(expression.getValue(context)).isEqualTo(111);
+	}
+
+	@Test
+	void rootObjectOfNonPublicType() {
+		SpelParserConfiguration config = new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null);
+		SpelExpressionParser parser = new SpelExpressionParser(config);
+		Expression expression = parser.parseExpression("#root.value");
+
+		NonPublicBean bean = new NonPublicBean();
+		assertThat(expression.getValue(bean)).isEqualTo("11");
+		assertThat(SpelCompiler.compile(expression)).isTrue();
+		assertThat(expression.getValue(bean)).isEqualTo("11");
+	}
+
 
 	static class OrderedComponent implements Ordered {
 
@@ -142,6 +181,9 @@ class SpelCompilerTests {
 		}
 	}
 
+	static class NonPublicBean extends Bean1 {
+	}
+
 	public static class Bean2 {
 		public Integer getValue() {
 			return 111;
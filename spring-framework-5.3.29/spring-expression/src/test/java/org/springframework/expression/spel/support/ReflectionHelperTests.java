@@ -97,6 +97,20 @@ public class ReflectionHelperTests extends AbstractExpressionTests {
 		assertThat(tv3.hashCode()).isNotEqualTo(tv2.hashCode());
 	}
 
+	@Test
+	public void testTypedValueForDeclaredType() {
+		TypeDescriptor declaredType = TypeDescriptor.valueOf(CharSequence.class);
+		TypedValue tv1 = TypedValue.forDeclaredType("hello", declaredType);
+		TypedValue tv2 = new TypedValue("hello", declaredType.narrow("hello"));
+		TypedValue tv3 = TypedValue.forDeclaredType(null, declaredType);
+		assertThat(tv1.getValue()).isEqualTo("hello");
+		assertThat(tv1).isEqualTo(tv2);
+		assertThat(tv1).isNotEqualTo(new TypedValue("hello", declaredType));
+		assertThat(tv1.getTypeDescriptor()).isEqualTo(tv2.getTypeDescriptor());
+		assertThat(tv1.getTypeDescriptor().getType()).isEqualTo(String.class);
+		assertThat(tv3.getTypeDescriptor()).isSameAs(declaredType);
+	}
+
 	@Test
 	public void testReflectionHelperCompareArguments_ExactMatching() {
 		StandardTypeConverter tc = new StandardTypeConverter();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,7 +45,7 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 	private MessageHandlerMethodFactory messageHandlerMethodFactory;
 
 	@Nullable
-	private JmsListenerContainerFactory<?> containerFactory;
+	private volatile JmsListenerContainerFactory<?> containerFactory;
 
 	@Nullable
 	private String containerFactoryBeanName;
@@ -55,7 +55,7 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 
 	private final List<JmsListenerEndpointDescriptor> endpointDescriptors = new ArrayList<>();
 
-	private boolean startImmediately;
+	private volatile boolean startImmediately;
 
 	private Object mutex = this.endpointDescriptors;
 
@@ -137,6 +137,14 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 
 	protected void registerAllEndpoints() {
 		Assert.state(this.endpointRegistry != null, "No JmsListenerEndpointRegistry set");
+		boolean defaultContainerFactoryRequired;
+		synchronized (this.mutex) {
+			defaultContainerFactoryRequired = this.endpointDescriptors.stream()
+					.anyMatch(descriptor -> descriptor.containerFactory == null);
+		}
+		if (defaultContainerFactoryRequired) {
+			obtainContainerFactoryIfNecessary();
+		}
 		synchronized (this.mutex) {
 			for (JmsListenerEndpointDescriptor descriptor : this.endpointDescriptors) {
 				this.endpointRegistry.registerListenerContainer(
@@ -150,21 +158,31 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 		if (descriptor.containerFactory != null) {
 			return descriptor.containerFactory;
 		}
-		else if (this.containerFactory != null) {
-			return this.containerFactory;
-		}
-		else if (this.containerFactoryBeanName != null) {
-			Assert.state(this.beanFactory != null, "BeanFactory must be set to obtain container factory by bean name");
-			// Consider changing this if live change of the factory is required...
-			this.containerFactory = this.beanFactory.getBean(
-					this.containerFactoryBeanName, JmsListenerContainerFactory.class);
-			return this.containerFactory;
-		}
-		else {
+		JmsListenerContainerFactory<?> containerFactory = obtainContainerFactoryIfNecessary();
+		if (containerFactory == null) {
 			throw new IllegalStateException("Could not resolve the " +
 					JmsListenerContainerFactory.class.getSimpleName() + " to use for [" +
 					descriptor.endpoint + "] no factory was given and no default is set.");
 		}
+		return containerFactory;
+	}
+
+	/**
+	 * Return the default container factory, obtaining it by bean name if necessary.
+	 * <p>Called before entering the mutex where possible: in case of per-bean singleton
+	 * locking, the singleton mutex does not exclude singleton creation, so no beans
+	 * should be obtained while holding it.
+	 */
+	@Nullable
+	private JmsListenerContainerFactory<?> obtainContainerFactoryIfNecessary() {
+		JmsListenerContainerFactory<?> containerFactory = this.containerFactory;
+		if (containerFactory == null && this.containerFactoryBeanName != null) {
+			Assert.state(this.beanFactory != null, "BeanFactory must be set to obtain container factory by bean name");
+			// Consider changing this if live change of the factory is required...
+			containerFactory = this.beanFactory.getBean(this.containerFactoryBeanName, JmsListenerContainerFactory.class);
+			this.containerFactory = containerFactory;
+		}
+		return containerFactory;
 	}
 
 	/**
@@ -180,6 +198,9 @@ public class JmsListenerEndpointRegistrar implements BeanFactoryAware, Initializ
 		// Factory may be null, we defer the resolution right before actually creating the container
 		JmsListenerEndpointDescriptor descriptor = new JmsListenerEndpointDescriptor(endpoint, factory);
 
+		if (factory == null && this.startImmediately) {
+			obtainContainerFactoryIfNecessary();
+		}
 		synchronized (this.mutex) {
 			if (this.startImmediately) {  // register and start immediately
 				Assert.state(this.endpointRegistry != null, "No JmsListenerEndpointRegistry set");
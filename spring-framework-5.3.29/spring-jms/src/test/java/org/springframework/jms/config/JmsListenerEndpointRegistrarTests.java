@@ -16,9 +16,14 @@
 
 package org.springframework.jms.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.support.StaticListableBeanFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -100,4 +105,46 @@ public class JmsListenerEndpointRegistrarTests {
 		assertThat(this.registry.getListenerContainerIds().iterator().next()).isEqualTo("myEndpoint");
 	}
 
+	@Test
+	public void containerFactoryObtainedOutsideOfSingletonMutex() throws Exception {
+		List<Boolean> mutexHeld = new ArrayList<>();
+		DefaultListableBeanFactory beanFactory = createPerBeanLockingBeanFactory(mutexHeld);
+		this.registrar.setBeanFactory(beanFactory);
+		this.registrar.setContainerFactoryBeanName("containerFactory");
+		SimpleJmsListenerEndpoint endpoint = new SimpleJmsListenerEndpoint();
+		endpoint.setId("myEndpoint");
+		this.registrar.registerEndpoint(endpoint);
+		this.registrar.afterPropertiesSet();
+
+		assertThat(this.registry.getListenerContainer("myEndpoint")).as("Container not created").isNotNull();
+		assertThat(mutexHeld).containsExactly(false);
+	}
+
+	@Test
+	public void containerFactoryObtainedOutsideOfSingletonMutexWhenStartedImmediately() throws Exception {
+		List<Boolean> mutexHeld = new ArrayList<>();
+		DefaultListableBeanFactory beanFactory = createPerBeanLockingBeanFactory(mutexHeld);
+		this.registrar.setBeanFactory(beanFactory);
+		this.registrar.setContainerFactoryBeanName("containerFactory");
+		this.registrar.afterPropertiesSet();
+		assertThat(mutexHeld).isEmpty();
+
+		SimpleJmsListenerEndpoint endpoint = new SimpleJmsListenerEndpoint();
+		endpoint.setId("myEndpoint");
+		this.registrar.registerEndpoint(endpoint);
+		assertThat(this.registry.getListenerContainer("myEndpoint")).as("Container not created").isNotNull();
+		assertThat(mutexHeld).containsExactly(false);
+	}
+
+	private static DefaultListableBeanFactory createPerBeanLockingBeanFactory(List<Boolean> mutexHeld) {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.setPerBeanSingletonLocking(true);
+		beanFactory.registerBeanDefinition("containerFactory",
+				new RootBeanDefinition(JmsListenerContainerTestFactory.class, () -> {
+					mutexHeld.add(Thread.holdsLock(beanFactory.getSingletonMutex()));
+					return new JmsListenerContainerTestFactory();
+				}));
+		return beanFactory;
+	}
+
 }
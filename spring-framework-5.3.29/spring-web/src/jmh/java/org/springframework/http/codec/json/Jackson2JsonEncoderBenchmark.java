@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,13 +32,19 @@ import reactor.core.publisher.Flux;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 /**
  * Benchmarks for encoding POJOs to JSON using Jackson.
  *
+ * <p>Run with {@code -prof gc} for allocation figures: {@code gc.alloc.rate.norm}
+ * divided by the {@code streamSize} parameter gives the allocation per element
+ * in the {@link #encode} and {@link #encodeWithFlushThreshold} benchmarks.
+ *
  * @author Brian Clozel
  * @see AbstractJackson2Encoder
  */
@@ -101,4 +107,45 @@ public class Jackson2JsonEncoderBenchmark {
 				.then().block();
 	}
 
+	/**
+	 * Benchmark data for encoding a {@code Flux} into a JSON array as it arrives,
+	 * with a given flush threshold and a default or pooled buffer factory.
+	 */
+	@State(Scope.Benchmark)
+	public static class EncodeWithFlushThresholdData extends EncodeData {
+
+		@Param({"-1", "0", "8192"})
+		int flushThreshold;
+
+		@Param({"default", "pooled"})
+		String bufferFactoryType;
+
+		@Setup
+		public void setupFlushThreshold() {
+			if ("pooled".equals(this.bufferFactoryType)) {
+				this.bufferFactory = new PooledDataBufferFactory();
+			}
+			this.jsonEncoder.setFlushThreshold(this.flushThreshold);
+		}
+
+	}
+
+	@Benchmark
+	public void encodeWithFlushThreshold(Blackhole bh, EncodeWithFlushThresholdData data) {
+		Flux<Project> projects = Flux.generate(sink -> sink.next(data.project)).take(data.streamSize).cast(Project.class);
+		data.jsonEncoder.encode(projects, data.bufferFactory, data.resolvableType, MediaType.APPLICATION_JSON, Collections.emptyMap())
+				.doOnNext(bh::consume)
+				.doOnNext(DataBufferUtils::release)
+				.then().block();
+	}
+
+	@Benchmark
+	public void encodeStream(Blackhole bh, EncodeWithFlushThresholdData data) {
+		Flux<Project> projects = Flux.generate(sink -> sink.next(data.project)).take(data.streamSize).cast(Project.class);
+		data.jsonEncoder.encode(projects, data.bufferFactory, data.resolvableType, MediaType.APPLICATION_NDJSON, Collections.emptyMap())
+				.doOnNext(bh::consume)
+				.doOnNext(DataBufferUtils::release)
+				.then().block();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -74,6 +74,54 @@ public class PathMatchingBenchmark {
 		}
 	}
 
+	@Benchmark
+	public void matchAndSortAllRoutesWithPathPatternIndex(AllRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			bh.consume(matchAndSort(data.index, path));
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ManyRoutesPatternParser extends PatternParserData {
+
+		@Setup(Level.Trial)
+		public void registerPatterns() {
+			parseRoutes(RouteGenerator.manyRoutes());
+		}
+	}
+
+	@Benchmark
+	public void matchAndSortManyRoutesWithPathPatternParser(ManyRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			List<PathPattern> matches = new ArrayList<>();
+			for (PathPattern pattern : data.patterns) {
+				if (pattern.matches(path)) {
+					matches.add(pattern);
+				}
+			}
+			Collections.sort(matches);
+			bh.consume(matches);
+		}
+	}
+
+	@Benchmark
+	public void matchAndSortManyRoutesWithPathPatternIndex(ManyRoutesPatternParser data, Blackhole bh) {
+		for (PathContainer path : data.requestPaths) {
+			bh.consume(matchAndSort(data.index, path));
+		}
+	}
+
+	private static List<PathPattern> matchAndSort(PathPatternIndex<PathPattern> index, PathContainer path) {
+		List<PathPattern> matches = new ArrayList<>();
+		for (PathPattern pattern : index.getCandidates(path)) {
+			if (pattern.matches(path)) {
+				matches.add(pattern);
+			}
+		}
+		Collections.sort(matches);
+		return matches;
+	}
+
 	@State(Scope.Benchmark)
 	public static class StaticRoutesPatternParser extends PatternParserData {
 
@@ -147,12 +195,16 @@ public class PathMatchingBenchmark {
 
 		List<PathPattern> patterns = new ArrayList<>();
 
+		PathPatternIndex<PathPattern> index = new PathPatternIndex<>();
+
 		List<PathContainer> requestPaths = new ArrayList<>();
 
 		void parseRoutes(List<Route> routes) {
 			PathPatternParser parser = new PathPatternParser();
 			routes.forEach(route -> {
-				this.patterns.add(parser.parse(route.pattern));
+				PathPattern pattern = parser.parse(route.pattern);
+				this.patterns.add(pattern);
+				this.index.add(pattern, pattern);
 				route.matchingPaths.forEach(path -> this.requestPaths.add(PathContainer.parsePath(path)));
 			});
 		}
@@ -196,6 +248,11 @@ public class PathMatchingBenchmark {
 			}
 		}
 
+		public Route(String pattern, boolean withMatchingPaths, String... matchingPaths) {
+			this.pattern = pattern;
+			this.matchingPaths = (withMatchingPaths ? Arrays.asList(matchingPaths) : Collections.emptyList());
+		}
+
 		public String pattern() {
 			return this.pattern;
 		}
@@ -274,5 +331,26 @@ public class PathMatchingBenchmark {
 			return routes;
 		}
 
+		/**
+		 * Routes of a large application: 2000 routes for 250 resources,
+		 * with request paths for every 25th resource only.
+		 */
+		static List<Route> manyRoutes() {
+			List<Route> routes = new ArrayList<>();
+			for (int i = 0; i < 250; i++) {
+				String resource = "/api/resource" + i;
+				boolean sampled = (i % 25 == 0);
+				routes.add(new Route(resource, sampled, resource));
+				routes.add(new Route(resource + "/search", sampled, resource + "/search"));
+				routes.add(new Route(resource + "/{id}", sampled, resource + "/42"));
+				routes.add(new Route(resource + "/{id}/history", sampled, resource + "/42/history"));
+				routes.add(new Route(resource + "/{id}/items/{itemId}", sampled, resource + "/42/items/7"));
+				routes.add(new Route(resource + "/{id}/items/{itemId}.json", sampled, resource + "/42/items/7.json"));
+				routes.add(new Route(resource + "/{id}/attachments/**", sampled, resource + "/42/attachments/a/b.png"));
+				routes.add(new Route("/admin/resource" + i + "/{id}", sampled, "/admin/resource" + i + "/42"));
+			}
+			return routes;
+		}
+
 	}
 }
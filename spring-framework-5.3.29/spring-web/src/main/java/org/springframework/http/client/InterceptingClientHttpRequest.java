@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 
 package org.springframework.http.client;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.Iterator;
 import java.util.List;
@@ -25,6 +27,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StreamUtils;
 
@@ -32,10 +35,15 @@ import org.springframework.util.StreamUtils;
  * Wrapper for a {@link ClientHttpRequest} that has support for {@link ClientHttpRequestInterceptor
  * ClientHttpRequestInterceptors}.
  *
+ * <p>The request body is buffered for the interceptors, unless all of them are
+ * {@link StreamingClientHttpRequestInterceptor StreamingClientHttpRequestInterceptors}
+ * and the body is provided through {@link #setBody}, as is the case with
+ * {@link org.springframework.http.converter.HttpMessageConverter HttpMessageConverters}.
+ *
  * @author Arjen Poutsma
  * @since 3.1
  */
-class InterceptingClientHttpRequest extends AbstractBufferingClientHttpRequest {
+class InterceptingClientHttpRequest extends AbstractClientHttpRequest implements StreamingHttpOutputMessage {
 
 	private final ClientHttpRequestFactory requestFactory;
 
@@ -45,6 +53,12 @@ class InterceptingClientHttpRequest extends AbstractBufferingClientHttpRequest {
 
 	private URI uri;
 
+	@Nullable
+	private ByteArrayOutputStream bufferedOutput;
+
+	@Nullable
+	private Body body;
+
 
 	protected InterceptingClientHttpRequest(ClientHttpRequestFactory requestFactory,
 			List<ClientHttpRequestInterceptor> interceptors, URI uri, HttpMethod method) {
@@ -72,13 +86,50 @@ class InterceptingClientHttpRequest extends AbstractBufferingClientHttpRequest {
 	}
 
 	@Override
-	protected final ClientHttpResponse executeInternal(HttpHeaders headers, byte[] bufferedOutput) throws IOException {
+	public void setBody(Body body) {
+		assertNotExecuted();
+		this.body = body;
+	}
+
+	@Override
+	protected OutputStream getBodyInternal(HttpHeaders headers) throws IOException {
+		if (this.bufferedOutput == null) {
+			this.bufferedOutput = new ByteArrayOutputStream(1024);
+		}
+		return this.bufferedOutput;
+	}
+
+	@Override
+	protected final ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
 		InterceptingRequestExecution requestExecution = new InterceptingRequestExecution();
-		return requestExecution.execute(this, bufferedOutput);
+		if (this.bufferedOutput == null && isStreaming()) {
+			return requestExecution.execute(this, this.body);
+		}
+
+		ByteArrayOutputStream bufferedOutput =
+				(this.bufferedOutput != null ? this.bufferedOutput : new ByteArrayOutputStream(1024));
+		if (this.body != null) {
+			this.body.writeTo(bufferedOutput);
+		}
+		byte[] bytes = bufferedOutput.toByteArray();
+		this.bufferedOutput = null;
+		if (headers.getContentLength() < 0) {
+			headers.setContentLength(bytes.length);
+		}
+		return requestExecution.execute(this, bytes);
+	}
+
+	private boolean isStreaming() {
+		for (ClientHttpRequestInterceptor interceptor : this.interceptors) {
+			if (!(interceptor instanceof StreamingClientHttpRequestInterceptor)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 
-	private class InterceptingRequestExecution implements ClientHttpRequestExecution {
+	private class InterceptingRequestExecution implements ClientHttpRequestExecution, StreamingClientHttpRequestExecution {
 
 		private final Iterator<ClientHttpRequestInterceptor> iterator;
 
@@ -93,21 +144,37 @@ class InterceptingClientHttpRequest extends AbstractBufferingClientHttpRequest {
 				return nextInterceptor.intercept(request, body, this);
 			}
 			else {
-				HttpMethod method = request.getMethod();
-				Assert.state(method != null, "No standard HTTP method");
-				ClientHttpRequest delegate = requestFactory.createRequest(request.getURI(), method);
-				request.getHeaders().forEach((key, value) -> delegate.getHeaders().addAll(key, value));
-				if (body.length > 0) {
-					if (delegate instanceof StreamingHttpOutputMessage) {
-						StreamingHttpOutputMessage streamingOutputMessage = (StreamingHttpOutputMessage) delegate;
-						streamingOutputMessage.setBody(outputStream -> StreamUtils.copy(body, outputStream));
-					}
-					else {
-						StreamUtils.copy(body, delegate.getBody());
-					}
+				return executeRequest(request, (body.length > 0 ? outputStream -> StreamUtils.copy(body, outputStream) : null));
+			}
+		}
+
+		@Override
+		public ClientHttpResponse execute(HttpRequest request, @Nullable Body body) throws IOException {
+			if (this.iterator.hasNext()) {
+				StreamingClientHttpRequestInterceptor nextInterceptor =
+						(StreamingClientHttpRequestInterceptor) this.iterator.next();
+				return nextInterceptor.intercept(request, body, this);
+			}
+			else {
+				return executeRequest(request, body);
+			}
+		}
+
+		private ClientHttpResponse executeRequest(HttpRequest request, @Nullable Body body) throws IOException {
+			HttpMethod method = request.getMethod();
+			Assert.state(method != null, "No standard HTTP method");
+			ClientHttpRequest delegate = requestFactory.createRequest(request.getURI(), method);
+			request.getHeaders().forEach((key, value) -> delegate.getHeaders().addAll(key, value));
+			if (body != null) {
+				if (delegate instanceof StreamingHttpOutputMessage) {
+					StreamingHttpOutputMessage streamingOutputMessage = (StreamingHttpOutputMessage) delegate;
+					streamingOutputMessage.setBody(body);
+				}
+				else {
+					body.writeTo(delegate.getBody());
 				}
-				return delegate.execute();
 			}
+			return delegate.execute();
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,10 @@ public class SimpleClientHttpRequestFactory implements ClientHttpRequestFactory,
 	 * {@link org.springframework.http.HttpHeaders#getContentLength() Content-Length}
 	 * is known in advance), or that will use "Chunked transfer encoding"
 	 * (if the {@code Content-Length} is not known in advance).
+	 * <p>Note that with {@link ClientHttpRequestInterceptor ClientHttpRequestInterceptors}
+	 * registered, the request body is buffered for the interceptors in any case,
+	 * unless all of them are {@link StreamingClientHttpRequestInterceptor
+	 * StreamingClientHttpRequestInterceptors}.
 	 * @see #setChunkSize(int)
 	 * @see HttpURLConnection#setFixedLengthStreamingMode(int)
 	 */
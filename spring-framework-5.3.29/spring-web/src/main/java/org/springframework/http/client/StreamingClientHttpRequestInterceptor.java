@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Variant of {@link ClientHttpRequestInterceptor} for interceptors that
+ * do not need to see the request body as a whole, e.g. for adding headers.
+ * The body is passed through as a {@link StreamingHttpOutputMessage.Body}
+ * which is only written once the request is actually executed.
+ *
+ * <p>If all interceptors registered with an {@link InterceptingClientHttpRequestFactory}
+ * (e.g. through {@link org.springframework.web.client.RestTemplate#setInterceptors})
+ * are streaming interceptors, the request body is not buffered in memory, and
+ * is streamed straight to the underlying request if that supports streaming,
+ * e.g. with {@link SimpleClientHttpRequestFactory#setBufferRequestBody} set
+ * to {@code false}. Otherwise, the body is buffered for the regular
+ * interceptors, and streaming interceptors see the buffered body instead.
+ *
+ * <p>Note that the body may typically only be written once: an interceptor
+ * executing the request more than once, e.g. for retries, needs to be a
+ * regular {@link ClientHttpRequestInterceptor} working with the buffered body.
+ *
+ * @since 5.3.30
+ * @see InterceptingClientHttpRequestFactory
+ */
+@FunctionalInterface
+public interface StreamingClientHttpRequestInterceptor extends ClientHttpRequestInterceptor {
+
+	/**
+	 * Intercept the given request, and return a response. The given
+	 * {@link StreamingClientHttpRequestExecution} allows the interceptor to pass
+	 * on the request and response to the next entity in the chain.
+	 * @param request the request, containing method, URI, and headers
+	 * @param body the body of the request, or {@code null} if none
+	 * @param execution the request execution
+	 * @return the response
+	 * @throws IOException in case of I/O errors
+	 * @see ClientHttpRequestInterceptor#intercept(HttpRequest, byte[], ClientHttpRequestExecution)
+	 */
+	ClientHttpResponse intercept(HttpRequest request, @Nullable StreamingHttpOutputMessage.Body body,
+			StreamingClientHttpRequestExecution execution) throws IOException;
+
+	/**
+	 * Adapt the buffered request body to a streaming body for
+	 * {@link #intercept(HttpRequest, StreamingHttpOutputMessage.Body, StreamingClientHttpRequestExecution)}.
+	 */
+	@Override
+	default ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+
+		StreamingHttpOutputMessage.Body streamingBody =
+				(body.length > 0 ? outputStream -> StreamUtils.copy(body, outputStream) : null);
+		return intercept(request, streamingBody, (interceptedRequest, interceptedBody) -> {
+			if (interceptedBody == streamingBody) {
+				return execution.execute(interceptedRequest, body);
+			}
+			if (interceptedBody == null) {
+				return execution.execute(interceptedRequest, new byte[0]);
+			}
+			ByteArrayOutputStream bufferedBody = new ByteArrayOutputStream(Math.max(body.length, 1024));
+			interceptedBody.writeTo(bufferedBody);
+			return execution.execute(interceptedRequest, bufferedBody.toByteArray());
+		});
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client.reactive;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Timings of a single HTTP exchange, measured from the start of the exchange.
+ *
+ * <p>An instance can be placed into the Reactor {@code Context} of an exchange,
+ * keyed by {@code ExchangeTimings.class}, for a {@link MetricsClientHttpConnector}
+ * to record the timings it observes at the connector level. Other timings are
+ * recorded by whoever created the instance, e.g. a client-side filter.
+ *
+ * @since 5.3.30
+ * @see MetricsClientHttpConnector
+ */
+public final class ExchangeTimings {
+
+	private final HttpMethod method;
+
+	private final URI uri;
+
+	private final long startTime = System.nanoTime();
+
+	private volatile long requestReadyTime = -1;
+
+	private volatile long responseTime = -1;
+
+	private volatile int statusCode = -1;
+
+	@Nullable
+	private volatile Throwable error;
+
+
+	/**
+	 * Start the timings of an exchange for the given request.
+	 * @param method the HTTP method of the request
+	 * @param uri the URI of the request
+	 */
+	public ExchangeTimings(HttpMethod method, URI uri) {
+		Assert.notNull(method, "HttpMethod must not be null");
+		Assert.notNull(uri, "URI must not be null");
+		this.method = method;
+		this.uri = uri;
+	}
+
+
+	/**
+	 * Return the HTTP method of the request.
+	 */
+	public HttpMethod getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Return the URI of the request.
+	 */
+	public URI getUri() {
+		return this.uri;
+	}
+
+	/**
+	 * Record that the underlying HTTP client has handed out the request to be
+	 * written. Only the first invocation is taken into account.
+	 */
+	public void requestReady() {
+		if (this.requestReadyTime == -1) {
+			this.requestReadyTime = System.nanoTime() - this.startTime;
+		}
+	}
+
+	/**
+	 * Record that the response status and headers have been received.
+	 * Only the first invocation is taken into account.
+	 * @param statusCode the raw HTTP status code of the response
+	 */
+	public void responseReceived(int statusCode) {
+		if (this.responseTime == -1) {
+			this.statusCode = statusCode;
+			this.responseTime = System.nanoTime() - this.startTime;
+		}
+	}
+
+	/**
+	 * Record that the exchange failed before a response has been received.
+	 * @param error the error that the exchange failed with
+	 */
+	public void failed(Throwable error) {
+		if (this.error == null && this.responseTime == -1) {
+			this.error = error;
+		}
+	}
+
+	/**
+	 * Return the time it took until the request was ready to be written.
+	 * <p>With Reactor Netty, this includes acquiring a connection from the pool
+	 * and setting up a new connection. The Jetty and Apache HttpComponents
+	 * clients hand out the request before connecting, so there it is close
+	 * to zero and connection setup is part of the {@linkplain #getResponseTime()
+	 * response time} instead.
+	 * @return the time until the request was ready, or {@code null} if not recorded
+	 */
+	@Nullable
+	public Duration getRequestReadyTime() {
+		return toDuration(this.requestReadyTime);
+	}
+
+	/**
+	 * Return the time it took to receive the response status and headers,
+	 * i.e. the time to the first byte of the response.
+	 * @return the time to the response, or {@code null} if not received
+	 */
+	@Nullable
+	public Duration getResponseTime() {
+		return toDuration(this.responseTime);
+	}
+
+	/**
+	 * Return the raw HTTP status code of the response.
+	 * @return the status code, or {@code -1} if no response has been received
+	 */
+	public int getStatusCode() {
+		return this.statusCode;
+	}
+
+	/**
+	 * Return the error that the exchange failed with, if any.
+	 */
+	@Nullable
+	public Throwable getError() {
+		return this.error;
+	}
+
+	@Nullable
+	private static Duration toDuration(long nanos) {
+		return (nanos != -1 ? Duration.ofNanos(nanos) : null);
+	}
+
+
+	@Override
+	public String toString() {
+		return this.method + " " + this.uri + " [request ready: " + getRequestReadyTime() +
+				", response: " + getResponseTime() + ", status: " + this.statusCode + "]";
+	}
+
+}
@@ -0,0 +1,418 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client.reactive;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ClientHttpConnector} decorator that keeps statistics of the exchanges
+ * in flight per target host.
+ *
+ * <p>An exchange is in flight from the moment it is started until its response
+ * body has been consumed or released, or until it fails, completes without a
+ * response, or is cancelled. These are counts of exchanges, not of connections: the
+ * underlying HTTP client does not expose the state of its connection pool
+ * through the {@code ClientHttpConnector} contract, so idle and pending
+ * connections are not visible here. Along with the in-flight counts, the time
+ * until the request is ready to be written and the time to receive the response
+ * are recorded. The former includes connection pool acquisition and connection
+ * setup with Reactor Netty, but is close to zero with the Jetty and Apache
+ * HttpComponents connectors, which hand out the request before connecting.
+ *
+ * <p>Metrics are kept for a limited number of hosts, by default
+ * {@value #DEFAULT_HOST_LIMIT}. Exchanges with further hosts, as well as
+ * exchanges for URIs without a host, are accounted for under
+ * {@link #OTHER_HOSTS}.
+ *
+ * <p>If the Reactor {@code Context} of an exchange holds {@link ExchangeTimings}
+ * under the key {@code ExchangeTimings.class}, the timings of the exchange
+ * are recorded there as well, e.g. for a client-side filter to report them.
+ *
+ * @since 5.3.30
+ * @see ExchangeTimings
+ */
+public class MetricsClientHttpConnector implements ClientHttpConnector {
+
+	/**
+	 * The default maximum number of hosts to keep metrics for.
+	 */
+	public static final int DEFAULT_HOST_LIMIT = 256;
+
+	/**
+	 * The key under which exchanges with hosts beyond the host limit, or
+	 * for URIs without a host, are accounted for.
+	 */
+	public static final String OTHER_HOSTS = "other";
+
+
+	private final ClientHttpConnector delegate;
+
+	private final int hostLimit;
+
+	private final Map<String, HostMetrics> hostMetrics = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Create a new {@code MetricsClientHttpConnector} for the given connector,
+	 * with the {@linkplain #DEFAULT_HOST_LIMIT default host limit}.
+	 * @param delegate the connector to delegate to
+	 */
+	public MetricsClientHttpConnector(ClientHttpConnector delegate) {
+		this(delegate, DEFAULT_HOST_LIMIT);
+	}
+
+	/**
+	 * Create a new {@code MetricsClientHttpConnector} for the given connector.
+	 * @param delegate the connector to delegate to
+	 * @param hostLimit the maximum number of hosts to keep separate metrics for
+	 */
+	public MetricsClientHttpConnector(ClientHttpConnector delegate, int hostLimit) {
+		Assert.notNull(delegate, "Delegate is required");
+		Assert.isTrue(hostLimit > 0, "Host limit must be greater than 0");
+		this.delegate = delegate;
+		this.hostLimit = hostLimit;
+	}
+
+
+	/**
+	 * Return the connector that this connector delegates to.
+	 */
+	public ClientHttpConnector getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Return the maximum number of hosts to keep separate metrics for.
+	 */
+	public int getHostLimit() {
+		return this.hostLimit;
+	}
+
+	/**
+	 * Return the metrics of all hosts that exchanges have been started for,
+	 * keyed by host in the form {@code scheme://host:port}, along with
+	 * {@link #OTHER_HOSTS} if applicable.
+	 */
+	public Map<String, HostMetrics> getHostMetrics() {
+		return Collections.unmodifiableMap(this.hostMetrics);
+	}
+
+	/**
+	 * Return the metrics of the host of the given URI.
+	 * @param uri the URI to return the host metrics for
+	 * @return the metrics, or {@code null} if no exchange has been started for
+	 * the host, or if it is accounted for under {@link #OTHER_HOSTS}
+	 */
+	@Nullable
+	public HostMetrics getHostMetrics(URI uri) {
+		String host = getHost(uri);
+		return (host != null ? this.hostMetrics.get(host) : null);
+	}
+
+
+	@Override
+	public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+			Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+
+		return Mono.deferContextual(context -> {
+			HostMetrics metrics = obtainHostMetrics(getHost(uri));
+			Exchange exchange = new Exchange(metrics, context.getOrDefault(ExchangeTimings.class, null));
+			return this.delegate
+					.connect(method, uri, request -> {
+						exchange.requestReady();
+						return requestCallback.apply(request);
+					})
+					.<ClientHttpResponse>map(response -> {
+						exchange.responseReceived(response.getRawStatusCode());
+						return new MetricsClientHttpResponse(response, exchange);
+					})
+					.doOnSuccess(response -> {
+						if (response == null) {
+							exchange.completed();
+						}
+					})
+					.doOnError(exchange::failed)
+					.doOnCancel(exchange::completed);
+		});
+	}
+
+	private HostMetrics obtainHostMetrics(@Nullable String host) {
+		if (host != null) {
+			HostMetrics metrics = this.hostMetrics.get(host);
+			if (metrics != null) {
+				return metrics;
+			}
+			synchronized (this.hostMetrics) {
+				metrics = this.hostMetrics.get(host);
+				if (metrics != null) {
+					return metrics;
+				}
+				int hostCount = this.hostMetrics.size() - (this.hostMetrics.containsKey(OTHER_HOSTS) ? 1 : 0);
+				if (hostCount < this.hostLimit) {
+					metrics = new HostMetrics(host);
+					this.hostMetrics.put(host, metrics);
+					return metrics;
+				}
+			}
+		}
+		return this.hostMetrics.computeIfAbsent(OTHER_HOSTS, HostMetrics::new);
+	}
+
+	@Nullable
+	private static String getHost(URI uri) {
+		String scheme = uri.getScheme();
+		String host = uri.getHost();
+		if (scheme == null || host == null) {
+			return null;
+		}
+		int port = uri.getPort();
+		if (port == -1) {
+			port = ("https".equalsIgnoreCase(scheme) || "wss".equalsIgnoreCase(scheme) ? 443 : 80);
+		}
+		return scheme + "://" + host + ":" + port;
+	}
+
+
+	/**
+	 * Statistics of the exchanges with a single host.
+	 */
+	public static final class HostMetrics {
+
+		private final String host;
+
+		private final AtomicInteger inFlightExchanges = new AtomicInteger();
+
+		private final AtomicInteger maxInFlightExchanges = new AtomicInteger();
+
+		private final LongAdder exchangeCount = new LongAdder();
+
+		private final LongAdder errorCount = new LongAdder();
+
+		private final Timer requestReadyTimer = new Timer();
+
+		private final Timer responseTimer = new Timer();
+
+		HostMetrics(String host) {
+			this.host = host;
+		}
+
+		/**
+		 * Return the host in the form {@code scheme://host:port},
+		 * or {@link MetricsClientHttpConnector#OTHER_HOSTS}.
+		 */
+		public String getHost() {
+			return this.host;
+		}
+
+		/**
+		 * Return the number of exchanges in flight, i.e. started but not
+		 * completed yet.
+		 */
+		public int getInFlightExchanges() {
+			return this.inFlightExchanges.get();
+		}
+
+		/**
+		 * Return the highest number of exchanges in flight at the same time.
+		 */
+		public int getMaxInFlightExchanges() {
+			return this.maxInFlightExchanges.get();
+		}
+
+		/**
+		 * Return the number of exchanges started.
+		 */
+		public long getExchangeCount() {
+			return this.exchangeCount.sum();
+		}
+
+		/**
+		 * Return the number of exchanges that failed before a response was received.
+		 */
+		public long getErrorCount() {
+			return this.errorCount.sum();
+		}
+
+		/**
+		 * Return the average time until the request was ready to be written.
+		 * @see ExchangeTimings#getRequestReadyTime()
+		 */
+		public Duration getAverageRequestReadyTime() {
+			return this.requestReadyTimer.getAverage();
+		}
+
+		/**
+		 * Return the longest time until the request was ready to be written.
+		 * @see ExchangeTimings#getRequestReadyTime()
+		 */
+		public Duration getMaxRequestReadyTime() {
+			return this.requestReadyTimer.getMax();
+		}
+
+		/**
+		 * Return the average time to receive the response status and headers.
+		 */
+		public Duration getAverageResponseTime() {
+			return this.responseTimer.getAverage();
+		}
+
+		/**
+		 * Return the longest time to receive the response status and headers.
+		 */
+		public Duration getMaxResponseTime() {
+			return this.responseTimer.getMax();
+		}
+
+		void exchangeStarted() {
+			this.exchangeCount.increment();
+			int inFlight = this.inFlightExchanges.incrementAndGet();
+			this.maxInFlightExchanges.accumulateAndGet(inFlight, Math::max);
+		}
+
+		void exchangeCompleted() {
+			this.inFlightExchanges.decrementAndGet();
+		}
+
+		@Override
+		public String toString() {
+			return this.host + " [in flight: " + getInFlightExchanges() + ", max in flight: " +
+					getMaxInFlightExchanges() + ", exchanges: " + getExchangeCount() + ", errors: " + getErrorCount() +
+					", avg request ready: " + getAverageRequestReadyTime() +
+					", avg response: " + getAverageResponseTime() + "]";
+		}
+	}
+
+
+	/**
+	 * Accumulated durations, in nanoseconds.
+	 */
+	private static final class Timer {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder total = new LongAdder();
+
+		private final AtomicLong max = new AtomicLong();
+
+		void record(long nanos) {
+			this.count.increment();
+			this.total.add(nanos);
+			this.max.accumulateAndGet(nanos, Math::max);
+		}
+
+		Duration getAverage() {
+			long count = this.count.sum();
+			return Duration.ofNanos(count > 0 ? this.total.sum() / count : 0);
+		}
+
+		Duration getMax() {
+			return Duration.ofNanos(this.max.get());
+		}
+	}
+
+
+	/**
+	 * Metrics recorder for a single exchange.
+	 */
+	private static final class Exchange {
+
+		private final HostMetrics metrics;
+
+		@Nullable
+		private final ExchangeTimings timings;
+
+		private final long startTime = System.nanoTime();
+
+		private final AtomicBoolean requestReady = new AtomicBoolean();
+
+		private final AtomicBoolean completed = new AtomicBoolean();
+
+		Exchange(HostMetrics metrics, @Nullable ExchangeTimings timings) {
+			this.metrics = metrics;
+			this.timings = timings;
+			metrics.exchangeStarted();
+		}
+
+		void requestReady() {
+			if (this.requestReady.compareAndSet(false, true)) {
+				this.metrics.requestReadyTimer.record(System.nanoTime() - this.startTime);
+				if (this.timings != null) {
+					this.timings.requestReady();
+				}
+			}
+		}
+
+		void responseReceived(int statusCode) {
+			this.metrics.responseTimer.record(System.nanoTime() - this.startTime);
+			if (this.timings != null) {
+				this.timings.responseReceived(statusCode);
+			}
+		}
+
+		void failed(Throwable ex) {
+			this.metrics.errorCount.increment();
+			if (this.timings != null) {
+				this.timings.failed(ex);
+			}
+			completed();
+		}
+
+		void completed() {
+			if (this.completed.compareAndSet(false, true)) {
+				this.metrics.exchangeCompleted();
+			}
+		}
+	}
+
+
+	/**
+	 * Response decorator completing the exchange once the body has been
+	 * consumed or released.
+	 */
+	private static final class MetricsClientHttpResponse extends ClientHttpResponseDecorator {
+
+		private final Exchange exchange;
+
+		MetricsClientHttpResponse(ClientHttpResponse delegate, Exchange exchange) {
+			super(delegate);
+			this.exchange = exchange;
+		}
+
+		@Override
+		public Flux<DataBuffer> getBody() {
+			return super.getBody().doFinally(signalType -> this.exchange.completed());
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -46,6 +47,8 @@ import org.springframework.core.codec.EncodingException;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageEncoder;
@@ -60,7 +63,7 @@ import org.springframework.util.MimeType;
 /**
  * Base class providing support methods for Jackson 2.9 encoding. For non-streaming use
  * cases, {@link Flux} elements are collected into a {@link List} before serialization for
- * performance reason.
+ * performance reason, unless a {@link #setFlushThreshold flush threshold} is set.
  *
  * @author Sebastien Deleuze
  * @author Arjen Poutsma
@@ -83,6 +86,8 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 
 	private final List<MediaType> streamingMediaTypes = new ArrayList<>(1);
 
+	private int flushThreshold = -1;
+
 
 	/**
 	 * Constructor with a Jackson {@link ObjectMapper} to use.
@@ -101,6 +106,33 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		this.streamingMediaTypes.addAll(mediaTypes);
 	}
 
+	/**
+	 * Set the number of bytes after which encoded elements of a non-streaming
+	 * {@link Flux} are emitted as a {@link DataBuffer}.
+	 * <p>When set, the elements are written as a JSON array as they arrive,
+	 * through a single {@link JsonGenerator} writing straight into buffers
+	 * from the given {@link DataBufferFactory}, rather than being collected into
+	 * a {@link List} first. The output is emitted in buffers of the given size,
+	 * e.g. 8192 bytes, batching small elements and splitting large ones, with
+	 * a buffer for the remaining output at the end; 0 emits a buffer per element.
+	 * <p>By default this is -1, collecting all elements before encoding them.
+	 * @param flushThreshold the number of bytes per emitted buffer,
+	 * 0 for a buffer per element, or -1 to collect all elements into a list
+	 * @since 5.3.30
+	 */
+	public void setFlushThreshold(int flushThreshold) {
+		Assert.isTrue(flushThreshold >= -1, "Flush threshold must be -1 or greater");
+		this.flushThreshold = flushThreshold;
+	}
+
+	/**
+	 * Return the configured {@link #setFlushThreshold flush threshold}.
+	 * @since 5.3.30
+	 */
+	public int getFlushThreshold() {
+		return this.flushThreshold;
+	}
+
 
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
@@ -159,17 +191,16 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 						throw new IllegalStateException("No ObjectMapper for " + elementType);
 					}
 					ObjectWriter writer = createObjectWriter(mapper, elementType, mimeType, null, hints);
-					ByteArrayBuilder byteBuilder = new ByteArrayBuilder(writer.getFactory()._getBufferRecycler());
+					DataBufferOutputStream outputStream = new DataBufferOutputStream(bufferFactory, 0);
 					JsonEncoding encoding = getJsonEncoding(mimeType);
-					JsonGenerator generator = mapper.getFactory().createGenerator(byteBuilder, encoding);
+					JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, encoding);
 					SequenceWriter sequenceWriter = writer.writeValues(generator);
 
 					return Flux.from(inputStream)
-							.map(value -> encodeStreamingValue(value, bufferFactory, hints, sequenceWriter, byteBuilder,
-									separator))
+							.map(value -> encodeStreamingValue(value, hints, sequenceWriter, outputStream, separator))
 							.doAfterTerminate(() -> {
 								try {
-									byteBuilder.release();
+									outputStream.release();
 									generator.close();
 								}
 								catch (IOException ex) {
@@ -181,6 +212,9 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 					return Flux.error(ex);
 				}
 			}
+			else if (this.flushThreshold >= 0) { // non-streaming, written as it arrives
+				return encodeArray(inputStream, bufferFactory, elementType, mimeType, hints, this.flushThreshold);
+			}
 			else { // non-streaming
 				ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
 				return Flux.from(inputStream)
@@ -248,11 +282,56 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		}
 	}
 
-	private DataBuffer encodeStreamingValue(Object value, DataBufferFactory bufferFactory, @Nullable Map<String, Object> hints,
-			SequenceWriter sequenceWriter, ByteArrayBuilder byteArrayBuilder, byte[] separator) {
+	private DataBuffer encodeStreamingValue(Object value, @Nullable Map<String, Object> hints,
+			SequenceWriter sequenceWriter, DataBufferOutputStream outputStream, byte[] separator) {
 
 		logValue(hints, value);
+		writeValue(sequenceWriter, value);
+
+		DataBuffer buffer = outputStream.take();
+		if (buffer.readableByteCount() > 0 && buffer.getByte(buffer.readPosition()) == ' ') {
+			// SequenceWriter writes an unnecessary space in between values
+			buffer.readPosition(buffer.readPosition() + 1);
+		}
+		buffer.write(separator);
+		Hints.touchDataBuffer(buffer, hints, logger);
+
+		return buffer;
+	}
+
+	private Flux<DataBuffer> encodeArray(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+			ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints,
+			int flushThreshold) {
+
+		ObjectMapper mapper = selectObjectMapper(elementType, mimeType);
+		if (mapper == null) {
+			return Flux.error(new IllegalStateException("No ObjectMapper for " + elementType));
+		}
+		ObjectWriter writer = createObjectWriter(mapper, elementType, mimeType, null, hints);
+		JsonEncoding encoding = getJsonEncoding(mimeType);
+
+		return Flux.using(
+				() -> new ArrayWriter(writer, encoding, new DataBufferOutputStream(bufferFactory, flushThreshold)),
+				arrayWriter -> Flux.from(inputStream)
+						.concatMapIterable(value -> {
+							logValue(hints, value);
+							writeValue(arrayWriter.sequenceWriter, value);
+							return arrayWriter.outputStream.drain(flushThreshold == 0);
+						})
+						.concatWith(Flux.defer(() -> {
+							try {
+								return Flux.fromIterable(arrayWriter.finish());
+							}
+							catch (IOException ex) {
+								return Flux.error(ex);
+							}
+						})),
+				ArrayWriter::close)
+				.doOnNext(buffer -> Hints.touchDataBuffer(buffer, hints, logger))
+				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+	}
 
+	private void writeValue(SequenceWriter sequenceWriter, Object value) {
 		try {
 			sequenceWriter.write(value);
 			sequenceWriter.flush();
@@ -264,29 +343,8 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 			throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
 		}
 		catch (IOException ex) {
-			throw new IllegalStateException("Unexpected I/O error while writing to byte array builder", ex);
-		}
-
-		byte[] bytes = byteArrayBuilder.toByteArray();
-		byteArrayBuilder.reset();
-
-		int offset;
-		int length;
-		if (bytes.length > 0 && bytes[0] == ' ') {
-			// SequenceWriter writes an unnecessary space in between values
-			offset = 1;
-			length = bytes.length - 1;
+			throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
 		}
-		else {
-			offset = 0;
-			length = bytes.length;
-		}
-		DataBuffer buffer = bufferFactory.allocateBuffer(length + separator.length);
-		buffer.write(bytes, offset, length);
-		buffer.write(separator);
-		Hints.touchDataBuffer(buffer, hints, logger);
-
-		return buffer;
 	}
 
 	private void logValue(@Nullable Map<String, Object> hints, Object value) {
@@ -386,4 +444,155 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		return parameter.getMethodAnnotation(annotType);
 	}
 
+
+
+	/**
+	 * {@link OutputStream} writing into {@link DataBuffer DataBuffers} that are
+	 * handed out on demand, either as a single buffer growing as necessary or as
+	 * a series of buffers of a fixed size.
+	 */
+	private static final class DataBufferOutputStream extends OutputStream {
+
+		private final DataBufferFactory bufferFactory;
+
+		private final int bufferSize;
+
+		@Nullable
+		private DataBuffer buffer;
+
+		private final List<DataBuffer> fullBuffers = new ArrayList<>(1);
+
+		private boolean released;
+
+		/**
+		 * Create a new output stream.
+		 * @param bufferFactory the factory to allocate buffers from
+		 * @param bufferSize the size of each buffer, or 0 for a single
+		 * buffer growing as necessary
+		 */
+		DataBufferOutputStream(DataBufferFactory bufferFactory, int bufferSize) {
+			this.bufferFactory = bufferFactory;
+			this.bufferSize = bufferSize;
+		}
+
+		@Override
+		public void write(int b) {
+			if (!this.released) {
+				DataBuffer buffer = obtainBuffer();
+				buffer.write((byte) b);
+				checkFull(buffer);
+			}
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) {
+			while (!this.released && len > 0) {
+				DataBuffer buffer = obtainBuffer();
+				int count = (this.bufferSize > 0 ? Math.min(len, buffer.writableByteCount()) : len);
+				buffer.write(bytes, off, count);
+				checkFull(buffer);
+				off += count;
+				len -= count;
+			}
+		}
+
+		private DataBuffer obtainBuffer() {
+			DataBuffer buffer = this.buffer;
+			if (buffer == null) {
+				buffer = (this.bufferSize > 0 ?
+						this.bufferFactory.allocateBuffer(this.bufferSize) : this.bufferFactory.allocateBuffer());
+				this.buffer = buffer;
+			}
+			return buffer;
+		}
+
+		private void checkFull(DataBuffer buffer) {
+			if (this.bufferSize > 0 && buffer.writableByteCount() == 0) {
+				this.fullBuffers.add(buffer);
+				this.buffer = null;
+			}
+		}
+
+		/**
+		 * Hand out the current buffer, possibly empty, with subsequent
+		 * writes going into a new buffer.
+		 */
+		DataBuffer take() {
+			DataBuffer buffer = obtainBuffer();
+			this.buffer = null;
+			return buffer;
+		}
+
+		/**
+		 * Hand out the buffers written so far.
+		 * @param includeCurrent whether to include the current buffer,
+		 * if not empty, or only buffers that have been filled up
+		 */
+		List<DataBuffer> drain(boolean includeCurrent) {
+			DataBuffer buffer = this.buffer;
+			if (includeCurrent && buffer != null && buffer.readableByteCount() > 0) {
+				this.fullBuffers.add(buffer);
+				this.buffer = null;
+			}
+			if (this.fullBuffers.isEmpty()) {
+				return Collections.emptyList();
+			}
+			List<DataBuffer> buffers = new ArrayList<>(this.fullBuffers);
+			this.fullBuffers.clear();
+			return buffers;
+		}
+
+		/**
+		 * Release all buffers not handed out yet, ignoring any subsequent writes.
+		 */
+		void release() {
+			this.released = true;
+			DataBuffer buffer = this.buffer;
+			if (buffer != null) {
+				this.buffer = null;
+				DataBufferUtils.release(buffer);
+			}
+			this.fullBuffers.forEach(DataBufferUtils::release);
+			this.fullBuffers.clear();
+		}
+	}
+
+
+	/**
+	 * Writer for the elements of a JSON array, holding on to the
+	 * generator and its output for the entire array.
+	 */
+	private static final class ArrayWriter {
+
+		final DataBufferOutputStream outputStream;
+
+		final JsonGenerator generator;
+
+		final SequenceWriter sequenceWriter;
+
+		ArrayWriter(ObjectWriter writer, JsonEncoding encoding, DataBufferOutputStream outputStream)
+				throws IOException {
+
+			this.outputStream = outputStream;
+			this.generator = writer.getFactory().createGenerator(outputStream, encoding);
+			this.sequenceWriter = writer.writeValuesAsArray(this.generator);
+		}
+
+		List<DataBuffer> finish() throws IOException {
+			this.sequenceWriter.close();
+			this.generator.flush();
+			return this.outputStream.drain(true);
+		}
+
+		void close() {
+			this.outputStream.release();
+			try {
+				this.generator.close();
+			}
+			catch (IOException ex) {
+				// ignore: no further output expected
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -73,6 +74,8 @@ final class Jackson2Tokenizer {
 	// See https://github.com/FasterXML/jackson-core/issues/478
 	private final ByteArrayFeeder inputFeeder;
 
+	private byte[] inputBuffer = new byte[0];
+
 
 	private Jackson2Tokenizer(JsonParser parser, DeserializationContext deserializationContext,
 			boolean tokenizeArrayElements, boolean forceUseOfBigDecimal, int maxInMemorySize) {
@@ -90,12 +93,8 @@ final class Jackson2Tokenizer {
 
 	private List<TokenBuffer> tokenize(DataBuffer dataBuffer) {
 		int bufferSize = dataBuffer.readableByteCount();
-		byte[] bytes = new byte[bufferSize];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
-
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			feedInput(dataBuffer);
 			List<TokenBuffer> result = parseTokenBufferFlux();
 			assertInMemorySize(bufferSize, result);
 			return result;
@@ -106,6 +105,32 @@ final class Jackson2Tokenizer {
 		catch (IOException ex) {
 			throw Exceptions.propagate(ex);
 		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
+	}
+
+	/**
+	 * Feed the readable bytes of the given buffer to the parser: straight from
+	 * the backing array of a heap buffer, or otherwise copied into an input
+	 * array that is reused across buffers. The non-blocking parser consumes
+	 * all input before it accepts more, so the bytes only need to remain
+	 * valid until the tokens of the buffer have been parsed.
+	 */
+	private void feedInput(DataBuffer dataBuffer) throws IOException {
+		int length = dataBuffer.readableByteCount();
+		ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+		if (byteBuffer.hasArray()) {
+			int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+			this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + length);
+		}
+		else {
+			if (this.inputBuffer.length < length) {
+				this.inputBuffer = new byte[length];
+			}
+			byteBuffer.get(this.inputBuffer, 0, length);
+			this.inputFeeder.feedInput(this.inputBuffer, 0, length);
+		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,13 @@
 
 package org.springframework.http.codec.multipart;
 
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.UUID;
 import java.util.concurrent.Callable;
 
 import reactor.core.publisher.Flux;
@@ -297,9 +300,44 @@ abstract class DefaultParts {
 					.subscribeOn(this.scheduler);
 		}
 
+		/**
+		 * Copy the file through {@link FileChannel#transferTo}, which lets the
+		 * operating system copy the file content directly where supported,
+		 * without passing it through user-space buffers. As with
+		 * {@link Files#copy} and {@link StandardCopyOption#REPLACE_EXISTING},
+		 * an existing target is replaced rather than written to: the content is
+		 * copied to a new file next to the target, which is then moved over it.
+		 */
 		@Override
 		public Mono<Void> transferTo(Path dest) {
-			return blockingOperation(() -> Files.copy(this.file, dest, StandardCopyOption.REPLACE_EXISTING));
+			return blockingOperation(() -> {
+				Path temp = dest.resolveSibling(dest.getFileName() + "." + UUID.randomUUID() + ".tmp");
+				try {
+					try (FileChannel source = FileChannel.open(this.file, StandardOpenOption.READ);
+							FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE,
+									StandardOpenOption.CREATE_NEW)) {
+						long size = source.size();
+						long position = 0;
+						while (position < size) {
+							long count = source.transferTo(position, size - position, target);
+							if (count <= 0) {
+								break;
+							}
+							position += count;
+						}
+					}
+					try {
+						Files.move(temp, dest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+					}
+					catch (AtomicMoveNotSupportedException ex) {
+						Files.move(temp, dest, StandardCopyOption.REPLACE_EXISTING);
+					}
+				}
+				finally {
+					Files.deleteIfExists(temp);
+				}
+				return null;
+			});
 		}
 
 		@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,7 +19,7 @@ package org.springframework.http.codec.multipart;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.WritableByteChannel;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -596,7 +596,7 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 				if (logger.isTraceEnabled()) {
 					logger.trace("Storing multipart data in file " + tempFile);
 				}
-				WritableByteChannel channel = Files.newByteChannel(tempFile, StandardOpenOption.WRITE);
+				FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
 				return new WritingFileState(this, tempFile, channel);
 			}
 			catch (IOException ex) {
@@ -643,7 +643,7 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 		private final Path file;
 
-		private final WritableByteChannel channel;
+		private final FileChannel channel;
 
 		private final AtomicLong byteCount;
 
@@ -721,7 +721,7 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 		private final Path file;
 
-		private final WritableByteChannel channel;
+		private final FileChannel channel;
 
 		private final AtomicLong byteCount;
 
@@ -732,7 +732,7 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 		private volatile boolean disposed;
 
 
-		public WritingFileState(CreateFileState state, Path file, WritableByteChannel channel) {
+		public WritingFileState(CreateFileState state, Path file, FileChannel channel) {
 			this.headers = state.headers;
 			this.file = file;
 			this.channel = channel;
@@ -774,10 +774,9 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 					this::writeComplete);
 		}
 
-		public void writeBuffers(Iterable<DataBuffer> dataBuffers) {
-			Flux.fromIterable(dataBuffers)
-					.concatMap(this::writeInternal)
-					.then()
+		public void writeBuffers(Collection<DataBuffer> dataBuffers) {
+			Mono.just(dataBuffers)
+					.flatMap(this::writeInternal)
 					.subscribeOn(PartGenerator.this.blockingOperationScheduler)
 					.subscribe(null,
 							PartGenerator.this::emitError,
@@ -803,6 +802,35 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 			}
 		}
 
+		/**
+		 * Write the given buffers with gathering writes, i.e. with a single
+		 * system call for as many buffers as the channel accepts at once.
+		 */
+		@SuppressWarnings("BlockingMethodInNonBlockingContext")
+		private Mono<Void> writeInternal(Collection<DataBuffer> dataBuffers) {
+			try {
+				ByteBuffer[] byteBuffers = new ByteBuffer[dataBuffers.size()];
+				long remaining = 0;
+				int i = 0;
+				for (DataBuffer dataBuffer : dataBuffers) {
+					byteBuffers[i++] = dataBuffer.asByteBuffer();
+					remaining += dataBuffer.readableByteCount();
+				}
+				while (remaining > 0) {
+					remaining -= this.channel.write(byteBuffers);
+				}
+				return Mono.empty();
+			}
+			catch (IOException ex) {
+				MultipartUtils.closeChannel(this.channel);
+				MultipartUtils.deleteFile(this.file);
+				return Mono.error(ex);
+			}
+			finally {
+				dataBuffers.forEach(DataBufferUtils::release);
+			}
+		}
+
 		@SuppressWarnings("BlockingMethodInNonBlockingContext")
 		private Mono<Void> writeInternal(DataBuffer dataBuffer) {
 			try {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,7 +92,12 @@ public class StringHttpMessageConverter extends AbstractHttpMessageConverter<Str
 
 	@Override
 	protected String readInternal(Class<? extends String> clazz, HttpInputMessage inputMessage) throws IOException {
-		Charset charset = getContentTypeCharset(inputMessage.getHeaders().getContentType());
+		HttpHeaders headers = inputMessage.getHeaders();
+		Charset charset = getContentTypeCharset(headers.getContentType());
+		long contentLength = headers.getContentLength();
+		if (contentLength >= 0) {
+			return new String(StreamUtils.copyToByteArray(inputMessage.getBody(), contentLength), charset);
+		}
 		return StreamUtils.copyToString(inputMessage.getBody(), charset);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -108,11 +108,21 @@ public class ServletHttpHandlerAdapter implements Servlet {
 		return this.servletPath;
 	}
 
+	/**
+	 * Set the {@link DataBufferFactory} for request body buffers, and for response
+	 * body buffers allocated through the {@code ServerHttpResponse}.
+	 * <p>By default this is the shared {@link DefaultDataBufferFactory} instance.
+	 * Consider a {@link org.springframework.core.io.buffer.PooledDataBufferFactory}
+	 * to recycle buffer memory across requests instead.
+	 */
 	public void setDataBufferFactory(DataBufferFactory dataBufferFactory) {
 		Assert.notNull(dataBufferFactory, "DataBufferFactory must not be null");
 		this.dataBufferFactory = dataBufferFactory;
 	}
 
+	/**
+	 * Return the configured {@link DataBufferFactory}.
+	 */
 	public DataBufferFactory getDataBufferFactory() {
 		return this.dataBufferFactory;
 	}
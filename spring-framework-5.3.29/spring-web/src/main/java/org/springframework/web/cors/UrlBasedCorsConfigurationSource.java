@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,6 @@
 package org.springframework.web.cors;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
@@ -32,6 +31,7 @@ import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
 import org.springframework.web.util.pattern.PathPattern;
 import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PathPatternSet;
 
 /**
  * {@code CorsConfigurationSource} that uses URL path patterns to select the
@@ -67,7 +67,7 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 
 	private boolean allowInitLookupPath = true;
 
-	private final Map<PathPattern, CorsConfiguration> corsConfigurations = new LinkedHashMap<>();
+	private final PathPatternSet<CorsConfiguration> corsConfigurations = new PathPatternSet<>();
 
 
 	/**
@@ -225,7 +225,7 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	 * @see AntPathMatcher
 	 */
 	public void registerCorsConfiguration(String pattern, CorsConfiguration config) {
-		this.corsConfigurations.put(this.patternParser.parse(pattern), config);
+		this.corsConfigurations.add(this.patternParser.parse(pattern), config);
 	}
 
 	/**
@@ -233,7 +233,9 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	 */
 	public Map<String, CorsConfiguration> getCorsConfigurations() {
 		Map<String, CorsConfiguration> result = CollectionUtils.newHashMap(this.corsConfigurations.size());
-		this.corsConfigurations.forEach((pattern, config) -> result.put(pattern.getPatternString(), config));
+		for (PathPattern pattern : this.corsConfigurations.getPatterns()) {
+			result.put(pattern.getPatternString(), this.corsConfigurations.get(pattern));
+		}
 		return Collections.unmodifiableMap(result);
 	}
 
@@ -242,13 +244,14 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	@Nullable
 	public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
 		Object path = resolvePath(request);
-		boolean isPathContainer = (path instanceof PathContainer);
-		for (Map.Entry<PathPattern, CorsConfiguration> entry : this.corsConfigurations.entrySet()) {
-			if (match(path, isPathContainer, entry.getKey())) {
-				return entry.getValue();
+		if (path instanceof PathContainer) {
+			return this.corsConfigurations.getFirstMatchingValue((PathContainer) path);
+		}
+		for (PathPattern pattern : this.corsConfigurations.getPatterns()) {
+			if (this.pathMatcher.match(pattern.getPatternString(), (String) path)) {
+				return this.corsConfigurations.get(pattern);
 			}
 		}
-
 		return null;
 	}
 
@@ -266,10 +269,4 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 		return lookupPath;
 	}
 
-	private boolean match(Object path, boolean isPathContainer, PathPattern pattern) {
-		return (isPathContainer ?
-				pattern.matches((PathContainer) path) :
-				this.pathMatcher.match(pattern.getPatternString(), (String) path));
-	}
-
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,6 @@
 
 package org.springframework.web.cors.reactive;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.http.server.PathContainer;
@@ -25,6 +24,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.pattern.PathPattern;
 import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PathPatternSet;
 
 /**
  * {@code CorsConfigurationSource} that uses URL patterns to select the
@@ -39,7 +39,7 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 
 	private final PathPatternParser patternParser;
 
-	private final Map<PathPattern, CorsConfiguration> corsConfigurations = new LinkedHashMap<>();
+	private final PathPatternSet<CorsConfiguration> corsConfigurations = new PathPatternSet<>();
 
 
 	/**
@@ -74,19 +74,14 @@ public class UrlBasedCorsConfigurationSource implements CorsConfigurationSource
 	 * Register a {@link CorsConfiguration} for the specified path pattern.
 	 */
 	public void registerCorsConfiguration(String path, CorsConfiguration config) {
-		this.corsConfigurations.put(this.patternParser.parse(path), config);
+		this.corsConfigurations.add(this.patternParser.parse(path), config);
 	}
 
 	@Override
 	@Nullable
 	public CorsConfiguration getCorsConfiguration(ServerWebExchange exchange) {
 		PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
-		for (Map.Entry<PathPattern, CorsConfiguration> entry : this.corsConfigurations.entrySet()) {
-			if (entry.getKey().matches(path)) {
-				return entry.getValue();
-			}
-		}
-		return null;
+		return this.corsConfigurations.getFirstMatchingValue(path);
 	}
 
 }
@@ -0,0 +1,413 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Cache for the metadata of static resources, i.e. their content length,
+ * last-modified timestamp, content hash and media type, for serving resources
+ * without accessing the file system for every request.
+ *
+ * <p>Resources in the file system are cached until they change, as reported
+ * through a {@link WatchService} for their directory. Pending file change
+ * events are applied on access, without blocking. Depending on the platform,
+ * the {@code WatchService} uses a background thread of the JDK, and on platforms
+ * without native file change notifications, changes may only be picked up
+ * after a few seconds. The {@code WatchService} is closed on {@link #destroy()}.
+ * Resources in jar files are cached as they are, whereas other resources,
+ * e.g. transformed resources held in memory, are not cached at all.
+ *
+ * <p>The number of cached entries is limited, with the least recently used
+ * entries being evicted first. Since each entry holds a fixed set of values
+ * rather than the content of a resource, the memory used per entry is small
+ * and independent of the size of the resource; the content hash is computed
+ * once per version of a resource, by reading it.
+ *
+ * @since 5.3.30
+ */
+public class ResourceMetadataCache implements DisposableBean {
+
+	/**
+	 * The default maximum number of cached entries.
+	 */
+	public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+
+	private final int cacheLimit;
+
+	private final Map<Resource, ResourceMetadata> cache;
+
+	private final Map<Path, Set<Resource>> resourcesByFile = new HashMap<>();
+
+	@Nullable
+	private final WatchService watchService;
+
+	private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+
+	private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+
+	private volatile long changeCount;
+
+	private volatile boolean closed;
+
+
+	/**
+	 * Create a new {@code ResourceMetadataCache} with the
+	 * {@linkplain #DEFAULT_CACHE_LIMIT default cache limit}.
+	 */
+	public ResourceMetadataCache() {
+		this(DEFAULT_CACHE_LIMIT);
+	}
+
+	/**
+	 * Create a new {@code ResourceMetadataCache} with the given cache limit.
+	 * @param cacheLimit the maximum number of cached entries
+	 */
+	public ResourceMetadataCache(int cacheLimit) {
+		Assert.isTrue(cacheLimit > 0, "Cache limit must be greater than 0");
+		this.cacheLimit = cacheLimit;
+		this.cache = new LinkedHashMap<Resource, ResourceMetadata>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Resource, ResourceMetadata> eldest) {
+				if (size() > ResourceMetadataCache.this.cacheLimit) {
+					removeFileMapping(eldest.getKey(), eldest.getValue());
+					return true;
+				}
+				return false;
+			}
+		};
+		this.watchService = createWatchService();
+	}
+
+	@Nullable
+	private static WatchService createWatchService() {
+		try {
+			return FileSystems.getDefault().newWatchService();
+		}
+		catch (IOException | UnsupportedOperationException ex) {
+			// No file change notifications: resources in the file system not cacheable
+			return null;
+		}
+	}
+
+
+	/**
+	 * Return the maximum number of cached entries.
+	 */
+	public int getCacheLimit() {
+		return this.cacheLimit;
+	}
+
+	/**
+	 * Return the current number of cached entries.
+	 */
+	public int size() {
+		applyChanges();
+		synchronized (this.cache) {
+			return this.cache.size();
+		}
+	}
+
+	/**
+	 * Return the cached metadata for the given resource, if any, without
+	 * accessing the resource. This can be used to check for a cached entry
+	 * before calling {@link #getMetadata} on a thread that may block.
+	 * @param resource the resource to return the metadata for
+	 * @return the metadata, or {@code null} if not cached
+	 */
+	@Nullable
+	public ResourceMetadata getCachedMetadata(Resource resource) {
+		applyChanges();
+		synchronized (this.cache) {
+			return this.cache.get(resource);
+		}
+	}
+
+	/**
+	 * Return the metadata for the given resource, determining and caching it
+	 * if not cached yet. This may block in order to read the resource.
+	 * @param resource the resource to return the metadata for
+	 * @return the metadata, or {@code null} if the resource is not cacheable
+	 * @throws IOException if the resource could not be read
+	 */
+	@Nullable
+	public ResourceMetadata getMetadata(Resource resource) throws IOException {
+		ResourceMetadata metadata = getCachedMetadata(resource);
+		if (metadata != null) {
+			return metadata;
+		}
+
+		Path file = null;
+		if (resource.isFile()) {
+			if (this.watchService == null || this.closed) {
+				return null;
+			}
+			file = resource.getFile().toPath().toAbsolutePath().normalize();
+			if (!watchDirectory(file.getParent())) {
+				return null;
+			}
+		}
+		else {
+			URL url = getUrl(resource);
+			if (url == null || !ResourceUtils.isJarURL(url)) {
+				return null;
+			}
+		}
+
+		long changeCount = this.changeCount;
+		metadata = new ResourceMetadata(resource, file);
+		applyChanges();
+		synchronized (this.cache) {
+			if (this.changeCount == changeCount) {
+				this.cache.put(resource, metadata);
+				if (file != null) {
+					this.resourcesByFile.computeIfAbsent(file, key -> new HashSet<>()).add(resource);
+				}
+			}
+		}
+		return metadata;
+	}
+
+	@Nullable
+	private static URL getUrl(Resource resource) {
+		try {
+			return resource.getURL();
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Evict all cached entries.
+	 */
+	public void clear() {
+		synchronized (this.cache) {
+			this.cache.clear();
+			this.resourcesByFile.clear();
+			this.changeCount++;
+		}
+	}
+
+	/**
+	 * Close the {@link WatchService} and evict all cached entries. File system
+	 * resources are not cached anymore after this, since changes to them
+	 * could not be detected.
+	 */
+	@Override
+	public void destroy() {
+		this.closed = true;
+		if (this.watchService != null) {
+			try {
+				this.watchService.close();
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+		}
+		this.directories.clear();
+		this.watchedDirectories.clear();
+		clear();
+	}
+
+	private boolean watchDirectory(@Nullable Path directory) throws IOException {
+		Assert.state(this.watchService != null, "No WatchService");
+		if (directory != null && this.watchedDirectories.add(directory)) {
+			try {
+				WatchKey key = directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+				this.directories.put(key, directory);
+			}
+			catch (ClosedWatchServiceException ex) {
+				this.watchedDirectories.remove(directory);
+				return false;
+			}
+			catch (IOException ex) {
+				this.watchedDirectories.remove(directory);
+				throw ex;
+			}
+		}
+		return true;
+	}
+
+	private void applyChanges() {
+		if (this.watchService == null || this.closed) {
+			return;
+		}
+		WatchKey key;
+		while ((key = pollWatchService(this.watchService)) != null) {
+			Path directory = this.directories.get(key);
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW || directory == null) {
+					clear();
+				}
+				else {
+					evict(directory.resolve((Path) event.context()));
+				}
+			}
+			if (!key.reset()) {
+				this.directories.remove(key);
+				if (directory != null) {
+					this.watchedDirectories.remove(directory);
+					evictDirectory(directory);
+				}
+			}
+		}
+	}
+
+	@Nullable
+	private static WatchKey pollWatchService(WatchService watchService) {
+		try {
+			return watchService.poll();
+		}
+		catch (ClosedWatchServiceException ex) {
+			// Closed concurrently: entries evicted on destroy
+			return null;
+		}
+	}
+
+	private void evict(Path file) {
+		synchronized (this.cache) {
+			Set<Resource> resources = this.resourcesByFile.remove(file);
+			if (resources != null) {
+				resources.forEach(this.cache::remove);
+			}
+			this.changeCount++;
+		}
+	}
+
+	private void evictDirectory(Path directory) {
+		synchronized (this.cache) {
+			this.resourcesByFile.entrySet().removeIf(entry -> {
+				if (entry.getKey().startsWith(directory)) {
+					entry.getValue().forEach(this.cache::remove);
+					return true;
+				}
+				return false;
+			});
+			this.changeCount++;
+		}
+	}
+
+	private void removeFileMapping(Resource resource, ResourceMetadata metadata) {
+		if (metadata.file != null) {
+			Set<Resource> resources = this.resourcesByFile.get(metadata.file);
+			if (resources != null) {
+				resources.remove(resource);
+				if (resources.isEmpty()) {
+					this.resourcesByFile.remove(metadata.file);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * The cached metadata of a resource.
+	 */
+	public static final class ResourceMetadata {
+
+		@Nullable
+		private final Path file;
+
+		private final long contentLength;
+
+		private final long lastModified;
+
+		private final String contentHash;
+
+		private final String eTag;
+
+		@Nullable
+		private final MediaType mediaType;
+
+		ResourceMetadata(Resource resource, @Nullable Path file) throws IOException {
+			this.file = file;
+			this.contentLength = resource.contentLength();
+			this.lastModified = resource.lastModified();
+			try (InputStream inputStream = resource.getInputStream()) {
+				this.contentHash = DigestUtils.md5DigestAsHex(inputStream);
+			}
+			this.eTag = "\"" + this.contentHash + "\"";
+			this.mediaType = MediaTypeFactory.getMediaType(resource).orElse(null);
+		}
+
+		/**
+		 * Return the content length of the resource.
+		 */
+		public long getContentLength() {
+			return this.contentLength;
+		}
+
+		/**
+		 * Return the last-modified timestamp of the resource.
+		 */
+		public long getLastModified() {
+			return this.lastModified;
+		}
+
+		/**
+		 * Return the hex MD5 hash of the content of the resource,
+		 * as also used by content-based version strategies.
+		 */
+		public String getContentHash() {
+			return this.contentHash;
+		}
+
+		/**
+		 * Return a strong ETag for the resource, based on its content hash.
+		 */
+		public String getETag() {
+			return this.eTag;
+		}
+
+		/**
+		 * Return the media type of the resource as determined from its file name
+		 * through {@link MediaTypeFactory}, if any.
+		 */
+		@Nullable
+		public MediaType getMediaType() {
+			return this.mediaType;
+		}
+	}
+
+}
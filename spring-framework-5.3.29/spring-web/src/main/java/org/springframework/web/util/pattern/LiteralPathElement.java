@@ -123,6 +123,14 @@ class LiteralPathElement extends PathElement {
 		return true;
 	}
 
+	/**
+	 * Whether this element matches case-sensitively, with {@link #getChars()}
+	 * exposing lower-case text otherwise.
+	 */
+	boolean isCaseSensitive() {
+		return this.caseSensitive;
+	}
+
 	@Override
 	public String toString() {
 		return "Literal(" + String.valueOf(this.text) + ")";
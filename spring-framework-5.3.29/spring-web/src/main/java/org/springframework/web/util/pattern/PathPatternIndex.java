@@ -0,0 +1,332 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Index over the {@link PathPattern PathPatterns} of a number of values, narrowing
+ * down the values with a pattern that may match a given path, without having to
+ * match each pattern in turn.
+ *
+ * <p>Patterns are arranged in a trie keyed by path segments, built from the chain
+ * of elements of each pattern: literal segments are keyed by their text, while
+ * segments with captures, wildcards or regular expressions lead to a single
+ * child node for any path segment. Patterns ending with {@code /**} or
+ * {@code /{*path}} are held at the node where the remaining path starts.
+ * A lookup walks the trie along the segments of the path and returns the values
+ * of all patterns encountered on the way that may match, typically only a few
+ * of all indexed patterns. Such candidates still need to be matched against the
+ * path; patterns which do not fit the trie structure are always returned.
+ *
+ * <p>Not thread-safe: lookups may be performed concurrently, but need to be
+ * guarded against concurrent modifications of the index.
+ *
+ * @since 5.3.30
+ * @param <T> the type of values indexed by their patterns
+ */
+public class PathPatternIndex<T> {
+
+	private static final String[] NO_SEGMENTS = new String[0];
+
+
+	private final Node<T> root = new Node<>();
+
+	private final List<T> unindexedValues = new ArrayList<>();
+
+	private int size;
+
+
+	/**
+	 * Add the given value, to be returned as candidate for paths
+	 * that the given pattern may match.
+	 * @param pattern the pattern to index the value by
+	 * @param value the value to add
+	 */
+	public void add(PathPattern pattern, T value) {
+		Assert.notNull(pattern, "PathPattern must not be null");
+		Assert.notNull(value, "Value must not be null");
+		List<T> values = getValues(pattern, true);
+		Assert.state(values != null, "No values");
+		values.add(value);
+		this.size++;
+	}
+
+	/**
+	 * Remove the given value as previously {@linkplain #add added} for the given pattern.
+	 * @param pattern the pattern that the value has been indexed by
+	 * @param value the value to remove
+	 * @return {@code true} if the value has been removed,
+	 * {@code false} if it was not indexed by the given pattern
+	 */
+	public boolean remove(PathPattern pattern, T value) {
+		List<T> values = getValues(pattern, false);
+		if (values != null && values.remove(value)) {
+			this.size--;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Return the number of values in this index, counting each
+	 * value once per pattern that it has been added for.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return whether this index does not contain any values.
+	 */
+	public boolean isEmpty() {
+		return (this.size == 0);
+	}
+
+	/**
+	 * Return the values with a pattern that may match the given path. This is a
+	 * superset of the values with a matching pattern, so each candidate needs
+	 * to be matched against the path.
+	 * @param path the path to look up
+	 * @return the candidate values, in no particular order and without duplicates
+	 */
+	public Set<T> getCandidates(PathContainer path) {
+		Set<T> candidates = new LinkedHashSet<>();
+		candidates.addAll(this.unindexedValues);
+		String[] segments = getSegments(path);
+		if (segments != null) {
+			collectCandidates(this.root, segments, 0, candidates);
+		}
+		else {
+			collectAll(this.root, candidates);
+		}
+		return candidates;
+	}
+
+
+	/**
+	 * Find the value list for the given pattern.
+	 * @param pattern the pattern
+	 * @param create whether to create missing nodes and lists
+	 * @return the value list, or {@code null} if not created
+	 */
+	@Nullable
+	private List<T> getValues(PathPattern pattern, boolean create) {
+		Node<T> node = this.root;
+		PathElement element = pattern.getHeadSection();
+		while (element != null) {
+			if (element instanceof WildcardTheRestPathElement || element instanceof CaptureTheRestPathElement) {
+				if (element.next != null) {
+					return this.unindexedValues;
+				}
+				if (node.restValues == null && create) {
+					node.restValues = new ArrayList<>(1);
+				}
+				return node.restValues;
+			}
+			if (!(element instanceof SeparatorPathElement)) {
+				return this.unindexedValues;
+			}
+			element = element.next;
+			if (element == null || element instanceof SeparatorPathElement) {
+				// Empty segment, e.g. trailing separator
+				node = node.getLiteralChild("", create);
+			}
+			else if (element instanceof LiteralPathElement) {
+				LiteralPathElement literal = (LiteralPathElement) element;
+				String text = String.valueOf(literal.getChars());
+				node = (literal.isCaseSensitive() ?
+						node.getLiteralChild(text, create) : node.getCaseInsensitiveChild(text, create));
+				element = element.next;
+			}
+			else if (element instanceof CaptureVariablePathElement || element instanceof WildcardPathElement ||
+					element instanceof SingleCharWildcardedPathElement || element instanceof RegexPathElement) {
+				node = node.getAnyChild(create);
+				element = element.next;
+			}
+			else {
+				return this.unindexedValues;
+			}
+			if (node == null) {
+				return null;
+			}
+		}
+		if (node.values == null && create) {
+			node.values = new ArrayList<>(1);
+		}
+		return node.values;
+	}
+
+	/**
+	 * Split the given path into the values to match of its segments, with each
+	 * separator starting a new segment, i.e. with empty segments for a trailing
+	 * separator or for consecutive separators.
+	 * @return the segments, or {@code null} if the path does not start with a separator
+	 */
+	@Nullable
+	private static String[] getSegments(PathContainer path) {
+		List<PathContainer.Element> elements = path.elements();
+		if (elements.isEmpty()) {
+			return NO_SEGMENTS;
+		}
+		if (!(elements.get(0) instanceof PathContainer.Separator)) {
+			return null;
+		}
+		int count = 0;
+		for (PathContainer.Element element : elements) {
+			if (element instanceof PathContainer.Separator) {
+				count++;
+			}
+		}
+		String[] segments = new String[count];
+		int index = -1;
+		for (PathContainer.Element element : elements) {
+			if (element instanceof PathContainer.PathSegment) {
+				segments[index] = ((PathContainer.PathSegment) element).valueToMatch();
+			}
+			else {
+				segments[++index] = "";
+			}
+		}
+		return segments;
+	}
+
+	private void collectCandidates(Node<T> node, String[] segments, int index, Set<T> candidates) {
+		addAll(node.restValues, candidates);
+		if (index == segments.length) {
+			addAll(node.values, candidates);
+			return;
+		}
+		String segment = segments[index];
+		if (segment.isEmpty() && index == segments.length - 1) {
+			// Patterns optionally matching a trailing separator
+			addAll(node.values, candidates);
+		}
+		if (node.literalChildren != null) {
+			Node<T> child = node.literalChildren.get(segment);
+			if (child != null) {
+				collectCandidates(child, segments, index + 1, candidates);
+			}
+		}
+		if (node.caseInsensitiveChildren != null) {
+			Node<T> child = node.caseInsensitiveChildren.get(toLowerCase(segment));
+			if (child != null) {
+				collectCandidates(child, segments, index + 1, candidates);
+			}
+		}
+		if (node.anyChild != null) {
+			collectCandidates(node.anyChild, segments, index + 1, candidates);
+		}
+	}
+
+	private void collectAll(Node<T> node, Set<T> candidates) {
+		addAll(node.restValues, candidates);
+		addAll(node.values, candidates);
+		if (node.literalChildren != null) {
+			node.literalChildren.values().forEach(child -> collectAll(child, candidates));
+		}
+		if (node.caseInsensitiveChildren != null) {
+			node.caseInsensitiveChildren.values().forEach(child -> collectAll(child, candidates));
+		}
+		if (node.anyChild != null) {
+			collectAll(node.anyChild, candidates);
+		}
+	}
+
+	private static <T> void addAll(@Nullable List<T> values, Set<T> candidates) {
+		if (values != null) {
+			candidates.addAll(values);
+		}
+	}
+
+	/**
+	 * Lower-case the given text the same way as {@link LiteralPathElement} does.
+	 */
+	private static String toLowerCase(String text) {
+		char[] chars = new char[text.length()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(text.charAt(i));
+		}
+		return new String(chars);
+	}
+
+
+	/**
+	 * Trie node for a path segment.
+	 */
+	private static final class Node<T> {
+
+		@Nullable
+		Map<String, Node<T>> literalChildren;
+
+		@Nullable
+		Map<String, Node<T>> caseInsensitiveChildren;
+
+		@Nullable
+		Node<T> anyChild;
+
+		/** Values with a pattern ending at this node. */
+		@Nullable
+		List<T> values;
+
+		/** Values with a pattern matching any remaining path from this node. */
+		@Nullable
+		List<T> restValues;
+
+		@Nullable
+		Node<T> getLiteralChild(String text, boolean create) {
+			if (this.literalChildren == null) {
+				if (!create) {
+					return null;
+				}
+				this.literalChildren = new HashMap<>();
+			}
+			return (create ? this.literalChildren.computeIfAbsent(text, key -> new Node<>()) :
+					this.literalChildren.get(text));
+		}
+
+		@Nullable
+		Node<T> getCaseInsensitiveChild(String text, boolean create) {
+			if (this.caseInsensitiveChildren == null) {
+				if (!create) {
+					return null;
+				}
+				this.caseInsensitiveChildren = new HashMap<>();
+			}
+			return (create ? this.caseInsensitiveChildren.computeIfAbsent(text, key -> new Node<>()) :
+					this.caseInsensitiveChildren.get(text));
+		}
+
+		@Nullable
+		Node<T> getAnyChild(boolean create) {
+			if (this.anyChild == null && create) {
+				this.anyChild = new Node<>();
+			}
+			return this.anyChild;
+		}
+	}
+
+}
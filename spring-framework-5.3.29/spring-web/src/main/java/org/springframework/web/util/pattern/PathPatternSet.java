@@ -0,0 +1,347 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A set of {@link PathPattern PathPatterns} with an associated value each,
+ * matching a path against all of its patterns at once.
+ *
+ * <p>Patterns are held in a {@link PathPatternIndex}, so that a lookup only
+ * matches the few patterns which may match the given path, instead of looping
+ * over all patterns. The cost of a lookup therefore mostly depends on the
+ * number of segments of the path rather than on the number of patterns.
+ *
+ * <p>Matches are returned in specificity order, as defined by
+ * {@link PathPattern#SPECIFICITY_COMPARATOR}, with patterns of the same
+ * specificity in registration order.
+ *
+ * <p>Not thread-safe: lookups may be performed concurrently, but need to be
+ * guarded against concurrent modifications of the set.
+ *
+ * @since 5.3.30
+ * @param <T> the type of values associated with the patterns
+ */
+public class PathPatternSet<T> {
+
+	private static final Comparator<Entry<?>> SPECIFICITY_ORDER =
+			Comparator.<Entry<?>, PathPattern>comparing(entry -> entry.pattern, PathPattern.SPECIFICITY_COMPARATOR)
+					.thenComparingLong(entry -> entry.order);
+
+
+	private final Map<PathPattern, Entry<T>> entries = new LinkedHashMap<>();
+
+	private final PathPatternIndex<Entry<T>> index = new PathPatternIndex<>();
+
+	private final Map<PathPattern, T> mapView = new MapView();
+
+	private long order;
+
+
+	/**
+	 * Add the given pattern with the given value, replacing the value
+	 * of an equal pattern that has been added before.
+	 * @param pattern the pattern to add
+	 * @param value the value to associate with the pattern
+	 * @return the previous value for the pattern, or {@code null} if none
+	 */
+	@Nullable
+	public T add(PathPattern pattern, T value) {
+		Assert.notNull(pattern, "PathPattern must not be null");
+		Assert.notNull(value, "Value must not be null");
+		Entry<T> existing = this.entries.get(pattern);
+		if (existing != null) {
+			T previousValue = existing.value;
+			existing.value = value;
+			return previousValue;
+		}
+		Entry<T> entry = new Entry<>(pattern, value, this.order++);
+		this.entries.put(pattern, entry);
+		this.index.add(pattern, entry);
+		return null;
+	}
+
+	/**
+	 * Remove the given pattern along with its value.
+	 * @param pattern the pattern to remove
+	 * @return the value of the removed pattern, or {@code null} if not found
+	 */
+	@Nullable
+	public T remove(PathPattern pattern) {
+		Entry<T> entry = this.entries.remove(pattern);
+		if (entry == null) {
+			return null;
+		}
+		this.index.remove(pattern, entry);
+		return entry.value;
+	}
+
+	/**
+	 * Remove all patterns.
+	 */
+	public void clear() {
+		for (Entry<T> entry : this.entries.values()) {
+			this.index.remove(entry.pattern, entry);
+		}
+		this.entries.clear();
+	}
+
+	/**
+	 * Return the value for the given pattern.
+	 * @param pattern the pattern to look up
+	 * @return the value, or {@code null} if the pattern is not contained in this set
+	 */
+	@Nullable
+	public T get(PathPattern pattern) {
+		Entry<T> entry = this.entries.get(pattern);
+		return (entry != null ? entry.value : null);
+	}
+
+	/**
+	 * Return the number of patterns in this set.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Return whether this set does not contain any patterns.
+	 */
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	/**
+	 * Match the given path against all patterns in this set.
+	 * @param path the path to match
+	 * @return all matches with their extracted variables, most specific first
+	 * (or an empty list if no pattern matches)
+	 */
+	public List<Match<T>> getMatches(PathContainer path) {
+		List<Entry<T>> matches = null;
+		for (Entry<T> entry : this.index.getCandidates(path)) {
+			if (entry.pattern.matches(path)) {
+				matches = (matches != null ? matches : new ArrayList<>());
+				matches.add(entry);
+			}
+		}
+		if (matches == null) {
+			return Collections.emptyList();
+		}
+		matches.sort(SPECIFICITY_ORDER);
+		List<Match<T>> result = new ArrayList<>(matches.size());
+		for (Entry<T> entry : matches) {
+			result.add(createMatch(entry, path));
+		}
+		return result;
+	}
+
+	/**
+	 * Return the most specific match for the given path, extracting variables
+	 * for that match only.
+	 * @param path the path to match
+	 * @return the most specific match, or {@code null} if no pattern matches
+	 */
+	@Nullable
+	public Match<T> getBestMatch(PathContainer path) {
+		Entry<T> bestMatch = null;
+		for (Entry<T> entry : this.index.getCandidates(path)) {
+			if ((bestMatch == null || SPECIFICITY_ORDER.compare(entry, bestMatch) < 0) && entry.pattern.matches(path)) {
+				bestMatch = entry;
+			}
+		}
+		return (bestMatch != null ? createMatch(bestMatch, path) : null);
+	}
+
+	/**
+	 * Return the value of the first pattern in registration order that matches
+	 * the given path, for lookups which do not take specificity into account.
+	 * @param path the path to match
+	 * @return the value of the first matching pattern, or {@code null} if no pattern matches
+	 */
+	@Nullable
+	public T getFirstMatchingValue(PathContainer path) {
+		Entry<T> firstMatch = null;
+		for (Entry<T> entry : this.index.getCandidates(path)) {
+			if ((firstMatch == null || entry.order < firstMatch.order) && entry.pattern.matches(path)) {
+				firstMatch = entry;
+			}
+		}
+		return (firstMatch != null ? firstMatch.value : null);
+	}
+
+	/**
+	 * Return the patterns of this set, in registration order.
+	 */
+	public Set<PathPattern> getPatterns() {
+		return Collections.unmodifiableSet(this.entries.keySet());
+	}
+
+	/**
+	 * Return an unmodifiable view of the patterns of this set along with their
+	 * values, in registration order.
+	 */
+	public Map<PathPattern, T> asMap() {
+		return this.mapView;
+	}
+
+	private Match<T> createMatch(Entry<T> entry, PathContainer path) {
+		PathPattern.PathMatchInfo matchInfo = entry.pattern.matchAndExtract(path);
+		Assert.state(matchInfo != null, "Expected a match");
+		return new Match<>(entry.pattern, entry.value, matchInfo);
+	}
+
+	@Override
+	public String toString() {
+		return "PathPatternSet " + this.entries.keySet();
+	}
+
+
+	/**
+	 * A pattern from the set, along with its value and the variables
+	 * extracted from a matching path.
+	 * @param <T> the type of the value
+	 */
+	public static final class Match<T> {
+
+		private final PathPattern pattern;
+
+		private final T value;
+
+		private final PathPattern.PathMatchInfo matchInfo;
+
+		Match(PathPattern pattern, T value, PathPattern.PathMatchInfo matchInfo) {
+			this.pattern = pattern;
+			this.value = value;
+			this.matchInfo = matchInfo;
+		}
+
+		/**
+		 * Return the matching pattern.
+		 */
+		public PathPattern getPattern() {
+			return this.pattern;
+		}
+
+		/**
+		 * Return the value associated with the matching pattern.
+		 */
+		public T getValue() {
+			return this.value;
+		}
+
+		/**
+		 * Return the URI variables and matrix variables extracted from the path.
+		 */
+		public PathPattern.PathMatchInfo getMatchInfo() {
+			return this.matchInfo;
+		}
+
+		@Override
+		public String toString() {
+			return "Match for '" + this.pattern + "': " + this.value;
+		}
+	}
+
+
+	/**
+	 * Read-only {@link Map} view of the entries of the enclosing set.
+	 */
+	private final class MapView extends AbstractMap<PathPattern, T> {
+
+		@Override
+		public int size() {
+			return PathPatternSet.this.entries.size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return PathPatternSet.this.entries.containsKey(key);
+		}
+
+		@Override
+		@Nullable
+		public T get(Object key) {
+			PathPatternSet.Entry<T> entry = PathPatternSet.this.entries.get(key);
+			return (entry != null ? entry.value : null);
+		}
+
+		@Override
+		public Set<PathPattern> keySet() {
+			return getPatterns();
+		}
+
+		@Override
+		public Set<Map.Entry<PathPattern, T>> entrySet() {
+			return new AbstractSet<Map.Entry<PathPattern, T>>() {
+				@Override
+				public Iterator<Map.Entry<PathPattern, T>> iterator() {
+					Iterator<PathPatternSet.Entry<T>> iterator = PathPatternSet.this.entries.values().iterator();
+					return new Iterator<Map.Entry<PathPattern, T>>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+						@Override
+						public Map.Entry<PathPattern, T> next() {
+							PathPatternSet.Entry<T> entry = iterator.next();
+							return new SimpleImmutableEntry<>(entry.pattern, entry.value);
+						}
+					};
+				}
+				@Override
+				public int size() {
+					return PathPatternSet.this.entries.size();
+				}
+			};
+		}
+	}
+
+
+	/**
+	 * Entry in the index, with its registration order.
+	 */
+	private static final class Entry<T> {
+
+		final PathPattern pattern;
+
+		T value;
+
+		final long order;
+
+		Entry(PathPattern pattern, T value, long order) {
+			this.pattern = pattern;
+			this.value = value;
+			this.order = order;
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.client.support.HttpRequestWrapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -181,6 +182,56 @@ public class InterceptingClientHttpRequestFactoryTests {
 	}
 
 
+	@Test
+	public void streamingBody() throws Exception {
+		StreamingRequestMock streamingRequestMock = new StreamingRequestMock();
+		requestMock = streamingRequestMock;
+		List<StreamingNoOpInterceptor> interceptors = Arrays.asList(new StreamingNoOpInterceptor(), new StreamingNoOpInterceptor());
+		requestFactory = new InterceptingClientHttpRequestFactory(requestFactoryMock, new ArrayList<>(interceptors));
+
+		ClientHttpRequest request = requestFactory.createRequest(new URI("https://example.com"), HttpMethod.POST);
+		StreamingHttpOutputMessage.Body body = outputStream -> outputStream.write("Foo".getBytes());
+		((StreamingHttpOutputMessage) request).setBody(body);
+		request.execute();
+
+		assertThat(interceptors.get(0).body).isSameAs(body);
+		assertThat(interceptors.get(1).body).isSameAs(body);
+		assertThat(streamingRequestMock.streamingBody).isSameAs(body);
+		assertThat(requestMock.executed).isTrue();
+	}
+
+	@Test
+	public void streamingBodyWrittenToNonStreamingRequest() throws Exception {
+		requestFactory = new InterceptingClientHttpRequestFactory(requestFactoryMock,
+				Collections.singletonList(new StreamingNoOpInterceptor()));
+
+		ClientHttpRequest request = requestFactory.createRequest(new URI("https://example.com"), HttpMethod.POST);
+		((StreamingHttpOutputMessage) request).setBody(outputStream -> outputStream.write("Foo".getBytes()));
+		request.execute();
+
+		assertThat(requestMock.body.toByteArray()).isEqualTo("Foo".getBytes());
+	}
+
+	@Test
+	public void streamingInterceptorWithBufferedBody() throws Exception {
+		byte[][] interceptedBody = new byte[1][];
+		List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+		interceptors.add((StreamingClientHttpRequestInterceptor) (request, body, execution) ->
+				execution.execute(request, outputStream -> outputStream.write("Bar".getBytes())));
+		interceptors.add((request, body, execution) -> {
+			interceptedBody[0] = body;
+			return execution.execute(request, body);
+		});
+		requestFactory = new InterceptingClientHttpRequestFactory(requestFactoryMock, interceptors);
+
+		ClientHttpRequest request = requestFactory.createRequest(new URI("https://example.com"), HttpMethod.POST);
+		((StreamingHttpOutputMessage) request).setBody(outputStream -> outputStream.write("Foo".getBytes()));
+		request.execute();
+
+		assertThat(interceptedBody[0]).isEqualTo("Bar".getBytes());
+		assertThat(requestMock.body.toByteArray()).isEqualTo("Bar".getBytes());
+	}
+
 	private static class NoOpInterceptor implements ClientHttpRequestInterceptor {
 
 		private boolean invoked = false;
@@ -194,6 +245,19 @@ public class InterceptingClientHttpRequestFactoryTests {
 	}
 
 
+	private static class StreamingNoOpInterceptor implements StreamingClientHttpRequestInterceptor {
+
+		private StreamingHttpOutputMessage.Body body;
+
+		@Override
+		public ClientHttpResponse intercept(HttpRequest request, StreamingHttpOutputMessage.Body body,
+				StreamingClientHttpRequestExecution execution) throws IOException {
+
+			this.body = body;
+			return execution.execute(request, body);
+		}
+	}
+
 	private class RequestFactoryMock implements ClientHttpRequestFactory {
 
 		@Override
@@ -262,6 +326,16 @@ public class InterceptingClientHttpRequestFactoryTests {
 	}
 
 
+	private class StreamingRequestMock extends RequestMock implements StreamingHttpOutputMessage {
+
+		private Body streamingBody;
+
+		@Override
+		public void setBody(Body body) {
+			this.streamingBody = body;
+		}
+	}
+
 	private static class ResponseMock implements ClientHttpResponse {
 
 		private HttpStatus statusCode = HttpStatus.OK;
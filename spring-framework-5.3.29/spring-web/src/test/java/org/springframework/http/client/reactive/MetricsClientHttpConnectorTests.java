@@ -0,0 +1,182 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client.reactive;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.testfixture.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.testfixture.http.client.reactive.MockClientHttpResponse;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MetricsClientHttpConnector}.
+ */
+class MetricsClientHttpConnectorTests {
+
+	private final MetricsClientHttpConnector connector = new MetricsClientHttpConnector((method, uri, callback) ->
+			callback.apply(new MockClientHttpRequest(method, uri)).then(Mono.fromCallable(() -> {
+				if (uri.getPath().equals("/error")) {
+					throw new IOException("Connection reset");
+				}
+				MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.OK);
+				response.setBody("body");
+				return response;
+			})));
+
+
+	@Test
+	void exchangeInFlightUntilBodyConsumed() {
+		URI uri = URI.create("https://example.com/foo");
+		ClientHttpResponse response = this.connector.connect(HttpMethod.GET, uri, ClientHttpRequest::setComplete).block();
+		assertThat(response).isNotNull();
+
+		MetricsClientHttpConnector.HostMetrics metrics = this.connector.getHostMetrics(uri);
+		assertThat(metrics).isNotNull();
+		assertThat(metrics.getHost()).isEqualTo("https://example.com:443");
+		assertThat(metrics.getInFlightExchanges()).isEqualTo(1);
+		assertThat(metrics.getExchangeCount()).isEqualTo(1);
+
+		StepVerifier.create(DataBufferUtils.join(response.getBody()).map(buffer -> buffer.toString(UTF_8)))
+				.expectNext("body")
+				.verifyComplete();
+		assertThat(metrics.getInFlightExchanges()).isEqualTo(0);
+		assertThat(metrics.getMaxInFlightExchanges()).isEqualTo(1);
+		assertThat(metrics.getMaxResponseTime()).isGreaterThanOrEqualTo(metrics.getMaxRequestReadyTime());
+	}
+
+	@Test
+	void exchangeCompletedWhenCancelledAfterResponse() {
+		URI uri = URI.create("http://example.com/foo");
+		AtomicReference<ClientHttpResponse> response = new AtomicReference<>();
+		this.connector.connect(HttpMethod.GET, uri, ClientHttpRequest::setComplete)
+				.subscribe(new BaseSubscriber<ClientHttpResponse>() {
+					@Override
+					protected void hookOnNext(ClientHttpResponse value) {
+						response.set(value);
+						cancel();
+					}
+				});
+
+		MetricsClientHttpConnector.HostMetrics metrics = this.connector.getHostMetrics(uri);
+		assertThat(metrics.getInFlightExchanges()).isEqualTo(0);
+		DataBufferUtils.join(response.get().getBody()).map(DataBufferUtils::release).block();
+		assertThat(metrics.getInFlightExchanges()).isEqualTo(0);
+	}
+
+	@Test
+	void exchangeCompletedWithoutResponse() {
+		URI uri = URI.create("http://example.com/foo");
+		MetricsClientHttpConnector connector = new MetricsClientHttpConnector((method, u, callback) -> Mono.empty());
+		connector.connect(HttpMethod.GET, uri, ClientHttpRequest::setComplete).block();
+
+		MetricsClientHttpConnector.HostMetrics metrics = connector.getHostMetrics(uri);
+		assertThat(metrics.getExchangeCount()).isEqualTo(1);
+		assertThat(metrics.getInFlightExchanges()).isEqualTo(0);
+	}
+
+	@Test
+	void exchangeCancelledBeforeResponse() {
+		URI uri = URI.create("http://example.com/foo");
+		MetricsClientHttpConnector connector = new MetricsClientHttpConnector((method, u, callback) -> Mono.never());
+		connector.connect(HttpMethod.GET, uri, ClientHttpRequest::setComplete).subscribe().dispose();
+
+		MetricsClientHttpConnector.HostMetrics metrics = connector.getHostMetrics(uri);
+		assertThat(metrics.getExchangeCount()).isEqualTo(1);
+		assertThat(metrics.getInFlightExchanges()).isEqualTo(0);
+	}
+
+	@Test
+	void metricsPerHost() {
+		this.connector.connect(HttpMethod.GET, URI.create("http://a.example.com/"), ClientHttpRequest::setComplete).block();
+		this.connector.connect(HttpMethod.GET, URI.create("http://a.example.com:80/"), ClientHttpRequest::setComplete).block();
+		this.connector.connect(HttpMethod.GET, URI.create("http://b.example.com:8080/"), ClientHttpRequest::setComplete).block();
+
+		assertThat(this.connector.getHostMetrics()).containsOnlyKeys("http://a.example.com:80", "http://b.example.com:8080");
+		assertThat(this.connector.getHostMetrics().get("http://a.example.com:80").getExchangeCount()).isEqualTo(2);
+		assertThat(this.connector.getHostMetrics().get("http://a.example.com:80").getInFlightExchanges()).isEqualTo(2);
+		assertThat(this.connector.getHostMetrics().get("http://b.example.com:8080").getExchangeCount()).isEqualTo(1);
+	}
+
+	@Test
+	void metricsBeyondHostLimit() {
+		MetricsClientHttpConnector connector = new MetricsClientHttpConnector(this.connector.getDelegate(), 1);
+		connector.connect(HttpMethod.GET, URI.create("http://a.example.com/"), ClientHttpRequest::setComplete).block();
+		connector.connect(HttpMethod.GET, URI.create("http://b.example.com/"), ClientHttpRequest::setComplete).block();
+		connector.connect(HttpMethod.GET, URI.create("http://c.example.com/"), ClientHttpRequest::setComplete).block();
+		connector.connect(HttpMethod.GET, URI.create("http://a.example.com/"), ClientHttpRequest::setComplete).block();
+
+		assertThat(connector.getHostMetrics()).containsOnlyKeys(
+				"http://a.example.com:80", MetricsClientHttpConnector.OTHER_HOSTS);
+		assertThat(connector.getHostMetrics().get("http://a.example.com:80").getExchangeCount()).isEqualTo(2);
+		assertThat(connector.getHostMetrics().get(MetricsClientHttpConnector.OTHER_HOSTS).getExchangeCount()).isEqualTo(2);
+		assertThat(connector.getHostMetrics(URI.create("http://b.example.com/"))).isNull();
+	}
+
+	@Test
+	void metricsWithoutHost() {
+		URI uri = URI.create("file:///foo");
+		this.connector.connect(HttpMethod.GET, uri, ClientHttpRequest::setComplete).block();
+
+		assertThat(this.connector.getHostMetrics()).containsOnlyKeys(MetricsClientHttpConnector.OTHER_HOSTS);
+		assertThat(this.connector.getHostMetrics(uri)).isNull();
+	}
+
+	@Test
+	void failedExchange() {
+		URI uri = URI.create("http://example.com/error");
+		ExchangeTimings timings = new ExchangeTimings(HttpMethod.GET, uri);
+		StepVerifier.create(this.connector.connect(HttpMethod.GET, uri, ClientHttpRequest::setComplete)
+						.contextWrite(Context.of(ExchangeTimings.class, timings)))
+				.expectError(IOException.class)
+				.verify();
+
+		MetricsClientHttpConnector.HostMetrics metrics = this.connector.getHostMetrics(uri);
+		assertThat(metrics.getErrorCount()).isEqualTo(1);
+		assertThat(metrics.getInFlightExchanges()).isEqualTo(0);
+		assertThat(timings.getRequestReadyTime()).isNotNull();
+		assertThat(timings.getResponseTime()).isNull();
+		assertThat(timings.getError()).isInstanceOf(IOException.class);
+	}
+
+	@Test
+	void timingsFromContext() {
+		URI uri = URI.create("http://example.com/foo");
+		ExchangeTimings timings = new ExchangeTimings(HttpMethod.GET, uri);
+		this.connector.connect(HttpMethod.GET, uri, ClientHttpRequest::setComplete)
+				.contextWrite(Context.of(ExchangeTimings.class, timings))
+				.block();
+
+		assertThat(timings.getRequestReadyTime()).isNotNull();
+		assertThat(timings.getResponseTime()).isGreaterThanOrEqualTo(timings.getRequestReadyTime());
+		assertThat(timings.getStatusCode()).isEqualTo(200);
+		assertThat(timings.getError()).isNull();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -146,6 +146,81 @@ public class Jackson2JsonEncoderTests extends AbstractEncoderTests<Jackson2JsonE
 				.verifyComplete());
 	}
 
+	@Test
+	public void encodeNonStreamWithFlushThreshold() {
+		this.encoder.setFlushThreshold(0);
+		Flux<Pojo> input = Flux.just(
+				new Pojo("foo", "bar"),
+				new Pojo("foofoo", "barbar"),
+				new Pojo("foofoofoo", "barbarbar")
+		);
+
+		ResolvableType type = ResolvableType.forClass(Pojo.class);
+		testEncode(input, type, APPLICATION_JSON, null, step -> step
+				.consumeNextWith(expectString("[{\"foo\":\"foo\",\"bar\":\"bar\"}"))
+				.consumeNextWith(expectString(",{\"foo\":\"foofoo\",\"bar\":\"barbar\"}"))
+				.consumeNextWith(expectString(",{\"foo\":\"foofoofoo\",\"bar\":\"barbarbar\"}"))
+				.consumeNextWith(expectString("]"))
+				.verifyComplete());
+		testEncodeError(input, type, APPLICATION_JSON, null);
+		testEncodeCancel(input, type, APPLICATION_JSON, null);
+	}
+
+	@Test
+	public void encodeNonStreamWithLargeFlushThreshold() {
+		this.encoder.setFlushThreshold(8192);
+		Flux<Pojo> input = Flux.just(
+				new Pojo("foo", "bar"),
+				new Pojo("foofoo", "barbar")
+		);
+
+		testEncode(input, Pojo.class, step -> step
+				.consumeNextWith(expectString("[" +
+						"{\"foo\":\"foo\",\"bar\":\"bar\"}," +
+						"{\"foo\":\"foofoo\",\"bar\":\"barbar\"}]"))
+				.verifyComplete());
+
+		testEncode(Flux.empty(), Pojo.class, step -> step
+				.consumeNextWith(expectString("[]"))
+				.verifyComplete());
+	}
+
+	@Test
+	public void encodeNonStreamWithSmallFlushThreshold() {
+		this.encoder.setFlushThreshold(16);
+		Flux<Pojo> input = Flux.just(
+				new Pojo("foo", "bar"),
+				new Pojo("foofoo", "barbar")
+		);
+
+		Flux<DataBuffer> result = this.encoder.encode(input, this.bufferFactory,
+				ResolvableType.forClass(Pojo.class), APPLICATION_JSON, null);
+		StepVerifier.create(DataBufferUtils.join(result))
+				.consumeNextWith(expectString("[" +
+						"{\"foo\":\"foo\",\"bar\":\"bar\"}," +
+						"{\"foo\":\"foofoo\",\"bar\":\"barbar\"}]"))
+				.verifyComplete();
+
+		StepVerifier.create(this.encoder.encode(input, this.bufferFactory,
+						ResolvableType.forClass(Pojo.class), APPLICATION_JSON, null))
+				.thenConsumeWhile(buffer -> {
+					assertThat(buffer.readableByteCount()).isLessThanOrEqualTo(16);
+					DataBufferUtils.release(buffer);
+					return true;
+				})
+				.verifyComplete();
+	}
+
+	@Test
+	public void encodeWithTypeAndFlushThreshold() {
+		this.encoder.setFlushThreshold(8192);
+		Flux<ParentClass> input = Flux.just(new Foo(), new Bar());
+
+		testEncode(input, ParentClass.class, step -> step
+				.consumeNextWith(expectString("[{\"type\":\"foo\"},{\"type\":\"bar\"}]"))
+				.verifyComplete());
+	}
+
 	@Test
 	public void encodeWithType() {
 		Flux<ParentClass> input = Flux.just(new Foo(), new Bar());
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,7 +38,9 @@ import reactor.test.StepVerifier;
 
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.testfixture.io.buffer.AbstractLeakCheckingTests;
 
 import static java.util.Arrays.asList;
@@ -234,6 +236,24 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTests {
 				true);
 	}
 
+	@Test
+	void tokenizeDirectAndSlicedBuffers() {
+		DataBufferFactory directBufferFactory = new DefaultDataBufferFactory(true);
+		DataBufferFactory heapBufferFactory = new DefaultDataBufferFactory();
+		Flux<DataBuffer> source = Flux.just(
+				directBufferFactory.wrap("[{\"id\":1,\"name\":\"Rob".getBytes(StandardCharsets.UTF_8)),
+				heapBufferFactory.wrap("xxxert\"},{\"id\":2,yyy".getBytes(StandardCharsets.UTF_8)).slice(3, 14),
+				directBufferFactory.wrap("\"name\":\"Raide\"}]".getBytes(StandardCharsets.UTF_8)));
+
+		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(
+				source, this.jsonFactory, this.objectMapper, true, false, -1);
+
+		StepVerifier.create(tokens.map(this::writeValueAsString))
+				.expectNext("{\"id\":1,\"name\":\"Robert\"}")
+				.expectNext("{\"id\":2,\"name\":\"Raide\"}")
+				.verifyComplete();
+	}
+
 	private void testTokenize(List<String> input, List<String> output, boolean tokenize) {
 		StepVerifier.FirstStep<String> builder = StepVerifier.create(decode(input, tokenize, -1));
 		output.forEach(expected -> builder.assertNext(actual -> {
@@ -351,16 +371,17 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTests {
 				Flux.fromIterable(source).map(this::stringBuffer),
 				this.jsonFactory, this.objectMapper, tokenize, false, maxInMemorySize);
 
-		return tokens
-				.map(tokenBuffer -> {
-					try {
-						TreeNode root = this.objectMapper.readTree(tokenBuffer.asParser());
-						return this.objectMapper.writeValueAsString(root);
-					}
-					catch (IOException ex) {
-						throw new UncheckedIOException(ex);
-					}
-				});
+		return tokens.map(this::writeValueAsString);
+	}
+
+	private String writeValueAsString(TokenBuffer tokenBuffer) {
+		try {
+			TreeNode root = this.objectMapper.readTree(tokenBuffer.asParser());
+			return this.objectMapper.writeValueAsString(root);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
 	}
 
 	private DataBuffer stringBuffer(String value) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import java.util.stream.Stream;
 
 import io.netty.buffer.PooledByteBufAllocator;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -235,6 +236,54 @@ class DefaultPartHttpMessageReaderTests  {
 		latch.await();
 	}
 
+	@Test
+	void transferToExistingFile() throws IOException {
+		MockServerHttpRequest request = createRequest(new ClassPathResource("firefox.multipart", getClass()),
+				"---------------------------18399284482060392383840973206");
+
+		DefaultPartHttpMessageReader reader = new DefaultPartHttpMessageReader();
+		reader.setMaxInMemorySize(100);
+
+		Path tempFile = Files.createTempFile("DefaultMultipartMessageReaderTests", null);
+		Files.write(tempFile, (LOREM_IPSUM + LOREM_IPSUM).getBytes(UTF_8));
+
+		Mono<Void> result = reader.read(forClass(Part.class), request, emptyMap())
+				.filter(FilePart.class::isInstance)
+				.cast(FilePart.class)
+				.next()
+				.flatMap(filePart -> filePart.transferTo(tempFile));
+
+		StepVerifier.create(result).verifyComplete();
+		verifyContents(tempFile, LOREM_IPSUM);
+	}
+
+	@Test
+	void transferToSymbolicLink(@TempDir Path dir) throws IOException {
+		MockServerHttpRequest request = createRequest(new ClassPathResource("firefox.multipart", getClass()),
+				"---------------------------18399284482060392383840973206");
+
+		DefaultPartHttpMessageReader reader = new DefaultPartHttpMessageReader();
+		reader.setMaxInMemorySize(100);
+
+		Path linkTarget = dir.resolve("target");
+		Files.write(linkTarget, (LOREM_IPSUM + LOREM_IPSUM).getBytes(UTF_8));
+		Path link = Files.createSymbolicLink(dir.resolve("link"), linkTarget);
+
+		Mono<Void> result = reader.read(forClass(Part.class), request, emptyMap())
+				.filter(FilePart.class::isInstance)
+				.cast(FilePart.class)
+				.next()
+				.flatMap(filePart -> filePart.transferTo(link));
+
+		StepVerifier.create(result).verifyComplete();
+		assertThat(Files.isSymbolicLink(link)).isFalse();
+		verifyContents(link, LOREM_IPSUM);
+		verifyContents(linkTarget, LOREM_IPSUM + LOREM_IPSUM);
+		try (Stream<Path> files = Files.list(dir)) {
+			assertThat(files).containsExactlyInAnyOrder(link, linkTarget);
+		}
+	}
+
 	@ParameterizedDefaultPartHttpMessageReaderTest
 	void quotedBoundary(DefaultPartHttpMessageReader reader) throws InterruptedException {
 		MockServerHttpRequest request = createRequest(
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -70,6 +70,18 @@ public class StringHttpMessageConverterTests {
 		assertThat(result).as("Invalid result").isEqualTo(body);
 	}
 
+	@Test
+	public void readWithContentLength() throws IOException {
+		String body = "H\u00e9llo W\u00f6rld";
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		MockHttpInputMessage inputMessage = new MockHttpInputMessage(bytes);
+		inputMessage.getHeaders().setContentType(TEXT_PLAIN_UTF_8);
+		inputMessage.getHeaders().setContentLength(bytes.length);
+		String result = this.converter.read(String.class, inputMessage);
+
+		assertThat(result).as("Invalid result").isEqualTo(body);
+	}
+
 	@Test // gh-24123
 	public void readJson() throws IOException {
 		String body = "{\"result\":\"\u0414\u0410\"}";
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.http.server.reactive;
 
 import java.io.ByteArrayInputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -28,7 +29,11 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.core.io.buffer.PooledDataBufferFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.util.MultiValueMap;
@@ -213,6 +218,32 @@ public class ServerHttpRequestTests {
 		assertThat(nativeRequest).isInstanceOf(HttpServletRequest.class);
 	}
 
+	@Test
+	void readFromInputStreamWithPooledDataBufferFactory() throws Exception {
+		ServletInputStream inputStream = new DelegatingServletInputStream(new ByteArrayInputStream("foo".getBytes())) {
+			@Override
+			public void setReadListener(ReadListener readListener) {
+				// Ignore
+			}
+		};
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/path") {
+			@Override
+			public ServletInputStream getInputStream() {
+				return inputStream;
+			}
+		};
+		AsyncContext asyncContext = new MockAsyncContext(request, new MockHttpServletResponse());
+		PooledDataBufferFactory bufferFactory = new PooledDataBufferFactory();
+		ServletServerHttpRequest serverRequest =
+				new ServletServerHttpRequest(request, asyncContext, "", bufferFactory, 1024);
+
+		DataBuffer buffer = serverRequest.readFromInputStream();
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("foo");
+		DataBufferUtils.release(buffer);
+		assertThat(bufferFactory.getActiveBufferCount()).isEqualTo(0);
+	}
+
 	private ServerHttpRequest createRequest(String uriString) throws Exception {
 		return createRequest(uriString, "");
 	}
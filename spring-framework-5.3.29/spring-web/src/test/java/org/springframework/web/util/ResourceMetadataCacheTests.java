@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ResourceMetadataCache}.
+ */
+class ResourceMetadataCacheTests {
+
+	private final ResourceMetadataCache cache = new ResourceMetadataCache();
+
+	@TempDir
+	Path tempDir;
+
+
+	@AfterEach
+	void destroy() {
+		this.cache.destroy();
+	}
+
+
+	@Test
+	void fileResource() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+
+		ResourceMetadataCache.ResourceMetadata metadata = this.cache.getMetadata(resource);
+		assertThat(metadata).isNotNull();
+		assertThat(metadata.getContentLength()).isEqualTo(17);
+		assertThat(metadata.getLastModified()).isEqualTo(resource.lastModified());
+		assertThat(metadata.getContentHash()).isEqualTo(DigestUtils.md5DigestAsHex("h1 { color:red; }".getBytes(UTF_8)));
+		assertThat(metadata.getETag()).isEqualTo("\"" + metadata.getContentHash() + "\"");
+		assertThat(metadata.getMediaType()).isEqualTo(MediaType.valueOf("text/css"));
+
+		assertThat(this.cache.getCachedMetadata(resource)).isSameAs(metadata);
+		assertThat(this.cache.getMetadata(new FileSystemResource(resource.getFile()))).isSameAs(metadata);
+		assertThat(this.cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void fileModified() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+		assertThat(this.cache.getMetadata(resource)).isNotNull();
+
+		Files.write(resource.getFile().toPath(), "h1 { color:blue; }".getBytes(UTF_8));
+		long deadline = System.currentTimeMillis() + 30000;
+		while (this.cache.getCachedMetadata(resource) != null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(this.cache.getCachedMetadata(resource)).isNull();
+
+		ResourceMetadataCache.ResourceMetadata metadata = this.cache.getMetadata(resource);
+		assertThat(metadata).isNotNull();
+		assertThat(metadata.getContentHash()).isEqualTo(DigestUtils.md5DigestAsHex("h1 { color:blue; }".getBytes(UTF_8)));
+	}
+
+	@Test
+	void nonFileResource() throws Exception {
+		Resource resource = new ByteArrayResource("h1 { color:red; }".getBytes(UTF_8));
+		assertThat(this.cache.getMetadata(resource)).isNull();
+		assertThat(this.cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void cacheLimit() throws Exception {
+		ResourceMetadataCache cache = new ResourceMetadataCache(2);
+		try {
+			Resource foo = createResource("foo.txt", "foo");
+			Resource bar = createResource("bar.txt", "bar");
+			Resource baz = createResource("baz.txt", "baz");
+
+			cache.getMetadata(foo);
+			cache.getMetadata(bar);
+			cache.getCachedMetadata(foo);
+			cache.getMetadata(baz);
+
+			assertThat(cache.size()).isEqualTo(2);
+			assertThat(cache.getCachedMetadata(foo)).isNotNull();
+			assertThat(cache.getCachedMetadata(bar)).isNull();
+			assertThat(cache.getCachedMetadata(baz)).isNotNull();
+		}
+		finally {
+			cache.destroy();
+		}
+	}
+
+	@Test
+	void fileResourceAfterDestroy() throws Exception {
+		Resource resource = createResource("foo.css", "h1 { color:red; }");
+		assertThat(this.cache.getMetadata(resource)).isNotNull();
+
+		this.cache.destroy();
+		assertThat(this.cache.size()).isEqualTo(0);
+		assertThat(this.cache.getMetadata(resource)).isNull();
+		assertThat(this.cache.size()).isEqualTo(0);
+	}
+
+
+	private Resource createResource(String name, String content) throws Exception {
+		File file = Files.write(this.tempDir.resolve(name), content.getBytes(UTF_8)).toFile();
+		return new FileSystemResource(file);
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PathPatternIndex}.
+ */
+class PathPatternIndexTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	private final PathPatternIndex<String> index = new PathPatternIndex<>();
+
+
+	@Test
+	void literalPatterns() {
+		add("/foo", "/foo/bar", "/foo/baz", "/bar");
+		assertThat(index.size()).isEqualTo(4);
+		assertCandidates("/foo", "/foo");
+		assertCandidates("/foo/bar", "/foo/bar");
+		assertCandidates("/foo/qux");
+		assertCandidates("/qux");
+	}
+
+	@Test
+	void optionalTrailingSeparator() {
+		add("/foo", "/foo/");
+		assertCandidates("/foo/", "/foo", "/foo/");
+		assertCandidates("/foo", "/foo");
+	}
+
+	@Test
+	void capturesAndWildcards() {
+		add("/foo/{id}", "/foo/*/bar", "/foo/b?r", "/foo/{id:\\d+}.json", "/foo/new");
+		assertCandidates("/foo/new", "/foo/{id}", "/foo/b?r", "/foo/{id:\\d+}.json", "/foo/new");
+		assertCandidates("/foo/1/bar", "/foo/*/bar");
+		assertCandidates("/bar/1");
+	}
+
+	@Test
+	void restPatterns() {
+		add("/**", "/foo/**", "/foo/{*path}", "/bar");
+		assertCandidates("/foo", "/**", "/foo/**", "/foo/{*path}");
+		assertCandidates("/foo/bar/baz", "/**", "/foo/**", "/foo/{*path}");
+		assertCandidates("/bar", "/**", "/bar");
+		assertCandidates("", "/**");
+	}
+
+	@Test
+	void caseInsensitivePatterns() {
+		parser.setCaseSensitive(false);
+		add("/Foo/Bar", "/foo/{id}");
+		assertCandidates("/FOO/bar", "/Foo/Bar", "/foo/{id}");
+	}
+
+	@Test
+	void unindexedPatterns() {
+		add("foo", "foo/{id}");
+		assertCandidates("/qux", "foo", "foo/{id}");
+	}
+
+	@Test
+	void pathWithoutLeadingSeparator() {
+		add("/foo", "/bar/{id}");
+		assertCandidates("foo", "/foo", "/bar/{id}");
+	}
+
+	@Test
+	void remove() {
+		add("/foo", "/foo/{id}", "/**");
+		assertThat(index.remove(parser.parse("/foo/{id}"), "/foo/{id}")).isTrue();
+		assertThat(index.remove(parser.parse("/foo/{id}"), "/foo/{id}")).isFalse();
+		assertThat(index.remove(parser.parse("/bar"), "/bar")).isFalse();
+		assertThat(index.size()).isEqualTo(2);
+		assertCandidates("/foo/1", "/**");
+		assertThat(index.remove(parser.parse("/foo"), "/foo")).isTrue();
+		assertThat(index.remove(parser.parse("/**"), "/**")).isTrue();
+		assertThat(index.isEmpty()).isTrue();
+		assertCandidates("/foo");
+	}
+
+	@Test
+	void candidatesIncludeAllMatches() {
+		List<String> patterns = Arrays.asList("/", "/foo", "/foo/", "/foo/{id}", "/foo/{id}/bar", "/{a}/{b}",
+				"/foo/**", "/*/bar/**", "/foo/{*rest}", "/{id}.json", "/foo/b*", "/foo/{x}-{y}", "foo/{id}");
+		patterns.forEach(this::add);
+		List<String> paths = Arrays.asList("", "/", "/foo", "/foo/", "/foo//", "/foo/1", "/foo/1/", "/foo/1/bar",
+				"/x/bar/y", "/a.json", "/foo/baz", "/foo/a-b", "/foo/a/b/bar", "//foo", "/qux/");
+		for (String path : paths) {
+			PathContainer container = PathContainer.parsePath(path);
+			Set<String> candidates = index.getCandidates(container);
+			for (String pattern : patterns) {
+				if (parser.parse(pattern).matches(container)) {
+					assertThat(candidates).as("Candidates for " + path).contains(pattern);
+				}
+			}
+		}
+	}
+
+
+	private void add(String... patterns) {
+		for (String pattern : patterns) {
+			index.add(parser.parse(pattern), pattern);
+		}
+	}
+
+	private void assertCandidates(String path, String... expected) {
+		Set<String> candidates = index.getCandidates(PathContainer.parsePath(path));
+		assertThat(candidates.stream().sorted().collect(Collectors.toList()))
+				.isEqualTo(Arrays.stream(expected).sorted().collect(Collectors.toList()));
+	}
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link PathPatternSet}.
+ */
+class PathPatternSetTests {
+
+	private final PathPatternParser parser = new PathPatternParser();
+
+	private final PathPatternSet<String> patternSet = new PathPatternSet<>();
+
+
+	@Test
+	void matchesInSpecificityOrder() {
+		add("/**", "/foo/**", "/foo/{id}", "/foo/bar", "/foo/*", "/baz");
+		List<PathPatternSet.Match<String>> matches = patternSet.getMatches(path("/foo/bar"));
+		assertThat(matches.stream().map(PathPatternSet.Match::getValue).collect(Collectors.toList()))
+				.containsExactly("/foo/bar", "/foo/{id}", "/foo/*", "/foo/**", "/**");
+		assertThat(matches.get(1).getMatchInfo().getUriVariables()).containsEntry("id", "bar");
+		assertThat(patternSet.getMatches(path("/qux/1"))).hasSize(1);
+	}
+
+	@Test
+	void sameSpecificityInRegistrationOrder() {
+		add("/foo/{b}", "/foo/{a}");
+		List<PathPatternSet.Match<String>> matches = patternSet.getMatches(path("/foo/1"));
+		assertThat(matches.stream().map(PathPatternSet.Match::getValue).collect(Collectors.toList()))
+				.containsExactly("/foo/{b}", "/foo/{a}");
+	}
+
+	@Test
+	void bestMatch() {
+		add("/**", "/foo/{id}", "/foo/{id}.json");
+		PathPatternSet.Match<String> match = patternSet.getBestMatch(path("/foo/1.json"));
+		assertThat(match).isNotNull();
+		assertThat(match.getPattern().getPatternString()).isEqualTo("/foo/{id}.json");
+		assertThat(match.getMatchInfo().getUriVariables()).containsEntry("id", "1");
+
+		patternSet.remove(parser.parse("/**"));
+		assertThat(patternSet.getBestMatch(path("/bar"))).isNull();
+		assertThat(patternSet.getMatches(path("/bar"))).isEmpty();
+	}
+
+	@Test
+	void firstMatchingValue() {
+		add("/foo/**", "/foo/bar", "/**");
+		assertThat(patternSet.getFirstMatchingValue(path("/foo/bar"))).isEqualTo("/foo/**");
+		assertThat(patternSet.getFirstMatchingValue(path("/bar"))).isEqualTo("/**");
+		patternSet.clear();
+		assertThat(patternSet.isEmpty()).isTrue();
+		assertThat(patternSet.getFirstMatchingValue(path("/bar"))).isNull();
+	}
+
+	@Test
+	void addReplacesValue() {
+		assertThat(patternSet.add(parser.parse("/foo"), "first")).isNull();
+		add("/bar");
+		assertThat(patternSet.add(parser.parse("/foo"), "second")).isEqualTo("first");
+		assertThat(patternSet.size()).isEqualTo(2);
+		assertThat(patternSet.get(parser.parse("/foo"))).isEqualTo("second");
+		assertThat(patternSet.getPatterns()).extracting(PathPattern::getPatternString).containsExactly("/foo", "/bar");
+		assertThat(patternSet.getBestMatch(path("/foo")).getValue()).isEqualTo("second");
+	}
+
+	@Test
+	void asMap() {
+		Map<PathPattern, String> map = patternSet.asMap();
+		assertThat(map).isEmpty();
+		add("/foo", "/bar/{id}");
+		assertThat(map).hasSize(2).containsEntry(parser.parse("/bar/{id}"), "/bar/{id}");
+		assertThat(map.keySet()).extracting(PathPattern::getPatternString).containsExactly("/foo", "/bar/{id}");
+		assertThat(map.get(parser.parse("/baz"))).isNull();
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(map::clear);
+	}
+
+
+	private void add(String... patterns) {
+		for (String pattern : patterns) {
+			patternSet.add(parser.parse(pattern), pattern);
+		}
+	}
+
+	private static PathContainer path(String path) {
+		return PathContainer.parsePath(path);
+	}
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyExtractors;
+
+/**
+ * {@link ExchangeFilterFunction} that coalesces identical {@code GET} requests
+ * in flight into a single exchange: a request with the same URL, headers,
+ * cookies and attributes (apart from the {@link ClientRequest#LOG_ID_ATTRIBUTE
+ * log id}) as a request whose response is still pending shares the response
+ * of the latter, instead of being sent on its own.
+ *
+ * <p>As long as no other request joins an exchange before its response has been
+ * received, the response is passed through as is. Otherwise, the response body
+ * is buffered in memory, up to the {@linkplain #setMaxInMemorySize configured
+ * limit}, and each request receives a {@link ClientResponse} of its own with
+ * a copy of the status, headers, cookies and body. Once the response has been
+ * received, subsequent requests lead to a new exchange again, i.e. responses
+ * are not cached beyond the duration of the exchange.
+ *
+ * @since 5.3.30
+ */
+public class CoalescingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private final Map<RequestKey, SharedExchange> exchangesInFlight = new ConcurrentHashMap<>();
+
+	private int maxInMemorySize = 256 * 1024;
+
+	private final LongAdder exchangeCount = new LongAdder();
+
+	private final LongAdder coalescedCount = new LongAdder();
+
+
+	/**
+	 * Set the maximum number of bytes to buffer for the body of a response
+	 * shared by several requests. A
+	 * {@link org.springframework.core.io.buffer.DataBufferLimitException} is
+	 * raised for all requests sharing a response with a larger body.
+	 * Responses to a single request are not buffered and not subject to
+	 * this limit.
+	 * <p>By default this is set to 256K.
+	 */
+	public void setMaxInMemorySize(int maxInMemorySize) {
+		this.maxInMemorySize = maxInMemorySize;
+	}
+
+	/**
+	 * Return the configured limit on the number of bytes to buffer per response.
+	 */
+	public int getMaxInMemorySize() {
+		return this.maxInMemorySize;
+	}
+
+	/**
+	 * Return the number of exchanges sent through this filter.
+	 */
+	public long getExchangeCount() {
+		return this.exchangeCount.sum();
+	}
+
+	/**
+	 * Return the number of requests that shared the response of another request
+	 * instead of leading to an exchange of their own.
+	 */
+	public long getCoalescedCount() {
+		return this.coalescedCount.sum();
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		if (request.method() != HttpMethod.GET) {
+			return next.exchange(request);
+		}
+		return Mono.defer(() -> {
+			RequestKey key = new RequestKey(request);
+			SharedExchange exchange = this.exchangesInFlight.compute(key, (k, existing) -> {
+				if (existing != null) {
+					this.coalescedCount.increment();
+					existing.requestCount.incrementAndGet();
+					return existing;
+				}
+				return new SharedExchange(k, request, next);
+			});
+			return exchange.getResponse();
+		});
+	}
+
+
+	/**
+	 * An exchange along with the number of requests waiting for its response.
+	 */
+	private final class SharedExchange {
+
+		private final RequestKey key;
+
+		private final AtomicInteger requestCount = new AtomicInteger(1);
+
+		private final Mono<SharedResponse> response;
+
+		SharedExchange(RequestKey key, ClientRequest request, ExchangeFunction next) {
+			CoalescingExchangeFilterFunction.this.exchangeCount.increment();
+			this.key = key;
+			this.response = next.exchange(request)
+					.flatMap(this::share)
+					.doFinally(signalType -> CoalescingExchangeFilterFunction.this.exchangesInFlight.remove(this.key, this))
+					.cache();
+		}
+
+		private Mono<SharedResponse> share(ClientResponse response) {
+			// No more requests may join once removed,
+			// so the request count cannot grow from here on
+			CoalescingExchangeFilterFunction.this.exchangesInFlight.remove(this.key, this);
+			int requestCount = this.requestCount.get();
+			if (requestCount == 0) {
+				return response.releaseBody().then(Mono.empty());
+			}
+			if (requestCount == 1) {
+				return Mono.just(new SharedResponse(response, null));
+			}
+			return DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()),
+					CoalescingExchangeFilterFunction.this.maxInMemorySize)
+					.map(buffer -> {
+						byte[] body = new byte[buffer.readableByteCount()];
+						buffer.read(body);
+						DataBufferUtils.release(buffer);
+						return body;
+					})
+					.defaultIfEmpty(new byte[0])
+					.map(body -> new SharedResponse(response, body));
+		}
+
+		Mono<ClientResponse> getResponse() {
+			AtomicBoolean received = new AtomicBoolean();
+			return this.response
+					.map(sharedResponse -> {
+						received.set(true);
+						return sharedResponse.createResponse();
+					})
+					.doOnCancel(() -> {
+						// A request that gives up before the response arrives
+						// does not need a share of the response body
+						if (!received.get() && this.requestCount.decrementAndGet() == 0) {
+							// A response passed through as is may have been cached for
+							// this request already, with nobody left to consume it
+							this.response.subscribe(SharedResponse::release);
+						}
+					});
+		}
+	}
+
+
+	/**
+	 * Key for requests which may share a response.
+	 */
+	private static final class RequestKey {
+
+		private final URI url;
+
+		private final HttpHeaders headers;
+
+		private final MultiValueMap<String, String> cookies;
+
+		private final Map<String, Object> attributes;
+
+		RequestKey(ClientRequest request) {
+			this.url = request.url();
+			this.headers = request.headers();
+			this.cookies = request.cookies();
+			this.attributes = getAttributes(request);
+		}
+
+		private static Map<String, Object> getAttributes(ClientRequest request) {
+			Map<String, Object> attributes = request.attributes();
+			if (!attributes.containsKey(ClientRequest.LOG_ID_ATTRIBUTE)) {
+				return attributes;
+			}
+			// The log id is unique per request
+			Map<String, Object> result = new HashMap<>(attributes);
+			result.remove(ClientRequest.LOG_ID_ATTRIBUTE);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof RequestKey)) {
+				return false;
+			}
+			RequestKey otherKey = (RequestKey) other;
+			return (this.url.equals(otherKey.url) && this.headers.equals(otherKey.headers) &&
+					this.cookies.equals(otherKey.cookies) && this.attributes.equals(otherKey.attributes));
+		}
+
+		@Override
+		public int hashCode() {
+			int result = this.url.hashCode();
+			result = 31 * result + this.headers.hashCode();
+			result = 31 * result + this.cookies.hashCode();
+			result = 31 * result + this.attributes.hashCode();
+			return result;
+		}
+	}
+
+
+	/**
+	 * A response for one or more requests: passed through as is for a single
+	 * request, or with its body buffered for creating a copy per request.
+	 */
+	private static final class SharedResponse {
+
+		private final ClientResponse response;
+
+		@Nullable
+		private final byte[] body;
+
+		SharedResponse(ClientResponse response, @Nullable byte[] body) {
+			this.response = response;
+			this.body = body;
+		}
+
+		void release() {
+			if (this.body == null) {
+				this.response.releaseBody().subscribe();
+			}
+		}
+
+		ClientResponse createResponse() {
+			byte[] body = this.body;
+			if (body == null) {
+				return this.response;
+			}
+			HttpHeaders headers = this.response.headers().asHttpHeaders();
+			MultiValueMap<String, ResponseCookie> cookies = this.response.cookies();
+			ClientResponse.Builder builder = ClientResponse.create(this.response.rawStatusCode(), this.response.strategies())
+					.headers(httpHeaders -> httpHeaders.addAll(headers))
+					.cookies(responseCookies -> responseCookies.addAll(cookies))
+					.body(Flux.defer(() -> Flux.<DataBuffer>just(DefaultDataBufferFactory.sharedInstance.wrap(body))));
+			if (this.response instanceof DefaultClientResponse) {
+				builder.request(((DefaultClientResponse) this.response).request());
+			}
+			return builder.build();
+		}
+	}
+
+}
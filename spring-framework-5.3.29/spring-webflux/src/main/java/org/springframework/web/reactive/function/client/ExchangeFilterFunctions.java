@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,10 +23,13 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ExchangeTimings;
+import org.springframework.http.client.reactive.MetricsClientHttpConnector;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
@@ -85,6 +88,30 @@ public abstract class ExchangeFilterFunctions {
 						Mono.error(exceptionFunction.apply(response)) : Mono.just(response)));
 	}
 
+	/**
+	 * Return a filter that records the {@link ExchangeTimings} of each exchange
+	 * and passes them to the given consumer once the response has been received,
+	 * or once the exchange has failed or has been canceled.
+	 * <p>The timings are placed into the Reactor {@code Context} of the exchange,
+	 * so that a {@link MetricsClientHttpConnector} records the time until the
+	 * request was ready to be written as well, if configured as the connector
+	 * of the client.
+	 * @param timingsConsumer the consumer of the timings of each exchange
+	 * @return the filter to record exchange timings with
+	 * @since 5.3.30
+	 */
+	public static ExchangeFilterFunction timings(Consumer<ExchangeTimings> timingsConsumer) {
+		Assert.notNull(timingsConsumer, "Consumer must not be null");
+		return (request, next) -> Mono.defer(() -> {
+			ExchangeTimings timings = new ExchangeTimings(request.method(), request.url());
+			return next.exchange(request)
+					.doOnNext(response -> timings.responseReceived(response.rawStatusCode()))
+					.doOnError(timings::failed)
+					.doFinally(signalType -> timingsConsumer.accept(timings))
+					.contextWrite(Context.of(ExchangeTimings.class, timings));
+		});
+	}
+
 	/**
 	 * Return a filter that applies HTTP Basic Authentication to the request
 	 * headers via {@link HttpHeaders#setBasicAuth(String)} and
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ExchangeFilterFunction} that hedges requests against slow responses:
+ * if no response has been received after a delay, a backup request is sent,
+ * and whichever response arrives first is used while the other exchange
+ * is canceled.
+ *
+ * <p>The delay is derived from the response times of recent exchanges, by
+ * default their 95th percentile, so that only the slowest exchanges are
+ * hedged, at the cost of a few percent of additional requests. No requests
+ * are hedged until enough response times have been recorded. Response times
+ * are measured from the start of an exchange up to the first response: for an
+ * exchange won by the backup request, this is a lower bound of the response
+ * time of the canceled primary request, which keeps slow responses in the
+ * sample rather than just the fast responses to backup requests.
+ *
+ * <p>Only {@code GET}, {@code HEAD} and {@code OPTIONS} requests are hedged,
+ * since other requests must not be sent twice. The exchanges of a filter
+ * instance are assumed to be with a single service, e.g. a filter per
+ * {@link WebClient} for a specific base URL, as the delay is derived from
+ * the response times of all exchanges through the filter.
+ *
+ * @since 5.3.30
+ */
+public class HedgingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private final long[] responseTimes;
+
+	private int responseTimeIndex;
+
+	private int responseTimeCount;
+
+	private double percentile = 0.95;
+
+	private int minResponseTimes;
+
+	private Duration minDelay = Duration.ofMillis(1);
+
+	private final LongAdder exchangeCount = new LongAdder();
+
+	private final LongAdder hedgedCount = new LongAdder();
+
+	private final LongAdder backupWinCount = new LongAdder();
+
+
+	/**
+	 * Create a new {@code HedgingExchangeFilterFunction}, deriving the delay
+	 * from the response times of the last 100 exchanges.
+	 */
+	public HedgingExchangeFilterFunction() {
+		this(100);
+	}
+
+	/**
+	 * Create a new {@code HedgingExchangeFilterFunction}, deriving the delay
+	 * from the response times of the given number of recent exchanges.
+	 * @param sampleSize the number of response times to keep
+	 */
+	public HedgingExchangeFilterFunction(int sampleSize) {
+		Assert.isTrue(sampleSize > 0, "Sample size must be greater than 0");
+		this.responseTimes = new long[sampleSize];
+		this.minResponseTimes = Math.min(20, sampleSize);
+	}
+
+
+	/**
+	 * Set the percentile of recent response times to use as delay
+	 * before sending a backup request.
+	 * <p>By default this is set to 0.95, i.e. the 95th percentile.
+	 */
+	public void setPercentile(double percentile) {
+		Assert.isTrue(percentile > 0 && percentile <= 1, "Percentile must be between 0 and 1");
+		this.percentile = percentile;
+	}
+
+	/**
+	 * Set the number of response times to record before requests are hedged.
+	 * <p>By default this is set to 20, or the sample size if smaller.
+	 */
+	public void setMinResponseTimes(int minResponseTimes) {
+		Assert.isTrue(minResponseTimes > 0 && minResponseTimes <= this.responseTimes.length,
+				"Minimum number of response times must be between 1 and the sample size");
+		this.minResponseTimes = minResponseTimes;
+	}
+
+	/**
+	 * Set the minimum delay before sending a backup request,
+	 * guarding against hedging all requests to a very fast service.
+	 * <p>By default this is set to 1 millisecond.
+	 */
+	public void setMinDelay(Duration minDelay) {
+		Assert.notNull(minDelay, "Minimum delay must not be null");
+		this.minDelay = minDelay;
+	}
+
+
+	/**
+	 * Return the number of exchanges through this filter.
+	 */
+	public long getExchangeCount() {
+		return this.exchangeCount.sum();
+	}
+
+	/**
+	 * Return the number of exchanges for which a backup request has been sent.
+	 */
+	public long getHedgedCount() {
+		return this.hedgedCount.sum();
+	}
+
+	/**
+	 * Return the number of exchanges for which the response to the backup
+	 * request arrived first, i.e. the number of exchanges which have been
+	 * sped up by hedging.
+	 */
+	public long getBackupWinCount() {
+		return this.backupWinCount.sum();
+	}
+
+	/**
+	 * Return the current delay before a backup request is sent.
+	 * @return the delay, or {@code null} if not enough response times have been
+	 * recorded yet, in which case requests are not hedged
+	 */
+	@Nullable
+	public synchronized Duration getDelay() {
+		if (this.responseTimeCount < this.minResponseTimes) {
+			return null;
+		}
+		long[] sorted = Arrays.copyOf(this.responseTimes, this.responseTimeCount);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(this.percentile * sorted.length) - 1;
+		Duration delay = Duration.ofNanos(sorted[Math.max(index, 0)]);
+		return (delay.compareTo(this.minDelay) > 0 ? delay : this.minDelay);
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		HttpMethod method = request.method();
+		if (method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS) {
+			return next.exchange(request);
+		}
+		return Mono.defer(() -> {
+			this.exchangeCount.increment();
+			Duration delay = getDelay();
+			if (delay == null) {
+				long startTime = System.nanoTime();
+				return next.exchange(request)
+						.doOnNext(response -> recordResponseTime(System.nanoTime() - startTime));
+			}
+			Mono<ClientResponse> exchange = Mono.defer(() -> next.exchange(request));
+			return Mono.create(sink -> new HedgedExchange(sink, exchange, delay));
+		});
+	}
+
+	private synchronized void recordResponseTime(long nanos) {
+		this.responseTimes[this.responseTimeIndex] = nanos;
+		this.responseTimeIndex = (this.responseTimeIndex + 1) % this.responseTimes.length;
+		this.responseTimeCount = Math.min(this.responseTimeCount + 1, this.responseTimes.length);
+	}
+
+
+	/**
+	 * A primary exchange and a backup exchange sent after the delay, racing
+	 * for the response. The response of the loser, if any, is released.
+	 */
+	private final class HedgedExchange {
+
+		private final MonoSink<ClientResponse> sink;
+
+		private final Mono<ClientResponse> exchange;
+
+		private final long startTime = System.nanoTime();
+
+		private final AtomicBoolean completed = new AtomicBoolean();
+
+		private final AtomicInteger inFlight = new AtomicInteger(1);
+
+		private final Disposable.Composite disposables = Disposables.composite();
+
+		HedgedExchange(MonoSink<ClientResponse> sink, Mono<ClientResponse> exchange, Duration delay) {
+			this.sink = sink;
+			this.exchange = exchange;
+			sink.onCancel(this.disposables);
+			subscribe(false);
+			this.disposables.add(Mono.delay(delay).subscribe(tick -> sendBackup()));
+		}
+
+		private void subscribe(boolean backup) {
+			this.disposables.add(this.exchange
+					.contextWrite(this.sink.contextView())
+					.subscribe(response -> onResponse(response, backup), this::onError, this::onComplete));
+		}
+
+		private void sendBackup() {
+			if (!this.completed.get()) {
+				this.inFlight.incrementAndGet();
+				hedgedCount.increment();
+				subscribe(true);
+			}
+		}
+
+		private void onResponse(ClientResponse response, boolean backup) {
+			if (this.completed.compareAndSet(false, true)) {
+				recordResponseTime(System.nanoTime() - this.startTime);
+				if (backup) {
+					backupWinCount.increment();
+				}
+				this.sink.success(response);
+				this.disposables.dispose();
+			}
+			else {
+				response.releaseBody().subscribe();
+			}
+		}
+
+		private void onError(Throwable ex) {
+			if (this.inFlight.decrementAndGet() == 0 && this.completed.compareAndSet(false, true)) {
+				this.sink.error(ex);
+				this.disposables.dispose();
+			}
+		}
+
+		private void onComplete() {
+			if (this.inFlight.decrementAndGet() == 0 && this.completed.compareAndSet(false, true)) {
+				this.sink.success();
+				this.disposables.dispose();
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,10 @@
 
 package org.springframework.web.reactive.handler;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
 
 import reactor.core.publisher.Mono;
 
@@ -32,6 +30,7 @@ import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.pattern.PathPattern;
 import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PathPatternSet;
 
 /**
  * Abstract base class for URL-mapped
@@ -45,7 +44,9 @@ import org.springframework.web.util.pattern.PathPatternParser;
  *
  * <p>Will search all path patterns to find the most specific match for the
  * current request path. The most specific pattern is defined as the longest
- * path pattern with the fewest captured variables and wildcards.
+ * path pattern with the fewest captured variables and wildcards. As of 5.3.30,
+ * patterns are held in a {@link PathPatternSet}, only matching those patterns
+ * against the request path which may actually match it.
  *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
@@ -56,7 +57,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 
 	private boolean lazyInitHandlers = false;
 
-	private final Map<PathPattern, Object> handlerMap = new LinkedHashMap<>();
+	private final PathPatternSet<Object> handlerPatterns = new PathPatternSet<>();
 
 	@Nullable
 	private BiPredicate<Object, ServerWebExchange> handlerPredicate;
@@ -82,7 +83,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 	 * handler.
 	 */
 	public final Map<PathPattern, Object> getHandlerMap() {
-		return Collections.unmodifiableMap(this.handlerMap);
+		return this.handlerPatterns.asMap();
 	}
 
 	/**
@@ -128,29 +129,23 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 	 */
 	@Nullable
 	protected Object lookupHandler(PathContainer lookupPath, ServerWebExchange exchange) throws Exception {
-		List<PathPattern> matches = null;
-		for (PathPattern pattern : this.handlerMap.keySet()) {
-			if (pattern.matches(lookupPath)) {
-				matches = (matches != null ? matches : new ArrayList<>());
-				matches.add(pattern);
-			}
-		}
-		if (matches == null) {
+		PathPatternSet.Match<Object> match = this.handlerPatterns.getBestMatch(lookupPath);
+		if (match == null) {
 			return null;
 		}
-		if (matches.size() > 1) {
-			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
-			if (logger.isTraceEnabled()) {
-				logger.debug(exchange.getLogPrefix() + "Matching patterns " + matches);
+		if (logger.isTraceEnabled()) {
+			List<PathPattern> matches = this.handlerPatterns.getMatches(lookupPath).stream()
+					.map(PathPatternSet.Match::getPattern).collect(Collectors.toList());
+			if (matches.size() > 1) {
+				logger.trace(exchange.getLogPrefix() + "Matching patterns " + matches);
 			}
 		}
 
-		PathPattern pattern = matches.get(0);
+		PathPattern pattern = match.getPattern();
 		PathContainer pathWithinMapping = pattern.extractPathWithinPattern(lookupPath);
-		PathPattern.PathMatchInfo matchInfo = pattern.matchAndExtract(lookupPath);
-		Assert.notNull(matchInfo, "Expected a match");
+		PathPattern.PathMatchInfo matchInfo = match.getMatchInfo();
 
-		Object handler = this.handlerMap.get(pattern);
+		Object handler = match.getValue();
 
 		// Bean name or resolved handler?
 		if (handler instanceof String) {
@@ -214,13 +209,11 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 		PathPatternParser parser = getPathPatternParser();
 		urlPath = parser.initFullPathPattern(urlPath);
 		PathPattern pattern = parser.parse(urlPath);
-		if (this.handlerMap.containsKey(pattern)) {
-			Object existingHandler = this.handlerMap.get(pattern);
-			if (existingHandler != null && existingHandler != resolvedHandler) {
-				throw new IllegalStateException(
-						"Cannot map " + getHandlerDescription(handler) + " to [" + urlPath + "]: " +
-						"there is already " + getHandlerDescription(existingHandler) + " mapped.");
-			}
+		Object existingHandler = this.handlerPatterns.get(pattern);
+		if (existingHandler != null && existingHandler != resolvedHandler) {
+			throw new IllegalStateException(
+					"Cannot map " + getHandlerDescription(handler) + " to [" + urlPath + "]: " +
+					"there is already " + getHandlerDescription(existingHandler) + " mapped.");
 		}
 
 		// Eagerly resolve handler if referencing singleton via name.
@@ -232,7 +225,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping {
 		}
 
 		// Register resolved handler
-		this.handlerMap.put(pattern, resolvedHandler);
+		this.handlerPatterns.add(pattern, resolvedHandler);
 		if (logger.isTraceEnabled()) {
 			logger.trace("Mapped [" + urlPath + "] onto " + getHandlerDescription(handler));
 		}
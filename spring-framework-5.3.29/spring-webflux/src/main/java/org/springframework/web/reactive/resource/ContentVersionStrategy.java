@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,21 +16,30 @@
 
 package org.springframework.web.reactive.resource;
 
+import java.util.Optional;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StreamUtils;
+import org.springframework.web.util.ResourceMetadataCache;
+import org.springframework.web.util.ResourceMetadataCache.ResourceMetadata;
 
 /**
  * A {@code VersionStrategy} that calculates a Hex MD5 hash from the content
  * of the resource and appends it to the file name, e.g.
  * {@code "styles/main-e36d2e05253c6c7085a91522ce43a0b4.css"}.
  *
+ * <p>The content hash may be taken from a shared {@link ResourceMetadataCache}
+ * rather than computed from the content of the resource every time.
+ *
  * @author Rossen Stoyanchev
  * @author Brian Clozel
  * @since 5.0
@@ -38,9 +47,38 @@ import org.springframework.util.StreamUtils;
  */
 public class ContentVersionStrategy extends AbstractFileNameVersionStrategy {
 
+	@Nullable
+	private ResourceMetadataCache resourceMetadataCache;
+
+
+	/**
+	 * Set a cache for the metadata of resources, for reusing the content hash
+	 * of a resource as long as the resource has not changed.
+	 * @since 5.3.30
+	 * @see ResourceWebHandler#setResourceMetadataCache
+	 */
+	public void setResourceMetadataCache(@Nullable ResourceMetadataCache resourceMetadataCache) {
+		this.resourceMetadataCache = resourceMetadataCache;
+	}
+
 
 	@Override
 	public Mono<String> getResourceVersion(Resource resource) {
+		ResourceMetadataCache cache = this.resourceMetadataCache;
+		if (cache != null) {
+			ResourceMetadata metadata = cache.getCachedMetadata(resource);
+			if (metadata != null) {
+				return Mono.just(metadata.getContentHash());
+			}
+			return Mono.fromCallable(() -> Optional.ofNullable(cache.getMetadata(resource)))
+					.subscribeOn(Schedulers.boundedElastic())
+					.flatMap(optional -> optional.map(value -> Mono.just(value.getContentHash()))
+							.orElseGet(() -> readResourceVersion(resource)));
+		}
+		return readResourceVersion(resource);
+	}
+
+	private Mono<String> readResourceVersion(Resource resource) {
 		Flux<DataBuffer> flux = DataBufferUtils.read(
 				resource, DefaultDataBufferFactory.sharedInstance, StreamUtils.BUFFER_SIZE);
 
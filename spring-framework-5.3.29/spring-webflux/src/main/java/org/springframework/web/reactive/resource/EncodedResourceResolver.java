@@ -22,15 +22,38 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -52,10 +75,16 @@ import org.springframework.web.server.ServerWebExchange;
  * {@link VersionResourceResolver} with a content-based, version strategy to
  * ensure the version calculation is not impacted by the encoding.
  *
+ * <p>By default, the presence of an encoded variant is checked on the file
+ * system for every request. With {@link #setUseIndex useIndex} enabled, the
+ * encoded variants in file system locations are kept in an in-memory index
+ * instead, which is refreshed through a {@link WatchService} as files change.
+ * The index and its {@code WatchService} are released on {@link #destroy()}.
+ *
  * @author Rossen Stoyanchev
  * @since 5.1
  */
-public class EncodedResourceResolver extends AbstractResourceResolver {
+public class EncodedResourceResolver extends AbstractResourceResolver implements DisposableBean {
 
 	/**
 	 * The default content codings.
@@ -67,6 +96,11 @@ public class EncodedResourceResolver extends AbstractResourceResolver {
 
 	private final Map<String, String> extensions = new LinkedHashMap<>();
 
+	private boolean useIndex = false;
+
+	@Nullable
+	private volatile VariantIndex index;
+
 
 	public EncodedResourceResolver() {
 		this.extensions.put("gzip", ".gz");
@@ -126,6 +160,89 @@ public class EncodedResourceResolver extends AbstractResourceResolver {
 	 */
 	public void registerExtension(String coding, String extension) {
 		this.extensions.put(coding, (extension.startsWith(".") ? extension : "." + extension));
+		resetIndex();
+	}
+
+	/**
+	 * Whether to keep an in-memory index of the encoded variants of resources
+	 * in file system locations, rather than checking for the existence of an
+	 * encoded variant on the file system for every request.
+	 * <p>The index for a location is built upfront as part of
+	 * {@link ResourceWebHandler#afterPropertiesSet()}, or otherwise on a bounded
+	 * elastic thread on first use, and is refreshed there through a
+	 * {@link WatchService} as files are created or deleted. Requests are served
+	 * with a check on the file system while the index is being built or refreshed.
+	 * Symbolic links within a location are followed. Depending on the
+	 * platform, the {@code WatchService} uses a background thread of the JDK,
+	 * and on platforms without native file change notifications, changes may
+	 * only be picked up after a few seconds. Resources in other locations, e.g.
+	 * in a jar file, are checked for every request as usual.
+	 * <p>The {@code WatchService} is closed on {@link #destroy()}, which
+	 * {@link ResourceWebHandler#destroy()} invokes for its resolvers.
+	 * <p>By default this is set to {@code false}.
+	 * @since 5.3.30
+	 */
+	public void setUseIndex(boolean useIndex) {
+		this.useIndex = useIndex;
+		resetIndex();
+	}
+
+	/**
+	 * Return whether an in-memory index of encoded variants is used.
+	 * @since 5.3.30
+	 */
+	public boolean isUseIndex() {
+		return this.useIndex;
+	}
+
+	/**
+	 * Index the encoded variants in the given locations upfront, if an
+	 * {@link #setUseIndex index} is used.
+	 * @param locations the locations to index, with locations other than
+	 * file system directories being ignored
+	 * @since 5.3.30
+	 */
+	public void indexLocations(List<? extends Resource> locations) {
+		VariantIndex index = getIndex();
+		if (index != null) {
+			index.indexLocations(locations);
+		}
+	}
+
+	@Nullable
+	private VariantIndex getIndex() {
+		if (!this.useIndex) {
+			return null;
+		}
+		VariantIndex index = this.index;
+		if (index == null) {
+			synchronized (this) {
+				index = this.index;
+				if (index == null) {
+					index = VariantIndex.create(this.extensions.values());
+					this.index = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Release the index of encoded variants, if any, closing its
+	 * {@link WatchService}.
+	 * @since 5.3.30
+	 */
+	@Override
+	public void destroy() {
+		resetIndex();
+	}
+
+	private synchronized void resetIndex() {
+		VariantIndex index = this.index;
+		if (index != null) {
+			index.close();
+			this.index = null;
+		}
 	}
 
 
@@ -144,6 +261,28 @@ public class EncodedResourceResolver extends AbstractResourceResolver {
 				return resource;
 			}
 
+			VariantIndex index = getIndex();
+			if (index != null && index.isCurrent(locations)) {
+				Path path = index.getIndexedPath(resource);
+				if (path != null) {
+					for (String coding : this.contentCodings) {
+						if (acceptEncoding.contains(coding)) {
+							String extension = getExtension(coding);
+							if (index.contains(path.resolveSibling(path.getFileName() + extension))) {
+								try {
+									return new EncodedResource(resource, coding, extension);
+								}
+								catch (IOException ex) {
+									logger.trace(exchange.getLogPrefix() +
+											"No " + coding + " resource for [" + resource.getFilename() + "]", ex);
+								}
+							}
+						}
+					}
+					return resource;
+				}
+			}
+
 			for (String coding : this.contentCodings) {
 				if (acceptEncoding.contains(coding)) {
 					try {
@@ -187,6 +326,253 @@ public class EncodedResourceResolver extends AbstractResourceResolver {
 	}
 
 
+	/**
+	 * In-memory index of the encoded variants in file system locations,
+	 * kept up to date through a {@link WatchService}.
+	 * <p>The index is only read on the request path. File change events and
+	 * locations which have not been indexed yet are handed to a refresh on a
+	 * bounded elastic thread, and the index is not used until that refresh is
+	 * complete. Changes to the index are made while holding the monitor of the
+	 * index, and never from within a compute method of the backing maps.
+	 */
+	private static final class VariantIndex {
+
+		private final Collection<String> extensions;
+
+		private final WatchService watchService;
+
+		private final Map<Resource, Optional<Path>> locations = new ConcurrentHashMap<>();
+
+		private final Set<Resource> locationsToIndex = ConcurrentHashMap.newKeySet();
+
+		private final Queue<WatchKey> pendingKeys = new ConcurrentLinkedQueue<>();
+
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+
+		private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+
+		private final Set<Path> variants = ConcurrentHashMap.newKeySet();
+
+		private VariantIndex(Collection<String> extensions, WatchService watchService) {
+			this.extensions = new ArrayList<>(extensions);
+			this.watchService = watchService;
+		}
+
+		@Nullable
+		static VariantIndex create(Collection<String> extensions) {
+			try {
+				return new VariantIndex(extensions, FileSystems.getDefault().newWatchService());
+			}
+			catch (IOException | UnsupportedOperationException ex) {
+				// No file change notifications: check the file system for every request
+				return null;
+			}
+		}
+
+		/**
+		 * Index the given locations on the calling thread, if not indexed yet.
+		 */
+		synchronized void indexLocations(List<? extends Resource> locations) {
+			for (Resource location : locations) {
+				if (!this.locations.containsKey(location)) {
+					this.locations.put(location, indexLocation(location));
+				}
+			}
+		}
+
+		/**
+		 * Check whether the index is up to date for the given locations, without
+		 * blocking. If not, a refresh is triggered in the background.
+		 */
+		boolean isCurrent(List<? extends Resource> locations) {
+			boolean current = !this.refreshing.get();
+			for (Resource location : locations) {
+				if (!this.locations.containsKey(location)) {
+					this.locationsToIndex.add(location);
+					current = false;
+				}
+			}
+			try {
+				WatchKey key;
+				while ((key = this.watchService.poll()) != null) {
+					this.pendingKeys.add(key);
+					current = false;
+				}
+			}
+			catch (ClosedWatchServiceException ex) {
+				return false;
+			}
+			if (current && this.pendingKeys.isEmpty() && this.locationsToIndex.isEmpty()) {
+				return true;
+			}
+			scheduleRefresh();
+			return false;
+		}
+
+		private void scheduleRefresh() {
+			if (this.refreshing.compareAndSet(false, true)) {
+				Schedulers.boundedElastic().schedule(this::refresh);
+			}
+		}
+
+		private void refresh() {
+			do {
+				try {
+					synchronized (this) {
+						indexPendingLocations();
+						applyPendingChanges();
+					}
+				}
+				catch (ClosedWatchServiceException ex) {
+					// Index closed in the meantime
+				}
+				finally {
+					this.refreshing.set(false);
+				}
+			}
+			while ((!this.pendingKeys.isEmpty() || !this.locationsToIndex.isEmpty()) &&
+					this.refreshing.compareAndSet(false, true));
+		}
+
+		private void indexPendingLocations() {
+			for (Iterator<Resource> it = this.locationsToIndex.iterator(); it.hasNext();) {
+				Resource location = it.next();
+				it.remove();
+				if (!this.locations.containsKey(location)) {
+					this.locations.put(location, indexLocation(location));
+				}
+			}
+		}
+
+		private Optional<Path> indexLocation(Resource location) {
+			try {
+				if (location.isFile()) {
+					Path root = location.getFile().toPath().toAbsolutePath().normalize();
+					if (Files.isDirectory(root)) {
+						indexDirectory(root);
+						return Optional.of(root);
+					}
+				}
+			}
+			catch (IOException ex) {
+				// Not indexable: check the file system for every request
+			}
+			return Optional.empty();
+		}
+
+		private void indexDirectory(Path directory) throws IOException {
+			Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE,
+					new SimpleFileVisitor<Path>() {
+						@Override
+						public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+							WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+									StandardWatchEventKinds.ENTRY_DELETE);
+							directories.put(key, dir);
+							return FileVisitResult.CONTINUE;
+						}
+						@Override
+						public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+							if (isVariant(file)) {
+								variants.add(file);
+							}
+							return FileVisitResult.CONTINUE;
+						}
+						@Override
+						public FileVisitResult visitFileFailed(Path file, IOException ex) {
+							// E.g. a cycle through symbolic links
+							return FileVisitResult.CONTINUE;
+						}
+					});
+		}
+
+		private boolean isVariant(Path file) {
+			String fileName = file.getFileName().toString();
+			for (String extension : this.extensions) {
+				if (fileName.endsWith(extension)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Return the path of the given resource, if within an indexed location.
+		 */
+		@Nullable
+		Path getIndexedPath(Resource resource) {
+			try {
+				if (!resource.isFile()) {
+					return null;
+				}
+				Path path = resource.getFile().toPath().toAbsolutePath().normalize();
+				for (Optional<Path> root : this.locations.values()) {
+					if (root.isPresent() && path.startsWith(root.get())) {
+						return path;
+					}
+				}
+			}
+			catch (IOException ex) {
+				// fall through
+			}
+			return null;
+		}
+
+		boolean contains(Path variant) {
+			return this.variants.contains(variant);
+		}
+
+		private void applyPendingChanges() {
+			WatchKey key;
+			while ((key = this.pendingKeys.poll()) != null) {
+				Path dir = this.directories.get(key);
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						reindex();
+					}
+					else if (dir != null) {
+						Path child = dir.resolve((Path) event.context());
+						if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+							try {
+								if (Files.isDirectory(child)) {
+									indexDirectory(child);
+								}
+								else if (isVariant(child)) {
+									this.variants.add(child);
+								}
+							}
+							catch (IOException ex) {
+								reindex();
+							}
+						}
+						else if (!this.variants.remove(child)) {
+							this.variants.removeIf(variant -> variant.startsWith(child));
+						}
+					}
+				}
+				if (!key.reset()) {
+					this.directories.remove(key);
+				}
+			}
+		}
+
+		private void reindex() {
+			this.directories.keySet().forEach(WatchKey::cancel);
+			this.directories.clear();
+			this.variants.clear();
+			this.locations.clear();
+		}
+
+		void close() {
+			try {
+				this.watchService.close();
+			}
+			catch (IOException ex) {
+				// ignore
+			}
+		}
+	}
+
+
 	/**
 	 * An encoded {@link HttpResource}.
 	 */
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,13 +27,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.codec.Hints;
@@ -59,6 +62,8 @@ import org.springframework.web.server.MethodNotAllowedException;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebHandler;
+import org.springframework.web.util.ResourceMetadataCache;
+import org.springframework.web.util.ResourceMetadataCache.ResourceMetadata;
 
 /**
  * {@code HttpRequestHandler} that serves static resources in an optimized way
@@ -89,7 +94,7 @@ import org.springframework.web.server.WebHandler;
  * @author Juergen Hoeller
  * @since 5.0
  */
-public class ResourceWebHandler implements WebHandler, InitializingBean {
+public class ResourceWebHandler implements WebHandler, InitializingBean, DisposableBean {
 
 	private static final Set<HttpMethod> SUPPORTED_METHODS = EnumSet.of(HttpMethod.GET, HttpMethod.HEAD);
 
@@ -126,6 +131,9 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 
 	private boolean useLastModified = true;
 
+	@Nullable
+	private ResourceMetadataCache resourceMetadataCache;
+
 	private boolean optimizeLocations = false;
 
 
@@ -278,6 +286,30 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 		return this.useLastModified;
 	}
 
+	/**
+	 * Set a cache for the metadata of the served resources, avoiding access to
+	 * the file system for every request, with a strong ETag derived from the
+	 * content of a resource sent along with the {@code Last-Modified} header.
+	 * <p>A cache may be shared with a {@link ContentVersionStrategy}, so that
+	 * the content hash of a resource is computed only once. For that reason,
+	 * the cache is not destroyed along with this handler: declare it as a bean,
+	 * or call {@link ResourceMetadataCache#destroy()} when no longer needed.
+	 * @since 5.3.30
+	 * @see ContentVersionStrategy#setResourceMetadataCache
+	 */
+	public void setResourceMetadataCache(@Nullable ResourceMetadataCache resourceMetadataCache) {
+		this.resourceMetadataCache = resourceMetadataCache;
+	}
+
+	/**
+	 * Return the configured cache for the metadata of the served resources, if any.
+	 * @since 5.3.30
+	 */
+	@Nullable
+	public ResourceMetadataCache getResourceMetadataCache() {
+		return this.resourceMetadataCache;
+	}
+
 	/**
 	 * Set whether to optimize the specified locations through an existence
 	 * check on startup, filtering non-existing directories upfront so that
@@ -336,6 +368,7 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 		}
 
 		initAllowedLocations();
+		initEncodedResourceIndex();
 
 		if (getResourceHttpMessageWriter() == null) {
 			this.resourceHttpMessageWriter = new ResourceHttpMessageWriter();
@@ -387,6 +420,41 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 		}
 	}
 
+	/**
+	 * Look for {@link EncodedResourceResolver EncodedResourceResolvers} with an
+	 * {@linkplain EncodedResourceResolver#setUseIndex index} of encoded variants
+	 * among the configured resource resolvers, and build their index for the
+	 * locations configured on this class upfront.
+	 * @since 5.3.30
+	 */
+	protected void initEncodedResourceIndex() {
+		if (CollectionUtils.isEmpty(getLocations())) {
+			return;
+		}
+		for (ResourceResolver resolver : getResourceResolvers()) {
+			if (resolver instanceof EncodedResourceResolver) {
+				EncodedResourceResolver encodedResolver = (EncodedResourceResolver) resolver;
+				if (encodedResolver.isUseIndex()) {
+					encodedResolver.indexLocations(getLocations());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Release the index of encoded variants held by any configured
+	 * {@link EncodedResourceResolver}.
+	 * @since 5.3.30
+	 */
+	@Override
+	public void destroy() {
+		for (ResourceResolver resolver : getResourceResolvers()) {
+			if (resolver instanceof EncodedResourceResolver) {
+				((EncodedResourceResolver) resolver).destroy();
+			}
+		}
+	}
+
 
 	/**
 	 * Processes a resource request.
@@ -408,49 +476,64 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 					return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
 				}))
 				.flatMap(resource -> {
-					try {
-						if (HttpMethod.OPTIONS.matches(exchange.getRequest().getMethodValue())) {
-							exchange.getResponse().getHeaders().add("Allow", "GET,HEAD,OPTIONS");
-							return Mono.empty();
-						}
-
-						// Supported methods and required session
-						HttpMethod httpMethod = exchange.getRequest().getMethod();
-						if (!SUPPORTED_METHODS.contains(httpMethod)) {
-							return Mono.error(new MethodNotAllowedException(
-									exchange.getRequest().getMethodValue(), SUPPORTED_METHODS));
-						}
-
-						// Header phase
-						if (isUseLastModified() && exchange.checkNotModified(Instant.ofEpochMilli(resource.lastModified()))) {
-							logger.trace(exchange.getLogPrefix() + "Resource not modified");
-							return Mono.empty();
-						}
-
-						// Apply cache settings, if any
-						CacheControl cacheControl = getCacheControl();
-						if (cacheControl != null) {
-							exchange.getResponse().getHeaders().setCacheControl(cacheControl);
-						}
-
-						// Check the media type for the resource
-						MediaType mediaType = getMediaType(resource);
-						setHeaders(exchange, resource, mediaType);
-
-						// Content phase
-						ResourceHttpMessageWriter writer = getResourceHttpMessageWriter();
-						Assert.state(writer != null, "No ResourceHttpMessageWriter");
-						return writer.write(Mono.just(resource),
-								null, ResolvableType.forClass(Resource.class), mediaType,
-								exchange.getRequest(), exchange.getResponse(),
-								Hints.from(Hints.LOG_PREFIX_HINT, exchange.getLogPrefix()));
+					if (HttpMethod.OPTIONS.matches(exchange.getRequest().getMethodValue())) {
+						exchange.getResponse().getHeaders().add("Allow", "GET,HEAD,OPTIONS");
+						return Mono.empty();
 					}
-					catch (IOException ex) {
-						return Mono.error(ex);
+
+					// Supported methods and required session
+					HttpMethod httpMethod = exchange.getRequest().getMethod();
+					if (!SUPPORTED_METHODS.contains(httpMethod)) {
+						return Mono.error(new MethodNotAllowedException(
+								exchange.getRequest().getMethodValue(), SUPPORTED_METHODS));
 					}
+
+					return getResourceMetadata(resource)
+							.flatMap(metadata -> writeResource(exchange, resource, metadata.orElse(null)));
 				});
 	}
 
+	private Mono<Void> writeResource(ServerWebExchange exchange, Resource resource,
+			@Nullable ResourceMetadata metadata) {
+
+		try {
+			// Header phase
+			if (metadata != null) {
+				Instant lastModified = (isUseLastModified() ?
+						Instant.ofEpochMilli(metadata.getLastModified()) : Instant.MIN);
+				if (exchange.checkNotModified(metadata.getETag(), lastModified)) {
+					logger.trace(exchange.getLogPrefix() + "Resource not modified");
+					return Mono.empty();
+				}
+			}
+			else if (isUseLastModified() && exchange.checkNotModified(Instant.ofEpochMilli(resource.lastModified()))) {
+				logger.trace(exchange.getLogPrefix() + "Resource not modified");
+				return Mono.empty();
+			}
+
+			// Apply cache settings, if any
+			CacheControl cacheControl = getCacheControl();
+			if (cacheControl != null) {
+				exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+			}
+
+			// Check the media type for the resource
+			MediaType mediaType = getMediaType(resource);
+			setHeaders(exchange, resource, mediaType);
+
+			// Content phase
+			ResourceHttpMessageWriter writer = getResourceHttpMessageWriter();
+			Assert.state(writer != null, "No ResourceHttpMessageWriter");
+			return writer.write(Mono.just(resource),
+					null, ResolvableType.forClass(Resource.class), mediaType,
+					exchange.getRequest(), exchange.getResponse(),
+					Hints.from(Hints.LOG_PREFIX_HINT, exchange.getLogPrefix()));
+		}
+		catch (IOException ex) {
+			return Mono.error(ex);
+		}
+	}
+
 	protected Mono<Resource> getResource(ServerWebExchange exchange) {
 		String name = HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE;
 		PathContainer pathWithinHandler = exchange.getRequiredAttribute(name);
@@ -598,6 +681,25 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 		return false;
 	}
 
+	private Mono<Optional<ResourceMetadata>> getResourceMetadata(Resource resource) {
+		ResourceMetadataCache cache = this.resourceMetadataCache;
+		if (cache == null) {
+			return Mono.just(Optional.empty());
+		}
+		ResourceMetadata metadata = cache.getCachedMetadata(resource);
+		if (metadata != null) {
+			return Mono.just(Optional.of(metadata));
+		}
+		// Reading and hashing the resource may block
+		return Mono.fromCallable(() -> Optional.ofNullable(cache.getMetadata(resource)))
+				.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	@Nullable
+	private ResourceMetadata getCachedResourceMetadata(Resource resource) {
+		return (this.resourceMetadataCache != null ? this.resourceMetadataCache.getCachedMetadata(resource) : null);
+	}
+
 	@Nullable
 	private MediaType getMediaType(Resource resource) {
 		MediaType mediaType = null;
@@ -608,6 +710,10 @@ public class ResourceWebHandler implements WebHandler, InitializingBean {
 				mediaType = this.mediaTypes.get(ext.toLowerCase(Locale.ENGLISH));
 			}
 		}
+		ResourceMetadata metadata = getCachedResourceMetadata(resource);
+		if (mediaType == null && metadata != null) {
+			mediaType = metadata.getMediaType();
+		}
 		if (mediaType == null) {
 			List<MediaType> mediaTypes = MediaTypeFactory.getMediaTypes(filename);
 			if (!CollectionUtils.isEmpty(mediaTypes)) {
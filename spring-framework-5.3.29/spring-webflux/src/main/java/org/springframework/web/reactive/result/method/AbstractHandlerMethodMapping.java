@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,10 +36,12 @@ import reactor.core.publisher.Mono;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -49,6 +51,8 @@ import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.reactive.handler.AbstractHandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
 
 /**
  * Abstract base class for {@link HandlerMapping} implementations that define
@@ -326,7 +330,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, exchange);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, exchange);
+			PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+			addMatchingMappings(this.mappingRegistry.getCandidateMappings(path), matches, exchange);
 		}
 		if (!matches.isEmpty()) {
 			Comparator<Match> comparator = new MatchComparator(getMappingComparator(exchange));
@@ -443,6 +448,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Return the parsed path patterns of the given mapping, if the mapping only
+	 * matches requests whose path within the application matches one of them.
+	 * <p>This allows for narrowing down the mappings to check for a request
+	 * through a {@link PathPatternIndex}, rather than checking every mapping.
+	 * The default implementation returns {@code null}, in which case all
+	 * mappings are checked unless the request matches a direct path.
+	 * @since 5.3.30
+	 */
+	@Nullable
+	protected Set<PathPattern> getPathPatterns(T mapping) {
+		return null;
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -474,6 +493,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> pathLookup = new LinkedMultiValueMap<>();
 
+		private final PathPatternIndex<T> patternIndex = new PathPatternIndex<>();
+
+		private int unindexedMappingCount;
+
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
 
 		private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
@@ -497,6 +520,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(path);
 		}
 
+		/**
+		 * Return the mappings with a path pattern that may match the given path,
+		 * or all mappings if they cannot be narrowed down. Not thread-safe.
+		 * @param path the path within the application
+		 * @since 5.3.30
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getCandidateMappings(PathContainer path) {
+			if (this.unindexedMappingCount > 0) {
+				return this.registry.keySet();
+			}
+			return this.patternIndex.getCandidates(path);
+		}
+
 		/**
 		 * Return CORS configuration. Thread-safe for concurrent use.
 		 */
@@ -531,6 +568,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.pathLookup.add(path, mapping);
 				}
 
+				if (!this.registry.containsKey(mapping)) {
+					addPathPatterns(mapping);
+				}
+
 				CorsConfiguration corsConfig = initCorsConfiguration(handler, method, mapping);
 				if (corsConfig != null) {
 					corsConfig.validateAllowCredentials();
@@ -574,12 +615,38 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				removePathPatterns(registration.getMapping());
+
 				this.corsLookup.remove(registration.getHandlerMethod());
 			}
 			finally {
 				this.readWriteLock.writeLock().unlock();
 			}
 		}
+
+		private void addPathPatterns(T mapping) {
+			Set<PathPattern> patterns = AbstractHandlerMethodMapping.this.getPathPatterns(mapping);
+			if (!CollectionUtils.isEmpty(patterns)) {
+				for (PathPattern pattern : patterns) {
+					this.patternIndex.add(pattern, mapping);
+				}
+			}
+			else {
+				this.unindexedMappingCount++;
+			}
+		}
+
+		private void removePathPatterns(T mapping) {
+			Set<PathPattern> patterns = AbstractHandlerMethodMapping.this.getPathPatterns(mapping);
+			if (!CollectionUtils.isEmpty(patterns)) {
+				for (PathPattern pattern : patterns) {
+					this.patternIndex.remove(pattern, mapping);
+				}
+			}
+			else {
+				this.unindexedMappingCount--;
+			}
+		}
 	}
 
 
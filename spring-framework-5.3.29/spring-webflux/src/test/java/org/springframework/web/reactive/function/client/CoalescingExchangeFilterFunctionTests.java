@@ -0,0 +1,214 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CoalescingExchangeFilterFunction}.
+ */
+class CoalescingExchangeFilterFunctionTests {
+
+	private static final URI URL = URI.create("https://example.com/resource");
+
+	private final CoalescingExchangeFilterFunction filter = new CoalescingExchangeFilterFunction();
+
+	private final AtomicInteger exchangeCount = new AtomicInteger();
+
+	private final Sinks.One<ClientResponse> responseSink = Sinks.one();
+
+	private final ExchangeFunction exchangeFunction = request -> {
+		this.exchangeCount.incrementAndGet();
+		return this.responseSink.asMono();
+	};
+
+
+	@Test
+	void identicalRequestsInFlight() {
+		Mono<String> first = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction)
+				.flatMap(response -> response.bodyToMono(String.class)).cache();
+		Mono<String> second = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction)
+				.flatMap(response -> response.bodyToMono(String.class)).cache();
+		first.subscribe();
+		second.subscribe();
+
+		this.responseSink.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+				.header("Content-Type", "text/plain").body("body").build());
+
+		StepVerifier.create(first).expectNext("body").verifyComplete();
+		StepVerifier.create(second).expectNext("body").verifyComplete();
+		assertThat(this.exchangeCount.get()).isEqualTo(1);
+		assertThat(this.filter.getExchangeCount()).isEqualTo(1);
+		assertThat(this.filter.getCoalescedCount()).isEqualTo(1);
+
+		// No longer in flight
+		StepVerifier.create(this.filter.filter(request(HttpMethod.GET), this.exchangeFunction))
+				.expectNextCount(1)
+				.verifyComplete();
+		assertThat(this.exchangeCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void responsePerRequest() {
+		Mono<ClientResponse> first = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).cache();
+		Mono<ClientResponse> second = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).cache();
+		first.subscribe();
+		second.subscribe();
+
+		this.responseSink.tryEmitValue(ClientResponse.create(HttpStatus.ACCEPTED)
+				.header("Foo", "bar").cookie("baz", "qux").body("body").build());
+
+		ClientResponse firstResponse = first.block();
+		ClientResponse secondResponse = second.block();
+		assertThat(firstResponse).isNotSameAs(secondResponse);
+		assertThat(firstResponse.rawStatusCode()).isEqualTo(202);
+		assertThat(firstResponse.headers().header("Foo")).containsExactly("bar");
+		assertThat(firstResponse.cookies().getFirst("baz").getValue()).isEqualTo("qux");
+		assertThat(firstResponse.bodyToMono(String.class).block()).isEqualTo("body");
+		assertThat(secondResponse.bodyToMono(String.class).block()).isEqualTo("body");
+	}
+
+	@Test
+	void differentHeaders() {
+		Mono<ClientResponse> first = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction);
+		Mono<ClientResponse> second = this.filter.filter(
+				ClientRequest.create(HttpMethod.GET, URL).header("Accept", "text/plain").build(), this.exchangeFunction);
+		first.subscribe();
+		second.subscribe();
+
+		assertThat(this.exchangeCount.get()).isEqualTo(2);
+		assertThat(this.filter.getCoalescedCount()).isEqualTo(0);
+	}
+
+	@Test
+	void differentCookiesAndAttributes() {
+		this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).subscribe();
+		this.filter.filter(ClientRequest.create(HttpMethod.GET, URL).cookie("SESSION", "1").build(),
+				this.exchangeFunction).subscribe();
+		this.filter.filter(ClientRequest.create(HttpMethod.GET, URL).cookie("SESSION", "2").build(),
+				this.exchangeFunction).subscribe();
+		this.filter.filter(ClientRequest.create(HttpMethod.GET, URL).attribute("user", "1").build(),
+				this.exchangeFunction).subscribe();
+
+		assertThat(this.exchangeCount.get()).isEqualTo(4);
+		assertThat(this.filter.getCoalescedCount()).isEqualTo(0);
+	}
+
+	@Test
+	void singleRequestNotBuffered() {
+		this.filter.setMaxInMemorySize(2);
+		ClientResponse response = ClientResponse.create(HttpStatus.OK).body("body").build();
+		Mono<ClientResponse> result = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction);
+		this.responseSink.tryEmitValue(response);
+
+		StepVerifier.create(result).expectNext(response).verifyComplete();
+		assertThat(response.bodyToMono(String.class).block()).isEqualTo("body");
+	}
+
+	@Test
+	void cancelledRequestDoesNotShareResponse() {
+		Mono<ClientResponse> first = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction);
+		first.subscribe().dispose();
+		Mono<ClientResponse> second = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).cache();
+		second.subscribe();
+
+		ClientResponse response = ClientResponse.create(HttpStatus.OK).body("body").build();
+		this.responseSink.tryEmitValue(response);
+
+		// The only remaining request receives the response as is
+		StepVerifier.create(second).expectNext(response).verifyComplete();
+		assertThat(this.exchangeCount.get()).isEqualTo(1);
+		assertThat(this.filter.getCoalescedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void cancelledRequestReleasesResponseNotDelivered() {
+		AtomicBoolean bodyReleased = new AtomicBoolean();
+		BaseSubscriber<ClientResponse> subscriber = new BaseSubscriber<ClientResponse>() {
+			@Override
+			protected void hookOnSubscribe(Subscription subscription) {
+				// no demand yet
+			}
+		};
+		this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).subscribe(subscriber);
+		this.responseSink.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+				.body(Flux.<DataBuffer>empty().doOnSubscribe(subscription -> bodyReleased.set(true))).build());
+		assertThat(bodyReleased).isFalse();
+
+		// Response passed through for this request, but never delivered to it
+		subscriber.cancel();
+		assertThat(bodyReleased).isTrue();
+	}
+
+	@Test
+	void postNotCoalesced() {
+		this.filter.filter(request(HttpMethod.POST), this.exchangeFunction).subscribe();
+		this.filter.filter(request(HttpMethod.POST), this.exchangeFunction).subscribe();
+
+		assertThat(this.exchangeCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void maxInMemorySize() {
+		this.filter.setMaxInMemorySize(2);
+		Mono<ClientResponse> first = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).cache();
+		Mono<ClientResponse> second = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).cache();
+		first.subscribe(response -> {}, ex -> {});
+		second.subscribe(response -> {}, ex -> {});
+		this.responseSink.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("body").build());
+
+		StepVerifier.create(first).expectError(DataBufferLimitException.class).verify();
+		StepVerifier.create(second).expectError(DataBufferLimitException.class).verify();
+	}
+
+	@Test
+	void errorShared() {
+		Mono<ClientResponse> first = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).cache();
+		Mono<ClientResponse> second = this.filter.filter(request(HttpMethod.GET), this.exchangeFunction).cache();
+		first.subscribe(response -> {}, ex -> {});
+		second.subscribe(response -> {}, ex -> {});
+
+		this.responseSink.tryEmitError(new IllegalStateException());
+
+		StepVerifier.create(first).expectError(IllegalStateException.class).verify();
+		StepVerifier.create(second).expectError(IllegalStateException.class).verify();
+		assertThat(this.exchangeCount.get()).isEqualTo(1);
+	}
+
+
+	private static ClientRequest request(HttpMethod method) {
+		return ClientRequest.create(method, URL).build();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.springframework.web.reactive.function.client;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Flux;
@@ -30,6 +32,7 @@ import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ExchangeTimings;
 import org.springframework.web.reactive.function.BodyExtractors;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -215,6 +218,42 @@ public class ExchangeFilterFunctionsTests {
 
 	}
 
+	@Test
+	public void timings() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = ClientResponse.create(HttpStatus.ACCEPTED).build();
+		List<ExchangeTimings> recorded = new ArrayList<>();
+
+		Mono<ClientResponse> result = ExchangeFilterFunctions.timings(recorded::add)
+				.filter(request, req -> Mono.deferContextual(context -> {
+					context.get(ExchangeTimings.class).requestReady();
+					return Mono.just(response);
+				}));
+
+		StepVerifier.create(result).expectNext(response).verifyComplete();
+		assertThat(recorded).hasSize(1);
+		ExchangeTimings timings = recorded.get(0);
+		assertThat(timings.getUri()).isEqualTo(DEFAULT_URL);
+		assertThat(timings.getRequestReadyTime()).isNotNull();
+		assertThat(timings.getResponseTime()).isNotNull();
+		assertThat(timings.getStatusCode()).isEqualTo(202);
+	}
+
+	@Test
+	public void timingsWithError() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		List<ExchangeTimings> recorded = new ArrayList<>();
+
+		Mono<ClientResponse> result = ExchangeFilterFunctions.timings(recorded::add)
+				.filter(request, req -> Mono.error(new MyException()));
+
+		StepVerifier.create(result).expectError(MyException.class).verify();
+		assertThat(recorded).hasSize(1);
+		assertThat(recorded.get(0).getError()).isInstanceOf(MyException.class);
+		assertThat(recorded.get(0).getResponseTime()).isNull();
+		assertThat(recorded.get(0).getStatusCode()).isEqualTo(-1);
+	}
+
 	private String string(DataBuffer buffer) {
 		String value = buffer.toString(UTF_8);
 		DataBufferUtils.release(buffer);
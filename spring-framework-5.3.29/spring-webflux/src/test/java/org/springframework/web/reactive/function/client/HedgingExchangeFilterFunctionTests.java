@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HedgingExchangeFilterFunction}.
+ */
+class HedgingExchangeFilterFunctionTests {
+
+	private static final URI URL = URI.create("https://example.com/resource");
+
+	private final HedgingExchangeFilterFunction filter = new HedgingExchangeFilterFunction(10);
+
+	private final AtomicInteger exchangeCount = new AtomicInteger();
+
+
+	@BeforeEach
+	void warmUp() {
+		this.filter.setMinResponseTimes(5);
+		this.filter.setPercentile(0.5);
+		this.filter.setMinDelay(Duration.ofMillis(50));
+		assertThat(this.filter.getDelay()).isNull();
+		for (int i = 0; i < 5; i++) {
+			this.filter.filter(request(HttpMethod.GET), request -> Mono.just(response(HttpStatus.OK))).block();
+		}
+		assertThat(this.filter.getDelay()).isEqualTo(Duration.ofMillis(50));
+	}
+
+
+	@Test
+	void backupRequestWins() {
+		AtomicBoolean primaryCanceled = new AtomicBoolean();
+		ClientResponse backupResponse = response(HttpStatus.ACCEPTED);
+
+		Mono<ClientResponse> result = this.filter.filter(request(HttpMethod.GET), request -> {
+			if (this.exchangeCount.incrementAndGet() == 1) {
+				return Mono.delay(Duration.ofSeconds(10))
+						.map(tick -> response(HttpStatus.OK))
+						.doOnCancel(() -> primaryCanceled.set(true));
+			}
+			return Mono.just(backupResponse);
+		});
+
+		StepVerifier.create(result).expectNext(backupResponse).verifyComplete();
+		assertThat(this.exchangeCount.get()).isEqualTo(2);
+		assertThat(primaryCanceled).isTrue();
+		assertThat(this.filter.getHedgedCount()).isEqualTo(1);
+		assertThat(this.filter.getBackupWinCount()).isEqualTo(1);
+	}
+
+	@Test
+	void responseTimeMeasuredFromStartOfExchange() {
+		Mono<ClientResponse> result = this.filter.filter(request(HttpMethod.GET), request -> {
+			if (this.exchangeCount.incrementAndGet() == 1) {
+				return Mono.never();
+			}
+			return Mono.just(response(HttpStatus.OK));
+		});
+		StepVerifier.create(result).expectNextCount(1).verifyComplete();
+
+		// Recorded for the canceled primary request, not for the fast backup request
+		this.filter.setPercentile(1);
+		this.filter.setMinDelay(Duration.ZERO);
+		assertThat(this.filter.getDelay()).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+	}
+
+	@Test
+	void primaryRequestWithinDelay() {
+		ClientResponse response = response(HttpStatus.OK);
+
+		Mono<ClientResponse> result = this.filter.filter(request(HttpMethod.GET), request -> {
+			this.exchangeCount.incrementAndGet();
+			return Mono.just(response);
+		});
+
+		StepVerifier.create(result).expectNext(response).verifyComplete();
+		assertThat(this.exchangeCount.get()).isEqualTo(1);
+		assertThat(this.filter.getExchangeCount()).isEqualTo(6);
+		assertThat(this.filter.getHedgedCount()).isEqualTo(0);
+	}
+
+	@Test
+	void errorWaitsForBackupRequest() {
+		ClientResponse backupResponse = response(HttpStatus.OK);
+
+		Mono<ClientResponse> result = this.filter.filter(request(HttpMethod.GET), request -> {
+			if (this.exchangeCount.incrementAndGet() == 1) {
+				return Mono.delay(Duration.ofMillis(200)).then(Mono.error(new IllegalStateException()));
+			}
+			return Mono.delay(Duration.ofMillis(300)).thenReturn(backupResponse);
+		});
+
+		StepVerifier.create(result).expectNext(backupResponse).verifyComplete();
+		assertThat(this.filter.getBackupWinCount()).isEqualTo(1);
+	}
+
+	@Test
+	void errorBeforeBackupRequest() {
+		Mono<ClientResponse> result = this.filter.filter(request(HttpMethod.GET), request -> {
+			this.exchangeCount.incrementAndGet();
+			return Mono.error(new IllegalStateException());
+		});
+
+		StepVerifier.create(result).expectError(IllegalStateException.class).verify();
+		assertThat(this.exchangeCount.get()).isEqualTo(1);
+		assertThat(this.filter.getHedgedCount()).isEqualTo(0);
+	}
+
+	@Test
+	void postNotHedged() {
+		Mono<ClientResponse> result = this.filter.filter(request(HttpMethod.POST), request -> {
+			this.exchangeCount.incrementAndGet();
+			return Mono.delay(Duration.ofMillis(200)).map(tick -> response(HttpStatus.OK));
+		});
+
+		StepVerifier.create(result).expectNextCount(1).verifyComplete();
+		assertThat(this.exchangeCount.get()).isEqualTo(1);
+		assertThat(this.filter.getHedgedCount()).isEqualTo(0);
+	}
+
+
+	private static ClientRequest request(HttpMethod method) {
+		return ClientRequest.create(method, URL).build();
+	}
+
+	private static ClientResponse response(HttpStatus status) {
+		return ClientResponse.create(status).build();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,18 +16,23 @@
 
 package org.springframework.web.reactive.resource;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.cache.Cache;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.reactive.resource.GzipSupport.GzippedFiles;
@@ -145,6 +150,56 @@ public class EncodedResourceResolverTests {
 		assertThat(resolved.getFilename()).isEqualTo(getResource(file).getFilename());
 	}
 
+	@Test
+	public void resolveWithIndex(@TempDir Path dir) throws Exception {
+		Files.write(dir.resolve("foo.js"), "foo".getBytes());
+		Files.write(dir.resolve("foo.js.gz"), "foo".getBytes());
+		Files.write(dir.resolve("bar.js"), "bar".getBytes());
+
+		EncodedResourceResolver encodedResolver = new EncodedResourceResolver();
+		encodedResolver.setUseIndex(true);
+		ResourceResolverChain chain = new DefaultResourceResolverChain(
+				Arrays.asList(encodedResolver, new PathResourceResolver()));
+		List<Resource> locations = Collections.singletonList(new FileSystemResource(dir.toString() + "/"));
+		encodedResolver.indexLocations(locations);
+
+		assertThat(resolveWithGzip(chain, "foo.js", locations)).isInstanceOf(HttpResource.class);
+		assertThat(resolveWithGzip(chain, "bar.js", locations)).isNotInstanceOf(HttpResource.class);
+
+		// File system checked until the index is rebuilt in the background
+		Files.write(dir.resolve("bar.js.gz"), "bar".getBytes());
+		Files.delete(dir.resolve("foo.js.gz"));
+		encodedResolver.destroy();
+
+		Resource resource = resolveWithGzip(chain, "bar.js", locations);
+		assertThat(resource).isInstanceOf(HttpResource.class);
+		assertThat(resource.getFile()).isEqualTo(dir.resolve("bar.js.gz").toFile());
+		assertThat(resolveWithGzip(chain, "foo.js", locations)).isNotInstanceOf(HttpResource.class);
+	}
+
+	@Test
+	public void resolveWithIndexInSymbolicLinkedDirectory(@TempDir Path dir, @TempDir Path target) throws Exception {
+		Files.write(target.resolve("foo.js"), "foo".getBytes());
+		Files.write(target.resolve("foo.js.gz"), "foo".getBytes());
+		Files.createSymbolicLink(dir.resolve("sub"), target);
+
+		EncodedResourceResolver encodedResolver = new EncodedResourceResolver();
+		encodedResolver.setUseIndex(true);
+		ResourceResolverChain chain = new DefaultResourceResolverChain(
+				Arrays.asList(encodedResolver, new PathResourceResolver()));
+		List<Resource> locations = Collections.singletonList(new FileSystemResource(dir.toString() + "/"));
+		encodedResolver.indexLocations(locations);
+
+		assertThat(resolveWithGzip(chain, "sub/foo.js", locations)).isInstanceOf(HttpResource.class);
+		encodedResolver.destroy();
+	}
+
+	private Resource resolveWithGzip(ResourceResolverChain chain, String file, List<Resource> locations) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(
+				MockServerHttpRequest.get("").header("Accept-Encoding", "gzip"));
+		return chain.resolveResource(exchange, file, locations).block(TIMEOUT);
+	}
+
 	private Resource getResource(String filePath) {
 		return new ClassPathResource("test/" + filePath, getClass());
 	}
@@ -52,6 +52,7 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
 import org.springframework.web.testfixture.server.MockServerWebExchange;
+import org.springframework.web.util.ResourceMetadataCache;
 import org.springframework.web.util.UriUtils;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -451,6 +452,27 @@ public class ResourceWebHandlerTests {
 		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
 	}
 
+	@Test
+	public void notModifiedWithResourceMetadataCache() throws Exception {
+		ResourceMetadataCache cache = new ResourceMetadataCache();
+		this.handler.setResourceMetadataCache(cache);
+
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(""));
+		setPathWithinHandlerMapping(exchange, "foo.css");
+		this.handler.handle(exchange).block(TIMEOUT);
+
+		String eTag = exchange.getResponse().getHeaders().getETag();
+		assertThat(eTag).isEqualTo("\"" + cache.getMetadata(new ClassPathResource("test/foo.css", getClass())).getContentHash() + "\"");
+		assertThat(exchange.getResponse().getHeaders().getContentLength()).isEqualTo(17);
+		assertResponseBody(exchange, "h1 { color:red; }");
+
+		exchange = MockServerWebExchange.from(MockServerHttpRequest.get("").ifNoneMatch(eTag));
+		setPathWithinHandlerMapping(exchange, "foo.css");
+		this.handler.handle(exchange).block(TIMEOUT);
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		cache.clear();
+	}
+
 	@Test
 	public void modified() throws Exception {
 		long timestamp = resourceLastModified("test/foo.css") / 1000 * 1000 - 1;
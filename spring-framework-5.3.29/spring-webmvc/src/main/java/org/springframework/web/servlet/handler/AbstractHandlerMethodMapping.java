@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,9 +39,11 @@ import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.MethodIntrospector;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -49,6 +51,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternIndex;
 import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
@@ -405,7 +410,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			addMatchingMappings(this.mappingRegistry.getRegistrations().keySet(), matches, request);
+			PathContainer path = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+					ServletRequestPathUtils.getParsedRequestPath(request).pathWithinApplication() : null);
+			addMatchingMappings(this.mappingRegistry.getCandidateMappings(path), matches, request);
 		}
 		if (!matches.isEmpty()) {
 			Match bestMatch = matches.get(0);
@@ -545,6 +552,21 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		return urls;
 	}
 
+	/**
+	 * Return the parsed path patterns of the given mapping, if the mapping only
+	 * matches requests whose {@linkplain ServletRequestPathUtils#getParsedRequestPath
+	 * parsed path} within the application matches one of these patterns.
+	 * <p>This allows for narrowing down the mappings to check for a request
+	 * through a {@link PathPatternIndex}, rather than checking every mapping.
+	 * The default implementation returns {@code null}, in which case all
+	 * mappings are checked unless the request matches a direct path.
+	 * @since 5.3.30
+	 */
+	@Nullable
+	protected Set<PathPattern> getPathPatterns(T mapping) {
+		return null;
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -575,6 +597,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> pathLookup = new LinkedMultiValueMap<>();
 
+		private final PathPatternIndex<T> patternIndex = new PathPatternIndex<>();
+
+		private int unindexedMappingCount;
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -598,6 +624,20 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.pathLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings with a path pattern that may match the given path,
+		 * or all mappings if they cannot be narrowed down. Not thread-safe.
+		 * @param path the parsed path within the application, if available
+		 * @since 5.3.30
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getCandidateMappings(@Nullable PathContainer path) {
+			if (path == null || this.unindexedMappingCount > 0) {
+				return this.registry.keySet();
+			}
+			return this.patternIndex.getCandidates(path);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -639,6 +679,10 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.pathLookup.add(path, mapping);
 				}
 
+				if (!this.registry.containsKey(mapping)) {
+					addPathPatterns(mapping);
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -706,6 +750,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				removePathPatterns(registration.getMapping());
+
 				removeMappingName(registration);
 
 				this.corsLookup.remove(registration.getHandlerMethod());
@@ -715,6 +761,30 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			}
 		}
 
+		private void addPathPatterns(T mapping) {
+			Set<PathPattern> patterns = AbstractHandlerMethodMapping.this.getPathPatterns(mapping);
+			if (!CollectionUtils.isEmpty(patterns)) {
+				for (PathPattern pattern : patterns) {
+					this.patternIndex.add(pattern, mapping);
+				}
+			}
+			else {
+				this.unindexedMappingCount++;
+			}
+		}
+
+		private void removePathPatterns(T mapping) {
+			Set<PathPattern> patterns = AbstractHandlerMethodMapping.this.getPathPatterns(mapping);
+			if (!CollectionUtils.isEmpty(patterns)) {
+				for (PathPattern pattern : patterns) {
+					this.patternIndex.remove(pattern, mapping);
+				}
+			}
+			else {
+				this.unindexedMappingCount--;
+			}
+		}
+
 		private void removeMappingName(MappingRegistration<T> definition) {
 			String name = definition.getMappingName();
 			if (name == null) {
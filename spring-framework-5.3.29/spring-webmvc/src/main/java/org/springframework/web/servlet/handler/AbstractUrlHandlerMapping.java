@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -41,6 +42,7 @@ import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
 import org.springframework.web.util.pattern.PathPattern;
 import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PathPatternSet;
 
 /**
  * Abstract base class for URL-mapped {@link HandlerMapping} implementations.
@@ -71,7 +73,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 
 	private final Map<String, Object> handlerMap = new LinkedHashMap<>();
 
-	private final Map<PathPattern, Object> pathPatternHandlerMap = new LinkedHashMap<>();
+	private final PathPatternSet<Object> pathPatternHandlers = new PathPatternSet<>();
 
 
 	@Override
@@ -192,24 +194,19 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 		}
 
 		// Pattern match?
-		List<PathPattern> matches = null;
-		for (PathPattern pattern : this.pathPatternHandlerMap.keySet()) {
-			if (pattern.matches(path.pathWithinApplication())) {
-				matches = (matches != null ? matches : new ArrayList<>());
-				matches.add(pattern);
-			}
-		}
-		if (matches == null) {
+		PathPatternSet.Match<Object> match = this.pathPatternHandlers.getBestMatch(path.pathWithinApplication());
+		if (match == null) {
 			return null;
 		}
-		if (matches.size() > 1) {
-			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
-			if (logger.isTraceEnabled()) {
+		if (logger.isTraceEnabled()) {
+			List<PathPattern> matches = this.pathPatternHandlers.getMatches(path.pathWithinApplication()).stream()
+					.map(PathPatternSet.Match::getPattern).collect(Collectors.toList());
+			if (matches.size() > 1) {
 				logger.trace("Matching patterns " + matches);
 			}
 		}
-		PathPattern pattern = matches.get(0);
-		handler = this.pathPatternHandlerMap.get(pattern);
+		PathPattern pattern = match.getPattern();
+		handler = match.getValue();
 		if (handler instanceof String) {
 			String handlerName = (String) handler;
 			handler = obtainApplicationContext().getBean(handlerName);
@@ -445,7 +442,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 			else {
 				this.handlerMap.put(urlPath, resolvedHandler);
 				if (getPatternParser() != null) {
-					this.pathPatternHandlerMap.put(getPatternParser().parse(urlPath), resolvedHandler);
+					this.pathPatternHandlers.add(getPatternParser().parse(urlPath), resolvedHandler);
 				}
 				if (logger.isTraceEnabled()) {
 					logger.trace("Mapped [" + urlPath + "] onto " + getHandlerDescription(handler));
@@ -475,8 +472,7 @@ public abstract class AbstractUrlHandlerMapping extends AbstractHandlerMapping i
 	 * @since 5.3
 	 */
 	public final Map<PathPattern, Object> getPathPatternHandlerMap() {
-		return (this.pathPatternHandlerMap.isEmpty() ?
-				Collections.emptyMap() : Collections.unmodifiableMap(this.pathPatternHandlerMap));
+		return this.pathPatternHandlers.asMap();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,14 +19,20 @@ package org.springframework.web.servlet.resource;
 import java.io.IOException;
 
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.FileCopyUtils;
+import org.springframework.web.util.ResourceMetadataCache;
+import org.springframework.web.util.ResourceMetadataCache.ResourceMetadata;
 
 /**
  * A {@code VersionStrategy} that calculates a Hex MD5 hash from the content
  * of the resource and appends it to the file name, e.g.
  * {@code "styles/main-e36d2e05253c6c7085a91522ce43a0b4.css"}.
  *
+ * <p>The content hash may be taken from a shared {@link ResourceMetadataCache}
+ * rather than computed from the content of the resource every time.
+ *
  * @author Brian Clozel
  * @author Rossen Stoyanchev
  * @since 4.1
@@ -34,13 +40,35 @@ import org.springframework.util.FileCopyUtils;
  */
 public class ContentVersionStrategy extends AbstractVersionStrategy {
 
+	@Nullable
+	private ResourceMetadataCache resourceMetadataCache;
+
+
 	public ContentVersionStrategy() {
 		super(new FileNameVersionPathStrategy());
 	}
 
+
+	/**
+	 * Set a cache for the metadata of resources, for reusing the content hash
+	 * of a resource as long as the resource has not changed.
+	 * @since 5.3.30
+	 * @see ResourceHttpRequestHandler#setResourceMetadataCache
+	 */
+	public void setResourceMetadataCache(@Nullable ResourceMetadataCache resourceMetadataCache) {
+		this.resourceMetadataCache = resourceMetadataCache;
+	}
+
+
 	@Override
 	public String getResourceVersion(Resource resource) {
 		try {
+			if (this.resourceMetadataCache != null) {
+				ResourceMetadata metadata = this.resourceMetadataCache.getMetadata(resource);
+				if (metadata != null) {
+					return metadata.getContentHash();
+				}
+			}
 			byte[] content = FileCopyUtils.copyToByteArray(resource.getInputStream());
 			return DigestUtils.md5DigestAsHex(content);
 		}
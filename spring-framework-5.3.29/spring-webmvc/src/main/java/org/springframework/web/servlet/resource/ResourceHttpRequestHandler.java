@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2023 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.support.WebContentGenerator;
+import org.springframework.web.util.ResourceMetadataCache;
+import org.springframework.web.util.ResourceMetadataCache.ResourceMetadata;
 import org.springframework.web.util.UrlPathHelper;
 
 /**
@@ -143,6 +145,9 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 
 	private boolean useLastModified = true;
 
+	@Nullable
+	private ResourceMetadataCache resourceMetadataCache;
+
 	private boolean optimizeLocations = false;
 
 	@Nullable
@@ -385,6 +390,30 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		return this.useLastModified;
 	}
 
+	/**
+	 * Set a cache for the metadata of the served resources, avoiding access to
+	 * the file system for every request, with a strong ETag derived from the
+	 * content of a resource sent along with the {@code Last-Modified} header.
+	 * <p>A cache may be shared with a {@link ContentVersionStrategy}, so that
+	 * the content hash of a resource is computed only once. For that reason,
+	 * the cache is not destroyed along with this handler: declare it as a bean,
+	 * or call {@link ResourceMetadataCache#destroy()} when no longer needed.
+	 * @since 5.3.30
+	 * @see ContentVersionStrategy#setResourceMetadataCache
+	 */
+	public void setResourceMetadataCache(@Nullable ResourceMetadataCache resourceMetadataCache) {
+		this.resourceMetadataCache = resourceMetadataCache;
+	}
+
+	/**
+	 * Return the configured cache for the metadata of the served resources, if any.
+	 * @since 5.3.30
+	 */
+	@Nullable
+	public ResourceMetadataCache getResourceMetadataCache() {
+		return this.resourceMetadataCache;
+	}
+
 	/**
 	 * Set whether to optimize the specified locations through an existence
 	 * check on startup, filtering non-existing directories upfront so that
@@ -571,7 +600,16 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		checkRequest(request);
 
 		// Header phase
-		if (isUseLastModified() && new ServletWebRequest(request, response).checkNotModified(resource.lastModified())) {
+		ResourceMetadata metadata = (this.resourceMetadataCache != null ?
+				this.resourceMetadataCache.getMetadata(resource) : null);
+		if (metadata != null) {
+			long lastModified = (isUseLastModified() ? metadata.getLastModified() : -1);
+			if (new ServletWebRequest(request, response).checkNotModified(metadata.getETag(), lastModified)) {
+				logger.trace("Resource not modified");
+				return;
+			}
+		}
+		else if (isUseLastModified() && new ServletWebRequest(request, response).checkNotModified(resource.lastModified())) {
 			logger.trace("Resource not modified");
 			return;
 		}
@@ -788,6 +826,12 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 			if (ext != null) {
 				mediaType = this.mediaTypes.get(ext.toLowerCase(Locale.ENGLISH));
 			}
+			if (mediaType == null && this.resourceMetadataCache != null) {
+				ResourceMetadata metadata = this.resourceMetadataCache.getCachedMetadata(resource);
+				if (metadata != null) {
+					mediaType = metadata.getMediaType();
+				}
+			}
 			if (mediaType == null) {
 				List<MediaType> mediaTypes = MediaTypeFactory.getMediaTypes(filename);
 				if (!CollectionUtils.isEmpty(mediaTypes)) {
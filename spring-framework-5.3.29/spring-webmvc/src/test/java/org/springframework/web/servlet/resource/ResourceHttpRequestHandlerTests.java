@@ -17,6 +17,8 @@
 package org.springframework.web.servlet.resource;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,6 +29,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
@@ -44,6 +47,8 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
 import org.springframework.web.testfixture.servlet.MockServletContext;
+import org.springframework.web.util.ResourceMetadataCache;
+import org.springframework.web.util.ResourceMetadataCache.ResourceMetadata;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -500,6 +505,61 @@ public class ResourceHttpRequestHandlerTests {
 		assertThat(this.response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
 	}
 
+	@Test
+	public void notModifiedWithResourceMetadataCache() throws Exception {
+		ResourceMetadataCache cache = new ResourceMetadataCache();
+		this.handler.setResourceMetadataCache(cache);
+
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, this.response);
+
+		String eTag = this.response.getHeader("ETag");
+		assertThat(eTag).isEqualTo("\"" + cache.getMetadata(new ClassPathResource("test/foo.css", getClass())).getContentHash() + "\"");
+		assertThat(this.response.getContentLength()).isEqualTo(17);
+		assertThat(this.response.getContentAsString()).isEqualTo("h1 { color:red; }");
+
+		this.request = new MockHttpServletRequest(this.request.getServletContext(), "GET", "");
+		this.response = new MockHttpServletResponse();
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.request.addHeader("If-None-Match", eTag);
+		this.handler.handleRequest(this.request, this.response);
+		assertThat(this.response.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+		cache.clear();
+	}
+
+	@Test
+	public void contentLengthWithStaleResourceMetadata(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("foo.css");
+		Files.write(file, "h1 { color:red; }".getBytes());
+		ResourceMetadataCache cache = new ResourceMetadataCache() {
+			private ResourceMetadata metadata;
+			@Override
+			public ResourceMetadata getMetadata(Resource resource) throws IOException {
+				if (this.metadata == null) {
+					this.metadata = super.getMetadata(resource);
+				}
+				return this.metadata;
+			}
+		};
+		this.handler = new ResourceHttpRequestHandler();
+		this.handler.setLocations(Collections.singletonList(new FileSystemResource(dir.toString() + "/")));
+		this.handler.setResourceMetadataCache(cache);
+		this.handler.setServletContext(new TestServletContext());
+		this.handler.afterPropertiesSet();
+
+		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");
+		this.handler.handleRequest(this.request, this.response);
+		assertThat(this.response.getContentLength()).isEqualTo(17);
+
+		// Changed before the file change event is applied
+		Files.write(file, "h1 { color:blue; }".getBytes());
+		this.response = new MockHttpServletResponse();
+		this.handler.handleRequest(this.request, this.response);
+		assertThat(this.response.getContentLength()).isEqualTo(18);
+		assertThat(this.response.getContentAsString()).isEqualTo("h1 { color:blue; }");
+		cache.destroy();
+	}
+
 	@Test
 	public void modified() throws Exception {
 		this.request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, "foo.css");